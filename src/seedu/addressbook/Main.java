@@ -10,6 +10,8 @@ import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.stage.Stage;
 import seedu.addressbook.logic.Logic;
+import seedu.addressbook.storage.Storage.StorageOperationException;
+import seedu.addressbook.storage.StorageConfig;
 import seedu.addressbook.ui.Gui;
 import seedu.addressbook.ui.Stoppable;
 
@@ -23,6 +25,8 @@ public class Main extends Application implements Stoppable {
     /** Version info of the program. */
     private static final String VERSION = "ClassRepo - Version 1.4";
 
+    private Logic logic;
+
     public static void main(String[] args) {
         launch(args);
     }
@@ -31,7 +35,8 @@ public class Main extends Application implements Stoppable {
     public void start(Stage primaryStage) throws Exception {
         try {
             setUpLogger();
-            Gui gui = new Gui(new Logic(), VERSION);
+            logic = new Logic(StorageConfig.fromParameters(getParameters().getNamed()));
+            Gui gui = new Gui(logic, VERSION);
             gui.start(primaryStage, this);
         } catch (Exception e) {
             LOGGER.log(Level.WARNING, e.getMessage());
@@ -52,6 +57,13 @@ public class Main extends Application implements Stoppable {
 
     @Override
     public void stop() throws Exception {
+        if (logic != null) {
+            try {
+                logic.close();
+            } catch (StorageOperationException soe) {
+                LOGGER.log(Level.WARNING, soe.getMessage());
+            }
+        }
         super.stop();
         Platform.exit();
         System.exit(0);
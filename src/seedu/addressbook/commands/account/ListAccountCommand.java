@@ -1,7 +1,6 @@
 package seedu.addressbook.commands.account;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 import seedu.addressbook.commands.Command;
 import seedu.addressbook.commands.commandresult.CommandResult;
@@ -21,11 +20,7 @@ public class ListAccountCommand extends Command {
 
     @Override
     public CommandResult execute() {
-        List<ReadOnlyPerson> allPersons = addressBook.getAllPersons().immutableListView();
-
-        // We do not need an immutable list as this is a copy of UniquePersonList's internal list
-        final List<ReadOnlyPerson> personsWithAccount = allPersons.stream()
-                .filter(ReadOnlyPerson::hasAccount).collect(Collectors.toList());
+        final List<ReadOnlyPerson> personsWithAccount = addressBook.getPersonsWithAccount();
         return new CommandResult(getMessageForPersonListShownSummary(personsWithAccount), personsWithAccount,
                 PersonListFormat.ACCOUNT_DETAILS);
     }
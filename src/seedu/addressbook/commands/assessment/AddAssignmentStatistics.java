@@ -1,7 +1,6 @@
 package seedu.addressbook.commands.assessment;
 
 import java.util.List;
-import java.util.Map;
 
 import seedu.addressbook.commands.commandformat.indexformat.IndexFormatCommand;
 import seedu.addressbook.commands.commandresult.CommandResult;
@@ -9,8 +8,6 @@ import seedu.addressbook.commands.commandresult.ListType;
 import seedu.addressbook.common.Messages;
 import seedu.addressbook.data.person.Assessment;
 import seedu.addressbook.data.person.AssignmentStatistics;
-import seedu.addressbook.data.person.Grades;
-import seedu.addressbook.data.person.Person;
 import seedu.addressbook.data.person.UniqueStatisticsList;
 
 /**
@@ -38,20 +35,19 @@ public class AddAssignmentStatistics extends IndexFormatCommand {
     @Override
     public CommandResult execute() {
         try {
-            final Map<Person, Grades> grade;
             Assessment assessName = getTargetAssessment();
             String examName = assessName.getExamName();
             double maxGrade = 0;
             double minGrade = Double.MAX_VALUE;
             double averageScore;
             double total = 0;
-            grade = assessName.getAllGrades();
-            final int numPersons = grade.size();
+            final double[] grades = assessName.getGradeValues();
+            final int numPersons = grades.length;
 
-            for (Grades gradeVal : grade.values()) {
-                maxGrade = Math.max(maxGrade, gradeVal.getValue());
-                minGrade = Math.min(minGrade, gradeVal.getValue());
-                total += gradeVal.getValue();
+            for (double gradeVal : grades) {
+                maxGrade = Math.max(maxGrade, gradeVal);
+                minGrade = Math.min(minGrade, gradeVal);
+                total += gradeVal;
             }
             if (numPersons > 0) {
                 averageScore = (double) Math.round((total / numPersons) * 100) / 100;
@@ -3,13 +3,12 @@ package seedu.addressbook.commands.attendance;
 import static seedu.addressbook.common.Messages.MESSAGE_DATE_CONSTRAINTS;
 import static seedu.addressbook.common.Utils.isValidDate;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
 import java.util.List;
 
 import seedu.addressbook.commands.Command;
 import seedu.addressbook.commands.commandresult.CommandResult;
 import seedu.addressbook.common.Messages;
+import seedu.addressbook.common.Utils;
 import seedu.addressbook.data.exception.IllegalValueException;
 import seedu.addressbook.data.person.details.Name;
 
@@ -50,7 +49,7 @@ public class ViewAttendanceDateCommand extends Command {
             String present = "";
             String absent = "";
             if ("0".equals(date)) {
-                outputDate = new SimpleDateFormat("dd-MM-yyyy").format(new Date());
+                outputDate = Utils.getTodayAsString();
             }
             final List<Name> listOfPresent = addressBook.getPresentPeople(date);
             final List<Name> listOfAbsent = addressBook.getAbsentPeople(date);
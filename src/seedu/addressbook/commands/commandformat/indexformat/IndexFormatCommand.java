@@ -2,7 +2,9 @@ package seedu.addressbook.commands.commandformat.indexformat;
 
 import static seedu.addressbook.ui.Gui.DISPLAYED_INDEX_OFFSET;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Set;
 
 import seedu.addressbook.commands.Command;
 import seedu.addressbook.data.person.Assessment;
@@ -88,4 +90,9 @@ public abstract class IndexFormatCommand extends Command {
     public int getTargetIndex(ObjectTargeted objectTargeted) {
         return targetMap.get(objectTargeted);
     }
+
+    /** Returns the types of objects this command targets by index. */
+    public Set<ObjectTargeted> getTargetedObjects() {
+        return Collections.unmodifiableSet(targetMap.keySet());
+    }
 }
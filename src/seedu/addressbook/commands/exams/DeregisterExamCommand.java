@@ -51,9 +51,7 @@ public class DeregisterExamCommand extends IndexFormatCommand {
                 return new CommandResult(MESSAGE_EXAM_NOT_REGISTERED);
             } else {
                 personToEdit.removeExam(exam);
-                Exam originalExam = new Exam(exam);
-                exam.setTakers(exam.getTakers() - 1);
-                addressBook.updateExam(originalExam, exam);
+                exam.setTakers(addressBook.countPersonsRegisteredFor(exam));
                 return new CommandResult(String.format(MESSAGE_DEREGISTER_EXAM_SUCCESS,
                         personToEdit.getAsTextShowOnlyName()), personToEdit.getAsTextShowAllExam());
             }
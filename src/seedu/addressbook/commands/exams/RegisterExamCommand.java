@@ -48,10 +48,8 @@ public class RegisterExamCommand extends IndexFormatCommand {
             final Person personToEdit = getTargetPerson();
             final Exam exam = getTargetExam();
             if (!personToEdit.isExamPresent(exam)) {
-                Exam originalExam = new Exam(exam);
-                exam.setTakers(exam.getTakers() + 1);
                 personToEdit.addExam(exam);
-                addressBook.updateExam(originalExam, exam);
+                exam.setTakers(addressBook.countPersonsRegisteredFor(exam));
                 return new CommandResult(String.format(MESSAGE_REGISTER_EXAM_SUCCESS,
                         personToEdit.getAsTextShowOnlyName()), personToEdit.getAsTextShowAllExam());
             } else {
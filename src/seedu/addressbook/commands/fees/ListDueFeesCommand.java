@@ -2,6 +2,7 @@ package seedu.addressbook.commands.fees;
 
 import seedu.addressbook.commands.Command;
 import seedu.addressbook.commands.commandresult.CommandResult;
+import seedu.addressbook.common.Utils;
 import seedu.addressbook.formatter.PersonListFormat;
 
 /**
@@ -17,7 +18,7 @@ public class ListDueFeesCommand extends Command {
 
     @Override
     public CommandResult execute() {
-        String date = java.time.LocalDate.now().toString();
+        String date = Utils.getToday().toString();
         return new CommandResult(getMessageForFeesListShownSummary(addressBook.listdueFeesPerson(date)),
                 addressBook.listdueFeesPerson(date), PersonListFormat.FEES_DUE_DETAILS);
     }
@@ -0,0 +1,48 @@
+package seedu.addressbook.commands.general;
+
+import java.nio.file.Path;
+
+import seedu.addressbook.commands.Command;
+import seedu.addressbook.commands.commandresult.CommandResult;
+import seedu.addressbook.storage.BackupArchive;
+import seedu.addressbook.storage.Storage.StorageOperationException;
+
+/**
+ * Backs up the address book, exam book and statistics book as they are now to a new archive, which is written in
+ * the background.
+ */
+public class BackupCommand extends Command {
+
+    public static final String COMMAND_WORD = "backup";
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ":\n"
+            + "Backs up all data to a new archive in the backups folder, while other commands carry on.\n\t"
+            + "Example: " + COMMAND_WORD;
+
+    public static final String MESSAGE_SUCCESS = "Backup started: %1$s";
+    public static final String MESSAGE_FAILURE = "Backup not started, as an earlier backup failed: %1$s";
+
+    private BackupArchive backupArchive;
+
+    /**
+     * Supplies the archive the backup is written to.
+     */
+    public void setBackupArchive(BackupArchive backupArchive) {
+        this.backupArchive = backupArchive;
+    }
+
+    @Override
+    public CommandResult execute() {
+        try {
+            final Path archive = backupArchive.start(addressBook, examBook, statisticsBook);
+            return new CommandResult(String.format(MESSAGE_SUCCESS, archive));
+        } catch (StorageOperationException soe) {
+            return new CommandResult(String.format(MESSAGE_FAILURE, soe.getMessage()));
+        }
+    }
+
+    @Override
+    public String getCommandUsageMessage() {
+        return MESSAGE_USAGE;
+    }
+}
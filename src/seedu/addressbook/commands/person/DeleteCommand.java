@@ -37,10 +37,7 @@ public class DeleteCommand extends IndexFormatCommand {
 
             Set<Exam> examSet = target.getExams();
             for (Exam e: examSet) {
-                Exam updatedExam = new Exam(e);
-                updatedExam.setTakers(updatedExam.getTakers() - 1);
-                examBook.updateExam(e, updatedExam);
-                addressBook.updateExam(e, updatedExam);
+                examBook.findExam(e).setTakers(addressBook.countPersonsRegisteredFor(e));
             }
             return new CommandResult(String.format(MESSAGE_DELETE_PERSON_SUCCESS, target), updatedList);
         } catch (IndexOutOfBoundsException ie) {
@@ -1,7 +1,5 @@
 package seedu.addressbook.commands.person;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -9,24 +7,37 @@ import java.util.Set;
 import seedu.addressbook.commands.Command;
 import seedu.addressbook.commands.commandresult.CommandResult;
 import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.data.person.UniquePersonList.NameMatch;
 
 /**
  * Finds and lists all persons in address book whose name contains any of the argument keywords.
- * Keyword matching is case sensitive.
+ * Keyword matching is case sensitive unless another {@link NameMatch} is given.
  */
 public class FindCommand extends Command {
 
     public static final String COMMAND_WORD = "find";
 
+    public static final String MATCH_IGNORE_CASE = "ignorecase";
+    public static final String MATCH_PREFIX = "prefix";
+
     public static final String MESSAGE_USAGE = COMMAND_WORD + ":\n" + "Finds all persons whose names contain any of "
             + "the specified keywords (case-sensitive) and displays them as a list with index numbers.\n\t"
-            + "Parameters: KEYWORD [MORE_KEYWORDS]...\n\t"
-            + "Example: " + COMMAND_WORD + " alice bob charlie";
+            + "With m/" + MATCH_IGNORE_CASE + ", case is ignored. With m/" + MATCH_PREFIX + ", case is ignored "
+            + "and a keyword only needs to begin a word of the name.\n\t"
+            + "Parameters: [m/" + MATCH_IGNORE_CASE + " | m/" + MATCH_PREFIX + "] KEYWORD [MORE_KEYWORDS]...\n\t"
+            + "Example: " + COMMAND_WORD + " alice bob charlie\n\t"
+            + "Example: " + COMMAND_WORD + " m/" + MATCH_PREFIX + " ali bo";
 
     private final Set<String> keywords;
+    private final NameMatch match;
 
     public FindCommand(Set<String> keywords) {
+        this(keywords, NameMatch.EXACT);
+    }
+
+    public FindCommand(Set<String> keywords, NameMatch match) {
         this.keywords = keywords;
+        this.match = match;
     }
 
     /**
@@ -34,7 +45,7 @@ public class FindCommand extends Command {
      * Command constructed has no functionality
      * */
     public FindCommand() {
-        this.keywords = new HashSet<>();
+        this(new HashSet<>());
     }
 
     /**
@@ -44,6 +55,10 @@ public class FindCommand extends Command {
         return new HashSet<>(keywords);
     }
 
+    public NameMatch getMatch() {
+        return match;
+    }
+
     @Override
     public CommandResult execute() {
         final List<ReadOnlyPerson> personsFound = getPersonsWithNameContainingAnyKeyword(keywords);
@@ -57,14 +72,7 @@ public class FindCommand extends Command {
      * @return list of persons found
      */
     private List<ReadOnlyPerson> getPersonsWithNameContainingAnyKeyword(Set<String> keywords) {
-        final List<ReadOnlyPerson> matchedPersons = new ArrayList<>();
-        for (ReadOnlyPerson person : addressBook.getAllPersons()) {
-            final Set<String> wordsInName = new HashSet<>(person.getName().getWordsInName());
-            if (!Collections.disjoint(wordsInName, keywords)) {
-                matchedPersons.add(person);
-            }
-        }
-        return matchedPersons;
+        return addressBook.findPersonsByName(keywords, match);
     }
 
     @Override
@@ -0,0 +1,545 @@
+package seedu.addressbook.common;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * A list of elements in insertion order, indexed by a key that identifies each element, so that elements can be
+ * looked up, added and removed without comparing them against the rest of the list. Does not allow null elements
+ * or two elements with equal keys.
+ * The key of an element must be equal to that of another exactly when the elements are equal, and must not change
+ * while the element is in the list. Elements can also be looked up by the keys of any secondary indexes added,
+ * which find them in the order of the list. An element may have several keys in a secondary index.
+ * The list and its indexes are held in persistent maps, so copying the list takes constant time and each change
+ * takes logarithmic time, however many copies share the elements.
+ *
+ * @param <T> the type of the elements
+ */
+public class IndexedUniqueList<T> implements Iterable<T> {
+
+    /** Gap between the ranks of elements added to the end, which leaves room to insert elements between them. */
+    private static final long RANK_STEP = 1L << 16;
+
+    private final Function<? super T, ?> keyOf;
+    private final List<Function<? super T, ? extends Collection<?>>> indexKeysOfs = new ArrayList<>();
+    /** An empty map of the kind each secondary index keeps its elements by key in. */
+    private final List<PersistentMap<Object, PersistentSortedMap<Long, T>>> emptyIndexes = new ArrayList<>();
+
+    /**
+     * The elements by a number that increases along the list, so that elements can be found by position and
+     * secondary indexes can keep the elements sharing a key in the order of the list.
+     */
+    private PersistentSortedMap<Long, T> elementsByRank = PersistentSortedMap.empty(Long::compare);
+    private PersistentHashMap<Object, Entry<T>> entriesByKey = PersistentHashMap.empty();
+    /** The elements with each key of each secondary index, by rank; replaced rather than modified. */
+    private List<PersistentMap<Object, PersistentSortedMap<Long, T>>> indexes = Collections.emptyList();
+
+    /** What the list knows of each element. */
+    private static final class Entry<T> {
+        final T element;
+        final long rank;
+        /** The distinct keys of the element in each secondary index. */
+        final List<List<Object>> indexKeys;
+
+        Entry(T element, long rank, List<List<Object>> indexKeys) {
+            this.element = element;
+            this.rank = rank;
+            this.indexKeys = indexKeys;
+        }
+    }
+
+    /**
+     * An index of the elements of a list by a key that several elements may share, kept up to date as elements are
+     * added to and removed from the list. Elements without a key are left out of the index, so an index by
+     * whether elements have some detail serves as a sub-list of those that do.
+     * Unlike the key of the list, the keys of an index may change while the element is in the list, as long as
+     * {@link IndexedUniqueList#update} is then called with the element.
+     *
+     * @param <T> the type of the elements
+     */
+    public static class SecondaryIndex<T> {
+        private final IndexedUniqueList<T> list;
+        private final int slot;
+
+        private SecondaryIndex(IndexedUniqueList<T> list, int slot) {
+            this.list = list;
+            this.slot = slot;
+        }
+
+        PersistentMap<Object, PersistentSortedMap<Long, T>> getIndex() {
+            return list.indexes.get(slot);
+        }
+
+        /**
+         * Returns the elements with the given key, in the order of the list, as they are at the time of the call.
+         */
+        public List<T> get(Object key) {
+            final PersistentSortedMap<Long, T> found = getIndex().get(key);
+            return found == null ? Collections.emptyList() : found.values();
+        }
+
+        /**
+         * Returns the first element indexed with the given key, if any.
+         */
+        public Optional<T> getFirst(Object key) {
+            final PersistentSortedMap<Long, T> found = getIndex().get(key);
+            return found == null ? Optional.empty() : Optional.of(found.getAt(0));
+        }
+
+        /**
+         * Returns the elements with any of the given keys, each once, in the order of the list.
+         */
+        public List<T> getAll(Collection<?> keys) {
+            final PersistentMap<Object, PersistentSortedMap<Long, T>> index = getIndex();
+            final TreeMap<Long, T> found = new TreeMap<>();
+            for (Object key : keys) {
+                final PersistentSortedMap<Long, T> elements = index.get(key);
+                if (elements != null) {
+                    elements.forEach(found::put);
+                }
+            }
+            return new ArrayList<>(found.values());
+        }
+    }
+
+    /**
+     * A secondary index whose keys are kept in order, so that the keys within a range can be found.
+     *
+     * @param <T> the type of the elements
+     * @param <K> the type of the keys
+     */
+    public static class SortedIndex<T, K> extends SecondaryIndex<T> {
+        private final Comparator<? super K> comparator;
+
+        private SortedIndex(IndexedUniqueList<T> list, int slot, Comparator<? super K> comparator) {
+            super(list, slot);
+            this.comparator = comparator;
+        }
+
+        @SuppressWarnings("unchecked")
+        private PersistentSortedMap<Object, PersistentSortedMap<Long, T>> getSortedIndex() {
+            return (PersistentSortedMap<Object, PersistentSortedMap<Long, T>>) getIndex();
+        }
+
+        /**
+         * Returns the keys of the index from {@code from} to {@code to}, both inclusive, in order.
+         */
+        public List<K> getKeysBetween(K from, K to) {
+            final PersistentSortedMap<Object, ?> index = getSortedIndex();
+            final List<K> keys = new ArrayList<>();
+            for (int position = index.ceilingIndexOf(from); position < index.size(); position++) {
+                final K key = getKeyAt(index, position);
+                if (comparator.compare(key, to) > 0) {
+                    break;
+                }
+                keys.add(key);
+            }
+            return keys;
+        }
+
+        /**
+         * Returns the elements with keys from {@code from} to {@code to}, both inclusive, in the order of their keys
+         * and then in the order of the list. An element with several keys in the range is returned once, under the
+         * first of them.
+         */
+        public List<T> getBetween(K from, K to) {
+            final PersistentSortedMap<Object, PersistentSortedMap<Long, T>> index = getSortedIndex();
+            final Set<Long> seenRanks = new HashSet<>();
+            final List<T> found = new ArrayList<>();
+            for (int position = index.ceilingIndexOf(from); position < index.size(); position++) {
+                if (comparator.compare(getKeyAt(index, position), to) > 0) {
+                    break;
+                }
+                index.getAt(position).forEach((rank, element) -> {
+                    if (seenRanks.add(rank)) {
+                        found.add(element);
+                    }
+                });
+            }
+            return found;
+        }
+
+        /**
+         * Returns the last element, in the order of the list, of those with the greatest key that is not after the
+         * given key, if any.
+         */
+        public Optional<T> getLastAtOrBefore(K key) {
+            final PersistentSortedMap<Object, PersistentSortedMap<Long, T>> index = getSortedIndex();
+            final int position = index.floorIndexOf(key);
+            if (position < 0) {
+                return Optional.empty();
+            }
+            final PersistentSortedMap<Long, T> elements = index.getAt(position);
+            return Optional.of(elements.getAt(elements.size() - 1));
+        }
+
+        @SuppressWarnings("unchecked")
+        private K getKeyAt(PersistentSortedMap<Object, ?> index, int position) {
+            return (K) index.getKeyAt(position);
+        }
+    }
+
+    /**
+     * Constructs an empty list.
+     * @param keyOf gives the key identifying each element
+     */
+    public IndexedUniqueList(Function<? super T, ?> keyOf) {
+        this.keyOf = keyOf;
+    }
+
+    /**
+     * Makes this list hold the elements of the given list, sharing them in constant time.
+     * Both lists must have been constructed with the same key and the same secondary indexes.
+     */
+    public void copyFrom(IndexedUniqueList<T> source) {
+        assert indexKeysOfs.size() == source.indexKeysOfs.size();
+        elementsByRank = source.elementsByRank;
+        entriesByKey = source.entriesByKey;
+        indexes = source.indexes;
+    }
+
+    /**
+     * Adds an index of the elements by another key, which several elements may share.
+     * Elements whose key is null are left out of the index. Elements already in the list are indexed straight away.
+     */
+    public SecondaryIndex<T> addIndex(Function<? super T, ?> indexKeyOf) {
+        return addMultiIndex(element -> {
+            final Object key = indexKeyOf.apply(element);
+            return key == null ? Collections.emptyList() : Collections.singletonList(key);
+        });
+    }
+
+    /**
+     * Adds an index of the elements by other keys, of which each element may have several.
+     * Elements already in the list are indexed straight away.
+     */
+    public SecondaryIndex<T> addMultiIndex(Function<? super T, ? extends Collection<?>> indexKeysOf) {
+        return new SecondaryIndex<>(this, addIndex(indexKeysOf, PersistentHashMap.empty()));
+    }
+
+    /**
+     * Adds an index of the elements by other keys kept in the order of the given comparator, of which each element
+     * may have several. Elements already in the list are indexed straight away.
+     */
+    @SuppressWarnings("unchecked")
+    public <K> SortedIndex<T, K> addSortedIndex(Function<? super T, ? extends Collection<? extends K>> indexKeysOf,
+            Comparator<? super K> comparator) {
+        final Comparator<Object> keyComparator = (key, other) -> comparator.compare((K) key, (K) other);
+        return new SortedIndex<>(this, addIndex(indexKeysOf, PersistentSortedMap.empty(keyComparator)), comparator);
+    }
+
+    /**
+     * Indexes the elements in the given map by the given keys.
+     * @return the slot of the index
+     */
+    private int addIndex(Function<? super T, ? extends Collection<?>> indexKeysOf,
+            PersistentMap<Object, PersistentSortedMap<Long, T>> emptyIndex) {
+        final List<T> existing = new ArrayList<>(asList());
+        indexKeysOfs.add(indexKeysOf);
+        emptyIndexes.add(emptyIndex);
+        rebuild(existing);
+        return indexKeysOfs.size() - 1;
+    }
+
+    /**
+     * Unmodifiable java List view of the elements, in order.
+     * Any changes to the list are immediately visible in the returned list, though its iterators go through the
+     * elements as they were when the iterator was created.
+     */
+    public List<T> asList() {
+        return new AbstractList<T>() {
+            @Override
+            public T get(int index) {
+                return elementsByRank.getAt(index);
+            }
+
+            @Override
+            public int size() {
+                return elementsByRank.size();
+            }
+
+            @Override
+            public Iterator<T> iterator() {
+                return elementsByRank.iterator();
+            }
+        };
+    }
+
+    public int size() {
+        return elementsByRank.size();
+    }
+
+    public boolean isEmpty() {
+        return elementsByRank.isEmpty();
+    }
+
+    /**
+     * Returns the key the list identifies the given element by.
+     */
+    public Object getKey(T element) {
+        return keyOf.apply(element);
+    }
+
+    /**
+     * Checks if the list contains an element with the given key.
+     */
+    public boolean containsKey(Object key) {
+        return entriesByKey.containsKey(key);
+    }
+
+    /**
+     * Returns the element with the given key, if any.
+     */
+    public Optional<T> get(Object key) {
+        final Entry<T> entry = entriesByKey.get(key);
+        return entry == null ? Optional.empty() : Optional.of(entry.element);
+    }
+
+    /**
+     * Adds an element to the end of the list.
+     * @return false if the list already contains an element with the same key, in which case nothing is added
+     */
+    public boolean add(T toAdd) {
+        return add(size(), toAdd);
+    }
+
+    /**
+     * Adds an element at the given position of the list, moving the elements from that position onwards along.
+     * @return false if the list already contains an element with the same key, in which case nothing is added
+     */
+    public boolean add(int position, T toAdd) {
+        final Object key = keyOf.apply(Objects.requireNonNull(toAdd));
+        if (entriesByKey.containsKey(key)) {
+            return false;
+        }
+        if (position < 0 || position > size()) {
+            throw new IndexOutOfBoundsException("Position: " + position + ", Size: " + size());
+        }
+        if (position == size()) {
+            insert(toAdd, key, getRankAfterLast());
+            return true;
+        }
+        final long nextRank = elementsByRank.getKeyAt(position);
+        final long previousRank = position == 0 ? nextRank - 2 * RANK_STEP : elementsByRank.getKeyAt(position - 1);
+        if (nextRank - previousRank < 2) {
+            // no room between the neighbouring ranks, so spread the ranks out again
+            final List<T> elements = new ArrayList<>(asList());
+            elements.add(position, toAdd);
+            rebuild(elements);
+            return true;
+        }
+        insert(toAdd, key, previousRank + (nextRank - previousRank) / 2);
+        return true;
+    }
+
+    private long getRankAfterLast() {
+        return isEmpty() ? 0 : elementsByRank.getKeyAt(size() - 1) + RANK_STEP;
+    }
+
+    /**
+     * Adds the given elements to the end of the list, in order.
+     * @return false if any two elements, or any element and one in the list, have the same key, in which case
+     *     nothing is added
+     */
+    public boolean addAll(Collection<? extends T> toAdd) {
+        final Map<Object, T> added = new HashMap<>();
+        final List<Object> keys = new ArrayList<>(toAdd.size());
+        for (T element : toAdd) {
+            final Object key = keyOf.apply(Objects.requireNonNull(element));
+            if (entriesByKey.containsKey(key) || added.putIfAbsent(key, element) != null) {
+                return false;
+            }
+            keys.add(key);
+        }
+        int position = 0;
+        for (T element : toAdd) {
+            insert(element, keys.get(position++), getRankAfterLast());
+        }
+        return true;
+    }
+
+    /**
+     * Replaces the element at the given position with another, which may have a different key.
+     * @throws IllegalArgumentException if another element of the list has the same key as the new element
+     */
+    public void set(int position, T replacement) {
+        final T replaced = elementsByRank.getAt(position);
+        final Object key = keyOf.apply(Objects.requireNonNull(replacement));
+        final Entry<T> existing = entriesByKey.get(key);
+        if (existing != null && existing.element != replaced) {
+            throw new IllegalArgumentException("Replacement would result in duplicate elements");
+        }
+        final long rank = elementsByRank.getKeyAt(position);
+        delete(keyOf.apply(replaced));
+        insert(replacement, key, rank);
+    }
+
+    /**
+     * Returns the position of the element with the given key in the list, or -1 if there is none.
+     */
+    public int indexOfKey(Object key) {
+        final Entry<T> entry = entriesByKey.get(key);
+        return entry == null ? -1 : elementsByRank.indexOf(entry.rank);
+    }
+
+    /**
+     * Removes the element with the given key.
+     * @return the removed element, if any
+     */
+    public Optional<T> remove(Object key) {
+        final Entry<T> removed = delete(key);
+        return removed == null ? Optional.empty() : Optional.of(removed.element);
+    }
+
+    /**
+     * Brings the secondary indexes up to date with the given element of the list, after a change to the details
+     * they index it by.
+     */
+    public void update(T element) {
+        final Object key = keyOf.apply(element);
+        final Entry<T> entry = entriesByKey.get(key);
+        if (entry == null || entry.element != element) {
+            return;
+        }
+        final List<List<Object>> indexKeys = getIndexKeys(element);
+        if (indexKeys.equals(entry.indexKeys)) {
+            return;
+        }
+        final List<PersistentMap<Object, PersistentSortedMap<Long, T>>> updated = new ArrayList<>(indexes);
+        for (int slot = 0; slot < indexKeys.size(); slot++) {
+            if (!indexKeys.get(slot).equals(entry.indexKeys.get(slot))) {
+                updated.set(slot, unindex(updated.get(slot), entry.indexKeys.get(slot), entry.rank));
+                updated.set(slot, index(updated.get(slot), indexKeys.get(slot), entry.rank, element));
+            }
+        }
+        indexes = Collections.unmodifiableList(updated);
+        entriesByKey = entriesByKey.put(key, new Entry<>(element, entry.rank, indexKeys));
+    }
+
+    /**
+     * Sorts the list with the given comparator, keeping equal elements in their order.
+     */
+    public void sort(Comparator<? super T> comparator) {
+        final List<T> elements = new ArrayList<>(asList());
+        elements.sort(comparator);
+        rebuild(elements);
+    }
+
+    /**
+     * Removes every element.
+     */
+    public void clear() {
+        rebuild(Collections.emptyList());
+    }
+
+    /**
+     * Makes the list hold the given elements, in order, spreading out their ranks.
+     */
+    private void rebuild(List<T> elements) {
+        elementsByRank = PersistentSortedMap.empty(Long::compare);
+        entriesByKey = PersistentHashMap.empty();
+        indexes = Collections.unmodifiableList(new ArrayList<>(emptyIndexes));
+        long rank = 0;
+        for (T element : elements) {
+            insert(element, keyOf.apply(element), rank);
+            rank += RANK_STEP;
+        }
+    }
+
+    private List<List<Object>> getIndexKeys(T element) {
+        final List<List<Object>> indexKeys = new ArrayList<>(indexKeysOfs.size());
+        for (Function<? super T, ? extends Collection<?>> indexKeysOf : indexKeysOfs) {
+            final Collection<?> keys = indexKeysOf.apply(element);
+            indexKeys.add(keys.size() < 2 ? new ArrayList<>(keys) : new ArrayList<>(new LinkedHashSet<>(keys)));
+        }
+        return indexKeys;
+    }
+
+    private void insert(T element, Object key, long rank) {
+        final List<List<Object>> indexKeys = getIndexKeys(element);
+        elementsByRank = elementsByRank.put(rank, element);
+        entriesByKey = entriesByKey.put(key, new Entry<>(element, rank, indexKeys));
+        if (!indexKeys.isEmpty()) {
+            final List<PersistentMap<Object, PersistentSortedMap<Long, T>>> updated = new ArrayList<>(indexes);
+            for (int slot = 0; slot < indexKeys.size(); slot++) {
+                updated.set(slot, index(updated.get(slot), indexKeys.get(slot), rank, element));
+            }
+            indexes = Collections.unmodifiableList(updated);
+        }
+    }
+
+    /**
+     * Removes the element with the given key from the list and its indexes.
+     * @return what the list knew of the removed element, or null if there is no such element
+     */
+    private Entry<T> delete(Object key) {
+        final Entry<T> entry = entriesByKey.get(key);
+        if (entry == null) {
+            return null;
+        }
+        elementsByRank = elementsByRank.remove(entry.rank);
+        entriesByKey = entriesByKey.remove(key);
+        if (!entry.indexKeys.isEmpty()) {
+            final List<PersistentMap<Object, PersistentSortedMap<Long, T>>> updated = new ArrayList<>(indexes);
+            for (int slot = 0; slot < entry.indexKeys.size(); slot++) {
+                updated.set(slot, unindex(updated.get(slot), entry.indexKeys.get(slot), entry.rank));
+            }
+            indexes = Collections.unmodifiableList(updated);
+        }
+        return entry;
+    }
+
+    private static <T> PersistentMap<Object, PersistentSortedMap<Long, T>> index(
+            PersistentMap<Object, PersistentSortedMap<Long, T>> index, List<Object> keys, long rank, T element) {
+        PersistentMap<Object, PersistentSortedMap<Long, T>> updated = index;
+        for (Object key : keys) {
+            final PersistentSortedMap<Long, T> found = updated.get(key);
+            final PersistentSortedMap<Long, T> elements = found == null
+                    ? PersistentSortedMap.empty(Long::compare)
+                    : found;
+            updated = updated.put(key, elements.put(rank, element));
+        }
+        return updated;
+    }
+
+    private static <T> PersistentMap<Object, PersistentSortedMap<Long, T>> unindex(
+            PersistentMap<Object, PersistentSortedMap<Long, T>> index, List<Object> keys, long rank) {
+        PersistentMap<Object, PersistentSortedMap<Long, T>> updated = index;
+        for (Object key : keys) {
+            final PersistentSortedMap<Long, T> elements = updated.get(key).remove(rank);
+            updated = elements.isEmpty() ? updated.remove(key) : updated.put(key, elements);
+        }
+        return updated;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return elementsByRank.iterator();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other == this // short circuit if same object
+                || (other instanceof IndexedUniqueList // instanceof handles nulls
+                && this.asList().equals(((IndexedUniqueList<?>) other).asList()));
+    }
+
+    @Override
+    public int hashCode() {
+        return asList().hashCode();
+    }
+}
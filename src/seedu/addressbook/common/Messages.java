@@ -16,7 +16,10 @@ public class Messages {
             + "Run the list/find command to generate a list of statistics.";
     public static final String MESSAGE_PERSONS_LISTED_OVERVIEW = "%1$d persons listed!";
     public static final String MESSAGE_PROGRAM_LAUNCH_ARGS_USAGE = "Launch command format: "
-            + "java seedu.addressbook.Main [STORAGE_FILE_PATH]";
+            + "java seedu.addressbook.Main [--storage-mode=sync|journal|async] "
+            + "[--storage-format=xml|binary|sharded|paged] [--journal-file=FILE] [--checkpoint-interval=N] "
+            + "[--durability=command|interval|exit] [--flush-interval=MS] [--xml-codec=jaxb|streaming] "
+            + "[--watch-files=true|false]";
     public static final String MESSAGE_USING_STORAGE_FILE = "Using storage file : %1$s";
     public static final String MESSAGE_INSUFFICIENT_PRIVILEGE = "Insufficient Privilege.\n"
             + "Requires privilege level of %s, but current level is %s";
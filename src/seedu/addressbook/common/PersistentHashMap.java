@@ -0,0 +1,105 @@
+package seedu.addressbook.common;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * An immutable hash map whose updates return a new map sharing most of its structure with the old one, as
+ * {@link PersistentSortedMap} does, which it keeps its entries in sorted by hash code. Null keys and values are not
+ * allowed.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public final class PersistentHashMap<K, V> implements PersistentMap<K, V> {
+
+    private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(PersistentSortedMap.empty(
+            Integer::compare), 0);
+
+    /** The entries with each hash code, of which there is usually one. */
+    private final PersistentSortedMap<Integer, List<Map.Entry<K, V>>> entriesByHash;
+    private final int size;
+
+    private PersistentHashMap(PersistentSortedMap<Integer, List<Map.Entry<K, V>>> entriesByHash, int size) {
+        this.entriesByHash = entriesByHash;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public V get(K key) {
+        final List<Map.Entry<K, V>> entries = entriesByHash.get(key.hashCode());
+        if (entries == null) {
+            return null;
+        }
+        for (Map.Entry<K, V> entry : entries) {
+            if (entry.getKey().equals(key)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public PersistentHashMap<K, V> put(K key, V value) {
+        Objects.requireNonNull(value);
+        final int hash = key.hashCode();
+        final List<Map.Entry<K, V>> entries = entriesByHash.get(hash);
+        final Map.Entry<K, V> entry = new SimpleImmutableEntry<>(key, value);
+        if (entries == null) {
+            return new PersistentHashMap<>(entriesByHash.put(hash, Collections.singletonList(entry)), size + 1);
+        }
+        final List<Map.Entry<K, V>> updated = new ArrayList<>(entries.size() + 1);
+        boolean isReplaced = false;
+        for (Map.Entry<K, V> existing : entries) {
+            if (existing.getKey().equals(key)) {
+                updated.add(entry);
+                isReplaced = true;
+            } else {
+                updated.add(existing);
+            }
+        }
+        if (!isReplaced) {
+            updated.add(entry);
+        }
+        return new PersistentHashMap<>(entriesByHash.put(hash, Collections.unmodifiableList(updated)),
+                isReplaced ? size : size + 1);
+    }
+
+    @Override
+    public PersistentHashMap<K, V> remove(K key) {
+        final int hash = key.hashCode();
+        final List<Map.Entry<K, V>> entries = entriesByHash.get(hash);
+        if (entries == null || entries.stream().noneMatch(entry -> entry.getKey().equals(key))) {
+            return this;
+        }
+        final List<Map.Entry<K, V>> updated = new ArrayList<>(entries);
+        updated.removeIf(entry -> entry.getKey().equals(key));
+        return new PersistentHashMap<>(updated.isEmpty()
+                ? entriesByHash.remove(hash)
+                : entriesByHash.put(hash, Collections.unmodifiableList(updated)), size - 1);
+    }
+}
@@ -0,0 +1,32 @@
+package seedu.addressbook.common;
+
+/**
+ * An immutable map whose updates return a new map, sharing most of its structure with the old one.
+ * Null keys and values are not allowed.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public interface PersistentMap<K, V> {
+
+    int size();
+
+    boolean isEmpty();
+
+    /**
+     * Returns the value of the given key, or null if the map does not contain the key.
+     */
+    V get(K key);
+
+    boolean containsKey(K key);
+
+    /**
+     * Returns a map with the given key mapped to the given value, in place of any value it had.
+     */
+    PersistentMap<K, V> put(K key, V value);
+
+    /**
+     * Returns a map without the given key, or this map if it does not contain the key.
+     */
+    PersistentMap<K, V> remove(K key);
+}
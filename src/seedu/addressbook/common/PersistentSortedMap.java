@@ -0,0 +1,339 @@
+package seedu.addressbook.common;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable map sorted by key. Updates return a new map that shares all but O(log n) of its nodes with the old
+ * one, so older versions can be kept as snapshots at no cost. Entries can also be looked up by their position in
+ * key order. Null keys and values are not allowed.
+ * The map is a treap: a binary search tree by key, kept balanced in expectation by a random priority per node.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public final class PersistentSortedMap<K, V> implements PersistentMap<K, V>, Iterable<V> {
+
+    private static final class Node<K, V> {
+        final K key;
+        final V value;
+        final int priority;
+        final Node<K, V> left;
+        final Node<K, V> right;
+        final int size;
+
+        Node(K key, V value, int priority, Node<K, V> left, Node<K, V> right) {
+            this.key = key;
+            this.value = value;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+            size = 1 + size(left) + size(right);
+        }
+
+        Node<K, V> withChildren(Node<K, V> left, Node<K, V> right) {
+            return new Node<>(key, value, priority, left, right);
+        }
+    }
+
+    /** The nodes of a tree with keys before and after a key that is not in it. */
+    private static final class Split<K, V> {
+        final Node<K, V> before;
+        final Node<K, V> after;
+
+        Split(Node<K, V> before, Node<K, V> after) {
+            this.before = before;
+            this.after = after;
+        }
+    }
+
+    private final Comparator<? super K> comparator;
+    private final Node<K, V> root;
+
+    private PersistentSortedMap(Comparator<? super K> comparator, Node<K, V> root) {
+        this.comparator = comparator;
+        this.root = root;
+    }
+
+    /**
+     * Returns an empty map sorted by the given comparator.
+     */
+    public static <K, V> PersistentSortedMap<K, V> empty(Comparator<? super K> comparator) {
+        return new PersistentSortedMap<>(comparator, null);
+    }
+
+    private static int size(Node<?, ?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    @Override
+    public V get(K key) {
+        final Node<K, V> node = find(key);
+        return node == null ? null : node.value;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return find(key) != null;
+    }
+
+    private Node<K, V> find(K key) {
+        Node<K, V> node = root;
+        while (node != null) {
+            final int comparison = comparator.compare(key, node.key);
+            if (comparison == 0) {
+                return node;
+            }
+            node = comparison < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the position of the given key in key order, or -1 if the map does not contain the key.
+     */
+    public int indexOf(K key) {
+        int position = 0;
+        Node<K, V> node = root;
+        while (node != null) {
+            final int comparison = comparator.compare(key, node.key);
+            if (comparison == 0) {
+                return position + size(node.left);
+            }
+            if (comparison < 0) {
+                node = node.left;
+            } else {
+                position += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the position of the first key that is not before the given key in key order, or the size of the map
+     * if every key is before it.
+     */
+    public int ceilingIndexOf(K key) {
+        int position = 0;
+        Node<K, V> node = root;
+        while (node != null) {
+            if (comparator.compare(key, node.key) <= 0) {
+                node = node.left;
+            } else {
+                position += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Returns the position of the last key that is not after the given key in key order, or -1 if every key is
+     * after it.
+     */
+    public int floorIndexOf(K key) {
+        int position = -1;
+        Node<K, V> node = root;
+        while (node != null) {
+            if (comparator.compare(key, node.key) < 0) {
+                node = node.left;
+            } else {
+                position += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Returns the key at the given position in key order.
+     * @throws IndexOutOfBoundsException if the position is not within the map
+     */
+    public K getKeyAt(int position) {
+        return nodeAt(position).key;
+    }
+
+    /**
+     * Returns the value of the key at the given position in key order.
+     * @throws IndexOutOfBoundsException if the position is not within the map
+     */
+    public V getAt(int position) {
+        return nodeAt(position).value;
+    }
+
+    private Node<K, V> nodeAt(int position) {
+        if (position < 0 || position >= size()) {
+            throw new IndexOutOfBoundsException("Position: " + position + ", Size: " + size());
+        }
+        int remaining = position;
+        Node<K, V> node = root;
+        while (remaining != size(node.left)) {
+            if (remaining < size(node.left)) {
+                node = node.left;
+            } else {
+                remaining -= size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return node;
+    }
+
+    @Override
+    public PersistentSortedMap<K, V> put(K key, V value) {
+        final Node<K, V> updated = containsKey(key)
+                ? replace(root, key, value)
+                : insert(root, new Node<>(key, value, ThreadLocalRandom.current().nextInt(), null, null));
+        return new PersistentSortedMap<>(comparator, updated);
+    }
+
+    @Override
+    public PersistentSortedMap<K, V> remove(K key) {
+        if (!containsKey(key)) {
+            return this;
+        }
+        return new PersistentSortedMap<>(comparator, remove(root, key));
+    }
+
+    private Node<K, V> replace(Node<K, V> node, K key, V value) {
+        final int comparison = comparator.compare(key, node.key);
+        if (comparison == 0) {
+            return new Node<>(key, value, node.priority, node.left, node.right);
+        }
+        return comparison < 0
+                ? node.withChildren(replace(node.left, key, value), node.right)
+                : node.withChildren(node.left, replace(node.right, key, value));
+    }
+
+    private Node<K, V> insert(Node<K, V> node, Node<K, V> toInsert) {
+        if (node == null) {
+            return toInsert;
+        }
+        if (toInsert.priority > node.priority) {
+            final Split<K, V> split = split(node, toInsert.key);
+            return toInsert.withChildren(split.before, split.after);
+        }
+        return comparator.compare(toInsert.key, node.key) < 0
+                ? node.withChildren(insert(node.left, toInsert), node.right)
+                : node.withChildren(node.left, insert(node.right, toInsert));
+    }
+
+    private Split<K, V> split(Node<K, V> node, K key) {
+        if (node == null) {
+            return new Split<>(null, null);
+        }
+        if (comparator.compare(key, node.key) < 0) {
+            final Split<K, V> split = split(node.left, key);
+            return new Split<>(split.before, node.withChildren(split.after, node.right));
+        }
+        final Split<K, V> split = split(node.right, key);
+        return new Split<>(node.withChildren(node.left, split.before), split.after);
+    }
+
+    private Node<K, V> remove(Node<K, V> node, K key) {
+        final int comparison = comparator.compare(key, node.key);
+        if (comparison == 0) {
+            return merge(node.left, node.right);
+        }
+        return comparison < 0
+                ? node.withChildren(remove(node.left, key), node.right)
+                : node.withChildren(node.left, remove(node.right, key));
+    }
+
+    /** Joins two trees, all of whose keys in {@code before} precede those in {@code after}. */
+    private static <K, V> Node<K, V> merge(Node<K, V> before, Node<K, V> after) {
+        if (before == null) {
+            return after;
+        }
+        if (after == null) {
+            return before;
+        }
+        return before.priority > after.priority
+                ? before.withChildren(before.left, merge(before.right, after))
+                : after.withChildren(merge(before, after.left), after.right);
+    }
+
+    /**
+     * Performs the given action on each key and its value, in key order.
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        forEach(root, action);
+    }
+
+    private static <K, V> void forEach(Node<K, V> node, BiConsumer<? super K, ? super V> action) {
+        if (node != null) {
+            forEach(node.left, action);
+            action.accept(node.key, node.value);
+            forEach(node.right, action);
+        }
+    }
+
+    /**
+     * Returns the values in key order.
+     */
+    @Override
+    public Iterator<V> iterator() {
+        return new Iterator<V>() {
+            private final Deque<Node<K, V>> ancestors = new ArrayDeque<>();
+            private Node<K, V> next = root;
+
+            @Override
+            public boolean hasNext() {
+                return next != null || !ancestors.isEmpty();
+            }
+
+            @Override
+            public V next() {
+                while (next != null) {
+                    ancestors.push(next);
+                    next = next.left;
+                }
+                if (ancestors.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                final Node<K, V> node = ancestors.pop();
+                next = node.right;
+                return node.value;
+            }
+        };
+    }
+
+    /**
+     * Returns an unmodifiable list of the values in key order.
+     */
+    public List<V> values() {
+        return new AbstractList<V>() {
+            @Override
+            public V get(int index) {
+                return getAt(index);
+            }
+
+            @Override
+            public int size() {
+                return PersistentSortedMap.this.size();
+            }
+
+            @Override
+            public Iterator<V> iterator() {
+                return PersistentSortedMap.this.iterator();
+            }
+        };
+    }
+}
@@ -1,5 +1,6 @@
 package seedu.addressbook.common;
 
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
@@ -17,6 +18,9 @@ import seedu.addressbook.data.person.Person;
 public class Utils {
     private static final String DATE_PATTERN = "dd-MM-yyyy";
 
+    /** Clock used to decide what "today" is, replaceable so that recorded commands can be replayed later. */
+    private static Clock clock = Clock.systemDefaultZone();
+
     /**
      * Checks whether any of the given items are null.
      */
@@ -29,6 +33,18 @@ public class Utils {
         return false;
     }
 
+    /**
+     * Returns the string with the case of each character folded as {@link String#equalsIgnoreCase} does, so that
+     * two strings are equal ignoring case exactly when their folded strings are equal.
+     */
+    public static String foldCase(String value) {
+        final StringBuilder folded = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            folded.append(Character.toLowerCase(Character.toUpperCase(value.charAt(i))));
+        }
+        return folded.toString();
+    }
+
     /**
      * Checks if every element in a collection are unique by {@link Object#equals(Object)}.
      */
@@ -68,6 +84,36 @@ public class Utils {
         return isValid;
     }
 
+    /**
+     * Parses a date in the DD-MM-YYYY form.
+     * @throws DateTimeParseException if the string is not a valid date
+     */
+    public static LocalDate parseDate(String value) {
+        return LocalDate.parse(value, DateTimeFormatter.ofPattern(DATE_PATTERN));
+    }
+
+    /**
+     * Returns today's date according to the application clock.
+     */
+    public static LocalDate getToday() {
+        return LocalDate.now(clock);
+    }
+
+    /**
+     * Returns today's date in the DD-MM-YYYY form used by attendance records.
+     */
+    public static String getTodayAsString() {
+        return getToday().format(DateTimeFormatter.ofPattern(DATE_PATTERN));
+    }
+
+    public static Clock getClock() {
+        return clock;
+    }
+
+    public static void setClock(Clock newClock) {
+        clock = newClock;
+    }
+
     /**
      * Custom comparator for Date string in Fees in the form of DD-MM-YYYY
      * Allows for sorting of Person's list according to YYYYMMDD of Fees section.
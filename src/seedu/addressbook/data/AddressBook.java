@@ -1,7 +1,13 @@
 package seedu.addressbook.data;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import seedu.addressbook.data.person.Assessment;
 import seedu.addressbook.data.person.Exam;
@@ -13,6 +19,7 @@ import seedu.addressbook.data.person.UniqueAssessmentsList.AssessmentNotFoundExc
 import seedu.addressbook.data.person.UniqueAssessmentsList.DuplicateAssessmentException;
 import seedu.addressbook.data.person.UniquePersonList;
 import seedu.addressbook.data.person.UniquePersonList.DuplicatePersonException;
+import seedu.addressbook.data.person.UniquePersonList.NameMatch;
 import seedu.addressbook.data.person.UniquePersonList.PersonNotFoundException;
 
 /**
@@ -26,6 +33,21 @@ public class AddressBook {
     private String masterPassword;
     private boolean isPermAdmin;
 
+    /** The slots given to the persons in the address book, which are given to the next persons once freed. */
+    private final BitSet usedSlots = new BitSet();
+
+    /** The IDs of the persons in the address book. */
+    private final Set<Integer> usedIds = new HashSet<>();
+
+    /** The ID given to the next person without one, above every ID given so far so that none is given twice. */
+    private int nextId;
+
+    /** Incremented whenever the address book or any of its persons or assessments is modified. */
+    private long version;
+
+    /** Incremented whenever the attendance of any of its persons is modified, along with {@link #version}. */
+    private long attendanceVersion;
+
     /**
      * Creates an empty address book.
      */
@@ -46,10 +68,83 @@ public class AddressBook {
         allAssessments = new UniqueAssessmentsList(assessments);
         this.masterPassword = Optional.ofNullable(masterPassword)
                 .orElse(DEFAULT_MASTER_PASSWORD);
+        allPersons.forEach(this::track);
+        giveIds(allPersons);
+        allAssessments.forEach(this::track);
     }
 
     public void setMasterPassword(String masterPassword) {
         this.masterPassword = masterPassword;
+        markModified();
+    }
+
+    /**
+     * Returns a number that changes whenever the address book is modified, including modifications made directly
+     * to its persons and assessments.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns a number that changes whenever the address book is modified, except for the attendance of its persons.
+     */
+    public long getVersionExcludingAttendance() {
+        return version - attendanceVersion;
+    }
+
+    private void markModified() {
+        version++;
+    }
+
+    private void markAttendanceModified() {
+        version++;
+        attendanceVersion++;
+    }
+
+    private void track(Person person) {
+        person.setChangeListener(this::markModified);
+        person.setAttendanceChangeListener(this::markAttendanceModified);
+        person.setAccountChangeListener(() -> allPersons.updateAccount(person));
+        person.setExamsChangeListener(() -> allPersons.updateExams(person));
+        // a person another address book holds keeps its slot if it is free, so its grades there are still found
+        if (person.getSlot() == Person.NO_SLOT || usedSlots.get(person.getSlot())) {
+            person.setSlot(usedSlots.nextClearBit(0));
+        }
+        usedSlots.set(person.getSlot());
+    }
+
+    /**
+     * Gives each of the persons an ID no other person in the address book has. Persons keep the IDs they have
+     * unless another person has them, so that persons read from storage keep the IDs their files refer to them by.
+     */
+    private void giveIds(Iterable<Person> persons) {
+        // persons keeping their IDs take them before the others are given theirs
+        final List<Person> withoutIds = new ArrayList<>();
+        for (Person person : persons) {
+            if (person.getId() != Person.NO_ID && usedIds.add(person.getId())) {
+                nextId = Math.max(nextId, person.getId() + 1);
+            } else {
+                withoutIds.add(person);
+            }
+        }
+        for (Person person : withoutIds) {
+            person.setId(nextId++);
+            usedIds.add(person.getId());
+        }
+    }
+
+    /**
+     * Makes sure that no person is given an ID below the given one from now on, as storage may still refer to
+     * persons no longer in the address book by those IDs.
+     */
+    public void reserveIdsBelow(int id) {
+        nextId = Math.max(nextId, id);
+    }
+
+    private void track(Assessment assessment) {
+        assessment.setChangeListener(this::markModified);
+        assessment.moveAllGrades();
     }
 
     public static AddressBook empty() {
@@ -63,6 +158,13 @@ public class AddressBook {
      */
     public void addPerson(Person toAdd) throws DuplicatePersonException {
         allPersons.add(toAdd);
+        final int previousSlot = toAdd.getSlot();
+        track(toAdd);
+        giveIds(Collections.singletonList(toAdd));
+        if (toAdd.getSlot() != previousSlot) {
+            allAssessments.forEach(assessment -> assessment.moveGrades(toAdd, previousSlot));
+        }
+        markModified();
     }
 
     /**
@@ -72,6 +174,8 @@ public class AddressBook {
      */
     public void addAssessment(Assessment toAdd) throws DuplicateAssessmentException {
         allAssessments.add(toAdd);
+        track(toAdd);
+        markModified();
     }
 
     /**
@@ -82,12 +186,17 @@ public class AddressBook {
     }
 
     /**
-     * Removes the equivalent person from the address book.
+     * Removes the equivalent person and its grades from the address book.
      *
      * @throws PersonNotFoundException if no such Person could be found.
      */
     public void removePerson(ReadOnlyPerson toRemove) throws PersonNotFoundException {
-        allPersons.remove(toRemove);
+        final Person removed = allPersons.find(toRemove);
+        allPersons.remove(removed);
+        allAssessments.forEach(assessment -> assessment.removeGrades(removed));
+        usedSlots.clear(removed.getSlot());
+        usedIds.remove(removed.getId());
+        markModified();
     }
 
     /**
@@ -97,6 +206,7 @@ public class AddressBook {
      */
     public void removeAssessment(Assessment toRemove) throws AssessmentNotFoundException {
         allAssessments.remove(toRemove);
+        markModified();
     }
 
     public Person findPersonByUsername(String username) throws PersonNotFoundException {
@@ -107,6 +217,20 @@ public class AddressBook {
         return allPersons.containsPersonWithUsername(username);
     }
 
+    /**
+     * Returns the persons in the address book whose names have a word matching any of the given keywords, in order.
+     */
+    public List<ReadOnlyPerson> findPersonsByName(Collection<String> keywords, NameMatch match) {
+        return allPersons.findByName(keywords, match);
+    }
+
+    /**
+     * Returns the persons in the address book who have an account, in order, as they are at the time of the call.
+     */
+    public List<ReadOnlyPerson> getPersonsWithAccount() {
+        return allPersons.listPersonsWithAccount();
+    }
+
     /**
      * Finds and returns the given person in the AddressBook
      *
@@ -116,6 +240,20 @@ public class AddressBook {
         return allPersons.find(person);
     }
 
+    /**
+     * Returns the persons registered for the given exam, in order.
+     */
+    public List<ReadOnlyPerson> getPersonsRegisteredFor(ReadOnlyExam exam) {
+        return allPersons.getPersonsRegisteredFor(exam);
+    }
+
+    /**
+     * Returns the number of persons registered for the given exam.
+     */
+    public int countPersonsRegisteredFor(ReadOnlyExam exam) {
+        return allPersons.countPersonsRegisteredFor(exam);
+    }
+
     /**
      * Updates a particular exam to its new value
      * @param exam the original exam
@@ -123,6 +261,7 @@ public class AddressBook {
      */
     public void updateExam(Exam exam, Exam newExam) {
         allPersons.updateExam(exam, newExam);
+        markModified();
     }
 
     /**
@@ -131,6 +270,7 @@ public class AddressBook {
      */
     public void removeExam(ReadOnlyExam exam) {
         allPersons.removeExam(exam);
+        markModified();
     }
 
     /**
@@ -138,6 +278,7 @@ public class AddressBook {
      */
     public void clearAllExam() {
         allPersons.clearAllExam();
+        markModified();
     }
 
     /**
@@ -155,10 +296,14 @@ public class AddressBook {
     }
 
     /**
-     * Clears all persons from the address book.
+     * Clears all persons and their grades from the address book.
      */
     public void clear() {
         allPersons.clear();
+        allAssessments.forEach(Assessment::removeAllGrades);
+        usedSlots.clear();
+        usedIds.clear();
+        markModified();
     }
 
     /**
@@ -185,6 +330,7 @@ public class AddressBook {
 
     public void setPermAdmin(boolean permAdmin) {
         isPermAdmin = permAdmin;
+        markModified();
     }
 
     public List getPresentPeople(String date) {
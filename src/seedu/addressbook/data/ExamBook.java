@@ -1,5 +1,8 @@
 package seedu.addressbook.data;
 
+import java.time.LocalDate;
+import java.util.List;
+
 import seedu.addressbook.data.person.Exam;
 import seedu.addressbook.data.person.ReadOnlyExam;
 import seedu.addressbook.data.person.UniqueExamList;
@@ -13,6 +16,9 @@ public class ExamBook {
 
     private final UniqueExamList examList;
 
+    /** Incremented whenever the exam book or any of its exams is modified. */
+    private long version;
+
     /**
      * Creates an empty exam book.
      */
@@ -27,6 +33,23 @@ public class ExamBook {
      */
     public ExamBook(UniqueExamList examList) {
         this.examList = new UniqueExamList(examList);
+        this.examList.forEach(this::track);
+    }
+
+    /**
+     * Returns a number that changes whenever the exam book is modified, including modifications made directly
+     * to its exams.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    private void markModified() {
+        version++;
+    }
+
+    private void track(Exam exam) {
+        exam.setChangeListener(this::markModified);
     }
 
     public static ExamBook empty() {
@@ -40,6 +63,8 @@ public class ExamBook {
      */
     public void addExam(Exam toAdd) throws DuplicateExamException {
         examList.add(toAdd);
+        track(toAdd);
+        markModified();
     }
 
     /**
@@ -49,6 +74,7 @@ public class ExamBook {
      */
     public void removeExam(ReadOnlyExam toRemove) throws ExamNotFoundException {
         examList.remove(toRemove);
+        markModified();
     }
 
     /**
@@ -56,6 +82,7 @@ public class ExamBook {
      */
     public void clear() {
         examList.clear();
+        markModified();
     }
 
     /**
@@ -65,6 +92,14 @@ public class ExamBook {
         return new UniqueExamList(examList);
     }
 
+    /**
+     * Returns the exams in the exam book starting on any day from {@code from} to {@code to}, both inclusive, in
+     * order of their start.
+     */
+    public List<ReadOnlyExam> getExamsBetween(LocalDate from, LocalDate to) {
+        return examList.getExamsBetween(from, to);
+    }
+
     /**
      * Edits an exam in the ExamBook, potentially changing its index number when listing again
      *
@@ -76,6 +111,8 @@ public class ExamBook {
         if (examList.contains(target)) {
             examList.add(editedExam);
             examList.remove(target);
+            track(editedExam);
+            markModified();
         } else {
             throw new ExamNotFoundException();
         }
@@ -105,6 +142,8 @@ public class ExamBook {
      */
     public void updateExam(Exam exam, Exam updatedExam) throws ExamNotFoundException {
         examList.updateExam(exam, updatedExam);
+        track(updatedExam);
+        markModified();
     }
 
     /**
@@ -112,6 +151,7 @@ public class ExamBook {
      */
     public void clearTakers() {
         examList.clearTakers();
+        markModified();
     }
 
     @Override
@@ -12,6 +12,9 @@ public class StatisticsBook {
 
     private final UniqueStatisticsList statisticsList;
 
+    /** Incremented whenever the statistics book is modified. */
+    private long version;
+
     /**
      * Creates an empty statistics book.
      */
@@ -32,6 +35,13 @@ public class StatisticsBook {
         return new StatisticsBook();
     }
 
+    /**
+     * Returns a number that changes whenever the statistics book is modified.
+     */
+    public long getVersion() {
+        return version;
+    }
+
     /**
      * Adds a statistic to the statistics book.
      *
@@ -39,6 +49,7 @@ public class StatisticsBook {
      */
     public void addStatistic(AssignmentStatistics toAdd) throws DuplicateStatisticsException {
         statisticsList.add(toAdd);
+        version++;
     }
 
     /**
@@ -55,6 +66,7 @@ public class StatisticsBook {
      */
     public void removeStatistic(AssignmentStatistics toRemove) throws StatisticsNotFoundException {
         statisticsList.remove(toRemove);
+        version++;
     }
 
     /**
@@ -81,5 +93,6 @@ public class StatisticsBook {
      */
     public void clear() {
         statisticsList.clear();
+        version++;
     }
 }
@@ -1,6 +1,11 @@
 package seedu.addressbook.data.person;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
@@ -18,7 +23,17 @@ public class Assessment {
     public static final String ASSESSMENT_VALIDATION_REGEX = "^.*$";
 
     private String examName;
-    private Map<Person, Grades> grade;
+    /** The slots of the graded persons held by an address book. */
+    private final BitSet graded = new BitSet();
+    /** The grade of each graded person, at the slot of the person. */
+    private double[] gradeValues = new double[0];
+    /** The graded persons, at their slots. */
+    private Person[] gradedPersons = new Person[0];
+    /** The grades of the graded persons no address book held when they were graded. */
+    private final Map<Person, Grades> unslottedGrades = new IdentityHashMap<>();
+
+    /** Run whenever the grades of this assessment are modified. */
+    private Runnable changeListener = () -> { };
 
     /**
      * Validates given results.
@@ -30,7 +45,6 @@ public class Assessment {
             throw new IllegalValueException(MESSAGE_ASSESSMENT_CONSTRAINTS);
         }
         this.examName = examName.trim();
-        this.grade = new HashMap<>();
     }
 
     /**
@@ -40,39 +54,169 @@ public class Assessment {
         return test.matches(ASSESSMENT_VALIDATION_REGEX);
     }
 
+    private static Grades toGrades(double value) {
+        try {
+            return new Grades(value);
+        } catch (IllegalValueException ive) {
+            throw new AssertionError("Grades are validated before they are added", ive);
+        }
+    }
+
+    /**
+     * Returns true if the given person is graded at the given slot.
+     */
+    private boolean isGradedAt(int slot, ReadOnlyPerson person) {
+        return slot != Person.NO_SLOT && graded.get(slot) && gradedPersons[slot] == person;
+    }
+
+    private void setGradeAt(int slot, Person person, double value) {
+        if (slot >= gradeValues.length) {
+            final int capacity = Math.max(slot + 1, gradeValues.length * 2);
+            gradeValues = Arrays.copyOf(gradeValues, capacity);
+            gradedPersons = Arrays.copyOf(gradedPersons, capacity);
+        }
+        gradeValues[slot] = value;
+        gradedPersons[slot] = person;
+        graded.set(slot);
+    }
+
+    private void clearGradeAt(int slot) {
+        graded.clear(slot);
+        gradedPersons[slot] = null;
+    }
+
     /**
      * Returns the grades for a specfic person
      */
     public Grades getGrade(ReadOnlyPerson person) {
-        return this.grade.get(person);
+        final int slot = person.getSlot();
+        return isGradedAt(slot, person) ? toGrades(gradeValues[slot]) : unslottedGrades.get(person);
     }
 
     /**
      * Adds the grades given to a specific person
      */
     public void addGrade(Person person, Grades grades) throws DuplicateGradesException {
-        grade.put(person, grades);
+        setGrade(person, grades.getValue());
+        changeListener.run();
+    }
+
+    private void setGrade(Person person, double value) {
+        if (person.getSlot() == Person.NO_SLOT) {
+            unslottedGrades.put(person, toGrades(value));
+        } else {
+            unslottedGrades.remove(person);
+            setGradeAt(person.getSlot(), person, value);
+        }
+    }
+
+    /**
+     * Moves the grades of the given person to its slot, after the address book holding this assessment gave the
+     * person a slot other than the given previous one.
+     */
+    public void moveGrades(Person person, int previousSlot) {
+        final Grades grades = unslottedGrades.remove(person);
+        if (grades != null) {
+            setGradeAt(person.getSlot(), person, grades.getValue());
+        } else if (isGradedAt(previousSlot, person)) {
+            final double value = gradeValues[previousSlot];
+            clearGradeAt(previousSlot);
+            setGradeAt(person.getSlot(), person, value);
+        }
+    }
+
+    /**
+     * Moves the grades of all graded persons to their slots, after an address book started holding this assessment.
+     */
+    public void moveAllGrades() {
+        final List<Person> persons = getGradedPersons();
+        final double[] values = getGradeValues();
+        removeGradesWithoutNotifying();
+        for (int i = 0; i < persons.size(); i++) {
+            setGrade(persons.get(i), values[i]);
+        }
+    }
+
+    private void removeGradesWithoutNotifying() {
+        graded.clear();
+        gradeValues = new double[0];
+        gradedPersons = new Person[0];
+        unslottedGrades.clear();
     }
 
     /**
      * Removes all the grades for the assessment
      */
     public void removeAllGrades() {
-        grade.clear();
+        removeGradesWithoutNotifying();
+        changeListener.run();
     }
 
     /**
      * Removes the grades for a specfic person
      */
     public void removeGrades(ReadOnlyPerson person) {
-        grade.remove(person);
+        final int slot = person.getSlot();
+        if (isGradedAt(slot, person)) {
+            clearGradeAt(slot);
+        } else if (unslottedGrades.remove(person) == null) {
+            return;
+        }
+        changeListener.run();
+    }
+
+    /**
+     * Returns the number of persons given grades for this assessment
+     */
+    public int countGrades() {
+        return graded.cardinality() + unslottedGrades.size();
+    }
+
+    /**
+     * Returns the values of all grades for this assessment, in the order of the slots of the graded persons, followed
+     * by the grades of persons no address book held when they were graded
+     */
+    public double[] getGradeValues() {
+        final double[] values = new double[countGrades()];
+        int count = 0;
+        for (int slot = graded.nextSetBit(0); slot >= 0; slot = graded.nextSetBit(slot + 1)) {
+            values[count++] = gradeValues[slot];
+        }
+        for (Grades grades : unslottedGrades.values()) {
+            values[count++] = grades.getValue();
+        }
+        return values;
+    }
+
+    /**
+     * Returns the persons given grades for this assessment, in the order of {@link #getGradeValues}
+     */
+    public List<Person> getGradedPersons() {
+        final List<Person> persons = new ArrayList<>(countGrades());
+        for (int slot = graded.nextSetBit(0); slot >= 0; slot = graded.nextSetBit(slot + 1)) {
+            persons.add(gradedPersons[slot]);
+        }
+        persons.addAll(unslottedGrades.keySet());
+        return persons;
+    }
+
+    /**
+     * Sets the action to run whenever this assessment is modified, e.g. to mark the book holding it as changed.
+     */
+    public void setChangeListener(Runnable changeListener) {
+        this.changeListener = changeListener;
     }
 
     /**
-     * Returns the entire map of grades for all students for this assessment
+     * Returns the entire map of grades for all students for this assessment, as they are at the time of the call
      */
     public Map<Person, Grades> getAllGrades() {
-        return grade;
+        final Map<Person, Grades> allGrades = new LinkedHashMap<>();
+        for (int slot = graded.nextSetBit(0); slot >= 0; slot = graded.nextSetBit(slot + 1)) {
+            allGrades.put(gradedPersons[slot], toGrades(gradeValues[slot]));
+        }
+        allGrades.putAll(unslottedGrades);
+        return allGrades;
     }
 
     /**
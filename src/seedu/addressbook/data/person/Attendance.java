@@ -1,10 +1,10 @@
 package seedu.addressbook.data.person;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 
+import seedu.addressbook.common.Utils;
+
 /**
  * Represents a person's attendance in the address book.
  */
@@ -18,7 +18,7 @@ public class Attendance implements Printable {
     public boolean addAttendance(String date, Boolean isPresent, Boolean overWrite) {
         String inputDate = date;
         if ("0".equals(date)) {
-            inputDate = new SimpleDateFormat("dd-MM-yyyy").format(new Date());
+            inputDate = Utils.getTodayAsString();
         }
         // return true if duplicate date
         if (attendancePersonMap.containsKey(inputDate) && overWrite) {
@@ -54,7 +54,7 @@ public class Attendance implements Printable {
     public Boolean viewAttendanceDate(String date) {
         String lookForDate = date;
         if ("0".equals(date)) {
-            lookForDate = new SimpleDateFormat("dd-MM-yyyy").format(new Date());
+            lookForDate = Utils.getTodayAsString();
         }
         Boolean isPresent = attendancePersonMap.get(lookForDate);
         if (null == isPresent) {
@@ -5,7 +5,7 @@ import static seedu.addressbook.common.Utils.isValidDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.util.Objects;
+import java.util.List;
 
 import seedu.addressbook.common.Messages;
 import seedu.addressbook.data.exception.IllegalValueException;
@@ -31,14 +31,20 @@ public class Exam implements ReadOnlyExam {
     private static final String TIME_VALIDATION_REGEX = "(0[0-9]|1[0-9]|2[0-3]):[0-5][0-9]";
     private static final String TIME_PATTERN = "HH:mm";
 
-    private String examName;
-    private String subjectName;
-    private String examDate;
-    private String examStartTime;
-    private String examEndTime;
-    private String examDetails;
+    private final String examName;
+    private final String subjectName;
+    private final String examDate;
+    private final String examStartTime;
+    private final String examEndTime;
+    private final String examDetails;
     private int takers = 0;
-    private boolean isPrivate;
+    private final boolean isPrivate;
+
+    /** The details that identify this exam, which never change as only the number of takers can be set. */
+    private final List<Object> key;
+
+    /** Run whenever this exam is modified. */
+    private Runnable changeListener = () -> { };
 
     /**
      * Validates a fresh given exam.
@@ -67,6 +73,7 @@ public class Exam implements ReadOnlyExam {
         this.examEndTime = trimmedEndTime;
         this.examDetails = examDetails.trim();
         this.isPrivate = isPrivate;
+        key = UniqueExamList.getKey(this);
     }
 
     /**
@@ -93,6 +100,7 @@ public class Exam implements ReadOnlyExam {
         examDetails = original.getExamDetails();
         takers = original.getTakers();
         isPrivate = original.isPrivate();
+        key = original.getKey();
     }
 
     /**
@@ -132,9 +140,13 @@ public class Exam implements ReadOnlyExam {
 
     @Override
     public int hashCode() {
-        // use this method for custom fields hashing instead of implementing your own
-        return Objects.hash(examName, subjectName, examDate, examStartTime, examEndTime,
-                examDetails, takers, isPrivate);
+        // the key folds case as equals compares, and leaves out the takers, which may change
+        return key.hashCode();
+    }
+
+    @Override
+    public List<Object> getKey() {
+        return key;
     }
 
     @Override
@@ -179,6 +191,14 @@ public class Exam implements ReadOnlyExam {
 
     public void setTakers(int takers) {
         this.takers = takers;
+        changeListener.run();
+    }
+
+    /**
+     * Sets the action to run whenever this exam is modified, e.g. to mark the book holding it as changed.
+     */
+    public void setChangeListener(Runnable changeListener) {
+        this.changeListener = changeListener;
     }
 
     /**
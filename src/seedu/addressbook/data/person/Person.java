@@ -1,6 +1,9 @@
 package seedu.addressbook.data.person;
 
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -18,6 +21,18 @@ import seedu.addressbook.data.tag.Tag;
  */
 public class Person implements ReadOnlyPerson {
 
+    /** The slot of a person no address book holds. */
+    public static final int NO_SLOT = -1;
+
+    /** The ID of a person no address book has given one. */
+    public static final int NO_ID = -1;
+
+    /** The position of this person in the assessments of the address book holding it. */
+    private int slot = NO_SLOT;
+
+    /** The number the storage files of the address book holding this person refer to it by. */
+    private int id = NO_ID;
+
     private Name name;
     private Phone phone;
     private Email email;
@@ -25,10 +40,26 @@ public class Person implements ReadOnlyPerson {
     private Account account;
     private Fees fees;
     private final Set<Tag> tags = new HashSet<>();
-    private final Set<Exam> exams = new HashSet<>();
+    /** The exams this person is registered for, by their keys. */
+    private final Map<List<Object>, Exam> exams = new HashMap<>();
     private final Set<Assessment> assessments = new HashSet<>();
     private Attendance attendance;
 
+    /** Run whenever this person is modified, except for its attendance. */
+    private Runnable changeListener = () -> { };
+
+    /** Run whenever the attendance of this person is modified. */
+    private Runnable attendanceChangeListener = () -> { };
+
+    /** Run whenever the account of this person is set or removed, after the change listener. */
+    private Runnable accountChangeListener = () -> { };
+
+    /** Run whenever the exams this person is registered for change, after the change listener. */
+    private Runnable examsChangeListener = () -> { };
+
+    /** Incremented whenever this person is modified. */
+    private long version;
+
     /**
      * Assumption: Every field must be present and not null.
      */
@@ -53,7 +84,9 @@ public class Person implements ReadOnlyPerson {
         this.tags.addAll(tags);
         attendance = new Attendance();
         this.fees = new Fees();
-        this.exams.addAll(exams);
+        for (Exam exam : exams) {
+            this.exams.put(exam.getKey(), exam);
+        }
     }
 
     public Person(ReadOnlyPerson source) {
@@ -65,6 +98,7 @@ public class Person implements ReadOnlyPerson {
      */
     public void addAssessment(Assessment assessment) {
         this.assessments.add(assessment);
+        markModified();
     }
 
     /**
@@ -78,6 +112,7 @@ public class Person implements ReadOnlyPerson {
         } else {
             this.fees.getEdited(true);
         }
+        markModified();
     }
 
     /**
@@ -86,6 +121,7 @@ public class Person implements ReadOnlyPerson {
     public void setTags(Set<Tag> replacement) {
         tags.clear();
         tags.addAll(replacement);
+        markModified();
     }
 
     /**
@@ -93,18 +129,24 @@ public class Person implements ReadOnlyPerson {
      * @param exam to add into person
      */
     public void addExam(Exam exam) {
-        exams.add(exam);
+        exams.put(exam.getKey(), exam);
+        markModified();
+        examsChangeListener.run();
+    }
+
+    /**
+     * Registers this person for the given exam in place of the exam with the same key they are registered for, so
+     * that they refer to the same exam object as the exam book does. Nothing else about the person changes.
+     */
+    public void replaceExam(Exam exam) {
+        exams.replace(exam.getKey(), exam);
     }
 
     /**
      * Checks if the exam is already registered
      */
     public boolean isExamPresent(ReadOnlyExam exam) {
-        boolean isPresent = false;
-        if (exams.contains(exam)) {
-            isPresent = true;
-        }
-        return isPresent;
+        return exams.containsKey(exam.getKey());
     }
 
     /**
@@ -112,7 +154,9 @@ public class Person implements ReadOnlyPerson {
      * @param exam to remove from person
      */
     public void removeExam(ReadOnlyExam exam) {
-        exams.remove(exam);
+        exams.remove(exam.getKey());
+        markModified();
+        examsChangeListener.run();
     }
 
     /**
@@ -120,14 +164,20 @@ public class Person implements ReadOnlyPerson {
      */
     public void clearExams() {
         exams.clear();
+        markModified();
+        examsChangeListener.run();
     }
 
     public void setAccount(Account account) {
         this.account = account;
+        markModified();
+        accountChangeListener.run();
     }
 
     public void removeAccount() {
         account = null;
+        markModified();
+        accountChangeListener.run();
     }
 
     public Set<Assessment> getAssessments() {
@@ -151,6 +201,7 @@ public class Person implements ReadOnlyPerson {
      */
     public void removeAssessment(Assessment assessment) {
         assessments.remove(assessment);
+        markModified();
     }
 
     @Override
@@ -163,6 +214,32 @@ public class Person implements ReadOnlyPerson {
         return phone;
     }
 
+    @Override
+    public int getSlot() {
+        return slot;
+    }
+
+    /**
+     * Sets the position of this person in the assessments of the address book holding it.
+     * Only the address book holding this person should call this.
+     */
+    public void setSlot(int slot) {
+        this.slot = slot;
+    }
+
+    @Override
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Sets the number the storage files of an address book refer to this person by.
+     * Only storage reading this person and the address book holding it should call this.
+     */
+    public void setId(int id) {
+        this.id = id;
+    }
+
     @Override
     public Email getEmail() {
         return email;
@@ -178,7 +255,7 @@ public class Person implements ReadOnlyPerson {
         return fees; }
     @Override
     public Set<Exam> getExams() {
-        return new HashSet<>(exams);
+        return new HashSet<>(exams.values());
     }
 
     @Override
@@ -200,8 +277,8 @@ public class Person implements ReadOnlyPerson {
 
     @Override
     public int hashCode() {
-        // use this method for custom fields hashing instead of implementing your own
-        return Objects.hash(name, phone, email, address, fees, tags);
+        // only the fields equals compares, which cannot change while the person is in a set or map
+        return Objects.hash(name, phone, email, address);
     }
 
     @Override
@@ -217,6 +294,7 @@ public class Person implements ReadOnlyPerson {
     /** Has a boolean to check if the date is a duplicate **/
     public boolean updateAttendanceMethod(String date, Boolean isPresent, Boolean overWrite) {
         boolean duplicateDate = attendance.addAttendance(date, isPresent, overWrite);
+        markAttendanceModified();
         return duplicateDate;
     }
 
@@ -228,6 +306,7 @@ public class Person implements ReadOnlyPerson {
     /** Replaces the attendance if there is already a duplicate **/
     public boolean replaceAttendanceMethod(String date, Boolean isPresent, Boolean overWrite) {
         boolean duplicateDate = attendance.addAttendance(date, isPresent, overWrite);
+        markAttendanceModified();
         return duplicateDate;
     }
 
@@ -239,5 +318,53 @@ public class Person implements ReadOnlyPerson {
     /** Setter for attendance **/
     public void setAttendance(Attendance attendance) {
         this.attendance = attendance;
+        markAttendanceModified();
+    }
+
+    /**
+     * Returns a number that changes whenever this person is modified.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    private void markModified() {
+        version++;
+        changeListener.run();
+    }
+
+    private void markAttendanceModified() {
+        version++;
+        attendanceChangeListener.run();
+    }
+
+    /**
+     * Sets the action to run whenever this person is modified, e.g. to mark the book holding it as changed.
+     */
+    public void setChangeListener(Runnable changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    /**
+     * Sets the action to run whenever the attendance of this person is modified, instead of the change listener.
+     */
+    public void setAttendanceChangeListener(Runnable attendanceChangeListener) {
+        this.attendanceChangeListener = attendanceChangeListener;
+    }
+
+    /**
+     * Sets the action to run whenever the account of this person is set or removed, e.g. to re-index the person by
+     * username, in addition to the change listener.
+     */
+    public void setAccountChangeListener(Runnable accountChangeListener) {
+        this.accountChangeListener = accountChangeListener;
+    }
+
+    /**
+     * Sets the action to run whenever the exams this person is registered for change, e.g. to re-index the person
+     * by exam, in addition to the change listener.
+     */
+    public void setExamsChangeListener(Runnable examsChangeListener) {
+        this.examsChangeListener = examsChangeListener;
     }
 }
@@ -1,5 +1,7 @@
 package seedu.addressbook.data.person;
 
+import java.util.List;
+
 import seedu.addressbook.formatter.Formatter;
 
 /**
@@ -8,6 +10,11 @@ import seedu.addressbook.formatter.Formatter;
  */
 public interface ReadOnlyExam {
 
+    /**
+     * Returns the details that identify this exam, which never change and are shared by exactly the exams that are
+     * the same base exam as this one, so that exams can be kept in hash maps however their number of takers changes.
+     */
+    List<Object> getKey();
     String getExamName();
     String getSubjectName();
     String getExamDate();
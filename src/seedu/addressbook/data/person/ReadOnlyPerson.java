@@ -17,6 +17,18 @@ import seedu.addressbook.formatter.Formatter;
  * Implementations should guarantee: details are present and not null, field values are validated.
  */
 public interface ReadOnlyPerson {
+    /**
+     * Returns the position of this person in the assessments of the address book holding it, which the address book
+     * gives to the next person it holds once this person is removed, or {@link Person#NO_SLOT} if no book holds it.
+     */
+    int getSlot();
+
+    /**
+     * Returns the number the storage files of the address book holding this person refer to it by, which the address
+     * book never gives to another person, or {@link Person#NO_ID} if no book has given it one.
+     */
+    int getId();
+
     Name getName();
     Phone getPhone();
     Email getEmail();
@@ -1,24 +1,22 @@
 package seedu.addressbook.data.person;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
-import seedu.addressbook.common.Utils;
+import seedu.addressbook.common.IndexedUniqueList;
 import seedu.addressbook.data.exception.DuplicateDataException;
 
 /**
  * A list of assessments. Does not allow null elements or duplicates.
+ * Assessments are indexed by their exam names, which is what {@link Assessment#equals} compares.
  *
  * @see Person#equals(Object)
- * @see Utils#elementsAreUnique(Collection)
  */
 public class UniqueAssessmentsList implements Iterable<Assessment> {
 
-    private final List<Assessment> internalList = new ArrayList<>();
+    private final IndexedUniqueList<Assessment> internalList = new IndexedUniqueList<>(Assessment::getExamName);
 
     /**
      * Signals that an operation would have violated the 'no duplicates' property of the list.
@@ -55,10 +53,9 @@ public class UniqueAssessmentsList implements Iterable<Assessment> {
      */
     public UniqueAssessmentsList(Assessment... assessments) throws DuplicateAssessmentException {
         final List<Assessment> initialTags = Arrays.asList(assessments);
-        if (!Utils.elementsAreUnique(initialTags)) {
+        if (!internalList.addAll(initialTags)) {
             throw new DuplicateAssessmentException();
         }
-        internalList.addAll(initialTags);
     }
 
     /**
@@ -67,17 +64,16 @@ public class UniqueAssessmentsList implements Iterable<Assessment> {
      * @throws DuplicateAssessmentException if the {@code assessment} contains duplicate assessments
      */
     public UniqueAssessmentsList(Collection<Assessment> assessments) throws DuplicateAssessmentException {
-        if (!Utils.elementsAreUnique(assessments)) {
+        if (!internalList.addAll(assessments)) {
             throw new DuplicateAssessmentException();
         }
-        internalList.addAll(assessments);
     }
 
     /**
-     * Constructs a shallow copy of the list.
+     * Constructs a shallow copy of the list, which shares the elements of the list in constant time.
      */
     public UniqueAssessmentsList(UniqueAssessmentsList source) {
-        internalList.addAll(source.internalList);
+        internalList.copyFrom(source.internalList);
     }
 
     /**
@@ -86,7 +82,7 @@ public class UniqueAssessmentsList implements Iterable<Assessment> {
      * Any changes to the internal list/elements are immediately visible in the returned list.
      */
     public List<Assessment> immutableListView() {
-        return Collections.unmodifiableList(internalList);
+        return internalList.asList();
     }
 
 
@@ -94,7 +90,7 @@ public class UniqueAssessmentsList implements Iterable<Assessment> {
      * Checks if the list contains an equivalent assessment as the given argument.
      */
     public boolean contains(Assessment toCheck) {
-        return internalList.contains(toCheck);
+        return internalList.containsKey(toCheck.getExamName());
     }
 
     /**
@@ -104,10 +100,9 @@ public class UniqueAssessmentsList implements Iterable<Assessment> {
      * list.
      */
     public void add(Assessment toAdd) throws DuplicateAssessmentException {
-        if (contains(toAdd)) {
+        if (!internalList.add(toAdd)) {
             throw new DuplicateAssessmentException();
         }
-        internalList.add(toAdd);
     }
 
     /**
@@ -116,12 +111,7 @@ public class UniqueAssessmentsList implements Iterable<Assessment> {
      * @throws AssessmentNotFoundException if no such assessment could be found in the list.
      */
     public Assessment find(Assessment assessment) throws AssessmentNotFoundException {
-        for (Assessment p: internalList) {
-            if (p.equals(assessment)) {
-                return p;
-            }
-        }
-        throw new AssessmentNotFoundException();
+        return findAssessmentByName(assessment.getExamName());
     }
 
     /**
@@ -130,7 +120,7 @@ public class UniqueAssessmentsList implements Iterable<Assessment> {
      * @throws AssessmentNotFoundException if no such assessment could be found in the list.
      */
     public void remove(Assessment toRemove) throws AssessmentNotFoundException {
-        final boolean assessmentFoundAndDeleted = internalList.remove(toRemove);
+        final boolean assessmentFoundAndDeleted = internalList.remove(toRemove.getExamName()).isPresent();
         if (!assessmentFoundAndDeleted) {
             throw new AssessmentNotFoundException();
         }
@@ -149,12 +139,7 @@ public class UniqueAssessmentsList implements Iterable<Assessment> {
      * @throws AssessmentNotFoundException
      */
     public Assessment findAssessmentByName(String examName) throws AssessmentNotFoundException {
-        for (Assessment p: internalList) {
-            if (p.getExamName().equals(examName)) {
-                return p;
-            }
-        }
-        throw new AssessmentNotFoundException();
+        return internalList.get(examName).orElseThrow(AssessmentNotFoundException::new);
     }
 
     @Override
@@ -1,23 +1,44 @@
 package seedu.addressbook.data.person;
 
-import java.util.ArrayList;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
 
+import seedu.addressbook.common.IndexedUniqueList;
+import seedu.addressbook.common.IndexedUniqueList.SortedIndex;
 import seedu.addressbook.common.Utils;
 import seedu.addressbook.data.exception.DuplicateDataException;
 
 /**
  * A list of all exams sorted by the subject names. Does not allow null elements or duplicates.
+ * Exams are indexed by the details {@link Exam#equals} compares, ignoring case, as {@link Exam#hashCode} also
+ * covers the number of takers. They are also indexed in order of subject name and of start date and time.
  *
  * @see Exam#equals(Object)
- * @see Utils#elementsAreUnique(Collection)
  */
 public class UniqueExamList implements Iterable<Exam> {
 
-    private final List<Exam> internalList = new ArrayList<>();
+    private static final Comparator<ReadOnlyExam> BY_SUBJECT_NAME = (exam1, exam2) ->
+            exam1.getSubjectName().compareToIgnoreCase(exam2.getSubjectName());
+
+    private final IndexedUniqueList<Exam> internalList = new IndexedUniqueList<>(UniqueExamList::getKey);
+    private final SortedIndex<Exam, String> examsBySubjectName = internalList.addSortedIndex(exam ->
+            Collections.singletonList(Utils.foldCase(exam.getSubjectName())), String::compareTo);
+    private final SortedIndex<Exam, LocalDateTime> examsByStart = internalList.addSortedIndex(exam ->
+            Collections.singletonList(getStart(exam)), LocalDateTime::compareTo);
+
+    /**
+     * Whether the exams are known to be sorted by subject name, which the constructors from a collection and
+     * {@link #updateExam} do not keep.
+     */
+    private boolean isSorted = true;
 
     /**
      * Signals that an operation would have violated the 'no duplicates' property of the list.
@@ -45,40 +66,54 @@ public class UniqueExamList implements Iterable<Exam> {
      * @throws DuplicateExamException if the {@code exams} contains duplicate exams
      */
     public UniqueExamList(Collection<Exam> exams) throws DuplicateExamException {
-        if (!Utils.elementsAreUnique(exams)) {
+        if (!internalList.addAll(exams)) {
             throw new DuplicateExamException();
         }
-        internalList.addAll(exams);
+        isSorted = exams.isEmpty();
     }
 
     /**
-     * Constructs a shallow copy of the list.
+     * Constructs a shallow copy of the list, which shares the elements of the list in constant time.
      */
     public UniqueExamList(UniqueExamList source) {
-        internalList.addAll(source.internalList);
+        internalList.copyFrom(source.internalList);
+        isSorted = source.isSorted;
+    }
+
+    /**
+     * Returns the details that {@link ReadOnlyExam#isSameStateAs} checks, with their case folded, which identify
+     * the exam however its number of takers changes.
+     */
+    static List<Object> getKey(ReadOnlyExam exam) {
+        return Arrays.asList(Utils.foldCase(exam.getSubjectName()), Utils.foldCase(exam.getExamName()),
+                Utils.foldCase(exam.getExamDate()), Utils.foldCase(exam.getExamStartTime()),
+                Utils.foldCase(exam.getExamEndTime()), Utils.foldCase(exam.getExamDetails()), exam.isPrivate());
+    }
+
+    /**
+     * Returns the date and time the exam starts at.
+     */
+    private static LocalDateTime getStart(ReadOnlyExam exam) {
+        return LocalDateTime.of(Utils.parseDate(exam.getExamDate()), LocalTime.parse(exam.getExamStartTime()));
     }
 
     /**
      * Checks if the list contains an equivalent base exam as the given argument.
      */
     public boolean contains(ReadOnlyExam toCheck) {
-        return internalList.contains(toCheck);
+        return internalList.containsKey(getKey(toCheck));
     }
 
     /**
      * Checks if the list contains an fully equivalent exam as the given argument.
      */
     public boolean containsFully(ReadOnlyExam toCheck) {
-        for (Exam e: internalList) {
-            if (e.equalsFully(toCheck)) {
-                return true;
-            }
-        }
-        return false;
+        final Optional<Exam> found = internalList.get(getKey(toCheck));
+        return found.isPresent() && found.get().equalsFully(toCheck);
     }
 
     /**
-     * Adds a exam to the list. Performs a sort to ensure list is sorted by subject name.
+     * Adds a exam to the list, after the exams of the same subject name so that the list stays sorted.
      *
      * @throws DuplicateExamException if the exam is a duplicate of an existing base exam in the list.
      */
@@ -86,8 +121,20 @@ public class UniqueExamList implements Iterable<Exam> {
         if (contains(toAdd)) {
             throw new DuplicateExamException();
         }
-        internalList.add(toAdd);
-        sort();
+        if (!isSorted) {
+            sort();
+        }
+        internalList.add(getInsertionPosition(toAdd), toAdd);
+    }
+
+    /**
+     * Returns the position after the last exam of the sorted list whose subject name is not after that of the
+     * given exam, where a stable sort would have placed it had it been appended.
+     */
+    private int getInsertionPosition(ReadOnlyExam exam) {
+        return examsBySubjectName.getLastAtOrBefore(Utils.foldCase(exam.getSubjectName()))
+                .map(previous -> internalList.indexOfKey(getKey(previous)) + 1)
+                .orElse(0);
     }
 
     /**
@@ -96,7 +143,7 @@ public class UniqueExamList implements Iterable<Exam> {
      * @throws ExamNotFoundException if no such exam could be found in the list.
      */
     public void remove(ReadOnlyExam toRemove) throws ExamNotFoundException {
-        final boolean examFoundAndDeleted = internalList.remove(toRemove);
+        final boolean examFoundAndDeleted = internalList.remove(getKey(toRemove)).isPresent();
         if (!examFoundAndDeleted) {
             throw new ExamNotFoundException();
         }
@@ -108,7 +155,14 @@ public class UniqueExamList implements Iterable<Exam> {
      * Any changes to the internal list/elements are immediately visible in the returned list.
      */
     public List<ReadOnlyExam> immutableListView() {
-        return Collections.unmodifiableList(internalList);
+        return Collections.unmodifiableList(internalList.asList());
+    }
+
+    /**
+     * Returns the exams starting on any day from {@code from} to {@code to}, both inclusive, in order of their start.
+     */
+    public List<ReadOnlyExam> getExamsBetween(LocalDate from, LocalDate to) {
+        return Collections.unmodifiableList(examsByStart.getBetween(from.atStartOfDay(), to.atTime(LocalTime.MAX)));
     }
 
     /**
@@ -116,6 +170,7 @@ public class UniqueExamList implements Iterable<Exam> {
      */
     public void clear() {
         internalList.clear();
+        isSorted = true;
     }
 
     /**
@@ -124,12 +179,7 @@ public class UniqueExamList implements Iterable<Exam> {
      * @throws ExamNotFoundException if no such exam could be found in the list.
      */
     public Exam find(ReadOnlyExam exam) throws ExamNotFoundException {
-        for (Exam p: internalList) {
-            if (p.equals(exam)) {
-                return p;
-            }
-        }
-        throw new ExamNotFoundException();
+        return internalList.get(getKey(exam)).orElseThrow(ExamNotFoundException::new);
     }
 
     /**
@@ -139,16 +189,14 @@ public class UniqueExamList implements Iterable<Exam> {
      * @throws ExamNotFoundException if the original base exam could not be found in the list.
      */
     public void updateExam(Exam exam, Exam updatedExam) throws ExamNotFoundException {
-        boolean isExamPresent = false;
-        if (internalList.contains(exam)) {
-            isExamPresent = true;
-            int index = internalList.indexOf(exam);
-            internalList.remove(exam);
-            internalList.add(index, updatedExam);
-        }
-        if (!isExamPresent) {
+        final int index = internalList.indexOfKey(getKey(exam));
+        if (index < 0) {
             throw new ExamNotFoundException();
         }
+        if (BY_SUBJECT_NAME.compare(internalList.asList().get(index), updatedExam) != 0) {
+            isSorted = false;
+        }
+        internalList.set(index, updatedExam);
     }
 
     /**
@@ -182,6 +230,7 @@ public class UniqueExamList implements Iterable<Exam> {
      * Sorts all exams in list by their subject names.
      */
     public void sort() {
-        internalList.sort((Exam name1, Exam name2)->name1.getSubjectName().compareToIgnoreCase(name2.getSubjectName()));
+        internalList.sort(BY_SUBJECT_NAME);
+        isSorted = true;
     }
 }
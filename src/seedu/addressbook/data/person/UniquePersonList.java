@@ -1,14 +1,20 @@
 package seedu.addressbook.data.person;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
+import seedu.addressbook.common.IndexedUniqueList;
+import seedu.addressbook.common.IndexedUniqueList.SecondaryIndex;
+import seedu.addressbook.common.IndexedUniqueList.SortedIndex;
 import seedu.addressbook.common.Utils;
+import seedu.addressbook.data.account.Account;
 import seedu.addressbook.data.exception.DuplicateDataException;
 import seedu.addressbook.data.exception.IllegalValueException;
 import seedu.addressbook.data.person.details.Name;
@@ -16,13 +22,42 @@ import seedu.addressbook.data.tag.Tag;
 
 /**
  * A list of persons. Does not allow null elements or duplicates.
+ * Persons are indexed by the details {@link Person#equals} compares, as {@link Person#hashCode} also covers details
+ * that equality ignores, by the usernames of their accounts, by the exams they are registered for and by the words
+ * in their names.
  *
  * @see Person#equals(Object)
- * @see Utils#elementsAreUnique(Collection)
  */
 public class UniquePersonList implements Iterable<Person> {
 
-    private final List<Person> internalList = new ArrayList<>();
+    private final IndexedUniqueList<Person> internalList = new IndexedUniqueList<>(UniquePersonList::getKey);
+    private final SecondaryIndex<Person> personsByUsername = internalList.addIndex(person ->
+            person.getAccount().map(Account::getUsername).orElse(null));
+    private final SecondaryIndex<Person> personsWithAccount = internalList.addIndex(person ->
+            person.hasAccount() ? Boolean.TRUE : null);
+    private final SecondaryIndex<Person> personsByNameWord = internalList.addMultiIndex(person ->
+            person.getName().getWordsInName());
+    /** Persons by the keys of the exams they are registered for. */
+    private final SecondaryIndex<Person> personsByExam = internalList.addMultiIndex(person ->
+            person.getExams().stream().map(Exam::getKey).collect(Collectors.toList()));
+    private final SecondaryIndex<Person> personsWithExam = internalList.addIndex(person ->
+            person.getExams().isEmpty() ? null : Boolean.TRUE);
+    /** Persons by the words in their names with their case folded, in order so that prefixes can be matched. */
+    private final SortedIndex<Person, String> personsByFoldedNameWord = internalList.addSortedIndex(person ->
+            person.getName().getWordsInName().stream().map(Utils::foldCase).collect(Collectors.toList()),
+            String::compareTo);
+
+    /**
+     * Ways of matching keywords against the words in the names of persons.
+     */
+    public enum NameMatch {
+        /** The keyword is a word in the name. */
+        EXACT,
+        /** The keyword is a word in the name, ignoring case. */
+        IGNORE_CASE,
+        /** The keyword begins a word in the name, ignoring case. */
+        PREFIX
+    }
 
     /**
      * Signals that an operation would have violated the 'no duplicates' property of the list.
@@ -50,17 +85,23 @@ public class UniquePersonList implements Iterable<Person> {
      * @throws DuplicatePersonException if the {@code persons} contains duplicate persons
      */
     public UniquePersonList(Collection<Person> persons) throws DuplicatePersonException {
-        if (!Utils.elementsAreUnique(persons)) {
+        if (!internalList.addAll(persons)) {
             throw new DuplicatePersonException();
         }
-        internalList.addAll(persons);
     }
 
     /**
-     * Constructs a shallow copy of the list.
+     * Constructs a shallow copy of the list, which shares the elements of the list in constant time.
      */
     public UniquePersonList(UniquePersonList source) {
-        internalList.addAll(source.internalList);
+        internalList.copyFrom(source.internalList);
+    }
+
+    /**
+     * Returns the details that {@link ReadOnlyPerson#isSameStateAs} checks.
+     */
+    private static List<Object> getKey(ReadOnlyPerson person) {
+        return Arrays.asList(person.getName(), person.getPhone(), person.getEmail(), person.getAddress());
     }
 
     /**
@@ -69,14 +110,14 @@ public class UniquePersonList implements Iterable<Person> {
      * Any changes to the internal list/elements are immediately visible in the returned list.
      */
     public List<ReadOnlyPerson> immutableListView() {
-        return Collections.unmodifiableList(internalList);
+        return Collections.unmodifiableList(internalList.asList());
     }
 
     /**
      * Checks if the list contains an equivalent person as the given argument.
      */
     public boolean contains(ReadOnlyPerson toCheck) {
-        return internalList.contains(toCheck);
+        return internalList.containsKey(getKey(toCheck));
     }
 
     /**
@@ -85,10 +126,9 @@ public class UniquePersonList implements Iterable<Person> {
      * @throws DuplicatePersonException if the person to add is a duplicate of an existing person in the list.
      */
     public void add(Person toAdd) throws DuplicatePersonException {
-        if (contains(toAdd)) {
+        if (!internalList.add(toAdd)) {
             throw new DuplicatePersonException();
         }
-        internalList.add(toAdd);
     }
 
     /**
@@ -97,10 +137,7 @@ public class UniquePersonList implements Iterable<Person> {
      * @throws PersonNotFoundException if no such person could be found in the list.
      */
     public Person find(ReadOnlyPerson readOnlyPerson) throws PersonNotFoundException {
-        return internalList.stream()
-                .filter(p -> p.equals(readOnlyPerson))
-                .findAny()
-                .orElseThrow(PersonNotFoundException:: new);
+        return internalList.get(getKey(readOnlyPerson)).orElseThrow(PersonNotFoundException::new);
     }
 
     /**
@@ -109,19 +146,41 @@ public class UniquePersonList implements Iterable<Person> {
      * @throws PersonNotFoundException if no such person could be found in the list.
      */
     public void remove(ReadOnlyPerson toRemove) throws PersonNotFoundException {
-        final boolean personFoundAndDeleted = internalList.remove(toRemove);
+        final boolean personFoundAndDeleted = internalList.remove(getKey(toRemove)).isPresent();
         if (!personFoundAndDeleted) {
             throw new PersonNotFoundException();
         }
     }
 
+    /**
+     * Returns the persons whose names have a word matching any of the given keywords, in the order of the list.
+     */
+    public List<ReadOnlyPerson> findByName(Collection<String> keywords, NameMatch match) {
+        switch (match) {
+        case EXACT:
+            return Collections.unmodifiableList(personsByNameWord.getAll(keywords));
+        case IGNORE_CASE:
+            return Collections.unmodifiableList(personsByFoldedNameWord.getAll(
+                    keywords.stream().map(Utils::foldCase).collect(Collectors.toList())));
+        case PREFIX:
+            final List<String> words = new ArrayList<>();
+            for (String keyword : keywords) {
+                final String prefix = Utils.foldCase(keyword);
+                words.addAll(personsByFoldedNameWord.getKeysBetween(prefix, prefix + Character.MAX_VALUE));
+            }
+            return Collections.unmodifiableList(personsByFoldedNameWord.getAll(words));
+        default:
+            throw new AssertionError("Unknown name match: " + match);
+        }
+    }
+
     /**
      * Loops through list and appends data to string person.
      *
      */
     public List<ReadOnlyPerson> listdueFees(String date) {
         if (internalList.isEmpty()) {
-            return Collections.unmodifiableList(internalList);
+            return Collections.emptyList();
         }
         List<Person> copy = new ArrayList<>();
         for (Person p: internalList) {
@@ -160,7 +219,7 @@ public class UniquePersonList implements Iterable<Person> {
      */
     public List<ReadOnlyPerson> listFees() {
         if (internalList.isEmpty()) {
-            return Collections.unmodifiableList(internalList);
+            return Collections.emptyList();
         }
         List<Person> copy = new ArrayList<>();
         for (Person p: internalList) {
@@ -185,12 +244,7 @@ public class UniquePersonList implements Iterable<Person> {
      * @throws PersonNotFoundException Person cannot be found with the given username in internalList
      */
     public Person findPersonByUsername(String username) throws PersonNotFoundException {
-        for (Person p: internalList) {
-            if (p.getAccount().filter(acc -> acc.getUsername().equals(username)).isPresent()) {
-                return p;
-            }
-        }
-        throw new PersonNotFoundException();
+        return personsByUsername.getFirst(username).orElseThrow(PersonNotFoundException::new);
     }
 
     /**Checks if UniquePersonList holds a Person who has given username in its Account
@@ -198,12 +252,21 @@ public class UniquePersonList implements Iterable<Person> {
      * @return true if such a Person exists. False otherwise
      */
     public Boolean containsPersonWithUsername(String username) {
-        try {
-            findPersonByUsername(username);
-            return true;
-        } catch (PersonNotFoundException pne) {
-            return false;
-        }
+        return !personsByUsername.get(username).isEmpty();
+    }
+
+    /**
+     * Returns the persons who have an account, in the order of the list, as they are at the time of the call.
+     */
+    public List<ReadOnlyPerson> listPersonsWithAccount() {
+        return Collections.unmodifiableList(personsWithAccount.get(Boolean.TRUE));
+    }
+
+    /**
+     * Re-indexes the given person of the list by its account, after it was set or removed.
+     */
+    public void updateAccount(Person person) {
+        internalList.update(person);
     }
 
     /** Iterates through the UniquePersonList to check the attendance of each person
@@ -237,12 +300,33 @@ public class UniquePersonList implements Iterable<Person> {
     }
 
     /**
-     * Checks an exam to its new values for all persons
+     * Returns the persons registered for the given exam, in order.
+     */
+    public List<ReadOnlyPerson> getPersonsRegisteredFor(ReadOnlyExam exam) {
+        return Collections.unmodifiableList(personsByExam.get(exam.getKey()));
+    }
+
+    /**
+     * Returns the number of persons registered for the given exam.
+     */
+    public int countPersonsRegisteredFor(ReadOnlyExam exam) {
+        return personsByExam.get(exam.getKey()).size();
+    }
+
+    /**
+     * Re-indexes the given person of the list by its exams, after they changed.
+     */
+    public void updateExams(Person person) {
+        internalList.update(person);
+    }
+
+    /**
+     * Checks an exam to its new values for all persons registered for it
      * @param exam the original exam
      * @param newExam the new exam with updated details
      */
     public void updateExam(Exam exam, Exam newExam) {
-        for (Person p: internalList) {
+        for (Person p: personsByExam.get(exam.getKey())) {
             if (p.isExamPresent(exam)) {
                 p.removeExam(exam);
                 p.addExam(newExam);
@@ -251,11 +335,11 @@ public class UniquePersonList implements Iterable<Person> {
     }
 
     /**
-     * Removes an exam for all persons
+     * Removes an exam for all persons registered for it
      * @param exam the exam to be removed
      */
     public void removeExam(ReadOnlyExam exam) {
-        for (Person p: internalList) {
+        for (Person p: personsByExam.get(exam.getKey())) {
             if (p.isExamPresent(exam)) {
                 p.removeExam(exam);
             }
@@ -263,10 +347,10 @@ public class UniquePersonList implements Iterable<Person> {
     }
 
     /**
-     * Clears all exams for all persons
+     * Clears all exams for all persons registered for any
      */
     public void clearAllExam() {
-        for (Person p: internalList) {
+        for (Person p: personsWithExam.get(Boolean.TRUE)) {
             p.clearExams();
         }
     }
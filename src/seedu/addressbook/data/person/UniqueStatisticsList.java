@@ -1,24 +1,24 @@
 package seedu.addressbook.data.person;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
-import seedu.addressbook.common.Utils;
+import seedu.addressbook.common.IndexedUniqueList;
 import seedu.addressbook.data.exception.DuplicateDataException;
 
 /**
  * A list of statistics. Does not allow null elements or duplicates.
+ * Statistics are indexed by their exam names, as {@link AssignmentStatistics#hashCode} covers other details than
+ * {@link AssignmentStatistics#equals} compares.
  *
  * @see AssignmentStatistics#equals(Object)
- * @see Utils#elementsAreUnique(Collection)
  */
 public class UniqueStatisticsList implements Iterable<AssignmentStatistics> {
 
-    private final List<AssignmentStatistics> internalList = new ArrayList<>();
+    private final IndexedUniqueList<AssignmentStatistics> internalList =
+            new IndexedUniqueList<>(AssignmentStatistics::getExamName);
 
     /**
      * Signals that an operation would have violated the 'no duplicates' property of the list.
@@ -45,10 +45,9 @@ public class UniqueStatisticsList implements Iterable<AssignmentStatistics> {
      */
     public UniqueStatisticsList(AssignmentStatistics... statistics) throws DuplicateStatisticsException {
         final List<AssignmentStatistics> initialTags = Arrays.asList(statistics);
-        if (!Utils.elementsAreUnique(initialTags)) {
+        if (!internalList.addAll(initialTags)) {
             throw new DuplicateStatisticsException();
         }
-        internalList.addAll(initialTags);
     }
 
     /**
@@ -57,17 +56,16 @@ public class UniqueStatisticsList implements Iterable<AssignmentStatistics> {
      * @throws DuplicateStatisticsException if the {@code statistics} contains duplicate statistics
      */
     public UniqueStatisticsList(Collection<AssignmentStatistics> statistics) throws DuplicateStatisticsException {
-        if (!Utils.elementsAreUnique(statistics)) {
+        if (!internalList.addAll(statistics)) {
             throw new DuplicateStatisticsException();
         }
-        internalList.addAll(statistics);
     }
 
     /**
-     * Constructs a shallow copy of the list.
+     * Constructs a shallow copy of the list, which shares the elements of the list in constant time.
      */
     public UniqueStatisticsList(UniqueStatisticsList source) {
-        internalList.addAll(source.internalList);
+        internalList.copyFrom(source.internalList);
     }
 
     /**
@@ -76,14 +74,14 @@ public class UniqueStatisticsList implements Iterable<AssignmentStatistics> {
      * Any changes to the internal list/elements are immediately visible in the returned list.
      */
     public List<AssignmentStatistics> immutableListView() {
-        return Collections.unmodifiableList(internalList);
+        return internalList.asList();
     }
 
     /**
      * Checks if the list contains an equivalent statistic as the given argument.
      */
     public boolean contains(AssignmentStatistics toCheck) {
-        return internalList.contains(toCheck);
+        return internalList.containsKey(toCheck.getExamName());
     }
 
     /**
@@ -92,10 +90,9 @@ public class UniqueStatisticsList implements Iterable<AssignmentStatistics> {
      * @throws DuplicateStatisticsException if the statistic to add is a duplicate of an existing statistic in the list.
      */
     public void add(AssignmentStatistics toAdd) throws DuplicateStatisticsException {
-        if (contains(toAdd)) {
+        if (!internalList.add(toAdd)) {
             throw new DuplicateStatisticsException();
         }
-        internalList.add(toAdd);
     }
 
     /**
@@ -104,7 +101,7 @@ public class UniqueStatisticsList implements Iterable<AssignmentStatistics> {
      * @throws StatisticsNotFoundException if no such person could be found in the list.
      */
     public void remove(AssignmentStatistics toRemove) throws StatisticsNotFoundException {
-        final boolean statisticsFoundAndDeleted = internalList.remove(toRemove);
+        final boolean statisticsFoundAndDeleted = internalList.remove(toRemove.getExamName()).isPresent();
         if (!statisticsFoundAndDeleted) {
             throw new StatisticsNotFoundException();
         }
@@ -1,24 +1,53 @@
 package seedu.addressbook.logic;
 
 import static seedu.addressbook.common.Messages.MESSAGE_INSUFFICIENT_PRIVILEGE;
+import static seedu.addressbook.ui.Gui.DISPLAYED_INDEX_OFFSET;
 
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
 
+import seedu.addressbook.Main;
 import seedu.addressbook.commands.Command;
 import seedu.addressbook.commands.IncorrectCommand;
+import seedu.addressbook.commands.commandformat.indexformat.IndexFormatCommand;
+import seedu.addressbook.commands.commandformat.indexformat.ObjectTargeted;
 import seedu.addressbook.commands.commandresult.CommandResult;
+import seedu.addressbook.commands.general.BackupCommand;
+import seedu.addressbook.commands.general.ExitCommand;
+import seedu.addressbook.common.Utils;
 import seedu.addressbook.data.AddressBook;
 import seedu.addressbook.data.ExamBook;
 import seedu.addressbook.data.StatisticsBook;
 import seedu.addressbook.data.person.Assessment;
 import seedu.addressbook.data.person.AssignmentStatistics;
+import seedu.addressbook.data.person.Person;
 import seedu.addressbook.data.person.ReadOnlyExam;
 import seedu.addressbook.data.person.ReadOnlyPerson;
 import seedu.addressbook.parser.Parser;
 import seedu.addressbook.privilege.Privilege;
+import seedu.addressbook.privilege.user.AdminUser;
+import seedu.addressbook.storage.AsyncStorageFile;
+import seedu.addressbook.storage.BackupArchive;
+import seedu.addressbook.storage.BinaryStorage;
+import seedu.addressbook.storage.CommandJournal;
+import seedu.addressbook.storage.DataFileWatcher;
+import seedu.addressbook.storage.PagedStorage;
+import seedu.addressbook.storage.ShardedStorage;
 import seedu.addressbook.storage.Storage;
+import seedu.addressbook.storage.Storage.StorageOperationException;
+import seedu.addressbook.storage.StorageConfig;
 import seedu.addressbook.storage.StorageFile;
 import seedu.addressbook.storage.StorageFile.InvalidInitialisationException;
 import seedu.addressbook.storage.StorageFile.InvalidStorageFilePathException;
@@ -33,6 +62,21 @@ public class Logic {
     private ExamBook examBook;
     private StatisticsBook statisticsBook;
 
+    /** Number of books loaded concurrently at startup. */
+    private static final int STARTUP_THREADS = 3;
+
+    /** Journal of the mutating commands not yet checkpointed, or null if every mutation saves the books. */
+    private CommandJournal journal;
+
+    /** Number of journalled commands after which the books are checkpointed. */
+    private int checkpointInterval;
+
+    /** Archive written to by the backup command, created when first used. */
+    private BackupArchive backupArchive;
+
+    /** Watcher of changes other programs make to the data files, or null if they are not watched. */
+    private DataFileWatcher fileWatcher;
+
     /** The list of persons shown to the user most recently.  */
     private List<? extends ReadOnlyPerson> lastShownList = Collections.emptyList();
 
@@ -51,12 +95,80 @@ public class Logic {
     public static class WrongPasswordEnteredException extends Exception {}
 
     public Logic() throws Exception {
-        setStorage(initializeStorage());
-        setAddressBook(storage.load());
-        setExamBook(storage.loadExam());
-        setStatisticsBook(storage.loadStatistics());
-        storage.syncAddressBookExamBook(addressBook, examBook);
+        this(new StorageConfig());
+    }
+
+    public Logic(StorageConfig config) throws Exception {
+        this(config, new StartupTimer());
+    }
+
+    private Logic(StorageConfig config, StartupTimer timer) throws Exception {
+        this(config, timer.time("storage setup", () -> initializeStorage(config)), timer);
+    }
+
+    /**
+     * Loads the books from the given storage, first recovering any interrupted checkpoint and afterwards replaying
+     * the journalled commands if the configuration enables the journal.
+     */
+    Logic(StorageConfig config, Storage storage, StartupTimer timer) throws Exception {
+        setStorage(storage);
+        if (config.isJournalEnabled()) {
+            journal = new CommandJournal(config.getJournalPath());
+            checkpointInterval = config.getCheckpointInterval();
+            timer.run("checkpoint recovery", () -> storage.recoverCheckpoint(journal));
+        }
+        loadBooks(timer);
+        if (journal != null) {
+            timer.run("journal replay", this::replayJournal);
+        }
         initPrivilege();
+        if (config.isFileWatchEnabled()) {
+            fileWatcher = new DataFileWatcher((StorageFile) storage);
+        }
+        Main.LOGGER.log(Level.INFO, timer.toString());
+    }
+
+    /**
+     * Loads the three books concurrently, checking the address book against the exam book as soon as both are
+     * loaded rather than after the statistics book.
+     * @throws Exception if there were errors loading or checking the books.
+     */
+    private void loadBooks(StartupTimer timer) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(STARTUP_THREADS, runnable -> {
+            final Thread thread = new Thread(runnable, "startup-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            final Future<AddressBook> loadedAddressBook = executor.submit(() ->
+                    timer.time("address book load", storage::load));
+            final Future<ExamBook> loadedExamBook = executor.submit(() ->
+                    timer.time("exam book load", storage::loadExam));
+            final Future<StatisticsBook> loadedStatisticsBook = executor.submit(() ->
+                    timer.time("statistics book load", storage::loadStatistics));
+
+            setAddressBook(getLoaded(loadedAddressBook));
+            setExamBook(getLoaded(loadedExamBook));
+            timer.run("consistency check", () -> storage.syncAddressBookExamBook(addressBook, examBook));
+            setStatisticsBook(getLoaded(loadedStatisticsBook));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Waits for a book to be loaded, rethrowing the exception that loading it failed with.
+     */
+    private static <T> T getLoaded(Future<T> loading) throws Exception {
+        try {
+            return loading.get();
+        } catch (ExecutionException ee) {
+            final Throwable cause = ee.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw (Error) cause;
+        }
     }
 
     Logic(Storage storageFile, AddressBook addressBook, ExamBook examBook, StatisticsBook statisticsBook, Privilege
@@ -99,20 +211,51 @@ public class Logic {
         this.examBook = examBook;
     }
 
+    public void setBackupArchive(BackupArchive backupArchive) {
+        this.backupArchive = backupArchive;
+    }
+
+    public void setFileWatcher(DataFileWatcher fileWatcher) {
+        this.fileWatcher = fileWatcher;
+    }
+
     public void setStatisticsBook(StatisticsBook statisticsBook) {
         this.statisticsBook = statisticsBook;
     }
 
     /**
      * Creates the StorageFile object based on the user specified path (if any) or the default storage path.
+     * Asynchronous storage modes get a StorageFile that writes in the background, and the binary storage format
+     * gets a BinaryStorage, the sharded storage format a ShardedStorage and the paged storage format a PagedStorage,
+     * each converted from the XML storage files the first time it is used.
      * @throws InvalidStorageFilePathException if the target file path is incorrect.
      * @throws InvalidInitialisationException if the JAXB set up has error
+     * @throws StorageOperationException if the XML storage files could not be converted.
      */
-    private StorageFile initializeStorage()
+    private static Storage initializeStorage(StorageConfig config)
             throws InvalidStorageFilePathException,
-            InvalidInitialisationException {
+            InvalidInitialisationException,
+            StorageOperationException {
 
-        return new StorageFile();
+        if (config.getStorageFormat() == StorageConfig.StorageFormat.BINARY) {
+            final BinaryStorage binaryStorage = new BinaryStorage();
+            binaryStorage.importIfAbsent(new StorageFile(config.getXmlCodec()));
+            return binaryStorage;
+        }
+        if (config.getStorageFormat() == StorageConfig.StorageFormat.SHARDED) {
+            final ShardedStorage shardedStorage = new ShardedStorage();
+            shardedStorage.importIfAbsent(new StorageFile(config.getXmlCodec()));
+            return shardedStorage;
+        }
+        if (config.getStorageFormat() == StorageConfig.StorageFormat.PAGED) {
+            final PagedStorage pagedStorage = new PagedStorage();
+            pagedStorage.importIfAbsent(new StorageFile(config.getXmlCodec()));
+            return pagedStorage;
+        }
+        if (config.getStorageMode() == StorageConfig.StorageMode.ASYNC) {
+            return new AsyncStorageFile(config.getDurability(), config.getFlushInterval(), config.getXmlCodec());
+        }
+        return new StorageFile(config.getXmlCodec());
     }
 
     public String getStorageFilePath() {
@@ -165,28 +308,59 @@ public class Logic {
      * @throws Exception if there was any problem during command execution.
      */
     public CommandResult execute(String userCommandText) throws Exception {
+        applyExternalChanges();
         Command command = new Parser().parseCommand(userCommandText);
-        CommandResult result = execute(command);
+        CommandResult result = execute(command, userCommandText);
         recordResult(result);
         return result;
     }
 
+    /**
+     * Applies the changes other programs made to the data files since the last command, if the files are watched.
+     * Changes that cannot be applied are logged and the books left as they were.
+     */
+    private void applyExternalChanges() {
+        if (fileWatcher == null) {
+            return;
+        }
+        try {
+            if (fileWatcher.applyChanges(addressBook, examBook)) {
+                Main.LOGGER.log(Level.INFO, "Applied changes made to the data files by another program");
+            }
+        } catch (StorageOperationException soe) {
+            Main.LOGGER.log(Level.WARNING, "Changes made to the data files by another program were not applied: "
+                    + soe.getMessage());
+        }
+    }
+
     /**
      * Executes the command, updates storage if the command can potentially mutate data,
      * and returns the result.
      *
      * @param command user command
+     * @param commandText text the command was parsed from
      * @return result of the command
      * @throws Exception if there was any problem during command execution.
      */
-    private CommandResult execute(Command command) throws Exception {
+    private CommandResult execute(Command command, String commandText) throws Exception {
         final CommandResult result;
 
         command.setData(addressBook, lastShownList, lastShownExamList, lastShownAssessmentList, privilege, examBook,
                 statisticsBook, lastShownStatisticsList);
+        if (command instanceof BackupCommand) {
+            ((BackupCommand) command).setBackupArchive(getBackupArchive());
+        }
 
         // Checking instanceof IncorrectCommand to prevent overwriting the message of an incorrect command
-        if (privilege.isAllowedCommand(command) || (command instanceof IncorrectCommand)) {
+        final boolean isAllowed = privilege.isAllowedCommand(command) || (command instanceof IncorrectCommand);
+        final boolean isJournalled = journal != null && isAllowed
+                && (command.isMutating() || command.isExamMutating());
+        // The context must be recorded before execution, as the command may remove its own targets
+        final Optional<CommandJournal.Entry> journalEntry = isJournalled
+                ? createJournalEntry(command, commandText)
+                : Optional.empty();
+
+        if (isAllowed) {
             result = command.execute();
         } else {
             result = new IncorrectCommand (String.format(MESSAGE_INSUFFICIENT_PRIVILEGE,
@@ -194,16 +368,214 @@ public class Logic {
                     privilege.getLevelAsString())).execute();
         }
 
-        if (command.isMutating()) {
+        if (journal != null) {
+            if (isJournalled) {
+                appendToJournal(journalEntry);
+            }
+        } else if (command.isMutating() || command.isExamMutating()) {
+            // Books that the command did not modify are not written again
             storage.save(addressBook);
+            storage.saveExam(examBook);
             storage.saveStatistics(statisticsBook);
         }
-        if (command.isExamMutating()) {
-            storage.saveExam(examBook);
+        if (isAllowed && command instanceof ExitCommand) {
+            close();
         }
         return result;
     }
 
+    /**
+     * Records the command in the journal, checkpointing the books when the journal is due for it, or immediately
+     * if the command's context could not be recorded.
+     */
+    private void appendToJournal(Optional<CommandJournal.Entry> journalEntry) throws StorageOperationException {
+        if (!journalEntry.isPresent()) {
+            checkpoint();
+            return;
+        }
+        journal.append(journalEntry.get());
+        if (journal.size() >= checkpointInterval) {
+            checkpoint();
+        }
+    }
+
+    /**
+     * Describes the command with its targets and the logged in person given as positions in the books,
+     * so that it can be replayed without the lists shown to the user.
+     * Returns an empty Optional if any of them is no longer in the books.
+     */
+    private Optional<CommandJournal.Entry> createJournalEntry(Command command, String commandText) {
+        final Map<ObjectTargeted, Integer> targetIndexes = new EnumMap<>(ObjectTargeted.class);
+        if (command instanceof IndexFormatCommand) {
+            final IndexFormatCommand indexFormatCommand = (IndexFormatCommand) command;
+            for (ObjectTargeted objectTargeted : indexFormatCommand.getTargetedObjects()) {
+                final int shownIndex = indexFormatCommand.getTargetIndex(objectTargeted) - DISPLAYED_INDEX_OFFSET;
+                final int bookIndex = getBookIndexOfShown(objectTargeted, shownIndex);
+                if (bookIndex < 0) {
+                    return Optional.empty();
+                }
+                targetIndexes.put(objectTargeted, bookIndex);
+            }
+        }
+
+        int selfIndex = -1;
+        final Optional<Person> myPerson = privilege.getMyPerson();
+        if (myPerson.isPresent()) {
+            selfIndex = indexOfInstance(addressBook.getAllPersons().immutableListView(), myPerson.get());
+            if (selfIndex < 0) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(new CommandJournal.Entry(Utils.getClock().millis(), selfIndex, targetIndexes,
+                commandText));
+    }
+
+    /**
+     * Returns the position in its book of the object shown at {@code shownIndex} of the last shown list,
+     * or -1 if there is no such object or it is no longer in the book.
+     */
+    private int getBookIndexOfShown(ObjectTargeted objectTargeted, int shownIndex) {
+        switch (objectTargeted) {
+        case PERSON:
+            return getBookIndexOfShown(lastShownList, shownIndex, addressBook.getAllPersons().immutableListView());
+        case EXAM:
+            return getBookIndexOfShown(lastShownExamList, shownIndex, examBook.getAllExam().immutableListView());
+        case ASSESSMENT:
+            return getBookIndexOfShown(lastShownAssessmentList, shownIndex,
+                    addressBook.getAllAssessments().immutableListView());
+        case STATISTIC:
+            return getBookIndexOfShown(lastShownStatisticsList, shownIndex,
+                    statisticsBook.getAllStatistics().immutableListView());
+        default:
+            return -1;
+        }
+    }
+
+    private static int getBookIndexOfShown(List<?> shownList, int shownIndex, List<?> bookList) {
+        if (shownIndex < 0 || shownIndex >= shownList.size()) {
+            return -1;
+        }
+        return indexOfInstance(bookList, shownList.get(shownIndex));
+    }
+
+    /** Returns the position of the given instance in the list, or -1 if it is not in the list. */
+    private static int indexOfInstance(List<?> list, Object item) {
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i) == item) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Executes the journalled commands again on top of the books loaded from storage, then checkpoints the books.
+     * @throws Exception if there was any problem replaying a command.
+     */
+    private void replayJournal() throws Exception {
+        final List<CommandJournal.Entry> entries = journal.readAll();
+        if (entries.isEmpty()) {
+            return;
+        }
+        final Clock clock = Utils.getClock();
+        try {
+            for (CommandJournal.Entry entry : entries) {
+                replay(entry, clock.getZone());
+            }
+        } finally {
+            Utils.setClock(clock);
+        }
+        checkpoint();
+    }
+
+    /**
+     * Executes a journalled command in the context it was recorded with, without saving the books.
+     */
+    private void replay(CommandJournal.Entry entry, ZoneId zone) throws Exception {
+        final Command command = new Parser().parseCommand(entry.getCommandText());
+        List<ReadOnlyPerson> persons = Collections.emptyList();
+        List<ReadOnlyExam> exams = Collections.emptyList();
+        List<Assessment> assessments = Collections.emptyList();
+        List<AssignmentStatistics> statistics = Collections.emptyList();
+
+        for (Map.Entry<ObjectTargeted, Integer> target : entry.getTargetIndexes().entrySet()) {
+            final int shownIndex = ((IndexFormatCommand) command).getTargetIndex(target.getKey())
+                    - DISPLAYED_INDEX_OFFSET;
+            final int bookIndex = target.getValue();
+            switch (target.getKey()) {
+            case PERSON:
+                persons = listWithItemAt(shownIndex, addressBook.getAllPersons().immutableListView().get(bookIndex));
+                break;
+            case EXAM:
+                exams = listWithItemAt(shownIndex, examBook.getAllExam().immutableListView().get(bookIndex));
+                break;
+            case ASSESSMENT:
+                assessments = listWithItemAt(shownIndex,
+                        addressBook.getAllAssessments().immutableListView().get(bookIndex));
+                break;
+            case STATISTIC:
+                statistics = listWithItemAt(shownIndex,
+                        statisticsBook.getAllStatistics().immutableListView().get(bookIndex));
+                break;
+            default:
+                break;
+            }
+        }
+
+        final Privilege replayPrivilege = new Privilege(new AdminUser());
+        if (entry.getSelfIndex() >= 0) {
+            replayPrivilege.setMyPerson(addressBook.findPerson(
+                    addressBook.getAllPersons().immutableListView().get(entry.getSelfIndex())));
+        }
+
+        command.setData(addressBook, persons, exams, assessments, replayPrivilege, examBook, statisticsBook,
+                statistics);
+        Utils.setClock(Clock.fixed(Instant.ofEpochMilli(entry.getTimestamp()), zone));
+        command.execute();
+    }
+
+    /**
+     * Returns a list with {@code item} at {@code index}, standing in for the list the item was shown in.
+     */
+    private static <T> List<T> listWithItemAt(int index, T item) {
+        final List<T> list = new ArrayList<>(Collections.nCopies(index + 1, null));
+        list.set(index, item);
+        return list;
+    }
+
+    /**
+     * Saves all the books and empties the journal, whose commands the saved books now contain.
+     */
+    private void checkpoint() throws StorageOperationException {
+        storage.checkpoint(addressBook, examBook, statisticsBook, journal);
+    }
+
+    /**
+     * Checkpoints any journalled commands and waits for any pending saves and backups, so that the storage files
+     * and backup archives are complete when the program exits. Stops watching the data files.
+     * @throws StorageOperationException if there were errors saving the books, writing a backup or stopping the
+     *     watch.
+     */
+    public void close() throws StorageOperationException {
+        if (fileWatcher != null) {
+            fileWatcher.close();
+        }
+        if (journal != null && journal.size() > 0) {
+            checkpoint();
+        }
+        storage.flush();
+        if (backupArchive != null) {
+            backupArchive.awaitCompletion();
+        }
+    }
+
+    private BackupArchive getBackupArchive() {
+        if (backupArchive == null) {
+            backupArchive = new BackupArchive();
+        }
+        return backupArchive;
+    }
+
     /** Updates the {@link #lastShownList} if the result contains a list of Persons.
      *  Updates the {@link #lastShownExamList} if the result contains a list of Exams.
      *  Updates the {@link #lastShownAssessmentList} if the result contains a list of Assessments.
@@ -0,0 +1,63 @@
+package seedu.addressbook.logic;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Records how long each phase of the program startup takes, including phases that run concurrently.
+ */
+class StartupTimer {
+
+    /**
+     * Represents a phase that returns no result.
+     */
+    @FunctionalInterface
+    interface Phase {
+        void run() throws Exception;
+    }
+
+    private final long startNanos = System.nanoTime();
+
+    /** Duration of each phase in milliseconds, in the order the phases finished. */
+    private final Map<String, Long> phaseMillis = new LinkedHashMap<>();
+
+    /** Runs the phase, recording its duration under the given name. */
+    <T> T time(String name, Callable<T> phase) throws Exception {
+        final long phaseStartNanos = System.nanoTime();
+        try {
+            return phase.call();
+        } finally {
+            record(name, phaseStartNanos);
+        }
+    }
+
+    /** Runs the phase, recording its duration under the given name. */
+    void run(String name, Phase phase) throws Exception {
+        time(name, () -> {
+            phase.run();
+            return null;
+        });
+    }
+
+    private synchronized void record(String name, long phaseStartNanos) {
+        phaseMillis.put(name, toMillis(System.nanoTime() - phaseStartNanos));
+    }
+
+    private static long toMillis(long nanos) {
+        return nanos / 1_000_000;
+    }
+
+    /**
+     * Returns the total time since this timer was created, followed by the duration of each phase.
+     */
+    @Override
+    public synchronized String toString() {
+        final StringBuilder summary = new StringBuilder("Startup took ")
+                .append(toMillis(System.nanoTime() - startNanos)).append(" ms:");
+        phaseMillis.forEach((name, millis) -> summary.append(' ').append(name).append(' ').append(millis)
+                .append(" ms,"));
+        summary.setLength(summary.length() - 1);
+        return summary.toString();
+    }
+}
@@ -13,6 +13,7 @@ import static seedu.addressbook.parser.RegexPattern.BOOLEAN_ARGS_FORMAT;
 import static seedu.addressbook.parser.RegexPattern.EDIT_EXAM_INDEX_ARGS_FORMAT;
 import static seedu.addressbook.parser.RegexPattern.EXAM_DATA_ARGS_FORMAT;
 import static seedu.addressbook.parser.RegexPattern.FEES_DATA_ARGS_FORMAT;
+import static seedu.addressbook.parser.RegexPattern.FIND_ARGS_FORMAT;
 import static seedu.addressbook.parser.RegexPattern.KEYWORDS_ARGS_FORMAT;
 import static seedu.addressbook.parser.RegexPattern.PERSON_DATA_ARGS_FORMAT;
 import static seedu.addressbook.parser.RegexPattern.PERSON_INDEX_ARGS_FORMAT;
@@ -64,6 +65,7 @@ import seedu.addressbook.commands.fees.ListDueFeesCommand;
 import seedu.addressbook.commands.fees.ListFeesCommand;
 import seedu.addressbook.commands.fees.PaidFeesCommand;
 import seedu.addressbook.commands.fees.ViewFeesCommand;
+import seedu.addressbook.commands.general.BackupCommand;
 import seedu.addressbook.commands.general.ExitCommand;
 import seedu.addressbook.commands.general.HelpCommand;
 import seedu.addressbook.commands.person.AddCommand;
@@ -80,6 +82,7 @@ import seedu.addressbook.commands.privilege.RaisePrivilegeCommand;
 import seedu.addressbook.commands.privilege.SetPermanentAdminCommand;
 import seedu.addressbook.commands.privilege.ViewPrivilegeCommand;
 import seedu.addressbook.data.exception.IllegalValueException;
+import seedu.addressbook.data.person.UniquePersonList.NameMatch;
 
 /**
  * Parses user input.
@@ -143,6 +146,9 @@ public class Parser {
         case ExitCommand.COMMAND_WORD:
             return prepareVoidCommand(arguments, new ExitCommand());
 
+        case BackupCommand.COMMAND_WORD:
+            return prepareVoidCommand(arguments, new BackupCommand());
+
         case ViewPrivilegeCommand.COMMAND_WORD:
             return new ViewPrivilegeCommand();
 
@@ -386,16 +392,33 @@ public class Parser {
      * @return the prepared command
      */
     private Command prepareFind(String args) {
-        final Matcher matcher = KEYWORDS_ARGS_FORMAT.matcher(args.trim());
+        final Matcher matcher = FIND_ARGS_FORMAT.matcher(args.trim());
         if (!matcher.matches()) {
             return new IncorrectCommand(String.format(MESSAGE_INVALID_COMMAND_FORMAT,
                     FindCommand.MESSAGE_USAGE));
         }
 
+        final NameMatch match;
+        if (matcher.group("match") == null) {
+            match = NameMatch.EXACT;
+        } else {
+            switch (matcher.group("match")) {
+            case FindCommand.MATCH_IGNORE_CASE:
+                match = NameMatch.IGNORE_CASE;
+                break;
+            case FindCommand.MATCH_PREFIX:
+                match = NameMatch.PREFIX;
+                break;
+            default:
+                return new IncorrectCommand(String.format(MESSAGE_INVALID_COMMAND_FORMAT,
+                        FindCommand.MESSAGE_USAGE));
+            }
+        }
+
         // keywords delimited by whitespace
         final String[] keywords = matcher.group("keywords").split("\\s+");
         final Set<String> keywordSet = new HashSet<>(Arrays.asList(keywords));
-        return new FindCommand(keywordSet);
+        return new FindCommand(keywordSet, match);
     }
 
     /**
@@ -9,6 +9,7 @@ import seedu.addressbook.commands.account.DeleteAccountCommand;
 import seedu.addressbook.commands.exams.ClearExamsCommand;
 import seedu.addressbook.commands.fees.EditFeesCommand;
 import seedu.addressbook.commands.fees.PaidFeesCommand;
+import seedu.addressbook.commands.general.BackupCommand;
 import seedu.addressbook.commands.person.AddCommand;
 import seedu.addressbook.commands.person.ClearCommand;
 import seedu.addressbook.commands.person.DeleteCommand;
@@ -29,7 +30,8 @@ public class AdminUser extends TutorUser {
             new PaidFeesCommand(),
             new SetPermanentAdminCommand(),
             new AddAccountCommand(),
-            new DeleteAccountCommand()
+            new DeleteAccountCommand(),
+            new BackupCommand()
     );
 
     public AdminUser() {
@@ -0,0 +1,207 @@
+package seedu.addressbook.storage;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.ExamBook;
+import seedu.addressbook.data.StatisticsBook;
+import seedu.addressbook.storage.StorageConfig.Durability;
+import seedu.addressbook.storage.StorageConfig.XmlCodec;
+
+/**
+ * Represents storage files that are written by a single background writer, so that saving a book only costs
+ * the caller the conversion of the book and never the disk time.
+ * Saves of a book that the writer has not got to yet are coalesced, so a burst of saves writes each file once.
+ * When the pending saves are written depends on the {@link Durability}.
+ */
+public class AsyncStorageFile extends StorageFile {
+
+    private final Durability durability;
+    private final long flushIntervalMillis;
+
+    /** Latest pending write of each storage file, in the order the files were first submitted. */
+    private final Map<Path, StorageWrite> pendingWrites = new LinkedHashMap<>();
+
+    /** Failure of the last background write, reported to the next caller. Guarded by {@code this}. */
+    private StorageOperationException writeFailure;
+    private boolean isFlushRequested;
+    private boolean isWriting;
+    private long lastWriteMillis;
+
+    /**
+     * @throws InvalidStorageFilePathException if the default path is invalid
+     */
+    public AsyncStorageFile(Durability durability, int flushIntervalMillis, XmlCodec xmlCodec)
+            throws InvalidStorageFilePathException, InvalidInitialisationException {
+        this(DEFAULT_STORAGE_FILEPATH, DEFAULT_EXAMS_FILEPATH, DEFAULT_STATISTICS_FILEPATH, durability,
+                flushIntervalMillis, xmlCodec);
+    }
+
+    /**
+     * @throws InvalidStorageFilePathException if the given file path is invalid
+     */
+    public AsyncStorageFile(String filePath, String filePathExam, String filePathStatistics, Durability durability,
+                            int flushIntervalMillis) throws InvalidStorageFilePathException,
+            InvalidInitialisationException {
+        this(filePath, filePathExam, filePathStatistics, durability, flushIntervalMillis, XmlCodec.JAXB);
+    }
+
+    /**
+     * @throws InvalidStorageFilePathException if the given file path is invalid
+     */
+    public AsyncStorageFile(String filePath, String filePathExam, String filePathStatistics, Durability durability,
+                            int flushIntervalMillis, XmlCodec xmlCodec) throws InvalidStorageFilePathException,
+            InvalidInitialisationException {
+        super(filePath, filePathExam, filePathStatistics, xmlCodec);
+        this.durability = durability;
+        this.flushIntervalMillis = flushIntervalMillis;
+        final Thread writer = new Thread(this::runWriter, "storage-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void save(AddressBook addressBook) throws StorageOperationException {
+        throwWriteFailure();
+        super.save(addressBook);
+    }
+
+    @Override
+    public void saveExam(ExamBook examBook) throws StorageOperationException {
+        throwWriteFailure();
+        super.saveExam(examBook);
+    }
+
+    @Override
+    public void saveStatistics(StatisticsBook statisticsBook) throws StorageOperationException {
+        throwWriteFailure();
+        super.saveStatistics(statisticsBook);
+    }
+
+    /**
+     * Hands the write to the background writer, replacing any write of the same file it has not started yet.
+     */
+    @Override
+    protected synchronized void submit(Path target, StorageWrite write) {
+        pendingWrites.remove(target);
+        pendingWrites.put(target, write);
+        notifyAll();
+    }
+
+    /**
+     * Waits until every save made so far has been written to the storage files.
+     *
+     * @throws StorageOperationException if a background write failed.
+     */
+    @Override
+    public synchronized void flush() throws StorageOperationException {
+        isFlushRequested = true;
+        notifyAll();
+        try {
+            while (!pendingWrites.isEmpty() || isWriting) {
+                wait();
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new StorageOperationException("Interrupted while waiting for the storage files to be written");
+        } finally {
+            isFlushRequested = false;
+        }
+        throwWriteFailure();
+    }
+
+    /**
+     * Writes the pending saves before the checkpoint, so that they cannot overwrite it afterwards.
+     */
+    @Override
+    public void checkpoint(AddressBook addressBook, ExamBook examBook, StatisticsBook statisticsBook,
+                           CommandJournal journal) throws StorageOperationException {
+        flush();
+        super.checkpoint(addressBook, examBook, statisticsBook, journal);
+    }
+
+    /**
+     * Reports the failure of a background write. The books are then written in full by their next save, as the
+     * storage files may no longer hold the versions recorded as saved.
+     */
+    private synchronized void throwWriteFailure() throws StorageOperationException {
+        if (writeFailure == null) {
+            return;
+        }
+        final StorageOperationException failure = writeFailure;
+        writeFailure = null;
+        forgetSavedVersions();
+        throw failure;
+    }
+
+    private void runWriter() {
+        while (true) {
+            final List<StorageWrite> writes;
+            try {
+                writes = takePendingWrites();
+            } catch (InterruptedException ie) {
+                return;
+            }
+            StorageOperationException failure = null;
+            for (StorageWrite write : writes) {
+                try {
+                    write.run();
+                } catch (StorageOperationException soe) {
+                    failure = soe;
+                }
+            }
+            finishWriting(failure);
+        }
+    }
+
+    /**
+     * Waits until the durability calls for the pending writes to be made, then takes all of them.
+     */
+    private synchronized List<StorageWrite> takePendingWrites() throws InterruptedException {
+        while (true) {
+            final long waitMillis = getMillisUntilDue();
+            if (waitMillis == 0) {
+                break;
+            }
+            wait(waitMillis < 0 ? 0 : waitMillis);
+        }
+        final List<StorageWrite> writes = new ArrayList<>(pendingWrites.values());
+        pendingWrites.clear();
+        isWriting = true;
+        return writes;
+    }
+
+    /**
+     * Returns 0 if the pending writes are due, the milliseconds until they are, or -1 if they are not due until
+     * something changes.
+     */
+    private long getMillisUntilDue() {
+        if (pendingWrites.isEmpty()) {
+            return -1;
+        }
+        if (isFlushRequested) {
+            return 0;
+        }
+        switch (durability) {
+        case COMMAND:
+            return 0;
+        case INTERVAL:
+            return Math.max(0, lastWriteMillis + flushIntervalMillis - System.currentTimeMillis());
+        default:
+            return -1;
+        }
+    }
+
+    private synchronized void finishWriting(StorageOperationException failure) {
+        if (failure != null) {
+            writeFailure = failure;
+        }
+        isWriting = false;
+        lastWriteMillis = System.currentTimeMillis();
+        notifyAll();
+    }
+}
@@ -0,0 +1,311 @@
+package seedu.addressbook.storage;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.exception.IllegalValueException;
+import seedu.addressbook.data.person.Attendance;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.storage.Storage.StorageOperationException;
+
+/**
+ * Represents the file holding the attendance of the persons of an address book, stored apart from the address book
+ * file as columns rather than inside each person.
+ * After a header listing the ID of the person of each column, the file has a row per date: the date, then a bitmap
+ * of the columns whose person's attendance was taken on that date and a bitmap of those who were present. A row
+ * replaces any earlier row for the same date, so marking the attendance of a date appends a single row.
+ * Columns of persons no longer in the address book are ignored, and persons without a column have no attendance, so
+ * the file need not be written again when persons are added or removed.
+ */
+class AttendanceFile {
+
+    static final String MESSAGE_INVALID_HEADER = "Invalid attendance header: %1$s";
+    static final String MESSAGE_INVALID_ROW = "Invalid attendance row: %1$s";
+
+    private static final String HEADER = "persons";
+    private static final String EMPTY_BITMAP = "-";
+
+    /** Orders the rows written in full by date, for dates in the dd-MM-yyyy format of {@link Attendance}. */
+    private static final Comparator<String> DATE_ORDER = Comparator.comparing(AttendanceFile::toSortKey);
+
+    final Path path;
+
+    /** IDs of the persons of the columns on disk; null if the content of the file is unknown. */
+    private int[] savedRoster;
+    private Map<String, Row> savedRows;
+
+    AttendanceFile(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Attendance of the persons on one date.
+     */
+    static class Row {
+        final BitSet taken = new BitSet();
+        final BitSet present = new BitSet();
+
+        @Override
+        public boolean equals(Object other) {
+            return other == this
+                    || (other instanceof Row
+                    && taken.equals(((Row) other).taken)
+                    && present.equals(((Row) other).present));
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * taken.hashCode() + present.hashCode();
+        }
+    }
+
+    /**
+     * Attendance of the persons of an address book, copied so that it can be written after the book changes.
+     */
+    static class Snapshot {
+        /** IDs of the persons of the columns. */
+        private final int[] roster;
+        private final Map<String, Row> rows = new TreeMap<>(DATE_ORDER);
+
+        private Snapshot(int[] roster) {
+            this.roster = roster;
+        }
+    }
+
+    /**
+     * Copies the attendance of the persons of the address book into columns.
+     */
+    static Snapshot snapshot(AddressBook addressBook) {
+        final List<Person> persons = new ArrayList<>();
+        addressBook.getAllPersons().forEach(persons::add);
+        final Snapshot snapshot = new Snapshot(persons.stream().mapToInt(Person::getId).toArray());
+        for (int column = 0; column < persons.size(); column++) {
+            final Attendance attendance = persons.get(column).getAttendance();
+            for (Map.Entry<String, Boolean> entry : attendance.getAttendancePersonMap().entrySet()) {
+                final Row row = snapshot.rows.computeIfAbsent(entry.getKey(), unused -> new Row());
+                row.taken.set(column);
+                row.present.set(column, entry.getValue());
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Reads this file, if it exists, into the attendance of the persons of the freshly loaded address book.
+     * The address book gives no person the ID of a column whose person it no longer holds, so that a person added
+     * later does not take the attendance of that column.
+     *
+     * @return whether the file exists
+     * @throws IllegalValueException if the file is malformed
+     */
+    synchronized boolean load(AddressBook addressBook) throws IOException, IllegalValueException {
+        if (!Files.exists(path)) {
+            forget();
+            return false;
+        }
+        final Snapshot loaded;
+        try (final BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            loaded = new Snapshot(decodeHeader(reader.readLine()));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final String[] fields = line.split(" ");
+                if (fields.length != 3) {
+                    throw new IllegalValueException(String.format(MESSAGE_INVALID_ROW, line));
+                }
+                loaded.rows.put(fields[0], decodeRow(fields[1], fields[2], loaded.roster.length, line));
+            }
+        }
+
+        final Attendance[] attendances = new Attendance[loaded.roster.length];
+        final Map<Integer, Attendance> attendancesById = new HashMap<>();
+        for (int column = 0; column < attendances.length; column++) {
+            attendances[column] = new Attendance();
+            attendancesById.put(loaded.roster[column], attendances[column]);
+            addressBook.reserveIdsBelow(loaded.roster[column] + 1);
+        }
+        for (Map.Entry<String, Row> entry : loaded.rows.entrySet()) {
+            final Row row = entry.getValue();
+            for (int column = row.taken.nextSetBit(0); column >= 0; column = row.taken.nextSetBit(column + 1)) {
+                attendances[column].addAttendance(entry.getKey(), row.present.get(column), false);
+            }
+        }
+        addressBook.getAllPersons().forEach(person ->
+                person.setAttendance(attendancesById.getOrDefault(person.getId(), new Attendance())));
+        savedRoster = loaded.roster;
+        savedRows = loaded.rows;
+        return true;
+    }
+
+    /**
+     * Writes the snapshot to this file, appending only the rows of the dates that changed since the file was last
+     * read or written, unless the persons changed or a date was removed.
+     *
+     * @throws StorageOperationException if there were errors storing data to file.
+     */
+    synchronized void write(Snapshot snapshot) throws StorageOperationException {
+        try {
+            if (isRewriteNeeded(snapshot)) {
+                writeAll(snapshot, path);
+            } else {
+                appendChangedRows(snapshot, path);
+            }
+        } catch (IOException ioe) {
+            forget();
+            throw new StorageOperationException("Error writing to attendance file: " + path
+                    + " error: " + ioe.getMessage());
+        }
+        markSaved(snapshot);
+    }
+
+    /**
+     * Stages the write of the snapshot: the whole file to {@code rewritePath} if it must be rewritten, or else the
+     * rows to append to {@code appendPath}. {@link #markSaved} must be called once the staged file is applied.
+     *
+     * @throws StorageOperationException if there were errors storing data to file.
+     */
+    synchronized void stage(Snapshot snapshot, Path rewritePath, Path appendPath) throws StorageOperationException {
+        try {
+            if (isRewriteNeeded(snapshot)) {
+                writeAll(snapshot, rewritePath);
+            } else {
+                appendChangedRows(snapshot, appendPath);
+            }
+        } catch (IOException ioe) {
+            throw new StorageOperationException("Error writing to attendance file: " + path
+                    + " error: " + ioe.getMessage());
+        }
+    }
+
+    /**
+     * Remembers that this file holds the snapshot.
+     */
+    synchronized void markSaved(Snapshot snapshot) {
+        savedRoster = snapshot.roster;
+        savedRows = snapshot.rows;
+    }
+
+    /**
+     * Forgets the content of this file, so that the next write rewrites it.
+     */
+    synchronized void forget() {
+        savedRoster = null;
+        savedRows = null;
+    }
+
+    private boolean isRewriteNeeded(Snapshot snapshot) {
+        return savedRows == null || !Arrays.equals(savedRoster, snapshot.roster)
+                || !snapshot.rows.keySet().containsAll(savedRows.keySet());
+    }
+
+    /**
+     * Replaces the target file with the snapshot, written in full under a temporary name and then moved over it.
+     */
+    private void writeAll(Snapshot snapshot, Path target) throws IOException {
+        final Path partial = StorageFile.getPartialPath(target);
+        try (final BufferedWriter writer = Files.newBufferedWriter(partial, StandardCharsets.UTF_8)) {
+            writeAll(snapshot, writer);
+        } catch (IOException ioe) {
+            Files.deleteIfExists(partial);
+            throw ioe;
+        }
+        StorageFile.moveOver(partial, target);
+    }
+
+    /**
+     * Writes the snapshot in full, as the content of an attendance file.
+     */
+    static void writeAll(Snapshot snapshot, BufferedWriter writer) throws IOException {
+        writer.write(getHeader(snapshot.roster));
+        writer.newLine();
+        for (Map.Entry<String, Row> entry : snapshot.rows.entrySet()) {
+            writer.write(encodeRow(entry.getKey(), entry.getValue()));
+            writer.newLine();
+        }
+    }
+
+    private void appendChangedRows(Snapshot snapshot, Path target) throws IOException {
+        final List<String> changed = new ArrayList<>();
+        for (Map.Entry<String, Row> entry : snapshot.rows.entrySet()) {
+            if (!entry.getValue().equals(savedRows.get(entry.getKey()))) {
+                changed.add(encodeRow(entry.getKey(), entry.getValue()));
+            }
+        }
+        if (!changed.isEmpty()) {
+            Files.write(target, changed, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+    }
+
+    /**
+     * Returns the header listing the ID of the person of each column.
+     */
+    private static String getHeader(int[] roster) {
+        final StringBuilder header = new StringBuilder(HEADER);
+        for (int id : roster) {
+            header.append(' ').append(id);
+        }
+        return header.toString();
+    }
+
+    private static int[] decodeHeader(String header) throws IllegalValueException {
+        final String[] fields = header == null ? new String[0] : header.split(" ");
+        if (fields.length == 0 || !HEADER.equals(fields[0])) {
+            throw new IllegalValueException(String.format(MESSAGE_INVALID_HEADER, header));
+        }
+        final int[] roster = new int[fields.length - 1];
+        try {
+            for (int column = 0; column < roster.length; column++) {
+                roster[column] = Integer.parseInt(fields[column + 1]);
+            }
+        } catch (NumberFormatException nfe) {
+            throw new IllegalValueException(String.format(MESSAGE_INVALID_HEADER, header));
+        }
+        return roster;
+    }
+
+    private static String encodeRow(String date, Row row) {
+        return date + " " + encode(row.taken) + " " + encode(row.present);
+    }
+
+    private static Row decodeRow(String taken, String present, int columnCount, String line)
+            throws IllegalValueException {
+        final Row row = new Row();
+        try {
+            row.taken.or(decode(taken));
+            row.present.or(decode(present));
+        } catch (IllegalArgumentException iae) {
+            throw new IllegalValueException(String.format(MESSAGE_INVALID_ROW, line));
+        }
+        if (row.taken.length() > columnCount) {
+            throw new IllegalValueException(String.format(MESSAGE_INVALID_ROW, line));
+        }
+        return row;
+    }
+
+    private static String encode(BitSet bitmap) {
+        return bitmap.isEmpty() ? EMPTY_BITMAP : Base64.getEncoder().encodeToString(bitmap.toByteArray());
+    }
+
+    private static BitSet decode(String encoded) {
+        return EMPTY_BITMAP.equals(encoded) ? new BitSet() : BitSet.valueOf(Base64.getDecoder().decode(encoded));
+    }
+
+    private static String toSortKey(String date) {
+        final String[] parts = date.split("-");
+        return parts.length == 3 ? parts[2] + parts[1] + parts[0] + date : date;
+    }
+}
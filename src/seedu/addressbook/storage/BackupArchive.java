@@ -0,0 +1,164 @@
+package seedu.addressbook.storage;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import seedu.addressbook.Main;
+import seedu.addressbook.common.Utils;
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.ExamBook;
+import seedu.addressbook.data.StatisticsBook;
+import seedu.addressbook.storage.Storage.StorageOperationException;
+import seedu.addressbook.storage.jaxb.AdaptedAddressBook;
+import seedu.addressbook.storage.jaxb.AdaptedExamBook;
+import seedu.addressbook.storage.jaxb.AdaptedStatisticsBook;
+
+/**
+ * Represents the directory of backups, each a zip archive holding the books as the files of {@link StorageFile} at
+ * one point in time, named after that time.
+ * Starting a backup only copies the books into the beans they are written from, which are then written by a
+ * background thread, so that commands keep executing while the archive is written. An archive is written under a
+ * temporary name and only given its name once complete.
+ */
+public class BackupArchive {
+
+    /** Default directory used for the archives. */
+    public static final String DEFAULT_BACKUP_DIRECTORY = "backups";
+
+    private static final String ARCHIVE_PREFIX = "backup-";
+    private static final String ARCHIVE_EXTENSION = ".zip";
+    private static final String PARTIAL_EXTENSION = ".part";
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS")
+            .withZone(ZoneId.systemDefault());
+
+    private final Path directory;
+
+    /** Writes the archives one at a time, in the order the backups were started. */
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "backup-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Failure of the last archive written, reported to the next caller. Guarded by {@code this}. */
+    private StorageOperationException writeFailure;
+
+    /**
+     * Represents the books as they were when a backup was started.
+     */
+    private static class Snapshot {
+        private final AdaptedAddressBook addressBook;
+        private final AttendanceFile.Snapshot attendance;
+        private final AdaptedExamBook examBook;
+        private final AdaptedStatisticsBook statisticsBook;
+
+        Snapshot(AddressBook addressBook, ExamBook examBook, StatisticsBook statisticsBook) {
+            this.addressBook = new AdaptedAddressBook(addressBook);
+            this.attendance = AttendanceFile.snapshot(addressBook);
+            this.examBook = new AdaptedExamBook(examBook);
+            this.statisticsBook = new AdaptedStatisticsBook(statisticsBook);
+        }
+    }
+
+    public BackupArchive() {
+        this(DEFAULT_BACKUP_DIRECTORY);
+    }
+
+    public BackupArchive(String directory) {
+        this.directory = Paths.get(directory);
+    }
+
+    /**
+     * Copies the books and starts writing them to a new archive in the background.
+     * The copy is made on the calling thread and takes time in proportion to the size of the books, as persons are
+     * changed in place and so cannot be shared with the snapshot.
+     *
+     * @return the archive being written
+     * @throws StorageOperationException if the archive of an earlier backup could not be written
+     */
+    public Path start(AddressBook addressBook, ExamBook examBook, StatisticsBook statisticsBook)
+            throws StorageOperationException {
+        throwWriteFailure();
+        final Snapshot snapshot = new Snapshot(addressBook, examBook, statisticsBook);
+        final Path archive = directory.resolve(ARCHIVE_PREFIX + TIMESTAMP_FORMAT.format(Utils.getClock().instant())
+                + ARCHIVE_EXTENSION);
+        writer.execute(() -> {
+            try {
+                write(snapshot, archive);
+            } catch (StorageOperationException soe) {
+                Main.LOGGER.log(Level.WARNING, soe.getMessage());
+                synchronized (this) {
+                    writeFailure = soe;
+                }
+            }
+        });
+        return archive;
+    }
+
+    /**
+     * Waits until every backup started so far has been written.
+     *
+     * @throws StorageOperationException if an archive could not be written
+     */
+    public void awaitCompletion() throws StorageOperationException {
+        try {
+            writer.submit(() -> { }).get();
+        } catch (Exception e) {
+            throw new StorageOperationException("Interrupted while waiting for backups: " + e.getMessage());
+        }
+        throwWriteFailure();
+    }
+
+    private synchronized void throwWriteFailure() throws StorageOperationException {
+        if (writeFailure != null) {
+            final StorageOperationException failure = writeFailure;
+            writeFailure = null;
+            throw failure;
+        }
+    }
+
+    private static void write(Snapshot snapshot, Path archive) throws StorageOperationException {
+        final Path partial = Paths.get(archive.toString() + PARTIAL_EXTENSION);
+        try {
+            Files.createDirectories(archive.toAbsolutePath().getParent());
+            final ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(partial));
+            try (final BufferedWriter entryWriter = new BufferedWriter(new OutputStreamWriter(zip,
+                    StandardCharsets.UTF_8))) {
+                zip.putNextEntry(new ZipEntry(StorageFile.DEFAULT_STORAGE_FILEPATH));
+                snapshot.addressBook.writeXml(entryWriter);
+                entryWriter.flush();
+                zip.putNextEntry(new ZipEntry(StorageFile.getAttendancePath(
+                        Paths.get(StorageFile.DEFAULT_STORAGE_FILEPATH)).toString()));
+                AttendanceFile.writeAll(snapshot.attendance, entryWriter);
+                entryWriter.flush();
+                zip.putNextEntry(new ZipEntry(StorageFile.DEFAULT_EXAMS_FILEPATH));
+                snapshot.examBook.writeXml(entryWriter);
+                entryWriter.flush();
+                zip.putNextEntry(new ZipEntry(StorageFile.DEFAULT_STATISTICS_FILEPATH));
+                snapshot.statisticsBook.writeXml(entryWriter);
+            }
+            Files.move(partial, archive, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ioe) {
+            try {
+                Files.deleteIfExists(partial);
+            } catch (IOException deleteFailure) {
+                // the partial archive keeps its temporary name, so it is never taken for a backup
+            }
+            throw new StorageOperationException("Error writing backup: " + archive + " error: " + ioe.getMessage());
+        }
+    }
+}
@@ -0,0 +1,540 @@
+package seedu.addressbook.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntUnaryOperator;
+
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.ExamBook;
+import seedu.addressbook.data.StatisticsBook;
+import seedu.addressbook.data.account.Account;
+import seedu.addressbook.data.exception.IllegalValueException;
+import seedu.addressbook.data.person.Assessment;
+import seedu.addressbook.data.person.AssignmentStatistics;
+import seedu.addressbook.data.person.Attendance;
+import seedu.addressbook.data.person.Exam;
+import seedu.addressbook.data.person.Fees;
+import seedu.addressbook.data.person.Grades;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.UniqueAssessmentsList;
+import seedu.addressbook.data.person.UniqueExamList;
+import seedu.addressbook.data.person.UniquePersonList;
+import seedu.addressbook.data.person.UniqueStatisticsList;
+import seedu.addressbook.data.person.details.Address;
+import seedu.addressbook.data.person.details.Email;
+import seedu.addressbook.data.person.details.Name;
+import seedu.addressbook.data.person.details.Phone;
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.storage.StorageFile.InvalidStorageFilePathException;
+import seedu.addressbook.storage.binary.BinaryFormat;
+import seedu.addressbook.storage.binary.BinaryReader;
+import seedu.addressbook.storage.binary.BinaryWriter;
+
+/**
+ * Represents the files used to store the books in the compact binary format described in {@link BinaryFormat}.
+ * Exams taken by persons are stored once per address book file and referred to by position, rather than once per
+ * person taking them.
+ */
+public class BinaryStorage extends Storage {
+
+    /** Default file path used if the user doesn't provide the file name. */
+    public static final String DEFAULT_STORAGE_FILEPATH = "addressbook.bin";
+
+    /** Default exam file path used if the user doesn't provide the file name. */
+    public static final String DEFAULT_EXAMS_FILEPATH = "exams.bin";
+
+    /** Default statistics file path used if the user doesn't provide the file name. */
+    public static final String DEFAULT_STATISTICS_FILEPATH = "statistics.bin";
+
+    static final byte RECORD_BOOK = 1;
+    static final byte RECORD_EXAM = 2;
+    static final byte RECORD_PERSON = 3;
+    static final byte RECORD_ASSESSMENT = 4;
+    private static final byte RECORD_STATISTIC = 5;
+
+    public final Path path;
+    public final Path pathExam;
+    public final Path pathStatistics;
+
+    private final StorageFile.SavedVersion savedAddressBook = new StorageFile.SavedVersion();
+    private final StorageFile.SavedVersion savedExamBook = new StorageFile.SavedVersion();
+    private final StorageFile.SavedVersion savedStatisticsBook = new StorageFile.SavedVersion();
+
+    /**
+     * @throws InvalidStorageFilePathException if the default path is invalid
+     */
+    public BinaryStorage() throws InvalidStorageFilePathException {
+        this(DEFAULT_STORAGE_FILEPATH, DEFAULT_EXAMS_FILEPATH, DEFAULT_STATISTICS_FILEPATH);
+    }
+
+    /**
+     * @throws InvalidStorageFilePathException if the given file path is invalid
+     */
+    public BinaryStorage(String filePath, String filePathExam, String filePathStatistics)
+            throws InvalidStorageFilePathException {
+        this(toValidPath(filePath), filePathExam, filePathStatistics);
+    }
+
+    /**
+     * Creates the storage of the exam and statistics books of a storage keeping the address book in a format of its
+     * own at the given path.
+     *
+     * @throws InvalidStorageFilePathException if the exam or statistics file path is invalid
+     */
+    BinaryStorage(Path path, String filePathExam, String filePathStatistics) throws InvalidStorageFilePathException {
+        this.path = path;
+        pathExam = Paths.get(filePathExam);
+        if (!isValidPath(pathExam)) {
+            throw new InvalidStorageFilePathException("Exam storage file should end with '.bin'");
+        }
+        pathStatistics = Paths.get(filePathStatistics);
+        if (!isValidPath(pathStatistics)) {
+            throw new InvalidStorageFilePathException("Statistics storage file should end with '.bin'");
+        }
+    }
+
+    /**
+     * Returns true if the given path is acceptable as a storage file.
+     * The file path is considered acceptable if it ends with '.bin'
+     */
+    private static boolean isValidPath(Path filePath) {
+        return filePath.toString().endsWith(".bin");
+    }
+
+    private static Path toValidPath(String filePath) throws InvalidStorageFilePathException {
+        final Path path = Paths.get(filePath);
+        if (!isValidPath(path)) {
+            throw new InvalidStorageFilePathException("Storage file should end with '.bin'");
+        }
+        return path;
+    }
+
+    /**
+     * Converts the books in the given XML storage files into these binary storage files, unless these files
+     * already exist or there is no XML address book file to convert.
+     *
+     * @return true if the books were converted
+     * @throws StorageOperationException if there were errors reading the XML files or writing these files.
+     */
+    public boolean importIfAbsent(StorageFile source) throws StorageOperationException {
+        return importIfAbsent(this, source, path, pathExam, pathStatistics);
+    }
+
+    /**
+     * Converts the books in the given XML storage files into the target storage, unless any of the given files of
+     * the target already exist or there is no XML address book file to convert.
+     *
+     * @return true if the books were converted
+     * @throws StorageOperationException if there were errors reading the XML files or writing the target's files.
+     */
+    static boolean importIfAbsent(Storage target, StorageFile source, Path... targetPaths)
+            throws StorageOperationException {
+        for (Path targetPath : targetPaths) {
+            if (Files.exists(targetPath)) {
+                return false;
+            }
+        }
+        if (!Files.exists(source.path)) {
+            return false;
+        }
+        final AddressBook addressBook = source.load();
+        final ExamBook examBook = source.loadExam();
+        final StatisticsBook statisticsBook = source.loadStatistics();
+        source.syncAddressBookExamBook(addressBook, examBook);
+        target.saveExam(examBook);
+        target.saveStatistics(statisticsBook);
+        // The address book is written last, so that an interrupted conversion is retried at the next start
+        target.save(addressBook);
+        return true;
+    }
+
+    /**
+     * Saves the address book to the storage file, unless the file already holds its current version.
+     *
+     * @throws StorageOperationException if there were errors storing data to file.
+     */
+    @Override
+    public void save(AddressBook addressBook) throws StorageOperationException {
+        final long version = addressBook.getVersion();
+        if (savedAddressBook.isSaved(addressBook, version)) {
+            return;
+        }
+        final BinaryWriter writer = new BinaryWriter();
+        writer.writeString(addressBook.getMasterPassword());
+        writer.writeBoolean(addressBook.isPermAdmin());
+        writer.endRecord(RECORD_BOOK);
+
+        final Map<List<Object>, Integer> examIndexes = new HashMap<>();
+        for (Person person : addressBook.getAllPersons()) {
+            for (Exam exam : person.getExams()) {
+                final List<Object> key = getExamKey(exam);
+                if (!examIndexes.containsKey(key)) {
+                    writeExam(writer, exam);
+                    examIndexes.put(key, examIndexes.size());
+                }
+            }
+        }
+
+        final UniquePersonList persons = addressBook.getAllPersons();
+        for (Person person : persons) {
+            writePerson(writer, person, examIndexes);
+        }
+
+        for (Assessment assessment : addressBook.getAllAssessments()) {
+            writeAssessment(writer, assessment, persons, position -> position);
+        }
+        write(writer, path, BinaryFormat.KIND_ADDRESS_BOOK);
+        savedAddressBook.set(addressBook, version);
+    }
+
+    /**
+     * Loads the address book from the storage file, creating an empty one if the file does not exist.
+     *
+     * @throws StorageOperationException if there were errors reading and/or converting data from file.
+     */
+    @Override
+    public AddressBook load() throws StorageOperationException {
+        try {
+            final BinaryReader reader = BinaryReader.read(path, BinaryFormat.KIND_ADDRESS_BOOK);
+            String masterPassword = null;
+            boolean isPermAdmin = false;
+            final List<Exam> exams = new ArrayList<>();
+            final List<Person> persons = new ArrayList<>();
+            final Set<String> usernames = new HashSet<>();
+            final List<Assessment> assessments = new ArrayList<>();
+            while (reader.hasNextRecord()) {
+                switch (reader.nextRecord()) {
+                case RECORD_BOOK:
+                    masterPassword = reader.readNullableString();
+                    isPermAdmin = reader.readBoolean();
+                    break;
+                case RECORD_EXAM:
+                    exams.add(readExam(reader));
+                    break;
+                case RECORD_PERSON:
+                    final Person person = readPerson(reader, exams);
+                    if (person.hasAccount() && !usernames.add(person.getAccount().get().getUsername())) {
+                        throw new IllegalValueException("Data contains duplicate username");
+                    }
+                    persons.add(person);
+                    break;
+                case RECORD_ASSESSMENT:
+                    assessments.add(readAssessment(reader, persons));
+                    break;
+                default:
+                    // records added by later versions of the format are skipped
+                }
+            }
+            final AddressBook addressBook = new AddressBook(new UniquePersonList(persons),
+                    new UniqueAssessmentsList(assessments), masterPassword);
+            addressBook.setPermAdmin(isPermAdmin);
+            savedAddressBook.set(addressBook, addressBook.getVersion());
+            return addressBook;
+
+            // create empty file if not found
+        } catch (NoSuchFileException nsfe) {
+            final AddressBook empty = new AddressBook();
+            save(empty);
+            return empty;
+        } catch (IOException ioe) {
+            throw new StorageOperationException("Error reading from file: " + path);
+        } catch (IllegalValueException ive) {
+            throw new StorageOperationException(ive.getMessage());
+        }
+    }
+
+    /**
+     * Saves the exam book to the storage file, unless the file already holds its current version.
+     *
+     * @throws StorageOperationException if there were errors storing data to file.
+     */
+    @Override
+    public void saveExam(ExamBook examBook) throws StorageOperationException {
+        final long version = examBook.getVersion();
+        if (savedExamBook.isSaved(examBook, version)) {
+            return;
+        }
+        final BinaryWriter writer = new BinaryWriter();
+        for (Exam exam : examBook.getAllExam()) {
+            writeExam(writer, exam);
+        }
+        write(writer, pathExam, BinaryFormat.KIND_EXAM_BOOK);
+        savedExamBook.set(examBook, version);
+    }
+
+    /**
+     * Loads the exam book from the storage file, creating an empty one if the file does not exist.
+     *
+     * @throws StorageOperationException if there were errors reading and/or converting data from file.
+     */
+    @Override
+    public ExamBook loadExam() throws StorageOperationException {
+        try {
+            final BinaryReader reader = BinaryReader.read(pathExam, BinaryFormat.KIND_EXAM_BOOK);
+            final List<Exam> exams = new ArrayList<>();
+            while (reader.hasNextRecord()) {
+                if (reader.nextRecord() == RECORD_EXAM) {
+                    exams.add(readExam(reader));
+                }
+            }
+            final ExamBook examBook = new ExamBook(new UniqueExamList(exams));
+            savedExamBook.set(examBook, examBook.getVersion());
+            return examBook;
+        } catch (NoSuchFileException nsfe) {
+            final ExamBook empty = new ExamBook();
+            saveExam(empty);
+            return empty;
+        } catch (IOException ioe) {
+            throw new StorageOperationException("Error reading from exam file: " + pathExam);
+        } catch (IllegalValueException ive) {
+            throw new StorageOperationException(ive.getMessage());
+        }
+    }
+
+    /**
+     * Saves the statistics book to the storage file, unless the file already holds its current version.
+     *
+     * @throws StorageOperationException if there were errors storing data to file.
+     */
+    @Override
+    public void saveStatistics(StatisticsBook statisticsBook) throws StorageOperationException {
+        final long version = statisticsBook.getVersion();
+        if (savedStatisticsBook.isSaved(statisticsBook, version)) {
+            return;
+        }
+        final BinaryWriter writer = new BinaryWriter();
+        for (AssignmentStatistics statistics : statisticsBook.getAllStatistics()) {
+            writer.writeString(statistics.getExamName());
+            writer.writeDouble(statistics.getAverageScore());
+            writer.writeInt(statistics.getTotalExamTakers());
+            writer.writeDouble(statistics.getMaxScore());
+            writer.writeDouble(statistics.getMinScore());
+            writer.endRecord(RECORD_STATISTIC);
+        }
+        write(writer, pathStatistics, BinaryFormat.KIND_STATISTICS_BOOK);
+        savedStatisticsBook.set(statisticsBook, version);
+    }
+
+    /**
+     * Loads the statistics book from the storage file, creating an empty one if the file does not exist.
+     *
+     * @throws StorageOperationException if there were errors reading and/or converting data from file.
+     */
+    @Override
+    public StatisticsBook loadStatistics() throws StorageOperationException {
+        try {
+            final BinaryReader reader = BinaryReader.read(pathStatistics, BinaryFormat.KIND_STATISTICS_BOOK);
+            final List<AssignmentStatistics> statisticsList = new ArrayList<>();
+            while (reader.hasNextRecord()) {
+                if (reader.nextRecord() == RECORD_STATISTIC) {
+                    statisticsList.add(new AssignmentStatistics(reader.readString(), reader.readDouble(),
+                            reader.readInt(), reader.readDouble(), reader.readDouble()));
+                }
+            }
+            final StatisticsBook statisticsBook = new StatisticsBook(new UniqueStatisticsList(statisticsList));
+            savedStatisticsBook.set(statisticsBook, statisticsBook.getVersion());
+            return statisticsBook;
+        } catch (NoSuchFileException nsfe) {
+            final StatisticsBook empty = new StatisticsBook();
+            saveStatistics(empty);
+            return empty;
+        } catch (IOException ioe) {
+            throw new StorageOperationException("Error reading from statistics file: " + pathStatistics);
+        } catch (IllegalValueException ive) {
+            throw new StorageOperationException(ive.getMessage());
+        }
+    }
+
+    @Override
+    public String getPath() {
+        return path.toString();
+    }
+
+    @Override
+    public String getPathExam() {
+        return pathExam.toString();
+    }
+
+    @Override
+    public String getPathStatistics() {
+        return pathStatistics.toString();
+    }
+
+    /**
+     * Checks the exams of each person to see if they exist in the ExamBook and
+     * checks if the takers for all exams in ExamBook are all accounted for in the AddressBook
+     * @throws StorageOperationException listing the exams whose data was modified
+     */
+    @Override
+    public void syncAddressBookExamBook(AddressBook addressBook, ExamBook examBook) throws StorageOperationException {
+        ExamRegistrationCheck.check(addressBook, examBook);
+    }
+
+    static void write(BinaryWriter writer, Path target, byte kind) throws StorageOperationException {
+        try {
+            writer.writeTo(target, kind);
+        } catch (IOException ioe) {
+            throw new StorageOperationException("Error writing to file: " + target + " error: " + ioe.getMessage());
+        }
+    }
+
+    /** Returns every field of the exam, so that exams differing in any field are stored separately. */
+    static List<Object> getExamKey(Exam exam) {
+        return Arrays.asList(exam.getExamName(), exam.getSubjectName(), exam.getExamDate(), exam.getExamStartTime(),
+                exam.getExamEndTime(), exam.getExamDetails(), exam.getTakers(), exam.isPrivate());
+    }
+
+    static void writeExam(BinaryWriter writer, Exam exam) {
+        writer.writeString(exam.getExamName());
+        writer.writeString(exam.getSubjectName());
+        writer.writeString(exam.getExamDate());
+        writer.writeString(exam.getExamStartTime());
+        writer.writeString(exam.getExamEndTime());
+        writer.writeString(exam.getExamDetails());
+        writer.writeInt(exam.getTakers());
+        writer.writeBoolean(exam.isPrivate());
+        writer.endRecord(RECORD_EXAM);
+    }
+
+    static Exam readExam(BinaryReader reader) throws IllegalValueException {
+        return new Exam(reader.readString(), reader.readString(), reader.readString(), reader.readString(),
+                reader.readString(), reader.readString(), reader.readInt(), reader.readBoolean());
+    }
+
+    static void writePerson(BinaryWriter writer, Person person, Map<List<Object>, Integer> examIndexes) {
+        writer.writeString(person.getName().fullName);
+        writer.writeString(person.getPhone().value);
+        writer.writeBoolean(person.getPhone().isPrivate());
+        writer.writeString(person.getEmail().value);
+        writer.writeBoolean(person.getEmail().isPrivate());
+        writer.writeString(person.getAddress().value);
+        writer.writeBoolean(person.getAddress().isPrivate());
+        writer.writeString(person.getFees().value);
+        writer.writeString(person.getFees().duedate);
+
+        final Map<String, Boolean> attendance = person.getAttendance().getAttendancePersonMap();
+        writer.writeInt(attendance.size());
+        for (Map.Entry<String, Boolean> entry : attendance.entrySet()) {
+            writer.writeString(entry.getKey());
+            writer.writeBoolean(entry.getValue());
+        }
+
+        writer.writeInt(person.getExams().size());
+        for (Exam exam : person.getExams()) {
+            writer.writeInt(examIndexes.get(getExamKey(exam)));
+        }
+
+        writer.writeInt(person.getTags().size());
+        for (Tag tag : person.getTags()) {
+            writer.writeString(tag.tagName);
+        }
+
+        writer.writeBoolean(person.hasAccount());
+        if (person.hasAccount()) {
+            final Account account = person.getAccount().get();
+            writer.writeString(account.getUsername());
+            writer.writeString(account.getPassword());
+            writer.writeString(account.getPrivilege().getLevelAsString());
+        }
+        writer.endRecord(RECORD_PERSON);
+    }
+
+    /**
+     * Reads a person, whose exams are copies of the given exams stored earlier in the file.
+     */
+    static Person readPerson(BinaryReader reader, List<Exam> exams) throws IllegalValueException {
+        final String name = reader.readString();
+        try {
+            final Phone phone = new Phone(reader.readString(), reader.readBoolean());
+            final Email email = new Email(reader.readString(), reader.readBoolean());
+            final Address address = new Address(reader.readString(), reader.readBoolean());
+            final Fees fees = new Fees(reader.readString(), reader.readString());
+
+            final Attendance attendance = new Attendance();
+            final int attendanceCount = reader.readCount();
+            for (int i = 0; i < attendanceCount; i++) {
+                attendance.addAttendance(reader.readString(), reader.readBoolean(), false);
+            }
+
+            final Set<Exam> personExams = new HashSet<>();
+            final int examCount = reader.readCount();
+            for (int i = 0; i < examCount; i++) {
+                final int examIndex = reader.readInt();
+                if (examIndex >= exams.size()) {
+                    throw new IllegalValueException("Person refers to a missing exam: " + examIndex);
+                }
+                personExams.add(new Exam(exams.get(examIndex)));
+            }
+
+            final Set<Tag> tags = new HashSet<>();
+            final int tagCount = reader.readCount();
+            for (int i = 0; i < tagCount; i++) {
+                tags.add(new Tag(reader.readString()));
+            }
+
+            final Person person = new Person(new Name(name), phone, email, address, tags, personExams);
+            person.setFees(fees);
+            person.setAttendance(attendance);
+            if (reader.readBoolean()) {
+                final Account account = new Account(reader.readString(), reader.readString(), reader.readString());
+                account.setPrivilegePerson(person);
+                person.setAccount(account);
+            }
+            return person;
+        } catch (IllegalValueException ive) {
+            throw new IllegalValueException(String.format("Error processing %s: %s", name, ive.getMessage()));
+        }
+    }
+
+    /**
+     * Writes an assessment with its grades in the order of the given persons of the address book, each graded person
+     * given as the number {@code numberAt} gives for its position. Grades of persons not given are not written.
+     */
+    static void writeAssessment(BinaryWriter writer, Assessment assessment, Iterable<Person> persons,
+            IntUnaryOperator numberAt) {
+        writer.writeString(assessment.getExamName());
+        final List<Integer> numbers = new ArrayList<>();
+        final List<Grades> grades = new ArrayList<>();
+        int position = 0;
+        for (Person person : persons) {
+            final Grades personGrades = assessment.getGrade(person);
+            if (personGrades != null) {
+                numbers.add(numberAt.applyAsInt(position));
+                grades.add(personGrades);
+            }
+            position++;
+        }
+        writer.writeInt(numbers.size());
+        for (int i = 0; i < numbers.size(); i++) {
+            writer.writeInt(numbers.get(i));
+            writer.writeDouble(grades.get(i).getValue());
+        }
+        writer.endRecord(RECORD_ASSESSMENT);
+    }
+
+    private static Assessment readAssessment(BinaryReader reader, List<Person> persons)
+            throws IllegalValueException {
+        final Assessment assessment = new Assessment(reader.readString());
+        final int gradeCount = reader.readCount();
+        for (int i = 0; i < gradeCount; i++) {
+            final int personIndex = reader.readInt();
+            if (personIndex >= persons.size()) {
+                throw new IllegalValueException("Assessment refers to a missing person: " + personIndex);
+            }
+            final Person person = persons.get(personIndex);
+            person.addAssessment(assessment);
+            assessment.addGrade(person, new Grades(reader.readDouble()));
+        }
+        return assessment;
+    }
+}
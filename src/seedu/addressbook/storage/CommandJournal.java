@@ -0,0 +1,243 @@
+package seedu.addressbook.storage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import seedu.addressbook.commands.commandformat.indexformat.ObjectTargeted;
+import seedu.addressbook.data.exception.IllegalValueException;
+import seedu.addressbook.storage.Storage.StorageOperationException;
+import seedu.addressbook.storage.StorageFile.InvalidStorageFilePathException;
+
+/**
+ * Represents the append-only journal of mutating commands executed since the storage files were last checkpointed.
+ * Replaying the journal on top of the storage files restores the data as of the last journalled command.
+ */
+public class CommandJournal {
+
+    /** Default journal file path used if the user doesn't provide the file name. */
+    public static final String DEFAULT_JOURNAL_FILEPATH = "journal.txt";
+
+    private static final String FIELD_SEPARATOR = "\t";
+    private static final String NO_TARGET = "-";
+    private static final String LINE_SEPARATOR = "\n";
+
+    /** Number of fields preceding the command text in each record. */
+    private static final int CONTEXT_FIELD_COUNT = 2 + ObjectTargeted.values().length;
+
+    public final Path path;
+
+    /** Marks that a checkpoint has been fully staged and its staged files are to replace the storage files. */
+    private final Path commitMarkerPath;
+
+    /** Number of records currently in the journal file. */
+    private int size;
+
+    /**
+     * A single journal record: the text of a mutating command and the context it was executed in.
+     * Targets and the logged in person are stored as their positions in the full lists of the books, which
+     * replay reproduces exactly.
+     */
+    public static class Entry {
+        private final long timestamp;
+        private final int selfIndex;
+        private final Map<ObjectTargeted, Integer> targetIndexes;
+        private final String commandText;
+
+        /**
+         * @param timestamp time the command was executed, in milliseconds since the epoch
+         * @param selfIndex position of the logged in person in the address book, or -1 if nobody is logged in
+         * @param targetIndexes positions of the objects targeted by the command in their respective books
+         */
+        public Entry(long timestamp, int selfIndex, Map<ObjectTargeted, Integer> targetIndexes,
+                     String commandText) {
+            this.timestamp = timestamp;
+            this.selfIndex = selfIndex;
+            this.targetIndexes = new EnumMap<>(ObjectTargeted.class);
+            this.targetIndexes.putAll(targetIndexes);
+            this.commandText = commandText;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public int getSelfIndex() {
+            return selfIndex;
+        }
+
+        public Map<ObjectTargeted, Integer> getTargetIndexes() {
+            return Collections.unmodifiableMap(targetIndexes);
+        }
+
+        public String getCommandText() {
+            return commandText;
+        }
+
+        /** Returns this entry as a single line of the journal file. */
+        String toRecord() {
+            final StringBuilder record = new StringBuilder();
+            record.append(timestamp).append(FIELD_SEPARATOR).append(selfIndex);
+            for (ObjectTargeted objectTargeted : ObjectTargeted.values()) {
+                final Integer index = targetIndexes.get(objectTargeted);
+                record.append(FIELD_SEPARATOR).append(index == null ? NO_TARGET : index.toString());
+            }
+            return record.append(FIELD_SEPARATOR).append(commandText).toString();
+        }
+
+        /**
+         * Parses a line of the journal file.
+         *
+         * @throws IllegalValueException if the line is not a valid record
+         */
+        static Entry fromRecord(String record) throws IllegalValueException {
+            final String[] fields = record.split(FIELD_SEPARATOR, CONTEXT_FIELD_COUNT + 1);
+            if (fields.length != CONTEXT_FIELD_COUNT + 1) {
+                throw new IllegalValueException("Journal record has missing fields: " + record);
+            }
+            try {
+                final long timestamp = Long.parseLong(fields[0]);
+                final int selfIndex = Integer.parseInt(fields[1]);
+                final Map<ObjectTargeted, Integer> targetIndexes = new EnumMap<>(ObjectTargeted.class);
+                int field = 2;
+                for (ObjectTargeted objectTargeted : ObjectTargeted.values()) {
+                    if (!NO_TARGET.equals(fields[field])) {
+                        targetIndexes.put(objectTargeted, Integer.parseInt(fields[field]));
+                    }
+                    field++;
+                }
+                return new Entry(timestamp, selfIndex, targetIndexes, fields[CONTEXT_FIELD_COUNT]);
+            } catch (NumberFormatException nfe) {
+                throw new IllegalValueException("Journal record is malformed: " + record);
+            }
+        }
+    }
+
+    /**
+     * @throws InvalidStorageFilePathException if the default path is invalid
+     */
+    public CommandJournal() throws InvalidStorageFilePathException {
+        this(DEFAULT_JOURNAL_FILEPATH);
+    }
+
+    /**
+     * @throws InvalidStorageFilePathException if the given file path is invalid
+     */
+    public CommandJournal(String filePath) throws InvalidStorageFilePathException {
+        path = Paths.get(filePath);
+        if (!path.toString().endsWith(".txt")) {
+            throw new InvalidStorageFilePathException("Journal file should end with '.txt'");
+        }
+        commitMarkerPath = Paths.get(filePath + ".commit");
+    }
+
+    public String getPath() {
+        return path.toString();
+    }
+
+    /** Returns the number of records in the journal. Only accurate after {@link #readAll()} has been called. */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Reads every complete record in the journal file.
+     * A trailing partial record, left behind if the program stopped while appending it, is ignored.
+     *
+     * @throws StorageOperationException if there were errors reading the file or a record is malformed.
+     */
+    public List<Entry> readAll() throws StorageOperationException {
+        final List<Entry> entries = new ArrayList<>();
+        if (!Files.exists(path)) {
+            size = 0;
+            return entries;
+        }
+        try {
+            final String content = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+            final int end = content.lastIndexOf(LINE_SEPARATOR);
+            if (end >= 0) {
+                for (String record : content.substring(0, end).split(LINE_SEPARATOR)) {
+                    entries.add(Entry.fromRecord(record));
+                }
+            }
+        } catch (IOException ioe) {
+            throw new StorageOperationException("Error reading from journal file: " + path);
+        } catch (IllegalValueException ive) {
+            throw new StorageOperationException(ive.getMessage());
+        }
+        size = entries.size();
+        return entries;
+    }
+
+    /**
+     * Appends a record to the journal, returning only once it has reached the storage device.
+     *
+     * @throws StorageOperationException if there were errors writing to the file.
+     */
+    public void append(Entry entry) throws StorageOperationException {
+        final byte[] record = (entry.toRecord() + LINE_SEPARATOR).getBytes(StandardCharsets.UTF_8);
+        try {
+            Files.write(path, record, StandardOpenOption.CREATE, StandardOpenOption.APPEND,
+                    StandardOpenOption.DSYNC);
+        } catch (IOException ioe) {
+            throw new StorageOperationException("Error writing to journal file: " + path
+                    + " error: " + ioe.getMessage());
+        }
+        size++;
+    }
+
+    /**
+     * Removes all records from the journal.
+     *
+     * @throws StorageOperationException if there were errors writing to the file.
+     */
+    public void clear() throws StorageOperationException {
+        try {
+            Files.write(path, new byte[0], StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.DSYNC);
+        } catch (IOException ioe) {
+            throw new StorageOperationException("Error clearing journal file: " + path
+                    + " error: " + ioe.getMessage());
+        }
+        size = 0;
+    }
+
+    /**
+     * Records that a checkpoint has been staged in full, so that an interrupted checkpoint is completed rather than
+     * rolled back when the program next starts.
+     *
+     * @throws StorageOperationException if there were errors writing the marker.
+     */
+    void markCheckpointCommitted() throws StorageOperationException {
+        try {
+            Files.write(commitMarkerPath, new byte[0], StandardOpenOption.CREATE, StandardOpenOption.DSYNC);
+        } catch (IOException ioe) {
+            throw new StorageOperationException("Error writing checkpoint marker: " + commitMarkerPath);
+        }
+    }
+
+    boolean isCheckpointCommitted() {
+        return Files.exists(commitMarkerPath);
+    }
+
+    /**
+     * Removes the marker written by {@link #markCheckpointCommitted()} once the checkpoint is complete.
+     *
+     * @throws StorageOperationException if there were errors deleting the marker.
+     */
+    void clearCheckpointCommitted() throws StorageOperationException {
+        try {
+            Files.deleteIfExists(commitMarkerPath);
+        } catch (IOException ioe) {
+            throw new StorageOperationException("Error deleting checkpoint marker: " + commitMarkerPath);
+        }
+    }
+}
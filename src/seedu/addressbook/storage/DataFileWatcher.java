@@ -0,0 +1,110 @@
+package seedu.addressbook.storage;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.Set;
+
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.ExamBook;
+import seedu.addressbook.storage.Storage.StorageOperationException;
+
+/**
+ * Watches the address book and exam book files of a {@link StorageFile} for changes made by other programs, such as
+ * scripts run by admins, so that they can be applied to the books without restarting.
+ * Changes are polled for by the thread applying them, so the books never change in the middle of a command.
+ */
+public class DataFileWatcher implements AutoCloseable {
+
+    private final StorageFile storage;
+    private final Path addressBookPath;
+    private final Path examBookPath;
+    private final WatchService watchService;
+
+    /** Files changed by other programs whose changes are not yet applied. */
+    private final Set<Path> changedFiles = new HashSet<>();
+
+    /**
+     * @throws StorageOperationException if the directories of the files cannot be watched
+     */
+    public DataFileWatcher(StorageFile storage) throws StorageOperationException {
+        this.storage = storage;
+        addressBookPath = storage.path.toAbsolutePath().normalize();
+        examBookPath = storage.pathExam.toAbsolutePath().normalize();
+        try {
+            watchService = addressBookPath.getFileSystem().newWatchService();
+            addressBookPath.getParent().register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+            if (!examBookPath.getParent().equals(addressBookPath.getParent())) {
+                examBookPath.getParent().register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+            }
+        } catch (IOException ioe) {
+            throw new StorageOperationException("Error watching data files: " + ioe.getMessage());
+        }
+    }
+
+    /**
+     * Applies the changes other programs made to the address book and exam book files since they were last
+     * applied, if any file changed again since this was last called.
+     * Files whose changes could not be applied are tried again when any file next changes, as other programs may
+     * be part way through changing both.
+     *
+     * @return true if any change was applied
+     * @throws StorageOperationException if the changed files could not be read or disagree with the other books,
+     *     in which case the books are left as they were
+     */
+    public boolean applyChanges(AddressBook addressBook, ExamBook examBook) throws StorageOperationException {
+        if (!pollChangedFiles()) {
+            return false;
+        }
+        storage.reload(addressBook, examBook, changedFiles.contains(addressBookPath),
+                changedFiles.contains(examBookPath));
+        changedFiles.clear();
+        return true;
+    }
+
+    /**
+     * Takes the pending events of the watched directories, ignoring those of files written by the storage itself.
+     * @return true if any file was changed by another program since the last poll
+     */
+    private boolean pollChangedFiles() {
+        boolean isChanged = false;
+        WatchKey key;
+        while ((key = watchService.poll()) != null) {
+            final Path directory = (Path) key.watchable();
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (!(event.context() instanceof Path)) {
+                    continue;
+                }
+                final Path file = directory.resolve((Path) event.context());
+                if ((file.equals(addressBookPath) || file.equals(examBookPath)) && Files.exists(file)
+                        && storage.isModifiedSinceKnown(getStoragePath(file))) {
+                    changedFiles.add(file);
+                    isChanged = true;
+                }
+            }
+            key.reset();
+        }
+        return isChanged;
+    }
+
+    /** Returns the path the storage knows the watched file by. */
+    private Path getStoragePath(Path file) {
+        return file.equals(addressBookPath) ? storage.path : storage.pathExam;
+    }
+
+    @Override
+    public void close() throws StorageOperationException {
+        try {
+            watchService.close();
+        } catch (IOException ioe) {
+            throw new StorageOperationException("Error closing data file watcher: " + ioe.getMessage());
+        }
+    }
+}
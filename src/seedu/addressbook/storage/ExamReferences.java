@@ -0,0 +1,79 @@
+package seedu.addressbook.storage;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import seedu.addressbook.data.ExamBook;
+import seedu.addressbook.data.exception.IllegalValueException;
+import seedu.addressbook.data.person.Exam;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.storage.Storage.StorageOperationException;
+import seedu.addressbook.storage.jaxb.AdaptedExamKey;
+
+/**
+ * Resolves the keys that persons read from an address book file refer to their exams by, against the exam book.
+ */
+final class ExamReferences {
+
+    static final String MESSAGE_INVALID_KEY = "Error processing exam key %1$s of %2$s: %3$s";
+
+    private ExamReferences() {}
+
+    /**
+     * Registers each person for the exams of the exam book that it refers to by key.
+     * No person is registered for any exam unless every key is resolved.
+     *
+     * @throws StorageOperationException if a key is invalid, or listing every key that is not in the exam book,
+     *     with the persons using it
+     */
+    static void resolve(Map<Person, List<AdaptedExamKey>> examKeys, ExamBook examBook)
+            throws StorageOperationException {
+        final Map<List<Object>, Exam> examsByKey = new HashMap<>();
+        for (Exam exam : examBook.getAllExam()) {
+            examsByKey.put(exam.getKey(), exam);
+        }
+
+        final Map<Person, List<Exam>> exams = new IdentityHashMap<>();
+        final Map<List<Object>, AdaptedExamKey> missingKeys = new LinkedHashMap<>();
+        final Map<List<Object>, List<String>> missing = new LinkedHashMap<>();
+        for (Map.Entry<Person, List<AdaptedExamKey>> entry : examKeys.entrySet()) {
+            final List<Exam> personExams = new ArrayList<>();
+            for (AdaptedExamKey examKey : entry.getValue()) {
+                final List<Object> key = toModelType(examKey, entry.getKey());
+                final Exam exam = examsByKey.get(key);
+                if (exam == null) {
+                    missingKeys.putIfAbsent(key, examKey);
+                    missing.computeIfAbsent(key, unused -> new ArrayList<>()).add(entry.getKey().getName().fullName);
+                } else {
+                    personExams.add(exam);
+                }
+            }
+            exams.put(entry.getKey(), personExams);
+        }
+        if (!missing.isEmpty()) {
+            final List<String> mismatches = new ArrayList<>();
+            for (Map.Entry<List<Object>, List<String>> entry : missing.entrySet()) {
+                mismatches.add(String.format(ExamRegistrationCheck.MESSAGE_EXAM_NOT_IN_EXAM_BOOK,
+                        missingKeys.get(entry.getKey()), String.join(", ", entry.getValue())));
+            }
+            throw new StorageOperationException(ExamRegistrationCheck.MESSAGE_MISMATCH + "\n"
+                    + String.join("\n", mismatches));
+        }
+
+        exams.forEach((person, personExams) -> personExams.forEach(person::addExam));
+    }
+
+    private static List<Object> toModelType(AdaptedExamKey examKey, Person person)
+            throws StorageOperationException {
+        try {
+            return examKey.toModelType();
+        } catch (IllegalValueException ive) {
+            throw new StorageOperationException(String.format(MESSAGE_INVALID_KEY, examKey,
+                    person.getName().fullName, ive.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package seedu.addressbook.storage;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.ExamBook;
+import seedu.addressbook.data.person.Exam;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.ReadOnlyExam;
+import seedu.addressbook.storage.Storage.StorageOperationException;
+
+/**
+ * Checks that the exams registered by the persons of an address book agree with an exam book, in one pass over the
+ * persons: every exam a person is registered for must be in the exam book, and every exam in the exam book must
+ * record as many takers as there are persons registered for it. Persons that agree with the exam book are then
+ * registered for the exams of the exam book themselves, instead of the copies loaded with them.
+ */
+final class ExamRegistrationCheck {
+
+    static final String MESSAGE_MISMATCH = "Exam data of the address book and the exam book disagree:";
+    static final String MESSAGE_EXAM_NOT_IN_EXAM_BOOK = "%1$s is not in the exam book but is taken by: %2$s";
+    static final String MESSAGE_INACCURATE_TAKERS = "%1$s records %2$d takers but is taken by %3$d: %4$s";
+
+    private ExamRegistrationCheck() {}
+
+    /**
+     * @throws StorageOperationException listing every exam whose data disagrees, with the persons taking it
+     */
+    static void check(AddressBook addressBook, ExamBook examBook) throws StorageOperationException {
+        // exams are matched by their keys, which leave out the number of takers
+        final Map<List<Object>, List<Person>> registrants = new LinkedHashMap<>();
+        final Map<List<Object>, Exam> registeredExams = new LinkedHashMap<>();
+        for (Person person : addressBook.getAllPersons()) {
+            for (Exam exam : person.getExams()) {
+                registrants.computeIfAbsent(exam.getKey(), unused -> new ArrayList<>()).add(person);
+                registeredExams.putIfAbsent(exam.getKey(), exam);
+            }
+        }
+
+        final List<String> inaccurateTakers = new ArrayList<>();
+        for (Exam exam : examBook.getAllExam()) {
+            registeredExams.remove(exam.getKey());
+            final List<Person> takers = registrants.getOrDefault(exam.getKey(), new ArrayList<>());
+            if (takers.size() != exam.getTakers()) {
+                inaccurateTakers.add(String.format(MESSAGE_INACCURATE_TAKERS, describe(exam), exam.getTakers(),
+                        takers.size(), describe(takers)));
+            }
+        }
+        // the registered exams left are not in the exam book
+        final List<String> mismatches = new ArrayList<>();
+        for (Exam exam : registeredExams.values()) {
+            mismatches.add(String.format(MESSAGE_EXAM_NOT_IN_EXAM_BOOK, describe(exam),
+                    describe(registrants.get(exam.getKey()))));
+        }
+        mismatches.addAll(inaccurateTakers);
+
+        if (!mismatches.isEmpty()) {
+            throw new StorageOperationException(MESSAGE_MISMATCH + "\n" + String.join("\n", mismatches));
+        }
+        link(addressBook, examBook);
+    }
+
+    /**
+     * Registers every person of the address book for the exam of the exam book with the key of each exam they are
+     * registered for, so that changing the takers of an exam in the exam book needs no change to its registrants.
+     */
+    static void link(AddressBook addressBook, ExamBook examBook) {
+        final Map<List<Object>, Exam> examsByKey = new HashMap<>();
+        for (Exam exam : examBook.getAllExam()) {
+            examsByKey.put(exam.getKey(), exam);
+        }
+        for (Person person : addressBook.getAllPersons()) {
+            for (Exam exam : person.getExams()) {
+                final Exam examBookExam = examsByKey.get(exam.getKey());
+                if (examBookExam != null && examBookExam != exam) {
+                    person.replaceExam(examBookExam);
+                }
+            }
+        }
+    }
+
+    private static String describe(ReadOnlyExam exam) {
+        return String.format("%s (%s) on %s", exam.getExamName(), exam.getSubjectName(), exam.getExamDate());
+    }
+
+    private static String describe(List<Person> persons) {
+        if (persons.isEmpty()) {
+            return "nobody";
+        }
+        final List<String> names = new ArrayList<>();
+        for (Person person : persons) {
+            names.add(person.getName().fullName);
+        }
+        return String.join(", ", names);
+    }
+}
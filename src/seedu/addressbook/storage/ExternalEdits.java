@@ -0,0 +1,209 @@
+package seedu.addressbook.storage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.ExamBook;
+import seedu.addressbook.data.account.Account;
+import seedu.addressbook.data.exception.DuplicateDataException;
+import seedu.addressbook.data.person.Assessment;
+import seedu.addressbook.data.person.Exam;
+import seedu.addressbook.data.person.Fees;
+import seedu.addressbook.data.person.Grades;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.UniqueAssessmentsList.AssessmentNotFoundException;
+import seedu.addressbook.data.person.UniqueExamList.ExamNotFoundException;
+import seedu.addressbook.data.person.UniquePersonList.PersonNotFoundException;
+
+/**
+ * Applies books loaded from storage files that another program edited to the books in memory, changing only what
+ * differs. Persons, assessments and exams found in both keep their objects in memory.
+ */
+final class ExternalEdits {
+
+    private ExternalEdits() {}
+
+    /**
+     * Makes the exams of {@code examBook} those of {@code edited}, matching exams as {@link Exam#equals} does.
+     * Matched exams take the number of takers of the edited exam.
+     */
+    static void applyExamBook(ExamBook examBook, ExamBook edited) {
+        final Map<List<Object>, Exam> editedExams = new LinkedHashMap<>();
+        for (Exam exam : edited.getAllExam()) {
+            editedExams.put(exam.getKey(), exam);
+        }
+        final List<Exam> exams = new ArrayList<>();
+        examBook.getAllExam().forEach(exams::add);
+        try {
+            for (Exam exam : exams) {
+                final Exam editedExam = editedExams.remove(exam.getKey());
+                if (editedExam == null) {
+                    examBook.removeExam(exam);
+                } else if (editedExam.getTakers() != exam.getTakers()) {
+                    exam.setTakers(editedExam.getTakers());
+                }
+            }
+            for (Exam exam : editedExams.values()) {
+                examBook.addExam(exam);
+            }
+        } catch (ExamNotFoundException | DuplicateDataException e) {
+            throw new AssertionError("Exams come from the books they are removed from or added to", e);
+        }
+    }
+
+    /**
+     * Makes the persons, assessments, master password and permanent admin setting of {@code addressBook} those
+     * of {@code edited}, matching persons as {@link Person#equals} does and assessments by name.
+     * Matched persons take the other details of the edited person, and new persons are added after the others.
+     */
+    static void applyAddressBook(AddressBook addressBook, AddressBook edited) {
+        // the person in memory that each edited person stands for
+        final Map<Person, Person> persons = new IdentityHashMap<>();
+        final Map<Assessment, Assessment> assessments = new IdentityHashMap<>();
+        try {
+            final Map<List<Object>, Person> editedPersons = new LinkedHashMap<>();
+            for (Person person : edited.getAllPersons()) {
+                editedPersons.put(getKey(person), person);
+            }
+            for (Person person : toList(addressBook)) {
+                final Person editedPerson = editedPersons.remove(getKey(person));
+                if (editedPerson == null) {
+                    addressBook.removePerson(person);
+                } else {
+                    persons.put(editedPerson, person);
+                    updateDetails(person, editedPerson);
+                }
+            }
+            for (Person person : editedPersons.values()) {
+                addressBook.addPerson(person);
+                persons.put(person, person);
+            }
+
+            final Map<String, Assessment> editedAssessments = new LinkedHashMap<>();
+            for (Assessment assessment : edited.getAllAssessments()) {
+                editedAssessments.put(assessment.getExamName(), assessment);
+            }
+            final List<Assessment> existingAssessments = new ArrayList<>();
+            addressBook.getAllAssessments().forEach(existingAssessments::add);
+            for (Assessment assessment : existingAssessments) {
+                final Assessment editedAssessment = editedAssessments.remove(assessment.getExamName());
+                if (editedAssessment == null) {
+                    addressBook.removeAssessment(assessment);
+                    continue;
+                }
+                assessments.put(editedAssessment, assessment);
+                final Map<Person, Grades> grades = getGrades(editedAssessment, persons);
+                if (!grades.equals(new IdentityHashMap<>(assessment.getAllGrades()))) {
+                    setGrades(assessment, grades);
+                }
+            }
+            for (Assessment assessment : editedAssessments.values()) {
+                setGrades(assessment, getGrades(assessment, persons));
+                addressBook.addAssessment(assessment);
+                assessments.put(assessment, assessment);
+            }
+        } catch (PersonNotFoundException | AssessmentNotFoundException | DuplicateDataException e) {
+            throw new AssertionError("Persons and assessments come from the books they are removed from or added to",
+                    e);
+        }
+
+        for (Map.Entry<Person, Person> entry : persons.entrySet()) {
+            final Set<Assessment> graded = Collections.newSetFromMap(new IdentityHashMap<>());
+            entry.getKey().getAssessments().forEach(assessment -> graded.add(assessments.get(assessment)));
+            final Person person = entry.getValue();
+            final Set<Assessment> current = Collections.newSetFromMap(new IdentityHashMap<>());
+            current.addAll(person.getAssessments());
+            if (!graded.equals(current)) {
+                current.forEach(person::removeAssessment);
+                graded.forEach(person::addAssessment);
+            }
+        }
+
+        if (!Objects.equals(addressBook.getMasterPassword(), edited.getMasterPassword())) {
+            addressBook.setMasterPassword(edited.getMasterPassword());
+        }
+        if (addressBook.isPermAdmin() != edited.isPermAdmin()) {
+            addressBook.setPermAdmin(edited.isPermAdmin());
+        }
+    }
+
+    private static List<Person> toList(AddressBook addressBook) {
+        final List<Person> persons = new ArrayList<>();
+        addressBook.getAllPersons().forEach(persons::add);
+        return persons;
+    }
+
+    /** Returns the details that {@link Person#equals} compares. */
+    private static List<Object> getKey(Person person) {
+        return Arrays.asList(person.getName(), person.getPhone(), person.getEmail(), person.getAddress());
+    }
+
+    /**
+     * Gives the person the details of the edited person that {@link Person#equals} ignores, where they differ.
+     */
+    private static void updateDetails(Person person, Person edited) {
+        if (!person.getTags().equals(edited.getTags())) {
+            person.setTags(edited.getTags());
+        }
+        final Fees fees = person.getFees();
+        if (!fees.value.equals(edited.getFees().value) || !fees.duedate.equals(edited.getFees().duedate)) {
+            person.setFees(edited.getFees());
+        }
+        if (!isSameAccount(person.getAccount(), edited.getAccount())) {
+            if (edited.getAccount().isPresent()) {
+                final Account account = edited.getAccount().get();
+                account.setPrivilegePerson(person);
+                person.setAccount(account);
+            } else {
+                person.removeAccount();
+            }
+        }
+        if (!isSameExams(person.getExams(), edited.getExams())) {
+            person.clearExams();
+            edited.getExams().forEach(person::addExam);
+        }
+        if (!person.getAttendance().equals(edited.getAttendance())) {
+            person.setAttendance(edited.getAttendance());
+        }
+    }
+
+    private static boolean isSameAccount(Optional<Account> account, Optional<Account> other) {
+        if (!account.isPresent() || !other.isPresent()) {
+            return account.isPresent() == other.isPresent();
+        }
+        return account.get().getUsername().equals(other.get().getUsername())
+                && account.get().getPassword().equals(other.get().getPassword())
+                && account.get().getPrivilege().getLevelAsString().equals(other.get().getPrivilege()
+                .getLevelAsString());
+    }
+
+    /** Returns true if both sets hold exams with the same keys. */
+    private static boolean isSameExams(Set<Exam> exams, Set<Exam> others) {
+        return exams.stream().map(Exam::getKey).collect(Collectors.toSet())
+                .equals(others.stream().map(Exam::getKey).collect(Collectors.toSet()));
+    }
+
+    /** Returns the grades of the edited assessment, given to the persons in memory the graded persons stand for. */
+    private static Map<Person, Grades> getGrades(Assessment edited, Map<Person, Person> persons) {
+        final Map<Person, Grades> grades = new IdentityHashMap<>();
+        edited.getAllGrades().forEach((person, grade) -> grades.put(persons.get(person), grade));
+        return grades;
+    }
+
+    private static void setGrades(Assessment assessment, Map<Person, Grades> grades) throws DuplicateDataException {
+        assessment.removeAllGrades();
+        for (Map.Entry<Person, Grades> grade : grades.entrySet()) {
+            assessment.addGrade(grade.getKey(), grade.getValue());
+        }
+    }
+}
@@ -0,0 +1,404 @@
+package seedu.addressbook.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.ExamBook;
+import seedu.addressbook.data.StatisticsBook;
+import seedu.addressbook.data.exception.IllegalValueException;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.storage.StorageFile.InvalidStorageFilePathException;
+import seedu.addressbook.storage.paged.BPlusTree;
+import seedu.addressbook.storage.paged.PageFile;
+
+/**
+ * Represents a single page file holding the address book in B+trees, so that saving the address book only rewrites
+ * the pages holding the persons modified since the last save, and a person can be looked up without reading the
+ * whole file.
+ * One tree maps the number of each person to the person as a person file of {@link ShardedStorage}, and another
+ * indexes the numbers by name. A third tree holds the manifest and the book file of {@link ShardedStorage}, which
+ * are rewritten only when they change. The exam and statistics books are kept in files as in {@link BinaryStorage}.
+ * The page file must not be written by another storage while this one is in use.
+ */
+public class PagedStorage extends Storage {
+
+    /** Default file path used if the user doesn't provide the file name. */
+    public static final String DEFAULT_STORAGE_FILEPATH = "addressbook.db";
+
+    /** Number of unchanged pages kept in memory between saves. */
+    public static final int DEFAULT_CACHE_CAPACITY = 64;
+
+    private static final int ROOT_PERSONS = 0;
+    private static final int ROOT_NAMES = 1;
+    private static final int ROOT_BOOK = 2;
+
+    private static final byte[] KEY_MANIFEST = {1};
+    private static final byte[] KEY_BOOK = {2};
+
+    /** Longest name kept in a key of the name index, leaving room for the separator and the person number. */
+    private static final int MAX_NAME_KEY_SIZE = BPlusTree.MAX_KEY_SIZE - 1 - Integer.BYTES;
+
+    public final Path path;
+    private final int cacheCapacity;
+
+    /** Storage of the exam and statistics books, which are kept in files of their own. */
+    private final BinaryStorage books;
+
+    private final StorageFile.SavedVersion savedAddressBook = new StorageFile.SavedVersion();
+
+    /** The open page file, or null if it was not opened yet or was closed after an error. */
+    private PageFile pageFile;
+
+    /** Number of each person loaded or saved, with the version and name of the person the file holds. */
+    private Map<Person, StoredPerson> storedPersons = new IdentityHashMap<>();
+
+    /** Content of the manifest and the book file as last loaded or saved. */
+    private byte[] savedManifest = new byte[0];
+    private byte[] savedBook = new byte[0];
+
+    /** Number given to the next person added. */
+    private int nextId;
+
+    /**
+     * Represents a person as held in the page file.
+     */
+    private static class StoredPerson {
+        private final int id;
+        private final long version;
+        private final String name;
+
+        StoredPerson(int id, long version, String name) {
+            this.id = id;
+            this.version = version;
+            this.name = name;
+        }
+    }
+
+    /**
+     * @throws InvalidStorageFilePathException if the default path is invalid
+     */
+    public PagedStorage() throws InvalidStorageFilePathException {
+        this(DEFAULT_STORAGE_FILEPATH, BinaryStorage.DEFAULT_EXAMS_FILEPATH, BinaryStorage.DEFAULT_STATISTICS_FILEPATH);
+    }
+
+    /**
+     * @throws InvalidStorageFilePathException if the given file path is invalid
+     */
+    public PagedStorage(String filePath, String filePathExam, String filePathStatistics)
+            throws InvalidStorageFilePathException {
+        this(filePath, filePathExam, filePathStatistics, DEFAULT_CACHE_CAPACITY);
+    }
+
+    /**
+     * @param cacheCapacity the most unchanged pages kept in memory between saves
+     * @throws InvalidStorageFilePathException if the given file path is invalid
+     */
+    public PagedStorage(String filePath, String filePathExam, String filePathStatistics, int cacheCapacity)
+            throws InvalidStorageFilePathException {
+        path = toValidPath(filePath);
+        books = new BinaryStorage(path, filePathExam, filePathStatistics);
+        this.cacheCapacity = cacheCapacity;
+    }
+
+    private static Path toValidPath(String filePath) throws InvalidStorageFilePathException {
+        final Path path = Paths.get(filePath);
+        if (!path.toString().endsWith(".db")) {
+            throw new InvalidStorageFilePathException("Storage file should end with '.db'");
+        }
+        return path;
+    }
+
+    /**
+     * Converts the books in the given XML storage files into this page file and the exam and statistics files,
+     * unless any of these files already exist or there is no XML address book file to convert.
+     *
+     * @return true if the books were converted
+     * @throws StorageOperationException if there were errors reading the XML files or writing these files.
+     */
+    public boolean importIfAbsent(StorageFile source) throws StorageOperationException {
+        return BinaryStorage.importIfAbsent(this, source, path, books.pathExam, books.pathStatistics);
+    }
+
+    /**
+     * Writes the persons of the address book that were added or modified since the last save into their pages,
+     * then the manifest if persons were added, removed or reordered, then the book file if the master password or
+     * assessments changed. The changed pages are committed together once all are written.
+     *
+     * @throws StorageOperationException if there were errors storing data to file.
+     */
+    @Override
+    public synchronized void save(AddressBook addressBook) throws StorageOperationException {
+        final long version = addressBook.getVersion();
+        if (savedAddressBook.isSaved(addressBook, version)) {
+            return;
+        }
+        final int committedNextId = nextId;
+        try {
+            final PageFile file = openPageFile();
+            final BPlusTree persons = new BPlusTree(file, ROOT_PERSONS);
+            final BPlusTree names = new BPlusTree(file, ROOT_NAMES);
+            final BPlusTree book = new BPlusTree(file, ROOT_BOOK);
+
+            final Map<Person, StoredPerson> updatedPersons = new IdentityHashMap<>();
+            final List<Integer> manifest = new ArrayList<>();
+            for (Person person : addressBook.getAllPersons()) {
+                StoredPerson stored = storedPersons.get(person);
+                if (stored == null || stored.version != person.getVersion()) {
+                    final int id = stored == null ? nextId++ : stored.id;
+                    final String name = person.getName().fullName;
+                    persons.put(toKey(id), ShardedStorage.encodePerson(person));
+                    if (stored == null || !stored.name.equals(name)) {
+                        if (stored != null) {
+                            names.remove(toNameKey(stored.name, id));
+                        }
+                        names.put(toNameKey(name, id), new byte[0]);
+                    }
+                    stored = new StoredPerson(id, person.getVersion(), name);
+                }
+                updatedPersons.put(person, stored);
+                manifest.add(stored.id);
+            }
+            for (Map.Entry<Person, StoredPerson> entry : storedPersons.entrySet()) {
+                if (!updatedPersons.containsKey(entry.getKey())) {
+                    persons.remove(toKey(entry.getValue().id));
+                    names.remove(toNameKey(entry.getValue().name, entry.getValue().id));
+                }
+            }
+
+            final byte[] manifestContent = ShardedStorage.encodeManifest(nextId, manifest);
+            if (!Arrays.equals(manifestContent, savedManifest)) {
+                book.put(KEY_MANIFEST, manifestContent);
+            }
+            final byte[] bookContent = ShardedStorage.encodeBook(addressBook, manifest);
+            if (!Arrays.equals(bookContent, savedBook)) {
+                book.put(KEY_BOOK, bookContent);
+            }
+            file.commit();
+
+            storedPersons = updatedPersons;
+            savedManifest = manifestContent;
+            savedBook = bookContent;
+            savedAddressBook.set(addressBook, version);
+        } catch (IOException ioe) {
+            nextId = committedNextId;
+            closePageFile();
+            throw new StorageOperationException("Error writing to file: " + path + " error: " + ioe.getMessage());
+        } catch (IllegalValueException ive) {
+            throw new StorageOperationException(ive.getMessage());
+        }
+    }
+
+    /**
+     * Loads the address book from the page file, creating an empty one if the file does not exist.
+     *
+     * @throws StorageOperationException if there were errors reading and/or converting data from file.
+     */
+    @Override
+    public synchronized AddressBook load() throws StorageOperationException {
+        if (!Files.exists(path)) {
+            final AddressBook empty = new AddressBook();
+            save(empty);
+            return empty;
+        }
+        try {
+            // the file is opened afresh, so that no page is left in the cache from before the load
+            closePageFile();
+            final PageFile file = openPageFile();
+            final BPlusTree book = new BPlusTree(file, ROOT_BOOK);
+            final byte[] manifestContent = getOrEmpty(book, KEY_MANIFEST);
+            final List<Integer> manifest = new ArrayList<>();
+            int storedNextId = manifestContent.length == 0 ? 0
+                    : ShardedStorage.decodeManifest(manifestContent, manifest);
+
+            final Map<Integer, Person> personsById = new HashMap<>();
+            for (Map.Entry<byte[], byte[]> entry : new BPlusTree(file, ROOT_PERSONS).scan(null, null)) {
+                final Person person = ShardedStorage.decodePerson(entry.getValue());
+                if (person != null) {
+                    personsById.put(ByteBuffer.wrap(entry.getKey()).getInt(), person);
+                }
+            }
+            for (int id : manifest) {
+                if (!personsById.containsKey(id)) {
+                    throw new IllegalValueException("Storage file holds no person numbered " + id + ": " + path);
+                }
+                storedNextId = Math.max(storedNextId, id + 1);
+            }
+            final byte[] bookContent = getOrEmpty(book, KEY_BOOK);
+            final AddressBook addressBook = ShardedStorage.decodeBook(bookContent, manifest, personsById);
+
+            // versions are taken once the persons are given their assessments, which counts as modifying them
+            final Map<Person, StoredPerson> loadedPersons = new IdentityHashMap<>();
+            for (int id : manifest) {
+                final Person person = personsById.get(id);
+                loadedPersons.put(person, new StoredPerson(id, person.getVersion(), person.getName().fullName));
+            }
+            storedPersons = loadedPersons;
+            savedManifest = manifestContent;
+            savedBook = bookContent;
+            nextId = storedNextId;
+            savedAddressBook.set(addressBook, addressBook.getVersion());
+            return addressBook;
+        } catch (IOException ioe) {
+            closePageFile();
+            throw new StorageOperationException("Error reading from file: " + path);
+        } catch (IllegalValueException ive) {
+            throw new StorageOperationException(ive.getMessage());
+        }
+    }
+
+    /**
+     * Returns the persons with the given name, ignoring case, as last saved, reading only their pages and the pages
+     * of the name index leading to them. The persons are read without their assessments.
+     *
+     * @throws StorageOperationException if there were errors reading and/or converting data from file.
+     */
+    public synchronized List<Person> findPersonsByName(String name) throws StorageOperationException {
+        final List<Person> found = new ArrayList<>();
+        if (!Files.exists(path)) {
+            return found;
+        }
+        try {
+            final PageFile file = openPageFile();
+            final BPlusTree persons = new BPlusTree(file, ROOT_PERSONS);
+            final byte[] prefix = toNameKey(name, 0);
+            final int prefixLength = prefix.length - Integer.BYTES;
+            final byte[] end = Arrays.copyOf(prefix, prefixLength);
+            end[prefixLength - 1]++;
+            for (Map.Entry<byte[], byte[]> entry : new BPlusTree(file, ROOT_NAMES).scan(
+                    Arrays.copyOf(prefix, prefixLength), end)) {
+                final int id = ByteBuffer.wrap(entry.getKey(), prefixLength, Integer.BYTES).getInt();
+                final byte[] content = persons.get(toKey(id));
+                final Person person = content == null ? null : ShardedStorage.decodePerson(content);
+                // names too long for the index share a key with the names they start with
+                if (person != null && person.getName().fullName.equalsIgnoreCase(name)) {
+                    found.add(person);
+                }
+            }
+            return found;
+        } catch (IOException ioe) {
+            closePageFile();
+            throw new StorageOperationException("Error reading from file: " + path);
+        } catch (IllegalValueException ive) {
+            throw new StorageOperationException(ive.getMessage());
+        }
+    }
+
+    /**
+     * Saves the exam book to the exam file, unless the file already holds its current version.
+     *
+     * @throws StorageOperationException if there were errors storing data to file.
+     */
+    @Override
+    public void saveExam(ExamBook examBook) throws StorageOperationException {
+        books.saveExam(examBook);
+    }
+
+    /**
+     * Loads the exam book from the exam file, creating an empty one if the file does not exist.
+     *
+     * @throws StorageOperationException if there were errors reading and/or converting data from file.
+     */
+    @Override
+    public ExamBook loadExam() throws StorageOperationException {
+        return books.loadExam();
+    }
+
+    /**
+     * Saves the statistics book to the statistics file, unless the file already holds its current version.
+     *
+     * @throws StorageOperationException if there were errors storing data to file.
+     */
+    @Override
+    public void saveStatistics(StatisticsBook statisticsBook) throws StorageOperationException {
+        books.saveStatistics(statisticsBook);
+    }
+
+    /**
+     * Loads the statistics book from the statistics file, creating an empty one if the file does not exist.
+     *
+     * @throws StorageOperationException if there were errors reading and/or converting data from file.
+     */
+    @Override
+    public StatisticsBook loadStatistics() throws StorageOperationException {
+        return books.loadStatistics();
+    }
+
+    @Override
+    public String getPath() {
+        return path.toString();
+    }
+
+    @Override
+    public String getPathExam() {
+        return books.getPathExam();
+    }
+
+    @Override
+    public String getPathStatistics() {
+        return books.getPathStatistics();
+    }
+
+    /**
+     * Checks the exams of each person to see if they exist in the ExamBook and
+     * checks if the takers for all exams in ExamBook are all accounted for in the AddressBook
+     * @throws StorageOperationException listing the exams whose data was modified
+     */
+    @Override
+    public void syncAddressBookExamBook(AddressBook addressBook, ExamBook examBook) throws StorageOperationException {
+        ExamRegistrationCheck.check(addressBook, examBook);
+    }
+
+    private PageFile openPageFile() throws IOException, IllegalValueException {
+        if (pageFile == null) {
+            pageFile = PageFile.open(path, cacheCapacity);
+        }
+        return pageFile;
+    }
+
+    /**
+     * Closes the page file, dropping any changes not committed, so that it is opened afresh when next used.
+     */
+    private void closePageFile() {
+        if (pageFile == null) {
+            return;
+        }
+        try {
+            pageFile.close();
+        } catch (IOException ioe) {
+            // the file is opened afresh, which undoes any part of a failed commit
+        }
+        pageFile = null;
+    }
+
+    private static byte[] getOrEmpty(BPlusTree tree, byte[] key) throws IOException {
+        final byte[] value = tree.get(key);
+        return value == null ? new byte[0] : value;
+    }
+
+    private static byte[] toKey(int id) {
+        return ByteBuffer.allocate(Integer.BYTES).putInt(id).array();
+    }
+
+    /**
+     * Returns the key of a person in the name index: the lower case name, a zero byte and the person number, so that
+     * the persons of a name are next to each other in the order of their numbers.
+     */
+    private static byte[] toNameKey(String name, int id) {
+        final byte[] nameBytes = name.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8);
+        final int nameLength = Math.min(nameBytes.length, MAX_NAME_KEY_SIZE);
+        return ByteBuffer.allocate(nameLength + 1 + Integer.BYTES).put(nameBytes, 0, nameLength).put((byte) 0)
+                .putInt(id).array();
+    }
+}
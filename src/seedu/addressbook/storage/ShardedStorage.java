@@ -0,0 +1,476 @@
+package seedu.addressbook.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.ExamBook;
+import seedu.addressbook.data.StatisticsBook;
+import seedu.addressbook.data.exception.IllegalValueException;
+import seedu.addressbook.data.person.Assessment;
+import seedu.addressbook.data.person.Exam;
+import seedu.addressbook.data.person.Grades;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.UniqueAssessmentsList;
+import seedu.addressbook.data.person.UniquePersonList;
+import seedu.addressbook.storage.StorageFile.InvalidStorageFilePathException;
+import seedu.addressbook.storage.binary.BinaryFormat;
+import seedu.addressbook.storage.binary.BinaryReader;
+import seedu.addressbook.storage.binary.BinaryWriter;
+
+/**
+ * Represents a data directory holding the address book as one binary file per person, so that saving the address
+ * book only rewrites the files of the persons modified since the last save.
+ * A manifest lists the files of the persons in order, and is only rewritten when persons are added, removed or
+ * reordered. The master password and the assessments are kept in a separate book file, and the exam and statistics
+ * books are kept in the directory as in {@link BinaryStorage}. Every file is replaced whole, by moving a complete
+ * new file over it.
+ */
+public class ShardedStorage extends Storage {
+
+    /** Default data directory used if the user doesn't provide one. */
+    public static final String DEFAULT_DATA_DIRECTORY = "addressbook-data";
+
+    private static final String MANIFEST_FILENAME = "manifest.bin";
+    private static final String BOOK_FILENAME = "book.bin";
+    private static final String PERSONS_DIRECTORY = "persons";
+
+    static final byte RECORD_MANIFEST = 6;
+
+    public final Path directory;
+    /** Path of the manifest. */
+    public final Path path;
+    private final Path pathBook;
+    private final Path pathPersons;
+
+    /** Storage of the exam and statistics books, whose files are kept in the directory. */
+    private final BinaryStorage books;
+
+    private final StorageFile.SavedVersion savedAddressBook = new StorageFile.SavedVersion();
+
+    /** File of each person loaded or saved, with the version of the person it holds. */
+    private Map<Person, Shard> shards = new IdentityHashMap<>();
+
+    /** File numbers of the persons, in the order the manifest lists them, or null if it was not loaded or saved. */
+    private List<Integer> savedManifest;
+
+    /** Content of the book file as last loaded or saved. */
+    private byte[] savedBook = new byte[0];
+
+    /** Number given to the file of the next person added. */
+    private int nextShardId;
+
+    /**
+     * Represents the file holding one person.
+     */
+    private static class Shard {
+        private final int id;
+        private final long version;
+
+        Shard(int id, long version) {
+            this.id = id;
+            this.version = version;
+        }
+    }
+
+    /**
+     * @throws InvalidStorageFilePathException if the default directory is invalid
+     */
+    public ShardedStorage() throws InvalidStorageFilePathException {
+        this(DEFAULT_DATA_DIRECTORY);
+    }
+
+    /**
+     * @throws InvalidStorageFilePathException if the given directory is invalid
+     */
+    public ShardedStorage(String directory) throws InvalidStorageFilePathException {
+        this.directory = Paths.get(directory);
+        if (Files.exists(this.directory) && !Files.isDirectory(this.directory)) {
+            throw new InvalidStorageFilePathException("Data directory should not be a file");
+        }
+        path = this.directory.resolve(MANIFEST_FILENAME);
+        books = new BinaryStorage(path, this.directory.resolve(BinaryStorage.DEFAULT_EXAMS_FILEPATH).toString(),
+                this.directory.resolve(BinaryStorage.DEFAULT_STATISTICS_FILEPATH).toString());
+        pathBook = this.directory.resolve(BOOK_FILENAME);
+        pathPersons = this.directory.resolve(PERSONS_DIRECTORY);
+    }
+
+    /**
+     * Converts the books in the given XML storage files into this data directory, unless the directory already
+     * holds any of the books or there is no XML address book file to convert.
+     *
+     * @return true if the books were converted
+     * @throws StorageOperationException if there were errors reading the XML files or writing the directory.
+     */
+    public boolean importIfAbsent(StorageFile source) throws StorageOperationException {
+        return BinaryStorage.importIfAbsent(this, source, path, books.pathExam, books.pathStatistics);
+    }
+
+    /**
+     * Saves the persons of the address book that were added or modified since the last save, then the manifest if
+     * persons were added, removed or reordered, then the book file if the master password or assessments changed.
+     * Files of removed persons are deleted last.
+     *
+     * @throws StorageOperationException if there were errors storing data to file.
+     */
+    @Override
+    public synchronized void save(AddressBook addressBook) throws StorageOperationException {
+        final long version = addressBook.getVersion();
+        if (savedAddressBook.isSaved(addressBook, version)) {
+            return;
+        }
+        createDirectories();
+        final Map<Person, Shard> updatedShards = new IdentityHashMap<>();
+        final List<Integer> manifest = new ArrayList<>();
+        for (Person person : addressBook.getAllPersons()) {
+            Shard shard = shards.get(person);
+            if (shard == null || shard.version != person.getVersion()) {
+                final int id = shard == null ? nextShardId++ : shard.id;
+                writeShard(person, id);
+                shard = new Shard(id, person.getVersion());
+            }
+            updatedShards.put(person, shard);
+            manifest.add(shard.id);
+        }
+
+        if (!manifest.equals(savedManifest)) {
+            writeFile(path, encodeManifest(nextShardId, manifest));
+        }
+
+        final byte[] book = encodeBook(addressBook, manifest);
+        if (!Arrays.equals(book, savedBook)) {
+            writeFile(pathBook, book);
+        }
+
+        final Set<Integer> removedIds = new HashSet<>(savedManifest == null ? manifest : savedManifest);
+        removedIds.removeAll(manifest);
+        for (int id : removedIds) {
+            try {
+                Files.deleteIfExists(getShardPath(id));
+            } catch (IOException ioe) {
+                throw new StorageOperationException("Error deleting file: " + getShardPath(id));
+            }
+        }
+
+        shards = updatedShards;
+        savedManifest = manifest;
+        savedBook = book;
+        savedAddressBook.set(addressBook, version);
+    }
+
+    /**
+     * Loads the address book from the data directory, creating an empty one if the directory has no manifest.
+     *
+     * @throws StorageOperationException if there were errors reading and/or converting data from file.
+     */
+    @Override
+    public synchronized AddressBook load() throws StorageOperationException {
+        try {
+            final List<Integer> manifest = new ArrayList<>();
+            int storedNextShardId = decodeManifest(Files.readAllBytes(path), manifest);
+
+            final Map<Integer, Person> personsById = new HashMap<>();
+            for (int id : manifest) {
+                personsById.put(id, readShard(id));
+                storedNextShardId = Math.max(storedNextShardId, id + 1);
+            }
+            final byte[] book = Files.exists(pathBook) ? Files.readAllBytes(pathBook) : new byte[0];
+            final AddressBook addressBook = decodeBook(book, manifest, personsById);
+            // versions are taken once the persons are given their assessments, which counts as modifying them
+            final Map<Person, Shard> loadedShards = new IdentityHashMap<>();
+            for (int id : manifest) {
+                loadedShards.put(personsById.get(id), new Shard(id, personsById.get(id).getVersion()));
+            }
+            shards = loadedShards;
+            savedManifest = manifest;
+            savedBook = book;
+            nextShardId = storedNextShardId;
+            savedAddressBook.set(addressBook, addressBook.getVersion());
+            return addressBook;
+
+            // create empty data directory if not found
+        } catch (NoSuchFileException nsfe) {
+            if (Files.exists(path)) {
+                throw new StorageOperationException("Missing file in data directory: " + nsfe.getFile());
+            }
+            final AddressBook empty = new AddressBook();
+            save(empty);
+            return empty;
+        } catch (IOException ioe) {
+            throw new StorageOperationException("Error reading from data directory: " + directory);
+        } catch (IllegalValueException ive) {
+            throw new StorageOperationException(ive.getMessage());
+        }
+    }
+
+    /**
+     * Saves the exam book to the data directory, unless the directory already holds its current version.
+     *
+     * @throws StorageOperationException if there were errors storing data to file.
+     */
+    @Override
+    public void saveExam(ExamBook examBook) throws StorageOperationException {
+        createDirectories();
+        books.saveExam(examBook);
+    }
+
+    /**
+     * Loads the exam book from the data directory, creating an empty one if the directory has none.
+     *
+     * @throws StorageOperationException if there were errors reading and/or converting data from file.
+     */
+    @Override
+    public ExamBook loadExam() throws StorageOperationException {
+        createDirectories();
+        return books.loadExam();
+    }
+
+    /**
+     * Saves the statistics book to the data directory, unless the directory already holds its current version.
+     *
+     * @throws StorageOperationException if there were errors storing data to file.
+     */
+    @Override
+    public void saveStatistics(StatisticsBook statisticsBook) throws StorageOperationException {
+        createDirectories();
+        books.saveStatistics(statisticsBook);
+    }
+
+    /**
+     * Loads the statistics book from the data directory, creating an empty one if the directory has none.
+     *
+     * @throws StorageOperationException if there were errors reading and/or converting data from file.
+     */
+    @Override
+    public StatisticsBook loadStatistics() throws StorageOperationException {
+        createDirectories();
+        return books.loadStatistics();
+    }
+
+    @Override
+    public String getPath() {
+        return directory.toString();
+    }
+
+    @Override
+    public String getPathExam() {
+        return books.getPathExam();
+    }
+
+    @Override
+    public String getPathStatistics() {
+        return books.getPathStatistics();
+    }
+
+    /**
+     * Checks the exams of each person to see if they exist in the ExamBook and
+     * checks if the takers for all exams in ExamBook are all accounted for in the AddressBook
+     * @throws StorageOperationException listing the exams whose data was modified
+     */
+    @Override
+    public void syncAddressBookExamBook(AddressBook addressBook, ExamBook examBook) throws StorageOperationException {
+        ExamRegistrationCheck.check(addressBook, examBook);
+    }
+
+    /** Returns the file holding the person with the given file number. */
+    Path getShardPath(int id) {
+        return pathPersons.resolve(id + ".bin");
+    }
+
+    private void createDirectories() throws StorageOperationException {
+        try {
+            Files.createDirectories(pathPersons);
+        } catch (IOException ioe) {
+            throw new StorageOperationException("Error creating data directory: " + directory);
+        }
+    }
+
+    /**
+     * Writes the person with the exams they take to the file with the given number.
+     */
+    private void writeShard(Person person, int id) throws StorageOperationException {
+        writeFile(getShardPath(id), encodePerson(person));
+    }
+
+    private Person readShard(int id) throws IOException, IllegalValueException {
+        final Person person = decodePerson(Files.readAllBytes(getShardPath(id)));
+        if (person == null) {
+            throw new IllegalValueException("Person file holds no person: " + getShardPath(id));
+        }
+        return person;
+    }
+
+    /**
+     * Returns the content of a person file holding the person with the exams they take.
+     */
+    static byte[] encodePerson(Person person) {
+        final BinaryWriter writer = new BinaryWriter();
+        final Map<List<Object>, Integer> examIndexes = new HashMap<>();
+        for (Exam exam : person.getExams()) {
+            final List<Object> key = BinaryStorage.getExamKey(exam);
+            if (!examIndexes.containsKey(key)) {
+                BinaryStorage.writeExam(writer, exam);
+                examIndexes.put(key, examIndexes.size());
+            }
+        }
+        BinaryStorage.writePerson(writer, person, examIndexes);
+        return writer.toByteArray(BinaryFormat.KIND_PERSON_SHARD);
+    }
+
+    /**
+     * Returns the person held in the content of a person file, or null if it holds no person.
+     *
+     * @throws IllegalValueException if the content is not a valid person file
+     */
+    static Person decodePerson(byte[] content) throws IllegalValueException {
+        final BinaryReader reader = new BinaryReader(content, BinaryFormat.KIND_PERSON_SHARD);
+        final List<Exam> exams = new ArrayList<>();
+        Person person = null;
+        while (reader.hasNextRecord()) {
+            switch (reader.nextRecord()) {
+            case BinaryStorage.RECORD_EXAM:
+                exams.add(BinaryStorage.readExam(reader));
+                break;
+            case BinaryStorage.RECORD_PERSON:
+                person = BinaryStorage.readPerson(reader, exams);
+                break;
+            default:
+                // records added by later versions of the format are skipped
+            }
+        }
+        return person;
+    }
+
+    private static void writeFile(Path target, byte[] content) throws StorageOperationException {
+        try {
+            BinaryWriter.writeFile(target, content);
+        } catch (IOException ioe) {
+            throw new StorageOperationException("Error writing to file: " + target + " error: " + ioe.getMessage());
+        }
+    }
+
+    /**
+     * Returns the content of a manifest listing the given person numbers in order.
+     */
+    static byte[] encodeManifest(int nextId, List<Integer> ids) {
+        final BinaryWriter writer = new BinaryWriter();
+        writer.writeInt(nextId);
+        writer.writeInt(ids.size());
+        for (int id : ids) {
+            writer.writeInt(id);
+        }
+        writer.endRecord(RECORD_MANIFEST);
+        return writer.toByteArray(BinaryFormat.KIND_SHARD_MANIFEST);
+    }
+
+    /**
+     * Reads the person numbers listed by the content of a manifest into {@code ids}.
+     *
+     * @return the number to give the next person added
+     * @throws IllegalValueException if the content is not a valid manifest
+     */
+    static int decodeManifest(byte[] content, List<Integer> ids) throws IllegalValueException {
+        final BinaryReader reader = new BinaryReader(content, BinaryFormat.KIND_SHARD_MANIFEST);
+        int nextId = 0;
+        while (reader.hasNextRecord()) {
+            if (reader.nextRecord() == RECORD_MANIFEST) {
+                nextId = reader.readInt();
+                final int count = reader.readCount();
+                for (int i = 0; i < count; i++) {
+                    ids.add(reader.readInt());
+                }
+            }
+        }
+        return nextId;
+    }
+
+    /**
+     * Returns the content of a book file holding the master password and the assessments of the address book,
+     * with graded persons given as their numbers, which {@code ids} holds in the order of the persons.
+     */
+    static byte[] encodeBook(AddressBook addressBook, List<Integer> ids) {
+        final BinaryWriter writer = new BinaryWriter();
+        writer.writeString(addressBook.getMasterPassword());
+        writer.writeBoolean(addressBook.isPermAdmin());
+        writer.endRecord(BinaryStorage.RECORD_BOOK);
+        for (Assessment assessment : addressBook.getAllAssessments()) {
+            BinaryStorage.writeAssessment(writer, assessment, addressBook.getAllPersons(), ids::get);
+        }
+        return writer.toByteArray(BinaryFormat.KIND_SHARD_BOOK);
+    }
+
+    /**
+     * Returns the address book of the persons with the given numbers, in order, with the master password and the
+     * assessments held in the content of a book file. Empty content stands for a book file that does not exist.
+     *
+     * @throws IllegalValueException if the content is not a valid book file or the persons are not unique
+     */
+    static AddressBook decodeBook(byte[] book, List<Integer> ids, Map<Integer, Person> personsById)
+            throws IllegalValueException {
+        final List<Person> persons = new ArrayList<>();
+        final Set<String> usernames = new HashSet<>();
+        for (int id : ids) {
+            final Person person = personsById.get(id);
+            if (person.hasAccount() && !usernames.add(person.getAccount().get().getUsername())) {
+                throw new IllegalValueException("Data contains duplicate username");
+            }
+            persons.add(person);
+        }
+
+        String masterPassword = null;
+        boolean isPermAdmin = false;
+        final List<Assessment> assessments = new ArrayList<>();
+        if (book.length > 0) {
+            final BinaryReader reader = new BinaryReader(book, BinaryFormat.KIND_SHARD_BOOK);
+            while (reader.hasNextRecord()) {
+                switch (reader.nextRecord()) {
+                case BinaryStorage.RECORD_BOOK:
+                    masterPassword = reader.readNullableString();
+                    isPermAdmin = reader.readBoolean();
+                    break;
+                case BinaryStorage.RECORD_ASSESSMENT:
+                    assessments.add(readAssessment(reader, personsById));
+                    break;
+                default:
+                    // records added by later versions of the format are skipped
+                }
+            }
+        }
+
+        final AddressBook addressBook = new AddressBook(new UniquePersonList(persons),
+                new UniqueAssessmentsList(assessments), masterPassword);
+        addressBook.setPermAdmin(isPermAdmin);
+        return addressBook;
+    }
+
+    /**
+     * Reads an assessment whose graded persons are given as the numbers of their files.
+     * Grades of persons no longer in the manifest are dropped, as the book file may be older than the manifest if
+     * a save was interrupted.
+     */
+    private static Assessment readAssessment(BinaryReader reader, Map<Integer, Person> personsById)
+            throws IllegalValueException {
+        final Assessment assessment = new Assessment(reader.readString());
+        final int gradeCount = reader.readCount();
+        for (int i = 0; i < gradeCount; i++) {
+            final Person person = personsById.get(reader.readInt());
+            final Grades grades = new Grades(reader.readDouble());
+            if (person != null) {
+                person.addAssessment(assessment);
+                assessment.addGrade(person, grades);
+            }
+        }
+        return assessment;
+    }
+}
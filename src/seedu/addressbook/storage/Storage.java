@@ -36,4 +36,32 @@ public abstract class Storage {
 
     public abstract void syncAddressBookExamBook(AddressBook addressBook, ExamBook examBook)
             throws StorageOperationException;
+
+    /**
+     * Saves all the books as a checkpoint and empties the journal, whose commands are then contained in the
+     * saved books. The default is not atomic: if the program stops between saving the books and emptying the
+     * journal, the journal is replayed on top of books that already contain its commands. Storages that can be
+     * journalled override it with a staged checkpoint, see {@link StorageConfig.StorageMode#JOURNAL}.
+     */
+    public void checkpoint(AddressBook addressBook, ExamBook examBook, StatisticsBook statisticsBook,
+                           CommandJournal journal) throws StorageOperationException {
+        save(addressBook);
+        saveExam(examBook);
+        saveStatistics(statisticsBook);
+        journal.clear();
+    }
+
+    /**
+     * Completes or discards a checkpoint that was interrupted, so that the journal can be replayed on top of
+     * the saved books. Does nothing by default as {@link #checkpoint} is not staged.
+     */
+    public void recoverCheckpoint(CommandJournal journal) throws StorageOperationException {
+    }
+
+    /**
+     * Waits until every save made so far has reached the storage files.
+     * Does nothing by default as saves are written before they return.
+     */
+    public void flush() throws StorageOperationException {
+    }
 }
@@ -0,0 +1,231 @@
+package seedu.addressbook.storage;
+
+import java.util.Map;
+
+import seedu.addressbook.data.exception.IllegalValueException;
+
+/**
+ * Represents the storage options chosen when the program is launched.
+ */
+public class StorageConfig {
+
+    public static final String PARAMETER_STORAGE_MODE = "storage-mode";
+    public static final String PARAMETER_STORAGE_FORMAT = "storage-format";
+    public static final String PARAMETER_JOURNAL_FILE = "journal-file";
+    public static final String PARAMETER_CHECKPOINT_INTERVAL = "checkpoint-interval";
+    public static final String PARAMETER_DURABILITY = "durability";
+    public static final String PARAMETER_FLUSH_INTERVAL = "flush-interval";
+    public static final String PARAMETER_XML_CODEC = "xml-codec";
+    public static final String PARAMETER_WATCH_FILES = "watch-files";
+
+    /** Number of journalled commands after which the storage files are checkpointed by default. */
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 100;
+
+    /** Milliseconds between writes of the background writer by default, under {@link Durability#INTERVAL}. */
+    public static final int DEFAULT_FLUSH_INTERVAL = 1000;
+
+    public static final String MESSAGE_INVALID_PARAMETER = "Invalid value for launch parameter --%1$s: %2$s";
+    public static final String MESSAGE_ASYNC_BINARY_UNSUPPORTED = "Asynchronous storage is only available for the "
+            + "xml storage format";
+    public static final String MESSAGE_JOURNAL_BINARY_UNSUPPORTED = "Journalled storage is only available for the "
+            + "xml storage format";
+    public static final String MESSAGE_WATCH_FILES_UNSUPPORTED = "Watching the data files is only available for the "
+            + "sync storage mode and the xml storage format";
+
+    /**
+     * How the storage files are kept up to date with the data.
+     */
+    public enum StorageMode {
+        /** Every mutating command saves the changed books before it returns. */
+        SYNC,
+        /**
+         * Every mutating command is appended to a journal, and the books are saved at checkpoints.
+         * Only available for the {@link StorageFormat#XML} format.
+         */
+        JOURNAL,
+        /** Changed books are handed to a background writer, which saves them according to the durability. */
+        ASYNC
+    }
+
+    /**
+     * The format of the storage files.
+     */
+    public enum StorageFormat {
+        /** The human-readable XML files. */
+        XML,
+        /** The compact binary files of {@link BinaryStorage}, converted from the XML files when first used. */
+        BINARY,
+        /** The data directory of {@link ShardedStorage}, converted from the XML files when first used. */
+        SHARDED,
+        /** The page file of {@link PagedStorage}, converted from the XML files when first used. */
+        PAGED
+    }
+
+    /**
+     * How the XML storage files are converted to and from the books.
+     */
+    public enum XmlCodec {
+        /** Marshalled and unmarshalled by JAXB. */
+        JAXB,
+        /** Written and read by hand, in the same format as JAXB, without creating a JAXB context. */
+        STREAMING
+    }
+
+    /**
+     * When the background writer of {@link StorageMode#ASYNC} saves the books handed to it.
+     */
+    public enum Durability {
+        /** As soon as possible after every mutating command. */
+        COMMAND,
+        /** At most once every flush interval. */
+        INTERVAL,
+        /** Only when the program exits. */
+        EXIT
+    }
+
+    private final StorageMode storageMode;
+    private final StorageFormat storageFormat;
+    private final String journalPath;
+    private final int checkpointInterval;
+    private final Durability durability;
+    private final int flushInterval;
+    private final XmlCodec xmlCodec;
+    private final boolean isFileWatchEnabled;
+
+    /**
+     * Creates the default configuration, which saves the XML storage files after every mutating command.
+     */
+    public StorageConfig() {
+        this(StorageMode.SYNC, StorageFormat.XML, CommandJournal.DEFAULT_JOURNAL_FILEPATH,
+                DEFAULT_CHECKPOINT_INTERVAL, Durability.COMMAND, DEFAULT_FLUSH_INTERVAL, XmlCodec.JAXB, false);
+    }
+
+    public StorageConfig(StorageMode storageMode, StorageFormat storageFormat, String journalPath,
+                         int checkpointInterval, Durability durability, int flushInterval, XmlCodec xmlCodec,
+                         boolean isFileWatchEnabled) {
+        this.storageMode = storageMode;
+        this.storageFormat = storageFormat;
+        this.journalPath = journalPath;
+        this.checkpointInterval = checkpointInterval;
+        this.durability = durability;
+        this.flushInterval = flushInterval;
+        this.xmlCodec = xmlCodec;
+        this.isFileWatchEnabled = isFileWatchEnabled;
+    }
+
+    /**
+     * Reads the configuration from named launch parameters such as {@code --storage-mode=async}.
+     * Parameters that are not given take their default values.
+     *
+     * @throws IllegalValueException if a given parameter has an invalid value
+     */
+    public static StorageConfig fromParameters(Map<String, String> parameters) throws IllegalValueException {
+        final StorageMode storageMode = parseEnum(StorageMode.class, parameters, PARAMETER_STORAGE_MODE,
+                StorageMode.SYNC);
+        final StorageFormat storageFormat = parseEnum(StorageFormat.class, parameters, PARAMETER_STORAGE_FORMAT,
+                StorageFormat.XML);
+        if (storageMode == StorageMode.ASYNC && storageFormat != StorageFormat.XML) {
+            throw new IllegalValueException(MESSAGE_ASYNC_BINARY_UNSUPPORTED);
+        }
+        // only the xml storage files are checkpointed through staging files that survive an interrupted checkpoint
+        if (storageMode == StorageMode.JOURNAL && storageFormat != StorageFormat.XML) {
+            throw new IllegalValueException(MESSAGE_JOURNAL_BINARY_UNSUPPORTED);
+        }
+        final String journalPath = parameters.getOrDefault(PARAMETER_JOURNAL_FILE,
+                CommandJournal.DEFAULT_JOURNAL_FILEPATH);
+        final int checkpointInterval = parsePositiveInt(parameters, PARAMETER_CHECKPOINT_INTERVAL,
+                DEFAULT_CHECKPOINT_INTERVAL);
+        final Durability durability = parseEnum(Durability.class, parameters, PARAMETER_DURABILITY,
+                Durability.COMMAND);
+        final int flushInterval = parsePositiveInt(parameters, PARAMETER_FLUSH_INTERVAL, DEFAULT_FLUSH_INTERVAL);
+        final XmlCodec xmlCodec = parseEnum(XmlCodec.class, parameters, PARAMETER_XML_CODEC, XmlCodec.JAXB);
+        final boolean isFileWatchEnabled = parseBoolean(parameters, PARAMETER_WATCH_FILES);
+        // other programs' changes are only applied on top of books that every command saves
+        if (isFileWatchEnabled && (storageMode != StorageMode.SYNC || storageFormat != StorageFormat.XML)) {
+            throw new IllegalValueException(MESSAGE_WATCH_FILES_UNSUPPORTED);
+        }
+        return new StorageConfig(storageMode, storageFormat, journalPath, checkpointInterval, durability,
+                flushInterval, xmlCodec, isFileWatchEnabled);
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, Map<String, String> parameters, String name,
+                                                   E defaultValue) throws IllegalValueException {
+        final String value = parameters.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        for (E constant : type.getEnumConstants()) {
+            if (constant.name().equalsIgnoreCase(value)) {
+                return constant;
+            }
+        }
+        throw new IllegalValueException(String.format(MESSAGE_INVALID_PARAMETER, name, value));
+    }
+
+    private static int parsePositiveInt(Map<String, String> parameters, String name, int defaultValue)
+            throws IllegalValueException {
+        final String value = parameters.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            final int parsed = Integer.parseInt(value);
+            if (parsed > 0) {
+                return parsed;
+            }
+        } catch (NumberFormatException nfe) {
+            // reported below
+        }
+        throw new IllegalValueException(String.format(MESSAGE_INVALID_PARAMETER, name, value));
+    }
+
+    private static boolean parseBoolean(Map<String, String> parameters, String name) throws IllegalValueException {
+        final String value = parameters.get(name);
+        if (value == null || value.equalsIgnoreCase("false")) {
+            return false;
+        }
+        if (value.equalsIgnoreCase("true")) {
+            return true;
+        }
+        throw new IllegalValueException(String.format(MESSAGE_INVALID_PARAMETER, name, value));
+    }
+
+    public StorageMode getStorageMode() {
+        return storageMode;
+    }
+
+    public StorageFormat getStorageFormat() {
+        return storageFormat;
+    }
+
+    public boolean isJournalEnabled() {
+        return storageMode == StorageMode.JOURNAL;
+    }
+
+    public String getJournalPath() {
+        return journalPath;
+    }
+
+    /** Returns the number of journalled commands after which the storage files are checkpointed. */
+    public int getCheckpointInterval() {
+        return checkpointInterval;
+    }
+
+    public Durability getDurability() {
+        return durability;
+    }
+
+    /** Returns the milliseconds between writes of the background writer under {@link Durability#INTERVAL}. */
+    public int getFlushInterval() {
+        return flushInterval;
+    }
+
+    public XmlCodec getXmlCodec() {
+        return xmlCodec;
+    }
+
+    /** Returns true if changes other programs make to the data files are applied to the books. */
+    public boolean isFileWatchEnabled() {
+        return isFileWatchEnabled;
+    }
+}
@@ -8,23 +8,33 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.Writer;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLStreamException;
 
 import seedu.addressbook.data.AddressBook;
 import seedu.addressbook.data.ExamBook;
 import seedu.addressbook.data.StatisticsBook;
 import seedu.addressbook.data.exception.IllegalValueException;
-import seedu.addressbook.data.person.Exam;
 import seedu.addressbook.data.person.Person;
+import seedu.addressbook.storage.StorageConfig.XmlCodec;
 import seedu.addressbook.storage.jaxb.AdaptedAddressBook;
 import seedu.addressbook.storage.jaxb.AdaptedExamBook;
+import seedu.addressbook.storage.jaxb.AdaptedExamKey;
 import seedu.addressbook.storage.jaxb.AdaptedStatisticsBook;
+import seedu.addressbook.storage.jaxb.AddressBookXmlReader;
 
 /**
  * Represents the file used to store all the data.
@@ -40,13 +50,35 @@ public class StorageFile extends Storage {
     /** Default statistics file path used if the user doesn't provide the file name. */
     public static final String DEFAULT_STATISTICS_FILEPATH = "statistics.txt";
 
+    /** Suffix of the name a storage file is written under before it replaces the file. */
+    private static final String PARTIAL_FILE_SUFFIX = ".partial";
+
     public final Path path;
     public final Path pathExam;
     public final Path pathStatistics;
+    /** File holding the attendance of the persons of the address book, named after the address book file. */
+    public final Path pathAttendance;
+
+    /** Context of all the storage files, created once per program as creating it is slow. */
+    private static JAXBContext sharedJaxbContext;
 
+    /** Context the storage files are converted with, or null if they are written and read by hand. */
     private final JAXBContext jaxbContext;
-    private final JAXBContext jaxbContext2;
-    private final JAXBContext jaxbContext3;
+
+    private final SavedVersion savedAddressBook = new SavedVersion();
+    private final SavedVersion savedAddressBookDetails = new SavedVersion();
+    /** Number of modifications of the attendance of the address book that the attendance file holds. */
+    private final SavedVersion savedAttendance = new SavedVersion();
+    private final AttendanceFile attendanceFile;
+
+    /** Address book last loaded, whose persons are not yet registered for the exams they refer to by key. */
+    private AddressBook unresolvedAddressBook;
+    private Map<Person, List<AdaptedExamKey>> unresolvedExamKeys;
+    private final SavedVersion savedExamBook = new SavedVersion();
+    private final SavedVersion savedStatisticsBook = new SavedVersion();
+
+    /** Last modified time of each storage file when this storage last wrote or read it. */
+    private final Map<Path, FileTime> knownModifiedTimes = new ConcurrentHashMap<>();
 
     /* Note: Note the use of nested classes below.
      * More info https://docs.oracle.com/javase/tutorial/java/javaOO/nested.html
@@ -70,6 +102,32 @@ public class StorageFile extends Storage {
         }
     }
 
+    /**
+     * Remembers which book, and which version of it, a storage file holds, so that saving a book which has not
+     * changed since can be skipped.
+     */
+    static class SavedVersion {
+        private Object book;
+        private long version;
+
+        boolean isSaved(Object book, long version) {
+            return this.book == book && this.version == version;
+        }
+
+        void set(Object book, long version) {
+            this.book = book;
+            this.version = version;
+        }
+    }
+
+    /**
+     * Represents a pending write of converted data to a storage file.
+     */
+    @FunctionalInterface
+    protected interface StorageWrite {
+        void run() throws StorageOperationException;
+    }
+
     /**
      * @throws InvalidStorageFilePathException if the default path is invalid
      */
@@ -78,24 +136,46 @@ public class StorageFile extends Storage {
         this(DEFAULT_STORAGE_FILEPATH, DEFAULT_EXAMS_FILEPATH, DEFAULT_STATISTICS_FILEPATH);
     }
 
+    /**
+     * @throws InvalidStorageFilePathException if the default path is invalid
+     */
+    public StorageFile(XmlCodec xmlCodec) throws InvalidStorageFilePathException,
+            InvalidInitialisationException {
+        this(DEFAULT_STORAGE_FILEPATH, DEFAULT_EXAMS_FILEPATH, DEFAULT_STATISTICS_FILEPATH, xmlCodec);
+    }
+
     /**
      * @throws InvalidStorageFilePathException if the given file path is invalid
      */
     public StorageFile(String filePath, String filePathExam, String filePathStatistics)
             throws InvalidStorageFilePathException,
             InvalidInitialisationException {
-        try {
-            jaxbContext = JAXBContext.newInstance(AdaptedAddressBook.class);
-            jaxbContext2 = JAXBContext.newInstance(AdaptedExamBook.class);
-            jaxbContext3 = JAXBContext.newInstance(AdaptedStatisticsBook.class);
-        } catch (JAXBException jaxbe) {
-            throw new InvalidInitialisationException("jaxb initialisation error");
+        this(filePath, filePathExam, filePathStatistics, XmlCodec.JAXB);
+    }
+
+    /**
+     * @param xmlCodec how the storage files are converted; no JAXB context is created unless JAXB converts them
+     * @throws InvalidStorageFilePathException if the given file path is invalid
+     */
+    public StorageFile(String filePath, String filePathExam, String filePathStatistics, XmlCodec xmlCodec)
+            throws InvalidStorageFilePathException,
+            InvalidInitialisationException {
+        if (xmlCodec == XmlCodec.JAXB) {
+            try {
+                jaxbContext = getSharedJaxbContext();
+            } catch (JAXBException jaxbe) {
+                throw new InvalidInitialisationException("jaxb initialisation error");
+            }
+        } else {
+            jaxbContext = null;
         }
 
         path = Paths.get(filePath);
         if (!isValidPath(path)) {
             throw new InvalidStorageFilePathException("Storage file should end with '.txt'");
         }
+        pathAttendance = getAttendancePath(path);
+        attendanceFile = new AttendanceFile(pathAttendance);
         pathExam = Paths.get(filePathExam);
         if (!isValidPath(pathExam)) {
             throw new InvalidStorageFilePathException("Exam file should end with '.txt'");
@@ -106,6 +186,32 @@ public class StorageFile extends Storage {
         }
     }
 
+    private static synchronized JAXBContext getSharedJaxbContext() throws JAXBException {
+        if (sharedJaxbContext == null) {
+            sharedJaxbContext = JAXBContext.newInstance(AdaptedAddressBook.class, AdaptedExamBook.class,
+                    AdaptedStatisticsBook.class);
+        }
+        return sharedJaxbContext;
+    }
+
+    private void marshal(Object toSave, Writer writer) throws JAXBException {
+        final Marshaller marshaller = jaxbContext.createMarshaller();
+        marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+        marshaller.marshal(toSave, writer);
+    }
+
+    /**
+     * Unmarshals the root element of a storage file, which must be of the given type as the shared context knows
+     * the root elements of every storage file.
+     */
+    private static <T> T unmarshal(Unmarshaller unmarshaller, Reader reader, Class<T> type) throws JAXBException {
+        final Object loaded = unmarshaller.unmarshal(reader);
+        if (!type.isInstance(loaded)) {
+            throw new JAXBException("Unexpected root element in storage file");
+        }
+        return type.cast(loaded);
+    }
+
     /**
      * Returns true if the given path is acceptable as a storage file.
      * The file path is considered acceptable if it ends with '.txt'
@@ -115,41 +221,138 @@ public class StorageFile extends Storage {
     }
 
     /**
-     * Saves all data to this storage file.
+     * Returns the path of the attendance file kept beside the given address book file, e.g. "addressbook.txt" has
+     * "addressbook-attendance.txt".
+     */
+    static Path getAttendancePath(Path filePath) {
+        final String name = filePath.toString();
+        return Paths.get(name.substring(0, name.length() - ".txt".length()) + "-attendance.txt");
+    }
+
+    /**
+     * Saves all data to this storage file, unless the file already holds the current version of the address book.
+     * The attendance file is only written if attendance changed, and the address book file only if anything else
+     * did. The attendance file is written first, as it may refer to persons the address book file no longer has
+     * but not the other way round.
      *
      * @throws StorageOperationException if there were errors converting and/or storing data to file.
      */
     public void save(AddressBook addressBook) throws StorageOperationException {
+        final long version = addressBook.getVersion();
+        if (savedAddressBook.isSaved(addressBook, version)) {
+            return;
+        }
+        final long detailsVersion = addressBook.getVersionExcludingAttendance();
+        final long attendanceVersion = version - detailsVersion;
+        if (!savedAttendance.isSaved(addressBook, attendanceVersion)) {
+            final AttendanceFile.Snapshot attendance = AttendanceFile.snapshot(addressBook);
+            submit(pathAttendance, () -> attendanceFile.write(attendance));
+            savedAttendance.set(addressBook, attendanceVersion);
+        }
+        if (!savedAddressBookDetails.isSaved(addressBook, detailsVersion)) {
+            final AdaptedAddressBook toSave = new AdaptedAddressBook(addressBook);
+            submit(path, () -> write(toSave, path));
+            savedAddressBookDetails.set(addressBook, detailsVersion);
+        }
+        savedAddressBook.set(addressBook, version);
+    }
+
+    /**
+     * Writes the address book to the given file, under a temporary name first so that the file is never left
+     * partly written.
+     *
+     * @throws StorageOperationException if there were errors converting and/or storing data to file.
+     */
+    protected void write(AdaptedAddressBook toSave, Path target) throws StorageOperationException {
+        final Path partial = getPartialPath(target);
 
         /* Note: Note the 'try with resource' statement below.
          * More info: https://docs.oracle.com/javase/tutorial/essential/exceptions/tryResourceClose.html
          */
-        try (final Writer fileWriter = new BufferedWriter(new FileWriter(path.toFile()))) {
-            final AdaptedAddressBook toSave = new AdaptedAddressBook(addressBook);
-            final Marshaller marshaller = jaxbContext.createMarshaller();
-            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
-            marshaller.marshal(toSave, fileWriter);
+        try {
+            try (final Writer fileWriter = new BufferedWriter(new FileWriter(partial.toFile()))) {
+                if (jaxbContext == null) {
+                    toSave.writeXml(fileWriter);
+                } else {
+                    marshal(toSave, fileWriter);
+                }
+            } catch (IOException | JAXBException e) {
+                Files.deleteIfExists(partial);
+                throw e;
+            }
+            moveOver(partial, target);
         } catch (IOException ioe) {
-            throw new StorageOperationException("Error writing to file: " + path + " error: " + ioe.getMessage());
+            throw new StorageOperationException("Error writing to file: " + target + " error: " + ioe.getMessage());
         } catch (JAXBException jaxbe) {
             throw new StorageOperationException("Error converting address book into storage format");
         }
+        rememberModifiedTime(target);
     }
 
     /**
-     * Loads data from this storage file.
+     * Returns the path a storage file is written to before it is moved over the {@code target} file.
+     */
+    static Path getPartialPath(Path target) {
+        return target.resolveSibling(target.getFileName() + PARTIAL_FILE_SUFFIX);
+    }
+
+    /**
+     * Replaces the {@code target} file with the fully written {@code partial} file in one step, so that the target
+     * is never left partly written.
+     */
+    static void moveOver(Path partial, Path target) throws IOException {
+        try {
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ioe) {
+            Files.deleteIfExists(partial);
+            throw ioe;
+        }
+    }
+
+    /**
+     * Performs a write to the {@code target} storage file, of data that was already converted from a book.
+     * Runs the write immediately; subclasses may defer it.
+     *
+     * @throws StorageOperationException if there were errors storing data to file.
+     */
+    protected void submit(Path target, StorageWrite write) throws StorageOperationException {
+        write.run();
+    }
+
+    /**
+     * Forgets which versions of the books the storage files hold, so that the next save of each book writes it.
+     */
+    protected void forgetSavedVersions() {
+        savedAddressBook.set(null, 0);
+        savedAddressBookDetails.set(null, 0);
+        savedAttendance.set(null, 0);
+        attendanceFile.forget();
+        savedExamBook.set(null, 0);
+        savedStatisticsBook.set(null, 0);
+    }
+
+    /**
+     * Loads data from this storage file, and the attendance of the persons from the attendance file if it exists.
+     * The persons are streamed from the file and converted one at a time, rather than unmarshalled all at once.
      *
      * @throws StorageOperationException if there were errors reading and/or converting data from file.
      */
     public AddressBook load() throws StorageOperationException {
         try (final Reader fileReader = new BufferedReader(new FileReader(path.toFile()))) {
-            final Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
-            final AdaptedAddressBook loaded = (AdaptedAddressBook) unmarshaller.unmarshal(fileReader);
-            // manual check for missing elements
-            if (loaded.isAnyRequiredFieldMissing()) {
-                throw new StorageOperationException("File data missing some elements");
-            }
-            return loaded.toModelType();
+            final AddressBookXmlReader xmlReader = jaxbContext == null
+                    ? new AddressBookXmlReader()
+                    : new AddressBookXmlReader(jaxbContext.createUnmarshaller());
+            final AddressBook addressBook = xmlReader.read(fileReader);
+            unresolvedAddressBook = addressBook;
+            unresolvedExamKeys = xmlReader.getExamKeys();
+            final boolean hasAttendanceFile = attendanceFile.load(addressBook);
+            rememberModifiedTime(path);
+            savedAddressBook.set(addressBook, addressBook.getVersion());
+            savedAddressBookDetails.set(addressBook, addressBook.getVersionExcludingAttendance());
+            // attendance read from the address book file of an older version is moved to the attendance file
+            savedAttendance.set(hasAttendanceFile ? addressBook : null,
+                    addressBook.getVersion() - addressBook.getVersionExcludingAttendance());
+            return addressBook;
 
             /* Note: Here, we are using an exception to create the file if it is missing. However, we should minimize
              * using exceptions to facilitate normal paths of execution. If we consider the missing file as a 'normal'
@@ -165,7 +368,7 @@ public class StorageFile extends Storage {
             // other errors
         } catch (IOException ioe) {
             throw new StorageOperationException("Error writing to file: " + path);
-        } catch (JAXBException jaxbe) {
+        } catch (JAXBException | XMLStreamException e) {
             throw new StorageOperationException("Error parsing file data format");
         } catch (IllegalValueException ive) {
             throw new StorageOperationException(ive.getMessage());
@@ -185,26 +388,43 @@ public class StorageFile extends Storage {
     }
 
     /**
-     * Saves all data to this storage file.
+     * Saves all data to this storage file, unless the file already holds the current version of the exam book.
      *
      * @throws StorageOperationException if there were errors converting and/or storing data to file.
      */
     public void saveExam(ExamBook examBook) throws StorageOperationException {
+        final long version = examBook.getVersion();
+        if (savedExamBook.isSaved(examBook, version)) {
+            return;
+        }
+        final AdaptedExamBook toSave = new AdaptedExamBook(examBook);
+        submit(pathExam, () -> write(toSave, pathExam));
+        savedExamBook.set(examBook, version);
+    }
+
+    /**
+     * Writes the exam book to the given file.
+     *
+     * @throws StorageOperationException if there were errors converting and/or storing data to file.
+     */
+    protected void write(AdaptedExamBook toSave, Path target) throws StorageOperationException {
 
         /* Note: Note the 'try with resource' statement below.
          * More info: https://docs.oracle.com/javase/tutorial/essential/exceptions/tryResourceClose.html
          */
-        try (final Writer fileWriter = new BufferedWriter(new FileWriter(pathExam.toFile()))) {
-            final AdaptedExamBook toSave = new AdaptedExamBook(examBook);
-            final Marshaller marshaller = jaxbContext2.createMarshaller();
-            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
-            marshaller.marshal(toSave, fileWriter);
+        try (final Writer fileWriter = new BufferedWriter(new FileWriter(target.toFile()))) {
+            if (jaxbContext == null) {
+                toSave.writeXml(fileWriter);
+            } else {
+                marshal(toSave, fileWriter);
+            }
         } catch (IOException ioe) {
             throw new StorageOperationException("Error writing to exam file: "
-                    + pathExam + " error: " + ioe.getMessage());
+                    + target + " error: " + ioe.getMessage());
         } catch (JAXBException jaxbe) {
             throw new StorageOperationException("Error converting exam book into storage format");
         }
+        rememberModifiedTime(target);
     }
 
     /**
@@ -214,13 +434,17 @@ public class StorageFile extends Storage {
      */
     public ExamBook loadExam() throws StorageOperationException {
         try (final Reader fileReader = new BufferedReader(new FileReader(pathExam.toFile()))) {
-            final Unmarshaller unmarshaller = jaxbContext2.createUnmarshaller();
-            final AdaptedExamBook loaded = (AdaptedExamBook) unmarshaller.unmarshal(fileReader);
+            final AdaptedExamBook loaded = jaxbContext == null
+                    ? AdaptedExamBook.readXml(fileReader)
+                    : unmarshal(jaxbContext.createUnmarshaller(), fileReader, AdaptedExamBook.class);
             // manual check for missing elements
             if (loaded.isAnyRequiredFieldMissing()) {
                 throw new StorageOperationException("Exam file data missing some elements");
             }
-            return loaded.toModelType();
+            final ExamBook examBook = loaded.toModelType();
+            rememberModifiedTime(pathExam);
+            savedExamBook.set(examBook, examBook.getVersion());
+            return examBook;
 
             /* Note: Here, we are using an exception to create the file if it is missing. However, we should minimize
              * using exceptions to facilitate normal paths of execution. If we consider the missing file as a 'normal'
@@ -236,7 +460,7 @@ public class StorageFile extends Storage {
             // other errors
         } catch (IOException ioe) {
             throw new StorageOperationException("Error writing to exam file: " + pathExam);
-        } catch (JAXBException jaxbe) {
+        } catch (JAXBException | XMLStreamException e) {
             throw new StorageOperationException("Error parsing exam file data format");
         } catch (IllegalValueException ive) {
             throw new StorageOperationException(ive.getMessage());
@@ -244,23 +468,40 @@ public class StorageFile extends Storage {
     }
 
     /**
-     * Saves all data to this storage file.
+     * Saves all data to this storage file, unless the file already holds the current version of the statistics
+     * book.
      *
      * @throws StorageOperationException if there were errors converting and/or storing data to file.
      */
     public void saveStatistics(StatisticsBook statisticsBook) throws StorageOperationException {
+        final long version = statisticsBook.getVersion();
+        if (savedStatisticsBook.isSaved(statisticsBook, version)) {
+            return;
+        }
+        final AdaptedStatisticsBook toSave = new AdaptedStatisticsBook(statisticsBook);
+        submit(pathStatistics, () -> write(toSave, pathStatistics));
+        savedStatisticsBook.set(statisticsBook, version);
+    }
+
+    /**
+     * Writes the statistics book to the given file.
+     *
+     * @throws StorageOperationException if there were errors converting and/or storing data to file.
+     */
+    protected void write(AdaptedStatisticsBook toSave, Path target) throws StorageOperationException {
 
         /* Note: Note the 'try with resource' statement below.
          * More info: https://docs.oracle.com/javase/tutorial/essential/exceptions/tryResourceClose.html
          */
-        try (final Writer fileWriter = new BufferedWriter(new FileWriter(pathStatistics.toFile()))) {
-            final AdaptedStatisticsBook toSave = new AdaptedStatisticsBook(statisticsBook);
-            final Marshaller marshaller = jaxbContext3.createMarshaller();
-            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
-            marshaller.marshal(toSave, fileWriter);
+        try (final Writer fileWriter = new BufferedWriter(new FileWriter(target.toFile()))) {
+            if (jaxbContext == null) {
+                toSave.writeXml(fileWriter);
+            } else {
+                marshal(toSave, fileWriter);
+            }
         } catch (IOException ioe) {
             throw new StorageOperationException("Error writing to statistics file: "
-                    + pathStatistics + " error: " + ioe.getMessage());
+                    + target + " error: " + ioe.getMessage());
         } catch (JAXBException jaxbe) {
             throw new StorageOperationException("Error converting statistics book into storage format");
         }
@@ -273,13 +514,16 @@ public class StorageFile extends Storage {
      */
     public StatisticsBook loadStatistics() throws StorageOperationException {
         try (final Reader fileReader = new BufferedReader(new FileReader(pathStatistics.toFile()))) {
-            final Unmarshaller unmarshaller = jaxbContext3.createUnmarshaller();
-            final AdaptedStatisticsBook loaded = (AdaptedStatisticsBook) unmarshaller.unmarshal(fileReader);
+            final AdaptedStatisticsBook loaded = jaxbContext == null
+                    ? AdaptedStatisticsBook.readXml(fileReader)
+                    : unmarshal(jaxbContext.createUnmarshaller(), fileReader, AdaptedStatisticsBook.class);
             // manual check for missing elements
             if (loaded.isAnyRequiredFieldMissing()) {
                 throw new StorageOperationException("Statistics file data missing some elements");
             }
-            return loaded.toModelType();
+            final StatisticsBook statisticsBook = loaded.toModelType();
+            savedStatisticsBook.set(statisticsBook, statisticsBook.getVersion());
+            return statisticsBook;
 
             /* Note: Here, we are using an exception to create the file if it is missing. However, we should minimize
              * using exceptions to facilitate normal paths of execution. If we consider the missing file as a 'normal'
@@ -295,7 +539,7 @@ public class StorageFile extends Storage {
             // other errors
         } catch (IOException ioe) {
             throw new StorageOperationException("Error writing to statistics file: " + pathStatistics);
-        } catch (JAXBException jaxbe) {
+        } catch (JAXBException | XMLStreamException e) {
             throw new StorageOperationException("Error parsing statistics file data format");
         } catch (IllegalValueException ive) {
             throw new StorageOperationException(ive.getMessage());
@@ -303,30 +547,188 @@ public class StorageFile extends Storage {
     }
 
     /**
-     * Checks the exams of each person to see if they exist in the ExamBook and
-     * checks if the takers for all exams in ExamBook are all accounted for in the AddressBook
-     * @throws StorageOperationException if exam data of a person was modified
+     * Saves the books that changed since they were last saved as a checkpoint, and empties the journal.
+     * The books are first written to staging files which only replace the storage files once all of them are
+     * complete, so that an interrupted checkpoint never leaves the journal to be replayed on top of books that
+     * already contain its commands.
+     *
+     * @throws StorageOperationException if there were errors converting and/or storing data to file.
+     */
+    @Override
+    public void checkpoint(AddressBook addressBook, ExamBook examBook, StatisticsBook statisticsBook,
+                           CommandJournal journal) throws StorageOperationException {
+        final long addressBookVersion = addressBook.getVersion();
+        final long addressBookDetailsVersion = addressBook.getVersionExcludingAttendance();
+        final long addressBookAttendanceVersion = addressBookVersion - addressBookDetailsVersion;
+        final long examBookVersion = examBook.getVersion();
+        final long statisticsBookVersion = statisticsBook.getVersion();
+
+        discardStagedFiles();
+        AttendanceFile.Snapshot attendance = null;
+        if (!savedAttendance.isSaved(addressBook, addressBookAttendanceVersion)) {
+            attendance = AttendanceFile.snapshot(addressBook);
+            attendanceFile.stage(attendance, getStagingPath(pathAttendance), getAppendStagingPath(pathAttendance));
+        }
+        if (!savedAddressBookDetails.isSaved(addressBook, addressBookDetailsVersion)) {
+            write(new AdaptedAddressBook(addressBook), getStagingPath(path));
+        }
+        if (!savedExamBook.isSaved(examBook, examBookVersion)) {
+            write(new AdaptedExamBook(examBook), getStagingPath(pathExam));
+        }
+        if (!savedStatisticsBook.isSaved(statisticsBook, statisticsBookVersion)) {
+            write(new AdaptedStatisticsBook(statisticsBook), getStagingPath(pathStatistics));
+        }
+        journal.markCheckpointCommitted();
+        completeCheckpoint(journal);
+
+        savedAddressBook.set(addressBook, addressBookVersion);
+        savedAddressBookDetails.set(addressBook, addressBookDetailsVersion);
+        savedAttendance.set(addressBook, addressBookAttendanceVersion);
+        if (attendance != null) {
+            attendanceFile.markSaved(attendance);
+        }
+        savedExamBook.set(examBook, examBookVersion);
+        savedStatisticsBook.set(statisticsBook, statisticsBookVersion);
+    }
+
+    /**
+     * Replaces the storage files with a checkpoint that was fully staged before the program stopped, or discards
+     * the staging files of one that was not.
+     *
+     * @throws StorageOperationException if there were errors moving or deleting the staging files.
      */
-    public void syncAddressBookExamBook(AddressBook addressBook, ExamBook examBook) throws StorageOperationException {
-        for (Person p : addressBook.getAllPersons()) {
-            for (Exam e : p.getExams()) {
-                if (!examBook.contains(e)) {
-                    throw new StorageOperationException("A person has an exam not in ExamBook!");
-                }
+    @Override
+    public void recoverCheckpoint(CommandJournal journal) throws StorageOperationException {
+        if (journal.isCheckpointCommitted()) {
+            completeCheckpoint(journal);
+        } else {
+            discardStagedFiles();
+        }
+    }
+
+    /**
+     * Deletes the staging files left behind by a checkpoint that did not complete.
+     */
+    private void discardStagedFiles() throws StorageOperationException {
+        try {
+            for (Path target : new Path[] {path, pathAttendance, pathExam, pathStatistics}) {
+                Files.deleteIfExists(getStagingPath(target));
             }
+            Files.deleteIfExists(getAppendStagingPath(pathAttendance));
+        } catch (IOException ioe) {
+            throw new StorageOperationException("Error discarding incomplete checkpoint: " + ioe.getMessage());
         }
+    }
 
-        for (Exam e: examBook.getAllExam()) {
-            int totalCount = e.getTakers();
-            int currentCount = 0;
-            for (Person p: addressBook.getAllPersons()) {
-                if (p.isExamPresent(e)) {
-                    currentCount++;
+    /**
+     * Moves the staged checkpoint over the storage files and empties the journal.
+     */
+    private void completeCheckpoint(CommandJournal journal) throws StorageOperationException {
+        try {
+            for (Path target : new Path[] {path, pathAttendance, pathExam, pathStatistics}) {
+                final Path staged = getStagingPath(target);
+                if (Files.exists(staged)) {
+                    Files.move(staged, target, StandardCopyOption.REPLACE_EXISTING);
+                    rememberModifiedTime(target);
                 }
             }
-            if (totalCount != currentCount) {
-                throw new StorageOperationException("An exam has inaccurate number of takers compared to AddressBook!");
+            final Path appended = getAppendStagingPath(pathAttendance);
+            if (Files.exists(appended)) {
+                Files.write(pathAttendance, Files.readAllBytes(appended), StandardOpenOption.CREATE,
+                        StandardOpenOption.APPEND);
+                Files.delete(appended);
             }
+        } catch (IOException ioe) {
+            throw new StorageOperationException("Error completing checkpoint: " + ioe.getMessage());
+        }
+        journal.clear();
+        journal.clearCheckpointCommitted();
+    }
+
+    /**
+     * Notes the last modified time of a storage file this storage has just written or read.
+     */
+    private void rememberModifiedTime(Path file) {
+        try {
+            knownModifiedTimes.put(file, Files.getLastModifiedTime(file));
+        } catch (IOException ioe) {
+            knownModifiedTimes.remove(file);
+        }
+    }
+
+    /**
+     * Returns true if the storage file was modified since this storage last wrote or read it, e.g. by another
+     * program. Changes within the resolution of the file system's modification times are not noticed.
+     */
+    public boolean isModifiedSinceKnown(Path file) {
+        try {
+            return !Files.getLastModifiedTime(file).equals(knownModifiedTimes.get(file));
+        } catch (IOException ioe) {
+            return false;
+        }
+    }
+
+    private static Path getStagingPath(Path target) {
+        return Paths.get(target.toString() + ".new");
+    }
+
+    /** Returns the path of the staged rows to append to the given file. */
+    private static Path getAppendStagingPath(Path target) {
+        return Paths.get(target.toString() + ".append");
+    }
+
+    /**
+     * Registers the persons of the address book loaded from this storage file for the exams of the ExamBook they
+     * refer to, then checks if the takers for all exams in ExamBook are all accounted for in the AddressBook
+     * @throws StorageOperationException listing the exams that are missing or whose takers are inaccurate
+     */
+    public void syncAddressBookExamBook(AddressBook addressBook, ExamBook examBook) throws StorageOperationException {
+        if (addressBook == unresolvedAddressBook) {
+            resolveExamKeys(addressBook, examBook);
+        }
+        ExamRegistrationCheck.check(addressBook, examBook);
+    }
+
+    /**
+     * Applies the changes another program made to the address book and exam book files to the given books,
+     * loading only the files that changed. The loaded files must agree with each other as they must at startup,
+     * or the books are left as they were. Persons, assessments and exams found both in the books and in the files
+     * stay the same objects, so that the lists last shown to the user still refer to them, and persons are registered
+     * for the exams of the exam book in memory. The books are written again by the next save, as they may keep their
+     * persons in a different order.
+     *
+     * @throws StorageOperationException if a changed file could not be read or disagrees with the other books
+     */
+    public void reload(AddressBook addressBook, ExamBook examBook, boolean isAddressBookChanged,
+                       boolean isExamBookChanged) throws StorageOperationException {
+        final ExamBook loadedExamBook = isExamBookChanged ? loadExam() : examBook;
+        final AddressBook loadedAddressBook = isAddressBookChanged ? load() : addressBook;
+        syncAddressBookExamBook(loadedAddressBook, loadedExamBook);
+        if (isExamBookChanged) {
+            ExternalEdits.applyExamBook(examBook, loadedExamBook);
+        }
+        if (isAddressBookChanged) {
+            ExternalEdits.applyAddressBook(addressBook, loadedAddressBook);
+        }
+        ExamRegistrationCheck.link(addressBook, examBook);
+    }
+
+    /**
+     * Registers the persons of the loaded address book for their exams, which does not make the address book file
+     * out of date as the file refers to the same exams.
+     */
+    private void resolveExamKeys(AddressBook addressBook, ExamBook examBook) throws StorageOperationException {
+        final boolean isSaved = savedAddressBook.isSaved(addressBook, addressBook.getVersion());
+        final boolean isDetailsSaved = savedAddressBookDetails.isSaved(addressBook,
+                addressBook.getVersionExcludingAttendance());
+        ExamReferences.resolve(unresolvedExamKeys, examBook);
+        unresolvedAddressBook = null;
+        unresolvedExamKeys = null;
+        if (isSaved) {
+            savedAddressBook.set(addressBook, addressBook.getVersion());
+        }
+        if (isDetailsSaved) {
+            savedAddressBookDetails.set(addressBook, addressBook.getVersionExcludingAttendance());
         }
     }
 }
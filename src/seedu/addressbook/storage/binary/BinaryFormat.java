@@ -0,0 +1,27 @@
+package seedu.addressbook.storage.binary;
+
+/**
+ * Constants of the binary storage file format.
+ *
+ * A file starts with a header of {@link #MAGIC}, the format version and the kind of book it holds.
+ * It continues with a table of every distinct string in the file, each a varint byte count followed by UTF-8 bytes,
+ * and ends with the records, each a type byte and a varint byte count followed by its fields.
+ * Integers and counts are unsigned varints, and strings are varint positions in the string table.
+ */
+public final class BinaryFormat {
+
+    /** First bytes of every binary storage file: "CRBS". */
+    public static final int MAGIC = 0x43524253;
+
+    /** Version of the format written. Files of a later version are rejected. */
+    public static final int VERSION = 1;
+
+    public static final byte KIND_ADDRESS_BOOK = 1;
+    public static final byte KIND_EXAM_BOOK = 2;
+    public static final byte KIND_STATISTICS_BOOK = 3;
+    public static final byte KIND_PERSON_SHARD = 4;
+    public static final byte KIND_SHARD_MANIFEST = 5;
+    public static final byte KIND_SHARD_BOOK = 6;
+
+    private BinaryFormat() {}
+}
@@ -0,0 +1,148 @@
+package seedu.addressbook.storage.binary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import seedu.addressbook.data.exception.IllegalValueException;
+
+/**
+ * Reads a binary storage file written by {@link BinaryWriter} record by record.
+ * Fields are read from the current record in the order they were written. Moving on to the next record skips
+ * any fields of the current record that were not read, so records can gain fields in later formats.
+ */
+public class BinaryReader {
+
+    private static final String MESSAGE_TRUNCATED = "Storage file is truncated";
+
+    private final ByteBuffer buffer;
+    private final String[] strings;
+    private int recordsLeft;
+
+    /** Position just past the current record. */
+    private int recordEnd;
+
+    /**
+     * Reads the header and string table of the file content.
+     *
+     * @throws IllegalValueException if the content is not a binary storage file of the expected kind
+     */
+    public BinaryReader(byte[] content, byte expectedKind) throws IllegalValueException {
+        buffer = ByteBuffer.wrap(content);
+        recordEnd = content.length;
+        if (content.length < Integer.BYTES || buffer.getInt() != BinaryFormat.MAGIC) {
+            throw new IllegalValueException("Storage file is not in the binary format");
+        }
+        final int version = readVarInt();
+        if (version > BinaryFormat.VERSION) {
+            throw new IllegalValueException("Storage file was written by a later version of the format: " + version);
+        }
+        if (readByte() != expectedKind) {
+            throw new IllegalValueException("Storage file holds a different kind of data");
+        }
+        strings = new String[readCount()];
+        for (int i = 0; i < strings.length; i++) {
+            final int length = readCount();
+            strings[i] = new String(content, buffer.position(), length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+        }
+        recordsLeft = readCount();
+        recordEnd = buffer.position();
+    }
+
+    /**
+     * Reads the content of the given file.
+     *
+     * @throws IOException if there were errors reading the file
+     * @throws IllegalValueException if the file is not a binary storage file of the expected kind
+     */
+    public static BinaryReader read(Path source, byte expectedKind) throws IOException, IllegalValueException {
+        return new BinaryReader(Files.readAllBytes(source), expectedKind);
+    }
+
+    public boolean hasNextRecord() {
+        return recordsLeft > 0;
+    }
+
+    /**
+     * Moves on to the next record and returns its type.
+     *
+     * @throws IllegalValueException if the file ends before the record
+     */
+    public byte nextRecord() throws IllegalValueException {
+        buffer.position(recordEnd);
+        recordEnd = buffer.limit();
+        final byte type = readByte();
+        final int length = readCount();
+        recordEnd = buffer.position() + length;
+        recordsLeft--;
+        return type;
+    }
+
+    /** Reads a string from the current record. */
+    public String readString() throws IllegalValueException {
+        final String value = readNullableString();
+        if (value == null) {
+            throw new IllegalValueException("Storage file is missing a required value");
+        }
+        return value;
+    }
+
+    /** Reads a string, which may be null, from the current record. */
+    public String readNullableString() throws IllegalValueException {
+        final int index = readVarInt();
+        if (index > strings.length) {
+            throw new IllegalValueException("Storage file refers to a missing string: " + index);
+        }
+        return index == 0 ? null : strings[index - 1];
+    }
+
+    public boolean readBoolean() throws IllegalValueException {
+        return readByte() != 0;
+    }
+
+    /** Reads a non-negative integer from the current record. */
+    public int readInt() throws IllegalValueException {
+        return readVarInt();
+    }
+
+    public double readDouble() throws IllegalValueException {
+        require(Long.BYTES);
+        return buffer.getDouble();
+    }
+
+    /** Reads a count of items, which cannot exceed the bytes left in the current record. */
+    public int readCount() throws IllegalValueException {
+        final int count = readVarInt();
+        require(count);
+        return count;
+    }
+
+    private byte readByte() throws IllegalValueException {
+        require(1);
+        return buffer.get();
+    }
+
+    private int readVarInt() throws IllegalValueException {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            final byte next = readByte();
+            value |= (next & 0x7F) << shift;
+            if ((next & 0x80) == 0) {
+                if (value < 0) {
+                    break;
+                }
+                return value;
+            }
+        }
+        throw new IllegalValueException("Storage file has a malformed number");
+    }
+
+    private void require(int bytes) throws IllegalValueException {
+        if (bytes > recordEnd - buffer.position()) {
+            throw new IllegalValueException(MESSAGE_TRUNCATED);
+        }
+    }
+}
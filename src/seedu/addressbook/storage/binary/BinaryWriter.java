@@ -0,0 +1,162 @@
+package seedu.addressbook.storage.binary;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds a binary storage file record by record, collecting the strings of the records into the string table.
+ * Fields are written to the current record, which {@link #endRecord(byte)} appends to the file.
+ */
+public class BinaryWriter {
+
+    /** Suffix of the temporary file a binary storage file is written to before it replaces the file. */
+    private static final String PARTIAL_FILE_SUFFIX = ".partial";
+
+    /** Position in the string table of each string written, offset by one as 0 stands for null. */
+    private final Map<String, Integer> stringIndexes = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+
+    private final ByteArrayOutputStream records = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream record = new ByteArrayOutputStream();
+    private int recordCount;
+
+    /** Writes a string, which may be null, to the current record. */
+    public void writeString(String value) {
+        if (value == null) {
+            writeVarInt(record, 0);
+            return;
+        }
+        Integer index = stringIndexes.get(value);
+        if (index == null) {
+            strings.add(value);
+            index = strings.size();
+            stringIndexes.put(value, index);
+        }
+        writeVarInt(record, index);
+    }
+
+    public void writeBoolean(boolean value) {
+        record.write(value ? 1 : 0);
+    }
+
+    /** Writes a non-negative integer to the current record. */
+    public void writeInt(int value) {
+        writeVarInt(record, value);
+    }
+
+    public void writeDouble(double value) {
+        final long bits = Double.doubleToLongBits(value);
+        for (int shift = Long.SIZE - Byte.SIZE; shift >= 0; shift -= Byte.SIZE) {
+            record.write((int) (bits >>> shift));
+        }
+    }
+
+    /** Appends the current record to the file as a record of the given type, and starts a new record. */
+    public void endRecord(byte type) {
+        records.write(type);
+        writeVarInt(records, record.size());
+        final byte[] fields = record.toByteArray();
+        records.write(fields, 0, fields.length);
+        record.reset();
+        recordCount++;
+    }
+
+    /**
+     * Writes the header, the string table and the records to the target file, replacing its content as
+     * {@link #writeFile(Path, byte[])} does.
+     *
+     * @throws IOException if there were errors writing to the file.
+     */
+    public void writeTo(Path target, byte kind) throws IOException {
+        final Path partial = getPartialPath(target);
+        try (final OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial))) {
+            writeTo(out, kind);
+        } catch (IOException ioe) {
+            Files.deleteIfExists(partial);
+            throw ioe;
+        }
+        moveOver(partial, target);
+    }
+
+    /**
+     * Replaces the content of the target file with the given content.
+     * The content is written under a temporary name next to the target and then moved over it, so that the target
+     * is never left partly written and a mapping of the previous file stays valid.
+     *
+     * @throws IOException if there were errors writing to the file.
+     */
+    public static void writeFile(Path target, byte[] content) throws IOException {
+        final Path partial = getPartialPath(target);
+        try {
+            Files.write(partial, content);
+        } catch (IOException ioe) {
+            Files.deleteIfExists(partial);
+            throw ioe;
+        }
+        moveOver(partial, target);
+    }
+
+    private static Path getPartialPath(Path target) {
+        return target.resolveSibling(target.getFileName() + PARTIAL_FILE_SUFFIX);
+    }
+
+    private static void moveOver(Path partial, Path target) throws IOException {
+        try {
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ioe) {
+            Files.deleteIfExists(partial);
+            throw ioe;
+        }
+    }
+
+    /** Returns the header, the string table and the records as the content of a file. */
+    public byte[] toByteArray(byte kind) {
+        final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        try {
+            writeTo(content, kind);
+        } catch (IOException ioe) {
+            throw new AssertionError("Writing to memory cannot fail", ioe);
+        }
+        return content.toByteArray();
+    }
+
+    private void writeTo(OutputStream out, byte kind) throws IOException {
+        final ByteArrayOutputStream header = new ByteArrayOutputStream();
+        for (int shift = Integer.SIZE - Byte.SIZE; shift >= 0; shift -= Byte.SIZE) {
+            header.write(BinaryFormat.MAGIC >>> shift);
+        }
+        writeVarInt(header, BinaryFormat.VERSION);
+        header.write(kind);
+        writeVarInt(header, strings.size());
+        for (String value : strings) {
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(header, bytes.length);
+            header.write(bytes, 0, bytes.length);
+        }
+        writeVarInt(header, recordCount);
+
+        header.writeTo(out);
+        records.writeTo(out);
+    }
+
+    /** Writes a non-negative integer in as few bytes as it needs, seven bits at a time. */
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        assert value >= 0;
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            out.write((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        out.write(remaining);
+    }
+}
@@ -1,7 +1,11 @@
 package seedu.addressbook.storage.jaxb;
 
+import java.io.IOException;
+
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import seedu.addressbook.common.Utils;
 import seedu.addressbook.data.account.Account;
@@ -56,4 +60,38 @@ public class AdaptedAccount {
     public Account toModelType() throws IllegalValueException {
         return new Account(username, password, privilege);
     }
+
+    /**
+     * Writes this account as the element of the given name, as JAXB would.
+     */
+    void writeXml(XmlOutput out, String elementName) throws IOException {
+        out.startElement(elementName);
+        out.textElement("username", username);
+        out.textElement("password", password);
+        out.textElement("privilege", privilege);
+        out.endElement();
+    }
+
+    /**
+     * Reads an account from the element the reader is at, as JAXB would.
+     */
+    static AdaptedAccount readXml(XMLStreamReader reader) throws XMLStreamException {
+        final AdaptedAccount account = new AdaptedAccount();
+        XmlInput.readChildren(reader, name -> {
+            switch (name) {
+            case "username":
+                account.username = XmlInput.readText(reader);
+                return true;
+            case "password":
+                account.password = XmlInput.readText(reader);
+                return true;
+            case "privilege":
+                account.privilege = XmlInput.readText(reader);
+                return true;
+            default:
+                return false;
+            }
+        });
+        return account;
+    }
 }
@@ -1,8 +1,10 @@
 package seedu.addressbook.storage.jaxb;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 
 import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlElement;
@@ -44,12 +46,15 @@ public class AdaptedAddressBook {
      */
     public AdaptedAddressBook(AddressBook source) {
         persons = new ArrayList<>();
-        source.getAllPersons().forEach(person -> persons.add(new AdaptedPerson(person)));
+        final UniquePersonList allPersons = source.getAllPersons();
+        for (Person person : allPersons) {
+            persons.add(new AdaptedPerson(person));
+        }
         password = source.getMasterPassword();
         isPermAdmin = source.isPermAdmin();
         assessments = new ArrayList<>();
         source.getAllAssessments().forEach(assessment -> assessments.add(new AdaptedAssessment(assessment,
-                source.getAllPersons())));
+                allPersons)));
     }
 
 
@@ -71,18 +76,23 @@ public class AdaptedAddressBook {
      * @throws IllegalValueException if there were any data constraints violated in the adapted person
      */
     public AddressBook toModelType() throws IllegalValueException {
-        final List<Person> personList = new ArrayList<>();
-        final HashSet<String> usernameSet = new HashSet<>();
-        for (AdaptedPerson person : persons) {
-            Person modelPerson = person.toModelType();
-            personList.add(modelPerson);
-            checkDuplicateUsername(usernameSet, modelPerson);
-        }
+        final AdaptedPersonConverter converter = new AdaptedPersonConverter();
+        converter.convert(persons);
+        return toModelType(converter.getPersons(), converter.resolveIds(), assessments, password, isPermAdmin);
+    }
+
+    /**
+     * Creates the {@code AddressBook} of persons already converted from their adapted form, together with the
+     * rest of its adapted data.
+     * @throws IllegalValueException if there were any data constraints violated in the adapted assessments
+     */
+    static AddressBook toModelType(List<Person> personList, Map<Integer, Person> personsById,
+                                   List<AdaptedAssessment> assessments, String masterPassword, boolean isPermAdmin)
+            throws IllegalValueException {
         List<Assessment> assessmentList = new ArrayList<>();
         for (AdaptedAssessment assess : assessments) {
-            assessmentList.add(assess.toModelType(personList));
+            assessmentList.add(assess.toModelType(personsById));
         }
-        final String masterPassword = password;
         final AddressBook ab = new AddressBook(new UniquePersonList(personList),
                 new UniqueAssessmentsList(assessmentList),
                 masterPassword);
@@ -90,13 +100,19 @@ public class AdaptedAddressBook {
         return ab;
     }
 
-    /** Checks if the given Person have an account with an existing username*/
-    private void checkDuplicateUsername(HashSet<String> usernameSet, Person modelPerson) throws IllegalValueException {
-        if (modelPerson.hasAccount()) {
-            if (usernameSet.contains(modelPerson.getAccount().get().getUsername())) {
-                throw new IllegalValueException("Data contains duplicate username");
-            }
-            usernameSet.add(modelPerson.getAccount().get().getUsername());
+    /**
+     * Writes this address book as a whole XML document, as JAXB would.
+     */
+    public void writeXml(Writer writer) throws IOException {
+        final XmlOutput out = new XmlOutput(writer);
+        out.startElement("AddressBook").attribute("isPermAdmin", isPermAdmin);
+        for (AdaptedPerson person : persons) {
+            person.writeXml(out, "persons");
+        }
+        for (AdaptedAssessment assessment : assessments) {
+            assessment.writeXml(out, "assessments");
         }
+        out.textElement("password", password);
+        out.endElement();
     }
 }
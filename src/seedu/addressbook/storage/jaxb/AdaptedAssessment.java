@@ -1,10 +1,13 @@
 package seedu.addressbook.storage.jaxb;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 import javax.xml.bind.annotation.XmlElement;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import seedu.addressbook.common.Utils;
 import seedu.addressbook.data.exception.IllegalValueException;
@@ -12,17 +15,21 @@ import seedu.addressbook.data.exception.IllegalValueException;
 import seedu.addressbook.data.person.Assessment;
 import seedu.addressbook.data.person.Grades;
 import seedu.addressbook.data.person.Person;
-import seedu.addressbook.data.person.UniquePersonList;
 
 /**
  * JAXB-friendly adapted assessment data holder class.
  */
 public class AdaptedAssessment {
+    public static final String MESSAGE_GRADES_MISMATCH = "Assessment %1$s has a different number of grades "
+            + "and graded persons";
+    public static final String MESSAGE_MISSING_PERSON = "Assessment %1$s grades a missing person: %2$d";
+
     @XmlElement(required = true)
     private String examName;
 
-    @XmlElement(required = true)
-    private List<Integer> personIndex = new ArrayList<>();
+    /** IDs of the graded persons, named for the positions in the file that persons saved without an ID have. */
+    @XmlElement(name = "personIndex", required = true)
+    private List<Integer> personIds = new ArrayList<>();
 
     @XmlElement(required = true)
     private List<Double> grades = new ArrayList<>();
@@ -34,23 +41,20 @@ public class AdaptedAssessment {
 
     /**
      * Converts a given Assessment into this class for JAXB use.
+     * Grades are kept in the order of the persons of the address book, who are referred to by their IDs.
+     * Grades of persons no longer in the address book are dropped.
      *
      * @param source future changes to this will not affect the created AdaptedAssessment
+     * @param persons the persons in the address book, in order
      */
-    public AdaptedAssessment(Assessment source, UniquePersonList allPersons) {
+    public AdaptedAssessment(Assessment source, Iterable<Person> persons) {
         examName = source.getExamName();
-        Map<Person, Grades> allVals = source.getAllGrades();
-
-        for (Map.Entry<Person, Grades> entry : allVals.entrySet()) {
-            Person person = entry.getKey();
-            int index = allPersons.immutableListView().indexOf(person);
-            if (index == -1) {
-                continue;
+        for (Person person : persons) {
+            final Grades personGrades = source.getGrade(person);
+            if (personGrades != null) {
+                personIds.add(person.getId());
+                grades.add(personGrades.getValue());
             }
-            personIndex.add(index);
-            Grades grade = entry.getValue();
-            double gradeVal = grade.getValue();
-            grades.add(gradeVal);
         }
     }
 
@@ -69,14 +73,21 @@ public class AdaptedAssessment {
     /**
      * Converts this jaxb-friendly adapted assessment object into the Assessment object.
      *
+     * @param personsById the persons of the address book by their IDs
      * @throws IllegalValueException if there were any data constraints violated in the adapted assessment
      */
-    public Assessment toModelType(List<Person> personList) throws IllegalValueException {
+    public Assessment toModelType(Map<Integer, Person> personsById) throws IllegalValueException {
         final String examName = this.examName;
         Assessment assess = new Assessment(examName);
+        if (personIds.size() != grades.size()) {
+            throw new IllegalValueException(String.format(MESSAGE_GRADES_MISMATCH, examName));
+        }
 
-        for (int i = 0; i < personIndex.size(); i++) {
-            final Person personToInsert = personList.get(i);
+        for (int i = 0; i < personIds.size(); i++) {
+            final Person personToInsert = personsById.get(personIds.get(i));
+            if (personToInsert == null) {
+                throw new IllegalValueException(String.format(MESSAGE_MISSING_PERSON, examName, personIds.get(i)));
+            }
             personToInsert.addAssessment(assess);
             double gradeVal = grades.get(i);
             final Grades gradeToInsert = new Grades(gradeVal);
@@ -84,4 +95,38 @@ public class AdaptedAssessment {
         }
         return assess;
     }
+
+    /**
+     * Writes this assessment as the element of the given name, as JAXB would.
+     */
+    void writeXml(XmlOutput out, String elementName) throws IOException {
+        out.startElement(elementName);
+        out.textElement("examName", examName);
+        out.textElements("personIndex", personIds);
+        out.textElements("grades", grades);
+        out.endElement();
+    }
+
+    /**
+     * Reads an assessment from the element the reader is at, as JAXB would.
+     */
+    static AdaptedAssessment readXml(XMLStreamReader reader) throws XMLStreamException {
+        final AdaptedAssessment assessment = new AdaptedAssessment();
+        XmlInput.readChildren(reader, name -> {
+            switch (name) {
+            case "examName":
+                assessment.examName = XmlInput.readText(reader);
+                return true;
+            case "personIndex":
+                assessment.personIds.add(XmlInput.readInt(reader));
+                return true;
+            case "grades":
+                assessment.grades.add(XmlInput.readDouble(reader));
+                return true;
+            default:
+                return false;
+            }
+        });
+        return assessment;
+    }
 }
@@ -1,11 +1,14 @@
 package seedu.addressbook.storage.jaxb;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import seedu.addressbook.common.Utils;
 import seedu.addressbook.data.exception.IllegalValueException;
@@ -78,6 +81,34 @@ public class AdaptedAttendance {
         }
         return attendance;
     }
-}
 
+    /**
+     * Writes this attendance as the element of the given name, as JAXB would.
+     */
+    void writeXml(XmlOutput out, String elementName) throws IOException {
+        out.startElement(elementName);
+        out.textElements("attendanceDate", attendanceDate);
+        out.textElements("attendanceIsPresent", attendanceIsPresent);
+        out.endElement();
+    }
 
+    /**
+     * Reads attendance from the element the reader is at, as JAXB would.
+     */
+    static AdaptedAttendance readXml(XMLStreamReader reader) throws XMLStreamException {
+        final AdaptedAttendance attendance = new AdaptedAttendance();
+        XmlInput.readChildren(reader, name -> {
+            switch (name) {
+            case "attendanceDate":
+                attendance.attendanceDate.add(XmlInput.readText(reader));
+                return true;
+            case "attendanceIsPresent":
+                attendance.attendanceIsPresent.add(XmlInput.readText(reader));
+                return true;
+            default:
+                return false;
+            }
+        });
+        return attendance;
+    }
+}
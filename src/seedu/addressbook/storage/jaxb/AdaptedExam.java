@@ -1,7 +1,11 @@
 package seedu.addressbook.storage.jaxb;
 
+import java.io.IOException;
+
 import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlElement;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import seedu.addressbook.common.Utils;
 import seedu.addressbook.data.exception.IllegalValueException;
@@ -86,4 +90,56 @@ public class AdaptedExam {
         final boolean isPrivate = this.isPrivate;
         return new Exam(examName, subjectName, examDate, examStartTime, examEndTime, examDetails, takers, isPrivate);
     }
+
+    /**
+     * Writes this exam as the element of the given name, as JAXB would.
+     */
+    void writeXml(XmlOutput out, String elementName) throws IOException {
+        out.startElement(elementName).attribute("isPrivate", isPrivate);
+        out.textElement("subjectName", subjectName);
+        out.textElement("examName", examName);
+        out.textElement("examDate", examDate);
+        out.textElement("examStartTime", examStartTime);
+        out.textElement("examEndTime", examEndTime);
+        out.textElement("examDetails", examDetails);
+        out.textElement("takers", takers);
+        out.endElement();
+    }
+
+    /**
+     * Reads an exam from the element the reader is at, as JAXB would.
+     */
+    static AdaptedExam readXml(XMLStreamReader reader) throws XMLStreamException {
+        final AdaptedExam exam = new AdaptedExam();
+        final String isPrivate = XmlInput.getAttribute(reader, "isPrivate");
+        exam.isPrivate = isPrivate == null ? null : XmlInput.parseBoolean(isPrivate);
+        XmlInput.readChildren(reader, name -> {
+            switch (name) {
+            case "subjectName":
+                exam.subjectName = XmlInput.readText(reader);
+                return true;
+            case "examName":
+                exam.examName = XmlInput.readText(reader);
+                return true;
+            case "examDate":
+                exam.examDate = XmlInput.readText(reader);
+                return true;
+            case "examStartTime":
+                exam.examStartTime = XmlInput.readText(reader);
+                return true;
+            case "examEndTime":
+                exam.examEndTime = XmlInput.readText(reader);
+                return true;
+            case "examDetails":
+                exam.examDetails = XmlInput.readText(reader);
+                return true;
+            case "takers":
+                exam.takers = XmlInput.readInt(reader);
+                return true;
+            default:
+                return false;
+            }
+        });
+        return exam;
+    }
 }
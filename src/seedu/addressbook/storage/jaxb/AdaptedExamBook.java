@@ -1,10 +1,15 @@
 package seedu.addressbook.storage.jaxb;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
 
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import seedu.addressbook.data.ExamBook;
 import seedu.addressbook.data.exception.IllegalValueException;
@@ -59,4 +64,36 @@ public class AdaptedExamBook {
         }
         return new ExamBook(new UniqueExamList(examTempList));
     }
+
+    /**
+     * Writes this exam book as a whole XML document, as JAXB would.
+     */
+    public void writeXml(Writer writer) throws IOException {
+        final XmlOutput out = new XmlOutput(writer);
+        out.startElement("ExamBook");
+        for (AdaptedExam exam : examsList) {
+            exam.writeXml(out, "examsList");
+        }
+        out.endElement();
+    }
+
+    /**
+     * Reads an exam book from a whole XML document, as JAXB would.
+     */
+    public static AdaptedExamBook readXml(Reader source) throws XMLStreamException {
+        final XMLStreamReader reader = XmlInput.openRoot(source, "ExamBook");
+        try {
+            final AdaptedExamBook examBook = new AdaptedExamBook();
+            XmlInput.readChildren(reader, name -> {
+                if (!"examsList".equals(name)) {
+                    return false;
+                }
+                examBook.examsList.add(AdaptedExam.readXml(reader));
+                return true;
+            });
+            return examBook;
+        } finally {
+            reader.close();
+        }
+    }
 }
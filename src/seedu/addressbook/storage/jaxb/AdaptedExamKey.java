@@ -0,0 +1,131 @@
+package seedu.addressbook.storage.jaxb;
+
+import java.io.IOException;
+import java.util.List;
+
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import seedu.addressbook.common.Utils;
+import seedu.addressbook.data.exception.IllegalValueException;
+import seedu.addressbook.data.person.Exam;
+import seedu.addressbook.data.person.ReadOnlyExam;
+
+
+/**
+ * JAXB-friendly adapted holder of the fields a person refers to an exam of the exam book by.
+ * These are the fields of {@link AdaptedExam} except the number of takers, which only the exam book records.
+ */
+public class AdaptedExamKey {
+    @XmlAttribute(required = true)
+    private Boolean isPrivate;
+    @XmlElement(required = true)
+    private String subjectName;
+    @XmlElement(required = true)
+    private String examName;
+    @XmlElement(required = true)
+    private String examDate;
+    @XmlElement(required = true)
+    private String examStartTime;
+    @XmlElement(required = true)
+    private String examEndTime;
+    @XmlElement(required = true)
+    private String examDetails;
+
+    /**
+     * No-arg constructor for JAXB use.
+     */
+    public AdaptedExamKey() {}
+
+    /**
+     * Converts the key of a given exam into this class for JAXB use.
+     *
+     * @param source future changes to this will not affect the created AdaptedExamKey
+     */
+    public AdaptedExamKey(ReadOnlyExam source) {
+        isPrivate = source.isPrivate();
+        subjectName = source.getSubjectName();
+        examName = source.getExamName();
+        examDate = source.getExamDate();
+        examStartTime = source.getExamStartTime();
+        examEndTime = source.getExamEndTime();
+        examDetails = source.getExamDetails();
+    }
+
+    /**
+     * Returns true if any required field is missing.
+     *
+     * JAXB does not enforce (required = true) without a given XML schema.
+     * Since we do most of our validation using the data class constructors, the only extra logic we need
+     * is to ensure that every xml element in the document is present. JAXB sets missing elements as null,
+     * so we check for that.
+     */
+    public boolean isAnyRequiredFieldMissing() {
+        return Utils.isAnyNull(subjectName, examName, examDate, examStartTime, examEndTime, examDetails, isPrivate);
+    }
+
+    /**
+     * Converts this jaxb-friendly adapted exam key into the key of the exam it identifies, as {@link Exam#getKey}
+     * returns it.
+     *
+     * @throws IllegalValueException if there were any data constraints violated in the adapted exam key
+     */
+    public List<Object> toModelType() throws IllegalValueException {
+        return new Exam(examName, subjectName, examDate, examStartTime, examEndTime, examDetails, isPrivate).getKey();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (%s) on %s", examName, subjectName, examDate);
+    }
+
+    /**
+     * Writes this exam key as the element of the given name, as JAXB would.
+     */
+    void writeXml(XmlOutput out, String elementName) throws IOException {
+        out.startElement(elementName).attribute("isPrivate", isPrivate);
+        out.textElement("subjectName", subjectName);
+        out.textElement("examName", examName);
+        out.textElement("examDate", examDate);
+        out.textElement("examStartTime", examStartTime);
+        out.textElement("examEndTime", examEndTime);
+        out.textElement("examDetails", examDetails);
+        out.endElement();
+    }
+
+    /**
+     * Reads an exam key from the element the reader is at, as JAXB would.
+     */
+    static AdaptedExamKey readXml(XMLStreamReader reader) throws XMLStreamException {
+        final AdaptedExamKey examKey = new AdaptedExamKey();
+        final String isPrivate = XmlInput.getAttribute(reader, "isPrivate");
+        examKey.isPrivate = isPrivate == null ? null : XmlInput.parseBoolean(isPrivate);
+        XmlInput.readChildren(reader, name -> {
+            switch (name) {
+            case "subjectName":
+                examKey.subjectName = XmlInput.readText(reader);
+                return true;
+            case "examName":
+                examKey.examName = XmlInput.readText(reader);
+                return true;
+            case "examDate":
+                examKey.examDate = XmlInput.readText(reader);
+                return true;
+            case "examStartTime":
+                examKey.examStartTime = XmlInput.readText(reader);
+                return true;
+            case "examEndTime":
+                examKey.examEndTime = XmlInput.readText(reader);
+                return true;
+            case "examDetails":
+                examKey.examDetails = XmlInput.readText(reader);
+                return true;
+            default:
+                return false;
+            }
+        });
+        return examKey;
+    }
+}
@@ -1,8 +1,12 @@
 package seedu.addressbook.storage.jaxb;
 
+import java.io.IOException;
+
 import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import seedu.addressbook.common.Utils;
 import seedu.addressbook.data.exception.IllegalValueException;
@@ -57,4 +61,35 @@ public class AdaptedFees {
     public Fees toModelType() throws IllegalValueException {
         return new Fees(value, duedate);
     }
+
+    /**
+     * Writes these fees as the element of the given name, as JAXB would.
+     */
+    void writeXml(XmlOutput out, String elementName) throws IOException {
+        out.startElement(elementName).attribute("isPrivate", isPrivate);
+        out.textElement("value", value);
+        out.textElement("duedate", duedate);
+        out.endElement();
+    }
+
+    /**
+     * Reads fees from the element the reader is at, as JAXB would.
+     */
+    static AdaptedFees readXml(XMLStreamReader reader) throws XMLStreamException {
+        final AdaptedFees fees = new AdaptedFees();
+        fees.isPrivate = XmlInput.parseBoolean(XmlInput.getAttribute(reader, "isPrivate"));
+        XmlInput.readChildren(reader, name -> {
+            switch (name) {
+            case "value":
+                fees.value = XmlInput.readText(reader);
+                return true;
+            case "duedate":
+                fees.duedate = XmlInput.readText(reader);
+                return true;
+            default:
+                return false;
+            }
+        });
+        return fees;
+    }
 }
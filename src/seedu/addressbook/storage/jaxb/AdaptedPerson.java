@@ -1,5 +1,6 @@
 package seedu.addressbook.storage.jaxb;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -9,6 +10,8 @@ import java.util.Set;
 import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlValue;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import seedu.addressbook.common.Utils;
 import seedu.addressbook.data.account.Account;
@@ -28,6 +31,9 @@ import seedu.addressbook.data.tag.Tag;
  * JAXB-friendly adapted person data holder class.
  */
 public class AdaptedPerson {
+    @XmlAttribute
+    private Integer id;
+
     @XmlElement(required = true)
     private String name;
     @XmlElement(required = true)
@@ -37,9 +43,15 @@ public class AdaptedPerson {
     @XmlElement(required = true)
     private AdaptedContactDetail address;
 
+    /** Only read from files saved before attendance was kept in its own file. */
     @XmlElement
     private AdaptedAttendance attendance;
 
+    /** Keys of the exams the person is registered for, which are resolved against the exam book. */
+    @XmlElement(name = "examKey")
+    private List<AdaptedExamKey> examKeys = new ArrayList<>();
+
+    /** Only read from files saved before persons referred to their exams by key. */
     @XmlElement
     private List<AdaptedExam> exams = new ArrayList<>();
 
@@ -60,6 +72,16 @@ public class AdaptedPerson {
         @XmlAttribute(required = true)
         private boolean isPrivate;
 
+        void writeXml(XmlOutput out, String elementName) throws IOException {
+            out.startElement(elementName).attribute("isPrivate", isPrivate).endElementWithText(value);
+        }
+
+        static AdaptedContactDetail readXml(XMLStreamReader reader) throws XMLStreamException {
+            final AdaptedContactDetail contactDetail = new AdaptedContactDetail();
+            contactDetail.isPrivate = XmlInput.parseBoolean(XmlInput.getAttribute(reader, "isPrivate"));
+            contactDetail.value = XmlInput.readText(reader);
+            return contactDetail;
+        }
     }
 
     /**
@@ -74,6 +96,7 @@ public class AdaptedPerson {
      * @param source future changes to this will not affect the created AdaptedPerson
      */
     public AdaptedPerson(ReadOnlyPerson source) {
+        id = source.getId() == Person.NO_ID ? null : source.getId();
         name = source.getName().fullName;
 
         phone = new AdaptedContactDetail();
@@ -90,11 +113,9 @@ public class AdaptedPerson {
 
         fees = new AdaptedFees(source.getFees());
 
-        attendance = new AdaptedAttendance(source.getAttendance());
-
-        exams = new ArrayList<>();
+        examKeys = new ArrayList<>();
         for (Exam exam : source.getExams()) {
-            exams.add(new AdaptedExam(exam));
+            examKeys.add(new AdaptedExamKey(exam));
         }
 
         tagged = new ArrayList<>();
@@ -107,6 +128,20 @@ public class AdaptedPerson {
         }
     }
 
+    /**
+     * Returns the ID the grades and attendance of this person refer to it by, or null if it was saved without one.
+     */
+    public Integer getId() {
+        return id;
+    }
+
+    /**
+     * Returns the keys of the exams this person is registered for, which {@link #toModelType} leaves out.
+     */
+    public List<AdaptedExamKey> getExamKeys() {
+        return examKeys;
+    }
+
     /**
      * Returns true if any required field is missing.
      *
@@ -122,6 +157,12 @@ public class AdaptedPerson {
             }
         }
 
+        for (AdaptedExamKey examKey : examKeys) {
+            if (examKey.isAnyRequiredFieldMissing()) {
+                return true;
+            }
+        }
+
         for (AdaptedExam exam : exams) {
             if (exam.isAnyRequiredFieldMissing()) {
                 return true;
@@ -184,4 +225,85 @@ public class AdaptedPerson {
             throw new IllegalValueException(String.format("Error processing %s: %s", name, ive.getMessage()));
         }
     }
+
+    /**
+     * Writes this person as the element of the given name, as JAXB would.
+     */
+    void writeXml(XmlOutput out, String elementName) throws IOException {
+        out.startElement(elementName).attribute("id", id);
+        out.textElement("name", name);
+        if (phone != null) {
+            phone.writeXml(out, "phone");
+        }
+        if (email != null) {
+            email.writeXml(out, "email");
+        }
+        if (address != null) {
+            address.writeXml(out, "address");
+        }
+        if (attendance != null) {
+            attendance.writeXml(out, "attendance");
+        }
+        for (AdaptedExamKey examKey : examKeys) {
+            examKey.writeXml(out, "examKey");
+        }
+        for (AdaptedExam exam : exams) {
+            exam.writeXml(out, "exams");
+        }
+        for (AdaptedTag tag : tagged) {
+            tag.writeXml(out, "tagged");
+        }
+        if (account != null) {
+            account.writeXml(out, "account");
+        }
+        if (fees != null) {
+            fees.writeXml(out, "fees");
+        }
+        out.endElement();
+    }
+
+    /**
+     * Reads a person from the element the reader is at, as JAXB would.
+     */
+    static AdaptedPerson readXml(XMLStreamReader reader) throws XMLStreamException {
+        final AdaptedPerson person = new AdaptedPerson();
+        person.id = XmlInput.parseInteger(XmlInput.getAttribute(reader, "id"));
+        XmlInput.readChildren(reader, name -> {
+            switch (name) {
+            case "name":
+                person.name = XmlInput.readText(reader);
+                return true;
+            case "phone":
+                person.phone = AdaptedContactDetail.readXml(reader);
+                return true;
+            case "email":
+                person.email = AdaptedContactDetail.readXml(reader);
+                return true;
+            case "address":
+                person.address = AdaptedContactDetail.readXml(reader);
+                return true;
+            case "attendance":
+                person.attendance = AdaptedAttendance.readXml(reader);
+                return true;
+            case "examKey":
+                person.examKeys.add(AdaptedExamKey.readXml(reader));
+                return true;
+            case "exams":
+                person.exams.add(AdaptedExam.readXml(reader));
+                return true;
+            case "tagged":
+                person.tagged.add(AdaptedTag.readXml(reader));
+                return true;
+            case "account":
+                person.account = AdaptedAccount.readXml(reader);
+                return true;
+            case "fees":
+                person.fees = AdaptedFees.readXml(reader);
+                return true;
+            default:
+                return false;
+            }
+        });
+        return person;
+    }
 }
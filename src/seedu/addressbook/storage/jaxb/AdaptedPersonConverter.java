@@ -0,0 +1,112 @@
+package seedu.addressbook.storage.jaxb;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.IntStream;
+
+import seedu.addressbook.data.account.Account;
+import seedu.addressbook.data.exception.IllegalValueException;
+import seedu.addressbook.data.person.Person;
+
+/**
+ * Converts the adapted persons of an address book into persons, a batch at a time.
+ * The persons of a batch are converted in parallel, as each only validates its own fields, and the IDs they were
+ * saved with and their usernames are then checked against those of every person converted so far in a concurrent
+ * pass.
+ * Whatever the scheduling, the error reported is the one the first offending person would have caused had the
+ * persons been converted one at a time.
+ */
+class AdaptedPersonConverter {
+
+    static final String MESSAGE_DUPLICATE_USERNAME = "Data contains duplicate username";
+    static final String MESSAGE_DUPLICATE_ID = "Data contains duplicate person ID: %1$d";
+
+    private final List<Person> persons = new ArrayList<>();
+    private final Map<Integer, Person> personsById = new HashMap<>();
+
+    /** Position of the first person holding each ID and username. */
+    private final ConcurrentMap<Integer, Integer> firstPositionById = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Integer> firstPositionByUsername = new ConcurrentHashMap<>();
+
+    /**
+     * Converts the next batch of adapted persons, which follow all those converted before.
+     *
+     * @return the persons converted from the batch, in the same order
+     * @throws IllegalValueException if an adapted person violates data constraints, or shares an ID or username
+     *     with an earlier person
+     */
+    List<Person> convert(List<AdaptedPerson> batch) throws IllegalValueException {
+        final int offset = persons.size();
+        final Person[] converted = new Person[batch.size()];
+        final IllegalValueException[] failures = new IllegalValueException[batch.size()];
+        IntStream.range(0, batch.size()).parallel().forEach(index -> {
+            try {
+                converted[index] = batch.get(index).toModelType();
+            } catch (IllegalValueException ive) {
+                failures[index] = ive;
+            }
+        });
+
+        IntStream.range(0, batch.size()).parallel().filter(index -> converted[index] != null).forEach(index -> {
+            final int position = offset + index;
+            final Integer id = batch.get(index).getId();
+            if (id != null) {
+                firstPositionById.merge(id, position, Math::min);
+            }
+            converted[index].getAccount().ifPresent(account ->
+                    firstPositionByUsername.merge(account.getUsername(), position, Math::min));
+        });
+
+        // the persons before the first offending one were all converted, so it is also the first to clash
+        for (int index = 0; index < batch.size(); index++) {
+            if (failures[index] != null) {
+                throw failures[index];
+            }
+            final int position = offset + index;
+            final Optional<Account> account = converted[index].getAccount();
+            if (account.isPresent() && firstPositionByUsername.get(account.get().getUsername()) != position) {
+                throw new IllegalValueException(MESSAGE_DUPLICATE_USERNAME);
+            }
+            final Integer id = batch.get(index).getId();
+            if (id == null) {
+                continue;
+            }
+            if (firstPositionById.get(id) != position) {
+                throw new IllegalValueException(String.format(MESSAGE_DUPLICATE_ID, id));
+            }
+            converted[index].setId(id);
+            personsById.put(id, converted[index]);
+        }
+        final List<Person> convertedList = Arrays.asList(converted);
+        persons.addAll(convertedList);
+        return convertedList;
+    }
+
+    /** Returns every person converted so far, in order. */
+    List<Person> getPersons() {
+        return persons;
+    }
+
+    /**
+     * Gives the persons converted so far their positions as IDs if none of them was saved with an ID, as in files
+     * saved before persons had IDs, where grades refer to persons by position.
+     * Persons saved without an ID in other files are left for the address book to give one.
+     *
+     * @return every person converted so far with an ID, by their ID
+     */
+    Map<Integer, Person> resolveIds() {
+        if (personsById.isEmpty()) {
+            for (int position = 0; position < persons.size(); position++) {
+                persons.get(position).setId(position);
+                personsById.put(position, persons.get(position));
+            }
+        }
+        return personsById;
+    }
+}
@@ -1,6 +1,10 @@
 package seedu.addressbook.storage.jaxb;
 
+import java.io.IOException;
+
 import javax.xml.bind.annotation.XmlElement;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import seedu.addressbook.common.Utils;
 import seedu.addressbook.data.exception.IllegalValueException;
@@ -68,4 +72,46 @@ public class AdaptedStatistics {
         final double minScore = this.minScore;
         return new AssignmentStatistics(examName, averageScore, totalExamTakers, maxScore, minScore);
     }
+
+    /**
+     * Writes these statistics as the element of the given name, as JAXB would.
+     */
+    void writeXml(XmlOutput out, String elementName) throws IOException {
+        out.startElement(elementName);
+        out.textElement("examName", examName);
+        out.textElement("averageScore", averageScore);
+        out.textElement("totalExamTakers", totalExamTakers);
+        out.textElement("maxScore", maxScore);
+        out.textElement("minScore", minScore);
+        out.endElement();
+    }
+
+    /**
+     * Reads statistics from the element the reader is at, as JAXB would.
+     */
+    static AdaptedStatistics readXml(XMLStreamReader reader) throws XMLStreamException {
+        final AdaptedStatistics statistics = new AdaptedStatistics();
+        XmlInput.readChildren(reader, name -> {
+            switch (name) {
+            case "examName":
+                statistics.examName = XmlInput.readText(reader);
+                return true;
+            case "averageScore":
+                statistics.averageScore = XmlInput.readDouble(reader);
+                return true;
+            case "totalExamTakers":
+                statistics.totalExamTakers = XmlInput.readInt(reader);
+                return true;
+            case "maxScore":
+                statistics.maxScore = XmlInput.readDouble(reader);
+                return true;
+            case "minScore":
+                statistics.minScore = XmlInput.readDouble(reader);
+                return true;
+            default:
+                return false;
+            }
+        });
+        return statistics;
+    }
 }
@@ -1,10 +1,15 @@
 package seedu.addressbook.storage.jaxb;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
 
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import seedu.addressbook.data.StatisticsBook;
 import seedu.addressbook.data.exception.IllegalValueException;
@@ -62,4 +67,36 @@ public class AdaptedStatisticsBook {
         }
         return new StatisticsBook(new UniqueStatisticsList(statisticsTempList));
     }
+
+    /**
+     * Writes this statistics book as a whole XML document, as JAXB would.
+     */
+    public void writeXml(Writer writer) throws IOException {
+        final XmlOutput out = new XmlOutput(writer);
+        out.startElement("StatisticsBook");
+        for (AdaptedStatistics statistics : statisticsList) {
+            statistics.writeXml(out, "statisticsList");
+        }
+        out.endElement();
+    }
+
+    /**
+     * Reads a statistics book from a whole XML document, as JAXB would.
+     */
+    public static AdaptedStatisticsBook readXml(Reader source) throws XMLStreamException {
+        final XMLStreamReader reader = XmlInput.openRoot(source, "StatisticsBook");
+        try {
+            final AdaptedStatisticsBook statisticsBook = new AdaptedStatisticsBook();
+            XmlInput.readChildren(reader, name -> {
+                if (!"statisticsList".equals(name)) {
+                    return false;
+                }
+                statisticsBook.statisticsList.add(AdaptedStatistics.readXml(reader));
+                return true;
+            });
+            return statisticsBook;
+        } finally {
+            reader.close();
+        }
+    }
 }
@@ -1,6 +1,10 @@
 package seedu.addressbook.storage.jaxb;
 
+import java.io.IOException;
+
 import javax.xml.bind.annotation.XmlValue;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import seedu.addressbook.common.Utils;
 import seedu.addressbook.data.exception.IllegalValueException;
@@ -49,4 +53,20 @@ public class AdaptedTag {
     public Tag toModelType() throws IllegalValueException {
         return new Tag(tagName);
     }
+
+    /**
+     * Writes this tag as the element of the given name, as JAXB would.
+     */
+    void writeXml(XmlOutput out, String elementName) throws IOException {
+        out.startElement(elementName).endElementWithText(tagName);
+    }
+
+    /**
+     * Reads a tag from the element the reader is at, as JAXB would.
+     */
+    static AdaptedTag readXml(XMLStreamReader reader) throws XMLStreamException {
+        final AdaptedTag tag = new AdaptedTag();
+        tag.tagName = XmlInput.readText(reader);
+        return tag;
+    }
 }
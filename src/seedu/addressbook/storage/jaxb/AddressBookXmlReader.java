@@ -0,0 +1,136 @@
+package seedu.addressbook.storage.jaxb;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.exception.IllegalValueException;
+import seedu.addressbook.data.person.Person;
+
+/**
+ * Reads an address book from the XML written for {@link AdaptedAddressBook}, one element at a time.
+ * Persons are converted to {@code Person}s in parallel batches as they are read and their adapted forms dropped,
+ * so that the adapted persons never all exist alongside the model.
+ * The elements are unmarshalled by JAXB, or read by hand if no unmarshaller is given.
+ */
+public class AddressBookXmlReader {
+
+    public static final String MESSAGE_MISSING_ELEMENTS = "File data missing some elements";
+
+    private static final String ELEMENT_ADDRESS_BOOK = "AddressBook";
+    private static final String ELEMENT_PERSONS = "persons";
+    private static final String ELEMENT_ASSESSMENTS = "assessments";
+    private static final String ELEMENT_PASSWORD = "password";
+    private static final String ATTRIBUTE_IS_PERM_ADMIN = "isPermAdmin";
+
+    /** Number of adapted persons read before they are converted together. */
+    private static final int PERSON_BATCH_SIZE = 512;
+
+    /** Unmarshaller of the elements, or null if they are read by hand. */
+    private final Unmarshaller unmarshaller;
+
+    /** Keys of the exams each person read is registered for, to be resolved against the exam book. */
+    private final Map<Person, List<AdaptedExamKey>> examKeys = new IdentityHashMap<>();
+
+    /**
+     * @param unmarshaller unmarshaller of a context that knows {@link AdaptedAddressBook}
+     */
+    public AddressBookXmlReader(Unmarshaller unmarshaller) {
+        this.unmarshaller = unmarshaller;
+    }
+
+    /**
+     * Creates a reader that reads the elements by hand, without JAXB.
+     */
+    public AddressBookXmlReader() {
+        this(null);
+    }
+
+    /**
+     * Reads the address book from the source.
+     *
+     * @throws XMLStreamException if the source is not well-formed XML of an address book
+     * @throws JAXBException if an element of the address book could not be unmarshalled
+     * @throws IllegalValueException if an element is missing required fields or violates data constraints
+     */
+    public AddressBook read(Reader source) throws XMLStreamException, JAXBException, IllegalValueException {
+        final XMLStreamReader reader = XmlInput.openRoot(source, ELEMENT_ADDRESS_BOOK);
+        try {
+            final boolean isPermAdmin = XmlInput.parseBoolean(XmlInput.getAttribute(reader, ATTRIBUTE_IS_PERM_ADMIN));
+            final AdaptedPersonConverter converter = new AdaptedPersonConverter();
+            final List<AdaptedPerson> batch = new ArrayList<>();
+            // assessments refer to persons by ID, so they are converted once every person is read
+            final List<AdaptedAssessment> assessments = new ArrayList<>();
+            String password = null;
+
+            reader.nextTag();
+            while (reader.getEventType() == XMLStreamConstants.START_ELEMENT) {
+                switch (reader.getLocalName()) {
+                case ELEMENT_PERSONS:
+                    final AdaptedPerson adaptedPerson = unmarshaller == null
+                            ? AdaptedPerson.readXml(reader)
+                            : unmarshaller.unmarshal(reader, AdaptedPerson.class).getValue();
+                    if (adaptedPerson.isAnyRequiredFieldMissing()) {
+                        throw new IllegalValueException(MESSAGE_MISSING_ELEMENTS);
+                    }
+                    batch.add(adaptedPerson);
+                    if (batch.size() == PERSON_BATCH_SIZE) {
+                        convertBatch(converter, batch);
+                    }
+                    break;
+                case ELEMENT_ASSESSMENTS:
+                    assessments.add(unmarshaller == null
+                            ? AdaptedAssessment.readXml(reader)
+                            : unmarshaller.unmarshal(reader, AdaptedAssessment.class).getValue());
+                    break;
+                case ELEMENT_PASSWORD:
+                    password = reader.getElementText();
+                    if (password.isEmpty()) {
+                        password = AddressBook.DEFAULT_MASTER_PASSWORD;
+                    }
+                    reader.next();
+                    break;
+                default:
+                    // unknown elements are ignored, as JAXB does
+                    XmlInput.skipElement(reader);
+                }
+                XmlInput.skipToTag(reader);
+            }
+            convertBatch(converter, batch);
+            return AdaptedAddressBook.toModelType(converter.getPersons(), converter.resolveIds(), assessments,
+                    password, isPermAdmin);
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Converts the adapted persons in the batch, noting the exams of each, and empties the batch.
+     */
+    private void convertBatch(AdaptedPersonConverter converter, List<AdaptedPerson> batch)
+            throws IllegalValueException {
+        final List<Person> persons = converter.convert(batch);
+        for (int index = 0; index < batch.size(); index++) {
+            if (!batch.get(index).getExamKeys().isEmpty()) {
+                examKeys.put(persons.get(index), batch.get(index).getExamKeys());
+            }
+        }
+        batch.clear();
+    }
+
+    /**
+     * Returns the keys of the exams each person read is registered for, as persons are read without their exams.
+     */
+    public Map<Person, List<AdaptedExamKey>> getExamKeys() {
+        return examKeys;
+    }
+}
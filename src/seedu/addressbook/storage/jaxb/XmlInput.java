@@ -0,0 +1,137 @@
+package seedu.addressbook.storage.jaxb;
+
+import java.io.Reader;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Reads the XML of the adapted data holder classes by hand, accepting what the JAXB unmarshaller accepts for them.
+ * Each method reading an element starts at its start tag and leaves the reader just past its end tag, as the
+ * unmarshaller does.
+ */
+final class XmlInput {
+
+    private static final XMLInputFactory INPUT_FACTORY = XMLInputFactory.newFactory();
+
+    /**
+     * Reads one child element, which the reader is at the start tag of.
+     */
+    @FunctionalInterface
+    interface ChildReader {
+        /**
+         * Returns false, without moving the reader, if the child is not known.
+         */
+        boolean read(String name) throws XMLStreamException;
+    }
+
+    private XmlInput() {}
+
+    /**
+     * Returns a reader at the start tag of the root element of the source, which must have the given name.
+     */
+    static XMLStreamReader openRoot(Reader source, String rootName) throws XMLStreamException {
+        final XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(source);
+        reader.nextTag();
+        if (!rootName.equals(reader.getLocalName())) {
+            reader.close();
+            throw new XMLStreamException("Unexpected root element: " + reader.getLocalName());
+        }
+        return reader;
+    }
+
+    /**
+     * Reads each child of the element the reader is at the start tag of, skipping children that are not known.
+     */
+    static void readChildren(XMLStreamReader reader, ChildReader childReader) throws XMLStreamException {
+        reader.next();
+        skipToTag(reader);
+        while (reader.getEventType() == XMLStreamConstants.START_ELEMENT) {
+            if (!childReader.read(reader.getLocalName())) {
+                // unknown elements are ignored, as JAXB does
+                skipElement(reader);
+            }
+            skipToTag(reader);
+        }
+        reader.next();
+    }
+
+    /** Reads the text of the element the reader is at the start tag of. */
+    static String readText(XMLStreamReader reader) throws XMLStreamException {
+        final String text = reader.getElementText();
+        reader.next();
+        return text;
+    }
+
+    static int readInt(XMLStreamReader reader) throws XMLStreamException {
+        final String text = readText(reader).trim();
+        try {
+            return Integer.parseInt(text.startsWith("+") ? text.substring(1) : text);
+        } catch (NumberFormatException nfe) {
+            throw new XMLStreamException("Invalid integer: " + text);
+        }
+    }
+
+    static double readDouble(XMLStreamReader reader) throws XMLStreamException {
+        final String text = readText(reader).trim();
+        switch (text) {
+        case "NaN":
+            return Double.NaN;
+        case "INF":
+            return Double.POSITIVE_INFINITY;
+        case "-INF":
+            return Double.NEGATIVE_INFINITY;
+        default:
+            try {
+                return Double.parseDouble(text);
+            } catch (NumberFormatException nfe) {
+                throw new XMLStreamException("Invalid number: " + text);
+            }
+        }
+    }
+
+    /** Returns the value of an attribute of the element the reader is at the start tag of, or null if absent. */
+    static String getAttribute(XMLStreamReader reader, String name) {
+        return reader.getAttributeValue(null, name);
+    }
+
+    /** Parses an {@code xs:boolean}, which is false if absent. */
+    static boolean parseBoolean(String value) {
+        return value != null && ("true".equals(value.trim()) || "1".equals(value.trim()));
+    }
+
+    static Integer parseInteger(String value) throws XMLStreamException {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException nfe) {
+            throw new XMLStreamException("Invalid integer: " + value);
+        }
+    }
+
+    /** Moves past the end of the element whose start the reader is at. */
+    static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            final int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+        reader.next();
+    }
+
+    /** Moves past whitespace and comments to the next start or end of an element. */
+    static void skipToTag(XMLStreamReader reader) throws XMLStreamException {
+        while (reader.getEventType() != XMLStreamConstants.START_ELEMENT
+                && reader.getEventType() != XMLStreamConstants.END_ELEMENT) {
+            reader.next();
+        }
+    }
+}
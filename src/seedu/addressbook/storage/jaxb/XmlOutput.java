@@ -0,0 +1,160 @@
+package seedu.addressbook.storage.jaxb;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Writes the XML of the adapted data holder classes by hand, formatted exactly as the JAXB marshaller formats it,
+ * so that the files written either way are the same byte for byte.
+ */
+final class XmlOutput {
+
+    private static final String DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>";
+    private static final String INDENT = "    ";
+
+    private final Writer writer;
+    private final Deque<String> openElements = new ArrayDeque<>();
+
+    /** Whether the start tag of the innermost open element is not closed yet, as the element has no content. */
+    private boolean isStartTagOpen;
+
+    XmlOutput(Writer writer) throws IOException {
+        this.writer = writer;
+        writer.write(DECLARATION);
+        writer.write('\n');
+    }
+
+    /**
+     * Starts an element inside the innermost open element. Its attributes may be written until its content is.
+     */
+    XmlOutput startElement(String name) throws IOException {
+        closeStartTag();
+        indent();
+        writer.write('<');
+        writer.write(name);
+        openElements.push(name);
+        isStartTagOpen = true;
+        return this;
+    }
+
+    /**
+     * Writes an attribute of the element just started, unless the value is null.
+     */
+    XmlOutput attribute(String name, Object value) throws IOException {
+        assert isStartTagOpen;
+        if (value != null) {
+            writer.write(' ');
+            writer.write(name);
+            writer.write("=\"");
+            writer.write(escape(print(value), true));
+            writer.write('"');
+        }
+        return this;
+    }
+
+    /**
+     * Ends the innermost open element, which is written as an empty element if nothing was written inside it.
+     */
+    void endElement() throws IOException {
+        final String name = openElements.pop();
+        if (isStartTagOpen) {
+            writer.write("/>\n");
+            isStartTagOpen = false;
+            return;
+        }
+        indent();
+        writer.write("</");
+        writer.write(name);
+        writer.write(">\n");
+    }
+
+    /**
+     * Ends the element just started with the given text as its content, or as an empty element if it is null.
+     */
+    void endElementWithText(Object text) throws IOException {
+        assert isStartTagOpen;
+        final String name = openElements.pop();
+        isStartTagOpen = false;
+        if (text == null) {
+            writer.write("/>\n");
+            return;
+        }
+        writer.write('>');
+        writer.write(escape(print(text), false));
+        writer.write("</");
+        writer.write(name);
+        writer.write(">\n");
+    }
+
+    /**
+     * Writes an element holding only the given text, unless the text is null.
+     */
+    void textElement(String name, Object text) throws IOException {
+        if (text != null) {
+            startElement(name).endElementWithText(text);
+        }
+    }
+
+    /**
+     * Writes an element holding only text for each of the values.
+     */
+    void textElements(String name, Iterable<?> texts) throws IOException {
+        for (Object text : texts) {
+            textElement(name, text);
+        }
+    }
+
+    private void closeStartTag() throws IOException {
+        if (isStartTagOpen) {
+            writer.write(">\n");
+            isStartTagOpen = false;
+        }
+    }
+
+    private void indent() throws IOException {
+        for (int i = 0; i < openElements.size(); i++) {
+            writer.write(INDENT);
+        }
+    }
+
+    /** Prints a value as the JAXB marshaller prints values of its type. */
+    private static String print(Object value) {
+        if (value instanceof Double) {
+            final double number = (Double) value;
+            if (Double.isNaN(number)) {
+                return "NaN";
+            }
+            if (Double.isInfinite(number)) {
+                return number > 0 ? "INF" : "-INF";
+            }
+        }
+        return String.valueOf(value);
+    }
+
+    /** Escapes the characters that the JAXB marshaller escapes when writing UTF-8. */
+    private static String escape(String text, boolean isAttribute) {
+        final StringBuilder escaped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            switch (c) {
+            case '&':
+                escaped.append("&amp;");
+                break;
+            case '<':
+                escaped.append("&lt;");
+                break;
+            case '>':
+                escaped.append("&gt;");
+                break;
+            case '"':
+                escaped.append(isAttribute ? "&quot;" : "\"");
+                break;
+            default:
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,391 @@
+package seedu.addressbook.storage.paged;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents a B+tree kept in the pages of a {@link PageFile}, mapping byte string keys to byte string values in the
+ * unsigned order of the keys. Its root page is recorded in a root slot of the file header.
+ *
+ * Each node is one page. A leaf holds the keys with their values and the number of the next leaf, and an inner node
+ * holds the keys separating its children. A value longer than {@link #MAX_INLINE_VALUE_SIZE} bytes is kept in a
+ * chain of overflow pages, so that a node always holds enough entries to be split. Replacing a value rewrites only
+ * the leaf holding it and its overflow pages. Nodes emptied by removals are not merged, and are reused by later
+ * insertions into the same range of keys.
+ */
+public class BPlusTree {
+
+    public static final int MAX_KEY_SIZE = 512;
+    public static final int MAX_INLINE_VALUE_SIZE = 512;
+
+    private static final byte NODE_LEAF = 1;
+    private static final byte NODE_INNER = 2;
+
+    private static final byte VALUE_INLINE = 0;
+    private static final byte VALUE_OVERFLOW = 1;
+
+    /** Type byte, entry count and the number of the next leaf or of the first child. */
+    private static final int NODE_HEADER_SIZE = 1 + Short.BYTES + Integer.BYTES;
+
+    /** Number of the next page in the chain, then the bytes of the value. */
+    private static final int OVERFLOW_HEADER_SIZE = Integer.BYTES;
+
+    private final PageFile file;
+    private final int rootSlot;
+
+    /**
+     * Represents the content of a node. Values of leaves are kept as stored: a kind byte, then either the length and
+     * bytes of the value, or its length and first overflow page.
+     */
+    private static class Node {
+        private final boolean isLeaf;
+        /** Next leaf of a leaf, or first child of an inner node. */
+        private int link;
+        private final List<byte[]> keys = new ArrayList<>();
+        private final List<byte[]> values = new ArrayList<>();
+        private final List<Integer> children = new ArrayList<>();
+
+        Node(boolean isLeaf) {
+            this.isLeaf = isLeaf;
+        }
+
+        int getSize() {
+            int size = NODE_HEADER_SIZE;
+            for (int i = 0; i < keys.size(); i++) {
+                size += getEntrySize(i);
+            }
+            return size;
+        }
+
+        int getEntrySize(int index) {
+            return Short.BYTES + keys.get(index).length + (isLeaf ? values.get(index).length : Integer.BYTES);
+        }
+
+        /** Returns the position of the key, or (-(insertion point) - 1) if it is not in the node. */
+        int search(byte[] key) {
+            int low = 0;
+            int high = keys.size() - 1;
+            while (low <= high) {
+                final int middle = (low + high) >>> 1;
+                final int comparison = Arrays.compareUnsigned(keys.get(middle), key);
+                if (comparison < 0) {
+                    low = middle + 1;
+                } else if (comparison > 0) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -(low + 1);
+        }
+
+        /** Returns the child of an inner node that holds the key. */
+        int getChild(byte[] key) {
+            final int index = search(key);
+            final int last = index >= 0 ? index : -index - 2;
+            return last < 0 ? link : children.get(last);
+        }
+    }
+
+    /**
+     * Represents a node split in two, with the first key of the new right node.
+     */
+    private static class Split {
+        private final byte[] separator;
+        private final int rightPage;
+
+        Split(byte[] separator, int rightPage) {
+            this.separator = separator;
+            this.rightPage = rightPage;
+        }
+    }
+
+    public BPlusTree(PageFile file, int rootSlot) {
+        this.file = file;
+        this.rootSlot = rootSlot;
+    }
+
+    /**
+     * Returns the value of the key, or null if the key is not in the tree.
+     *
+     * @throws IOException if there were errors reading the file
+     */
+    public byte[] get(byte[] key) throws IOException {
+        int pageNumber = file.getRoot(rootSlot);
+        if (pageNumber == 0) {
+            return null;
+        }
+        Node node = readNode(pageNumber);
+        while (!node.isLeaf) {
+            node = readNode(node.getChild(key));
+        }
+        final int index = node.search(key);
+        return index >= 0 ? readValue(node.values.get(index)) : null;
+    }
+
+    /**
+     * Maps the key to the value, replacing any value it had.
+     *
+     * @throws IOException if there were errors reading the file
+     */
+    public void put(byte[] key, byte[] value) throws IOException {
+        if (key.length > MAX_KEY_SIZE) {
+            throw new IllegalArgumentException("Key longer than " + MAX_KEY_SIZE + " bytes");
+        }
+        final byte[] stored = storeValue(value);
+        final int root = file.getRoot(rootSlot);
+        if (root == 0) {
+            final Node leaf = new Node(true);
+            leaf.keys.add(key);
+            leaf.values.add(stored);
+            final int pageNumber = file.allocate();
+            writeNode(pageNumber, leaf);
+            file.setRoot(rootSlot, pageNumber);
+            return;
+        }
+        final Split split = put(root, key, stored);
+        if (split != null) {
+            final Node newRoot = new Node(false);
+            newRoot.link = root;
+            newRoot.keys.add(split.separator);
+            newRoot.children.add(split.rightPage);
+            final int pageNumber = file.allocate();
+            writeNode(pageNumber, newRoot);
+            file.setRoot(rootSlot, pageNumber);
+        }
+    }
+
+    /**
+     * Removes the key and its value from the tree.
+     *
+     * @return true if the key was in the tree
+     * @throws IOException if there were errors reading the file
+     */
+    public boolean remove(byte[] key) throws IOException {
+        int pageNumber = file.getRoot(rootSlot);
+        if (pageNumber == 0) {
+            return false;
+        }
+        Node node = readNode(pageNumber);
+        while (!node.isLeaf) {
+            pageNumber = node.getChild(key);
+            node = readNode(pageNumber);
+        }
+        final int index = node.search(key);
+        if (index < 0) {
+            return false;
+        }
+        freeValue(node.values.get(index));
+        node.keys.remove(index);
+        node.values.remove(index);
+        writeNode(pageNumber, node);
+        return true;
+    }
+
+    /**
+     * Returns the entries whose keys are from {@code fromKey} inclusive to {@code toKey} exclusive, in the order of
+     * their keys. A null bound leaves that end of the range open.
+     *
+     * @throws IOException if there were errors reading the file
+     */
+    public List<Map.Entry<byte[], byte[]>> scan(byte[] fromKey, byte[] toKey) throws IOException {
+        final List<Map.Entry<byte[], byte[]>> entries = new ArrayList<>();
+        int pageNumber = file.getRoot(rootSlot);
+        if (pageNumber == 0) {
+            return entries;
+        }
+        Node node = readNode(pageNumber);
+        while (!node.isLeaf) {
+            node = readNode(fromKey == null ? node.link : node.getChild(fromKey));
+        }
+        while (true) {
+            for (int i = 0; i < node.keys.size(); i++) {
+                final byte[] key = node.keys.get(i);
+                if (fromKey != null && Arrays.compareUnsigned(key, fromKey) < 0) {
+                    continue;
+                }
+                if (toKey != null && Arrays.compareUnsigned(key, toKey) >= 0) {
+                    return entries;
+                }
+                entries.add(new AbstractMap.SimpleImmutableEntry<>(key, readValue(node.values.get(i))));
+            }
+            if (node.link == 0) {
+                return entries;
+            }
+            node = readNode(node.link);
+        }
+    }
+
+    /**
+     * Inserts the entry into the subtree rooted at the given page.
+     *
+     * @return the split of the root of the subtree, or null if it was not split
+     */
+    private Split put(int pageNumber, byte[] key, byte[] stored) throws IOException {
+        final Node node = readNode(pageNumber);
+        if (node.isLeaf) {
+            final int index = node.search(key);
+            if (index >= 0) {
+                freeValue(node.values.get(index));
+                node.values.set(index, stored);
+            } else {
+                node.keys.add(-index - 1, key);
+                node.values.add(-index - 1, stored);
+            }
+        } else {
+            final Split childSplit = put(node.getChild(key), key, stored);
+            if (childSplit == null) {
+                return null;
+            }
+            final int index = -node.search(childSplit.separator) - 1;
+            node.keys.add(index, childSplit.separator);
+            node.children.add(index, childSplit.rightPage);
+        }
+        if (node.getSize() <= PageFile.PAGE_SIZE) {
+            writeNode(pageNumber, node);
+            return null;
+        }
+        return split(pageNumber, node);
+    }
+
+    /**
+     * Moves the upper half of the entries of the overfull node to a new node. The first key of the new node of a
+     * leaf is copied up to the parent, and the middle key of an inner node is moved up.
+     */
+    private Split split(int pageNumber, Node node) throws IOException {
+        final int half = node.getSize() / 2;
+        int size = NODE_HEADER_SIZE;
+        int middle = 0;
+        while (middle < node.keys.size() - 1 && size + node.getEntrySize(middle) <= half) {
+            size += node.getEntrySize(middle);
+            middle++;
+        }
+        middle = Math.max(middle, 1);
+
+        final Node right = new Node(node.isLeaf);
+        final int rightPage = file.allocate();
+        final byte[] separator = node.keys.get(middle);
+        if (node.isLeaf) {
+            right.keys.addAll(node.keys.subList(middle, node.keys.size()));
+            right.values.addAll(node.values.subList(middle, node.values.size()));
+            node.values.subList(middle, node.values.size()).clear();
+            right.link = node.link;
+            node.link = rightPage;
+        } else {
+            right.keys.addAll(node.keys.subList(middle + 1, node.keys.size()));
+            right.children.addAll(node.children.subList(middle + 1, node.children.size()));
+            right.link = node.children.get(middle);
+            node.children.subList(middle, node.children.size()).clear();
+        }
+        node.keys.subList(middle, node.keys.size()).clear();
+        writeNode(pageNumber, node);
+        writeNode(rightPage, right);
+        return new Split(separator, rightPage);
+    }
+
+    private Node readNode(int pageNumber) throws IOException {
+        final ByteBuffer page = file.read(pageNumber).duplicate();
+        final byte type = page.get();
+        if (type != NODE_LEAF && type != NODE_INNER) {
+            throw new IOException("Page " + pageNumber + " is not a tree node");
+        }
+        final Node node = new Node(type == NODE_LEAF);
+        final int count = page.getShort();
+        node.link = page.getInt();
+        for (int i = 0; i < count; i++) {
+            final byte[] key = new byte[page.getShort()];
+            page.get(key);
+            node.keys.add(key);
+            if (!node.isLeaf) {
+                node.children.add(page.getInt());
+                continue;
+            }
+            final int start = page.position();
+            final byte kind = page.get();
+            final int length = page.getInt();
+            page.position(page.position() + (kind == VALUE_INLINE ? length : Integer.BYTES));
+            final byte[] stored = new byte[page.position() - start];
+            page.position(start);
+            page.get(stored);
+            node.values.add(stored);
+        }
+        return node;
+    }
+
+    private void writeNode(int pageNumber, Node node) throws IOException {
+        final ByteBuffer page = file.write(pageNumber).duplicate();
+        Arrays.fill(page.array(), (byte) 0);
+        page.put(node.isLeaf ? NODE_LEAF : NODE_INNER);
+        page.putShort((short) node.keys.size());
+        page.putInt(node.link);
+        for (int i = 0; i < node.keys.size(); i++) {
+            page.putShort((short) node.keys.get(i).length);
+            page.put(node.keys.get(i));
+            if (node.isLeaf) {
+                page.put(node.values.get(i));
+            } else {
+                page.putInt(node.children.get(i));
+            }
+        }
+    }
+
+    /** Returns the value as stored in a leaf, writing it to overflow pages if it is too long to be kept inline. */
+    private byte[] storeValue(byte[] value) throws IOException {
+        if (value.length <= MAX_INLINE_VALUE_SIZE) {
+            return ByteBuffer.allocate(1 + Integer.BYTES + value.length)
+                    .put(VALUE_INLINE).putInt(value.length).put(value).array();
+        }
+        int next = 0;
+        final int chunkSize = PageFile.PAGE_SIZE - OVERFLOW_HEADER_SIZE;
+        // the chain is written from its last page, so that each page can give the number of the next
+        for (int end = value.length, start = (value.length - 1) / chunkSize * chunkSize; end > 0;
+                end = start, start -= chunkSize) {
+            final int pageNumber = file.allocate();
+            final ByteBuffer page = file.write(pageNumber).duplicate();
+            page.putInt(next);
+            page.put(value, start, end - start);
+            next = pageNumber;
+        }
+        return ByteBuffer.allocate(1 + 2 * Integer.BYTES).put(VALUE_OVERFLOW).putInt(value.length).putInt(next)
+                .array();
+    }
+
+    private byte[] readValue(byte[] stored) throws IOException {
+        final ByteBuffer slot = ByteBuffer.wrap(stored);
+        final byte kind = slot.get();
+        final byte[] value = new byte[slot.getInt()];
+        if (kind == VALUE_INLINE) {
+            slot.get(value);
+            return value;
+        }
+        int pageNumber = slot.getInt();
+        int position = 0;
+        while (position < value.length) {
+            final ByteBuffer page = file.read(pageNumber).duplicate();
+            pageNumber = page.getInt();
+            final int length = Math.min(page.remaining(), value.length - position);
+            page.get(value, position, length);
+            position += length;
+        }
+        return value;
+    }
+
+    private void freeValue(byte[] stored) throws IOException {
+        final ByteBuffer slot = ByteBuffer.wrap(stored);
+        if (slot.get() == VALUE_INLINE) {
+            return;
+        }
+        slot.getInt();
+        int pageNumber = slot.getInt();
+        while (pageNumber != 0) {
+            final int next = file.read(pageNumber).getInt(0);
+            file.free(pageNumber);
+            pageNumber = next;
+        }
+    }
+}
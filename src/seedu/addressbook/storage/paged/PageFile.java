@@ -0,0 +1,360 @@
+package seedu.addressbook.storage.paged;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import seedu.addressbook.data.exception.IllegalValueException;
+
+/**
+ * Represents a file divided into pages of {@link #PAGE_SIZE} bytes, read through a small cache of recently used
+ * pages and written a page at a time.
+ *
+ * Page 0 is the header: {@link #MAGIC}, the format version, the page size, the number of pages, the first page of
+ * the list of free pages and the root pages of the trees kept in the file. Changed pages stay in the cache until
+ * {@link #commit()}, which first copies the pages it overwrites to a rollback file beside this file, so that a commit
+ * interrupted part way is undone the next time the file is opened.
+ */
+public class PageFile implements AutoCloseable {
+
+    public static final int PAGE_SIZE = 4096;
+
+    /** Number of root pages the header has room for. */
+    public static final int ROOT_SLOTS = 8;
+
+    /** First bytes of every page file: "CRPG". */
+    private static final int MAGIC = 0x43525047;
+    private static final int VERSION = 1;
+
+    private static final int OFFSET_PAGE_COUNT = 12;
+    private static final int OFFSET_FREE_LIST = 16;
+    private static final int OFFSET_ROOTS = 20;
+
+    /** Last bytes of a rollback file whose copies of the pages were written in full. */
+    private static final int ROLLBACK_COMPLETE = 0x454e4421;
+
+    private final Path path;
+    private final Path rollbackPath;
+    private final FileChannel channel;
+    private final int cacheCapacity;
+
+    /** Pages read or changed, from the least to the most recently used. Changed pages are never evicted. */
+    private final LinkedHashMap<Integer, Page> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Represents the content of a page held in the cache.
+     */
+    private static class Page {
+        private final ByteBuffer buffer;
+        private boolean isDirty;
+
+        Page(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+    }
+
+    private PageFile(Path path, FileChannel channel, int cacheCapacity) {
+        this.path = path;
+        this.rollbackPath = getRollbackPath(path);
+        this.channel = channel;
+        this.cacheCapacity = cacheCapacity;
+    }
+
+    /**
+     * Opens the page file at the given path, creating it if it does not exist, and undoes any commit that was
+     * interrupted.
+     *
+     * @param cacheCapacity the most unchanged pages kept in memory at once
+     * @throws IOException if there were errors reading or writing the file
+     * @throws IllegalValueException if the file is not a page file
+     */
+    public static PageFile open(Path path, int cacheCapacity) throws IOException, IllegalValueException {
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE);
+        final PageFile pageFile = new PageFile(path, channel, cacheCapacity);
+        try {
+            pageFile.recover();
+            if (channel.size() == 0) {
+                pageFile.initialize();
+            }
+            pageFile.checkHeader();
+        } catch (IOException | IllegalValueException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return pageFile;
+    }
+
+    /** Returns the rollback file of the page file at the given path. */
+    public static Path getRollbackPath(Path path) {
+        return Paths.get(path.toString() + "-rollback");
+    }
+
+    /**
+     * Returns the content of the page for reading. The buffer must not be changed.
+     *
+     * @throws IOException if there were errors reading the file
+     */
+    public ByteBuffer read(int pageNumber) throws IOException {
+        return getPage(pageNumber).buffer;
+    }
+
+    /**
+     * Returns the content of the page for changing, which is written to the file at the next commit.
+     *
+     * @throws IOException if there were errors reading the file
+     */
+    public ByteBuffer write(int pageNumber) throws IOException {
+        final Page page = getPage(pageNumber);
+        page.isDirty = true;
+        return page.buffer;
+    }
+
+    /**
+     * Returns a zeroed page for changing, reusing a free page if there is one.
+     *
+     * @throws IOException if there were errors reading the file
+     */
+    public int allocate() throws IOException {
+        final ByteBuffer header = write(0);
+        final int free = header.getInt(OFFSET_FREE_LIST);
+        final int pageNumber;
+        if (free != 0) {
+            header.putInt(OFFSET_FREE_LIST, read(free).getInt(0));
+            pageNumber = free;
+        } else {
+            pageNumber = header.getInt(OFFSET_PAGE_COUNT);
+            header.putInt(OFFSET_PAGE_COUNT, pageNumber + 1);
+        }
+        final Page page = new Page(ByteBuffer.allocate(PAGE_SIZE));
+        page.isDirty = true;
+        cache.put(pageNumber, page);
+        return pageNumber;
+    }
+
+    /**
+     * Adds the page to the list of free pages, to be reused by a later {@link #allocate()}.
+     *
+     * @throws IOException if there were errors reading the file
+     */
+    public void free(int pageNumber) throws IOException {
+        assert pageNumber > 0;
+        final ByteBuffer header = write(0);
+        final ByteBuffer page = write(pageNumber);
+        Arrays.fill(page.array(), (byte) 0);
+        page.putInt(0, header.getInt(OFFSET_FREE_LIST));
+        header.putInt(OFFSET_FREE_LIST, pageNumber);
+    }
+
+    /**
+     * Returns the root page recorded in the given slot of the header, or 0 if there is none.
+     *
+     * @throws IOException if there were errors reading the file
+     */
+    public int getRoot(int slot) throws IOException {
+        assert slot >= 0 && slot < ROOT_SLOTS;
+        return read(0).getInt(OFFSET_ROOTS + slot * Integer.BYTES);
+    }
+
+    /**
+     * Records the root page in the given slot of the header.
+     *
+     * @throws IOException if there were errors reading the file
+     */
+    public void setRoot(int slot, int pageNumber) throws IOException {
+        assert slot >= 0 && slot < ROOT_SLOTS;
+        write(0).putInt(OFFSET_ROOTS + slot * Integer.BYTES, pageNumber);
+    }
+
+    /** Returns the number of pages in the file, including the pages changed since the last commit. */
+    public int getPageCount() throws IOException {
+        return read(0).getInt(OFFSET_PAGE_COUNT);
+    }
+
+    /**
+     * Writes the pages changed since the last commit to the file, after copying the pages they overwrite to the
+     * rollback file.
+     *
+     * @throws IOException if there were errors writing the file, in which case the changes are discarded.
+     */
+    public void commit() throws IOException {
+        final List<Integer> dirtyPages = new ArrayList<>();
+        for (Map.Entry<Integer, Page> entry : cache.entrySet()) {
+            if (entry.getValue().isDirty) {
+                dirtyPages.add(entry.getKey());
+            }
+        }
+        if (dirtyPages.isEmpty()) {
+            return;
+        }
+        try {
+            writeRollback(dirtyPages);
+            for (int pageNumber : dirtyPages) {
+                final Page page = cache.get(pageNumber);
+                writeFully(page.buffer.duplicate(), (long) pageNumber * PAGE_SIZE);
+                page.isDirty = false;
+            }
+            channel.force(false);
+            Files.delete(rollbackPath);
+        } catch (IOException ioe) {
+            discard();
+            throw ioe;
+        }
+        evict(cacheCapacity);
+    }
+
+    /**
+     * Discards the pages changed since the last commit, undoing any part of them already written to the file.
+     *
+     * @throws IOException if there were errors restoring the file
+     */
+    public void discard() throws IOException {
+        cache.values().removeIf(page -> page.isDirty);
+        recover();
+        cache.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private Page getPage(int pageNumber) throws IOException {
+        Page page = cache.get(pageNumber);
+        if (page == null) {
+            final ByteBuffer buffer = ByteBuffer.allocate(PAGE_SIZE);
+            final long position = (long) pageNumber * PAGE_SIZE;
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    throw new IOException("Page file is truncated: " + path);
+                }
+            }
+            buffer.clear();
+            page = new Page(buffer);
+            evict(cacheCapacity - 1);
+            cache.put(pageNumber, page);
+        }
+        return page;
+    }
+
+    /** Drops the least recently used unchanged pages until the cache holds at most the given number of pages. */
+    private void evict(int capacity) {
+        final Iterator<Page> pages = cache.values().iterator();
+        int excess = cache.size() - capacity;
+        while (excess > 0 && pages.hasNext()) {
+            if (!pages.next().isDirty) {
+                pages.remove();
+                excess--;
+            }
+        }
+    }
+
+    private void initialize() throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(PAGE_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putInt(PAGE_SIZE).putInt(1);
+        header.clear();
+        writeFully(header, 0);
+        channel.force(false);
+    }
+
+    private void checkHeader() throws IOException, IllegalValueException {
+        final ByteBuffer header = ByteBuffer.allocate(OFFSET_ROOTS);
+        channel.read(header, 0);
+        header.flip();
+        if (header.remaining() < OFFSET_ROOTS || header.getInt() != MAGIC) {
+            throw new IllegalValueException("Storage file is not a page file: " + path);
+        }
+        final int version = header.getInt();
+        if (version > VERSION) {
+            throw new IllegalValueException("Page file was written by a later version of the format: " + version);
+        }
+        if (header.getInt() != PAGE_SIZE) {
+            throw new IllegalValueException("Page file has pages of a different size: " + path);
+        }
+    }
+
+    /**
+     * Writes the rollback file: the number of pages of the file, then the number and content of each page about to
+     * be overwritten, then {@link #ROLLBACK_COMPLETE}. Pages added since the last commit need no copy, as undoing
+     * the commit cuts the file back to its former length.
+     */
+    private void writeRollback(List<Integer> dirtyPages) throws IOException {
+        final int committedPageCount = (int) (channel.size() / PAGE_SIZE);
+        final List<Integer> overwritten = new ArrayList<>();
+        for (int pageNumber : dirtyPages) {
+            if (pageNumber < committedPageCount) {
+                overwritten.add(pageNumber);
+            }
+        }
+        try (final FileChannel rollback = FileChannel.open(rollbackPath, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ByteBuffer counts = ByteBuffer.allocate(2 * Integer.BYTES);
+            counts.putInt(committedPageCount).putInt(overwritten.size()).flip();
+            rollback.write(counts);
+            for (int pageNumber : overwritten) {
+                final ByteBuffer entry = ByteBuffer.allocate(Integer.BYTES + PAGE_SIZE);
+                entry.putInt(pageNumber);
+                channel.read(entry, (long) pageNumber * PAGE_SIZE);
+                entry.flip();
+                while (entry.hasRemaining()) {
+                    rollback.write(entry);
+                }
+            }
+            final ByteBuffer end = ByteBuffer.allocate(Integer.BYTES);
+            end.putInt(ROLLBACK_COMPLETE).flip();
+            rollback.write(end);
+            rollback.force(false);
+        }
+    }
+
+    /**
+     * Copies the pages in a complete rollback file back into the file and cuts the file back to its former length.
+     * A rollback file that was not written in full is deleted, as the file was not yet written by its commit.
+     */
+    private void recover() throws IOException {
+        if (!Files.exists(rollbackPath)) {
+            return;
+        }
+        final ByteBuffer rollback = ByteBuffer.wrap(Files.readAllBytes(rollbackPath));
+        if (isComplete(rollback)) {
+            final int committedPageCount = rollback.getInt();
+            final int count = rollback.getInt();
+            for (int i = 0; i < count; i++) {
+                final int pageNumber = rollback.getInt();
+                final ByteBuffer page = rollback.slice();
+                page.limit(PAGE_SIZE);
+                writeFully(page, (long) pageNumber * PAGE_SIZE);
+                rollback.position(rollback.position() + PAGE_SIZE);
+            }
+            channel.truncate((long) committedPageCount * PAGE_SIZE);
+            channel.force(false);
+        }
+        Files.delete(rollbackPath);
+    }
+
+    private static boolean isComplete(ByteBuffer rollback) {
+        if (rollback.remaining() < 3 * Integer.BYTES) {
+            return false;
+        }
+        final long expectedSize = 3L * Integer.BYTES + (long) rollback.getInt(Integer.BYTES)
+                * (Integer.BYTES + PAGE_SIZE);
+        return rollback.remaining() == expectedSize
+                && rollback.getInt(rollback.limit() - Integer.BYTES) == ROLLBACK_COMPLETE;
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+}
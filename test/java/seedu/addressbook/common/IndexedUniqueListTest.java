@@ -0,0 +1,200 @@
+package seedu.addressbook.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Optional;
+
+import org.junit.Test;
+
+import seedu.addressbook.common.IndexedUniqueList.SecondaryIndex;
+import seedu.addressbook.common.IndexedUniqueList.SortedIndex;
+
+public class IndexedUniqueListTest {
+    @Test
+    public void add_keysCompared_duplicateKeyRejected() {
+        final IndexedUniqueList<String> list = new IndexedUniqueList<>(String::toLowerCase);
+        assertTrue(list.add("b"));
+        assertTrue(list.add("a"));
+        assertFalse(list.add("A"));
+        assertEquals(Arrays.asList("b", "a"), list.asList());
+        assertTrue(list.containsKey("a"));
+        assertEquals(Optional.of("a"), list.get("a"));
+        assertEquals(Optional.empty(), list.get("A"));
+    }
+
+    @Test
+    public void addAll_duplicateKeys_nothingAdded() {
+        final IndexedUniqueList<String> list = new IndexedUniqueList<>(String::toLowerCase);
+        list.add("a");
+        assertFalse(list.addAll(Arrays.asList("b", "c", "B")));
+        assertFalse(list.addAll(Arrays.asList("b", "A")));
+        assertEquals(Collections.singletonList("a"), list.asList());
+        assertFalse(list.containsKey("b"));
+
+        assertTrue(list.addAll(Arrays.asList("b", "c")));
+        assertEquals(Arrays.asList("a", "b", "c"), list.asList());
+    }
+
+    @Test
+    public void remove_middleElement_laterElementsShiftedAndStillFound() {
+        final IndexedUniqueList<String> list = new IndexedUniqueList<>(String::toLowerCase);
+        list.addAll(Arrays.asList("a", "b", "c", "d"));
+        assertEquals(Optional.of("b"), list.remove("b"));
+        assertEquals(Optional.empty(), list.remove("b"));
+        assertEquals(Arrays.asList("a", "c", "d"), list.asList());
+        assertEquals(2, list.indexOfKey("d"));
+        assertEquals(-1, list.indexOfKey("b"));
+        assertTrue(list.add("B"));
+    }
+
+    @Test
+    public void set_replacementKey_indexUpdated() {
+        final IndexedUniqueList<String> list = new IndexedUniqueList<>(String::toLowerCase);
+        list.addAll(Arrays.asList("a", "b", "c"));
+        list.set(1, "x");
+        assertEquals(Arrays.asList("a", "x", "c"), list.asList());
+        assertFalse(list.containsKey("b"));
+        assertEquals(Optional.of("x"), list.get("x"));
+        list.set(1, "X");
+        assertEquals(Optional.of("X"), list.get("x"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void set_replacementClashesWithOther_throwsIllegalArgumentException() {
+        final IndexedUniqueList<String> list = new IndexedUniqueList<>(String::toLowerCase);
+        list.addAll(Arrays.asList("a", "b"));
+        list.set(0, "B");
+    }
+
+    @Test
+    public void secondaryIndex_elementsAddedRemovedAndUpdated_indexFollows() {
+        // the first letter is left out of the key, as it is changed while the element is in the list
+        final IndexedUniqueList<StringBuilder> list = new IndexedUniqueList<>(text -> text.substring(1));
+        final StringBuilder apple = new StringBuilder("apple");
+        final StringBuilder avocado = new StringBuilder("avocado");
+        final StringBuilder banana = new StringBuilder("banana");
+        list.add(apple);
+        final SecondaryIndex<StringBuilder> byInitial = list.addIndex(text -> text.charAt(0));
+        list.add(avocado);
+        list.add(banana);
+        assertEquals(Arrays.asList(apple, avocado), byInitial.get('a'));
+        assertSame(banana, byInitial.getFirst('b').get());
+
+        banana.setCharAt(0, 'a');
+        list.update(banana);
+        assertEquals(Arrays.asList(apple, avocado, banana), byInitial.get('a'));
+        assertEquals(Optional.empty(), byInitial.getFirst('b'));
+
+        list.remove("vocado");
+        assertEquals(Arrays.asList(apple, banana), byInitial.get('a'));
+        list.clear();
+        assertTrue(byInitial.get('a').isEmpty());
+    }
+
+    @Test
+    public void secondaryIndex_earlierElementReindexed_keptInListOrder() {
+        final IndexedUniqueList<StringBuilder> list = new IndexedUniqueList<>(text -> text.substring(1));
+        final StringBuilder first = new StringBuilder("x1");
+        final StringBuilder second = new StringBuilder("x2");
+        final StringBuilder third = new StringBuilder("a3");
+        list.addAll(Arrays.asList(first, second, third));
+        final SecondaryIndex<StringBuilder> byInitial = list.addIndex(text -> text.charAt(0));
+
+        first.setCharAt(0, 'a');
+        list.update(first);
+        assertEquals(Arrays.asList(first, third), byInitial.get('a'));
+
+        list.sort(Comparator.comparing(StringBuilder::toString).reversed());
+        assertEquals(Arrays.asList(third, first), byInitial.get('a'));
+        second.setCharAt(0, 'a');
+        list.update(second);
+        assertEquals(Arrays.asList(second, third, first), byInitial.get('a'));
+    }
+
+    @Test
+    public void copyFrom_sourceChangedAfterwards_copyUnchanged() {
+        final IndexedUniqueList<String> list = new IndexedUniqueList<>(String::toLowerCase);
+        final SecondaryIndex<String> byLength = list.addIndex(String::length);
+        list.addAll(Arrays.asList("a", "bb", "c"));
+        final IndexedUniqueList<String> copy = new IndexedUniqueList<>(String::toLowerCase);
+        final SecondaryIndex<String> copyByLength = copy.addIndex(String::length);
+        copy.copyFrom(list);
+
+        list.remove("a");
+        list.add("dd");
+        assertEquals(Arrays.asList("bb", "c", "dd"), list.asList());
+        assertEquals(Arrays.asList("a", "bb", "c"), copy.asList());
+        assertEquals(Arrays.asList("bb", "dd"), byLength.get(2));
+        assertEquals(Arrays.asList("a", "c"), copyByLength.get(1));
+        assertTrue(copy.containsKey("a"));
+        assertFalse(copy.containsKey("dd"));
+    }
+
+    @Test
+    public void add_atPositions_ranksRespreadWhenNoRoomLeft() {
+        final IndexedUniqueList<String> list = new IndexedUniqueList<>(String::toString);
+        final SecondaryIndex<String> byInitial = list.addIndex(text -> text.charAt(0));
+        list.addAll(Arrays.asList("a0", "a99"));
+        for (int number = 1; number < 40; number++) {
+            list.add(number, "a" + number);
+        }
+        for (int number = 0; number < 40; number++) {
+            assertEquals(number, list.indexOfKey("a" + number));
+        }
+        assertEquals(list.asList(), byInitial.get('a'));
+        assertEquals(40, list.indexOfKey("a99"));
+    }
+
+    @Test
+    public void sort_equalElements_keptInOrderAndStillFound() {
+        final IndexedUniqueList<String> list = new IndexedUniqueList<>(String::toString);
+        list.addAll(Arrays.asList("b2", "a1", "b1", "a2"));
+        list.sort(Comparator.comparing(text -> text.charAt(0)));
+        assertEquals(Arrays.asList("a1", "a2", "b2", "b1"), list.asList());
+        assertEquals(3, list.indexOfKey("b1"));
+    }
+
+    @Test
+    public void multiIndex_elementsUnderEachKey_getAllKeepsListOrderWithoutRepeats() {
+        final IndexedUniqueList<String> list = new IndexedUniqueList<>(String::toString);
+        final SecondaryIndex<String> byWord = list.addMultiIndex(text -> Arrays.asList(text.split(" ")));
+        list.addAll(Arrays.asList("john doe", "jane doe doe", "john smith"));
+        assertEquals(Arrays.asList("john doe", "jane doe doe"), byWord.get("doe"));
+        assertEquals(Arrays.asList("john doe", "jane doe doe", "john smith"),
+                byWord.getAll(Arrays.asList("smith", "doe")));
+
+        list.remove("john doe");
+        assertEquals(Arrays.asList("jane doe doe"), byWord.get("doe"));
+        assertEquals(Arrays.asList("john smith"), byWord.get("john"));
+    }
+
+    @Test
+    public void sortedIndex_keysBetween_inclusiveAndInOrder() {
+        final IndexedUniqueList<String> list = new IndexedUniqueList<>(String::toString);
+        final SortedIndex<String, String> byWord = list.addSortedIndex(text -> Arrays.asList(text.split(" ")),
+                String::compareTo);
+        list.addAll(Arrays.asList("bob lee", "alan bond", "al bo"));
+        assertEquals(Arrays.asList("bo", "bob", "bond"), byWord.getKeysBetween("bo", "bo" + Character.MAX_VALUE));
+        assertEquals(Arrays.asList("al", "alan"), byWord.getKeysBetween("al", "alan"));
+        assertTrue(byWord.getKeysBetween("c", "k").isEmpty());
+        assertEquals(Arrays.asList("bob lee", "al bo"), byWord.getAll(Arrays.asList("bo", "bob")));
+    }
+
+    @Test
+    public void sortedIndex_elementsBetweenAndLastAtOrBefore_inKeyThenListOrder() {
+        final IndexedUniqueList<String> list = new IndexedUniqueList<>(String::toString);
+        final SortedIndex<String, Character> byInitial = list.addSortedIndex(text ->
+                Collections.singletonList(text.charAt(0)), Character::compare);
+        list.addAll(Arrays.asList("c1", "a1", "d1", "c2", "a2"));
+        assertEquals(Arrays.asList("a1", "a2", "c1", "c2"), byInitial.getBetween('a', 'c'));
+        assertEquals(Optional.of("c2"), byInitial.getLastAtOrBefore('c'));
+        assertEquals(Optional.of("a2"), byInitial.getLastAtOrBefore('b'));
+        assertEquals(Optional.empty(), byInitial.getLastAtOrBefore('0'));
+    }
+}
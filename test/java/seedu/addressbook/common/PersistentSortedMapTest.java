@@ -0,0 +1,68 @@
+package seedu.addressbook.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+public class PersistentSortedMapTest {
+    @Test
+    public void putAndRemove_randomKeys_sameAsTreeMap() {
+        final Random random = new Random(1);
+        final TreeMap<Integer, String> expected = new TreeMap<>();
+        PersistentSortedMap<Integer, String> map = PersistentSortedMap.empty(Integer::compare);
+        for (int step = 0; step < 5000; step++) {
+            final int key = random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.remove(key);
+            } else {
+                expected.put(key, "value" + step);
+                map = map.put(key, "value" + step);
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        assertEquals(new ArrayList<>(expected.values()), map.values());
+        final List<Integer> keys = new ArrayList<>(expected.keySet());
+        for (int position = 0; position < keys.size(); position++) {
+            assertEquals(keys.get(position), map.getKeyAt(position));
+            assertEquals(position, map.indexOf(keys.get(position)));
+            assertEquals(expected.get(keys.get(position)), map.get(keys.get(position)));
+        }
+        for (int key = -1; key <= 500; key++) {
+            assertEquals(expected.headMap(key).size(), map.ceilingIndexOf(key));
+            assertEquals(expected.headMap(key, true).size() - 1, map.floorIndexOf(key));
+        }
+        assertEquals(-1, map.indexOf(500));
+        assertNull(map.get(500));
+    }
+
+    @Test
+    public void put_olderVersions_unchanged() {
+        final PersistentSortedMap<String, String> empty = PersistentSortedMap.empty(String::compareTo);
+        final PersistentSortedMap<String, String> one = empty.put("b", "1");
+        final PersistentSortedMap<String, String> two = one.put("a", "2");
+        final PersistentSortedMap<String, String> replaced = two.put("b", "3");
+        final PersistentSortedMap<String, String> removed = replaced.remove("a");
+
+        assertFalse(empty.containsKey("b"));
+        assertEquals(Arrays.asList("1"), one.values());
+        assertEquals(Arrays.asList("2", "1"), two.values());
+        assertEquals(Arrays.asList("2", "3"), replaced.values());
+        assertEquals(Arrays.asList("3"), removed.values());
+        assertSame(removed, removed.remove("a"));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getAt_positionPastEnd_throwsIndexOutOfBoundsException() {
+        PersistentSortedMap.<String, String>empty(String::compareTo).put("a", "1").getAt(1);
+    }
+}
@@ -368,6 +368,29 @@ public class AccountTest {
                 false);
     }
 
+    @Test
+    public void executeListAccount_accountsAddedInReverse_showsListInOrder() throws Exception {
+        TestDataHelper helper = new TestDataHelper();
+        AddressBook expected = new AddressBook();
+        TestDataHelper.ThreePersons threePersons = helper.generateThreePersons();
+
+        setUpThreePerson(addressBook, expected, logic, threePersons);
+
+        threePersons.setBothPersons(3, new Account("myself3", "password3", "admin"));
+        threePersons.setBothPersons(1, new Account("myself", "password", "admin"));
+
+        List<ReadOnlyPerson> expectedList = new ArrayList<>();
+        expectedList.add(threePersons.getExpectedPerson(1));
+        expectedList.add(threePersons.getExpectedPerson(3));
+
+        assertCommandBehavior("listacc",
+                Command.getMessageForPersonListShownSummary(expectedList),
+                expected,
+                true,
+                expectedList,
+                false);
+    }
+
     @Test
     public void executeLogin_invalidArgument_invalidMessageShown() throws Exception {
         final TestDataHelper helper = new TestDataHelper();
@@ -1,5 +1,8 @@
 package seedu.addressbook.logic;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static seedu.addressbook.common.Messages.MESSAGE_INVALID_ASSESSMENT_DISPLAYED_INDEX;
 import static seedu.addressbook.common.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
 import static seedu.addressbook.common.Messages.MESSAGE_INVALID_STATISTICS_DISPLAYED_INDEX;
@@ -9,6 +12,7 @@ import static seedu.addressbook.logic.CommandAssertions.assertCommandBehavior;
 import static seedu.addressbook.logic.CommandAssertions.assertCommandBehaviorForExam;
 import static seedu.addressbook.logic.CommandAssertions.assertInvalidIndexBehaviorForCommand;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -33,6 +37,7 @@ import seedu.addressbook.data.ExamBook;
 import seedu.addressbook.data.StatisticsBook;
 import seedu.addressbook.data.person.Assessment;
 import seedu.addressbook.data.person.AssignmentStatistics;
+import seedu.addressbook.data.person.Fees;
 import seedu.addressbook.data.person.Grades;
 import seedu.addressbook.data.person.Person;
 import seedu.addressbook.data.person.ReadOnlyPerson;
@@ -291,4 +296,85 @@ public class AssessmentCommandsTest {
         assertCommandBehavior("liststatistics 1 2", expectedMessage);
         assertCommandBehavior("liststatistics any other args", expectedMessage);
     }
+
+    @Test
+    public void getGrade_gradedPersonFeesChanged_gradeStillFound() throws Exception {
+        TestDataHelper helper = new TestDataHelper();
+        Person person = helper.generatePerson(1, false);
+        Assessment assessment = helper.generateAssessment(1);
+        Grades grades = new Grades(50);
+        assessment.addGrade(person, grades);
+
+        person.setFees(new Fees("123.45", "01-12-2018"));
+        assertEquals(grades, assessment.getGrade(person));
+        assertEquals(Collections.singletonMap(person, grades), assessment.getAllGrades());
+        assessment.removeGrades(person);
+        assertNull(assessment.getGrade(person));
+    }
+
+    @Test
+    public void getGradeValues_gradesAddedReplacedAndRemoved_inOrderOfSlots() throws Exception {
+        TestDataHelper helper = new TestDataHelper();
+        Person first = helper.generatePerson(1, false);
+        Person second = helper.generatePerson(2, false);
+        Person third = helper.generatePerson(3, false);
+        helper.addToAddressBook(addressBook, Arrays.asList(first, second, third));
+        Assessment assessment = helper.generateAssessment(1);
+        assessment.addGrade(third, new Grades(30));
+        assessment.addGrade(first, new Grades(10));
+        assessment.addGrade(second, new Grades(20));
+        assessment.addGrade(first, new Grades(15));
+
+        assertArrayEquals(new double[] {15, 20, 30}, assessment.getGradeValues(), 0);
+        assertEquals(Arrays.asList(first, second, third), assessment.getGradedPersons());
+        assessment.removeGrades(second);
+        assertEquals(2, assessment.countGrades());
+        assertArrayEquals(new double[] {15, 30}, assessment.getGradeValues(), 0);
+        assertNull(assessment.getGrade(second));
+    }
+
+    @Test
+    public void addPerson_gradedBeforeAdded_gradeStillFound() throws Exception {
+        TestDataHelper helper = new TestDataHelper();
+        Person person = helper.generatePerson(1, false);
+        Assessment assessment = helper.generateAssessment(1);
+        addressBook.addAssessment(assessment);
+        assessment.addGrade(person, new Grades(40));
+        addressBook.addPerson(person);
+
+        assertEquals(0, person.getSlot());
+        assertEquals(new Grades(40), assessment.getGrade(person));
+        assertArrayEquals(new double[] {40}, assessment.getGradeValues(), 0);
+    }
+
+    @Test
+    public void removePerson_slotGivenToNextPerson_gradesNotInherited() throws Exception {
+        TestDataHelper helper = new TestDataHelper();
+        Person first = helper.generatePerson(1, false);
+        Person second = helper.generatePerson(2, false);
+        Person third = helper.generatePerson(3, false);
+        helper.addToAddressBook(addressBook, Arrays.asList(first, second));
+        Assessment assessment = helper.generateAssessment(1);
+        addressBook.addAssessment(assessment);
+        assessment.addGrade(first, new Grades(10));
+
+        addressBook.removePerson(first);
+        addressBook.addPerson(third);
+        assertEquals(0, third.getSlot());
+        assertNull(assessment.getGrade(third));
+        assertEquals(0, assessment.countGrades());
+    }
+
+    @Test
+    public void removeGrades_personNotGraded_addressBookNotModified() throws Exception {
+        TestDataHelper helper = new TestDataHelper();
+        Person person = helper.generatePerson(1, false);
+        addressBook.addPerson(person);
+        Assessment assessment = helper.generateAssessment(1);
+        addressBook.addAssessment(assessment);
+        final long version = addressBook.getVersion();
+
+        assessment.removeGrades(person);
+        assertEquals(version, addressBook.getVersion());
+    }
 }
@@ -1,5 +1,7 @@
 package seedu.addressbook.logic;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static seedu.addressbook.common.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
 import static seedu.addressbook.common.Messages.MESSAGE_NOT_LOGGED_IN;
 import static seedu.addressbook.common.Messages.MESSAGE_NO_EXAMS;
@@ -12,8 +14,12 @@ import static seedu.addressbook.logic.CommandAssertions.assertCommandBehaviorFor
 import static seedu.addressbook.logic.CommandAssertions.assertInvalidIndexBehaviorForCommand;
 import static seedu.addressbook.logic.CommandAssertions.assertInvalidIndexBehaviorForExamCommand;
 
+import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.junit.Before;
 import org.junit.Rule;
@@ -905,6 +911,76 @@ public class ExamCommandsTest {
         return threePersons;
     }
 
+    @Test
+    public void getExamsBetween_examsOnSeveralDays_inclusiveRangeInStartOrder() throws Exception {
+        final Exam late = new Exam("Late", "Art", "03-02-2018", "14:00", "15:00", "Hall", false);
+        final Exam early = new Exam("Early", "Biology", "03-02-2018", "09:00", "10:00", "Hall", false);
+        final Exam first = new Exam("First", "Chemistry", "01-02-2018", "10:00", "12:00", "Hall", false);
+        final Exam outside = new Exam("Outside", "Art", "04-02-2018", "09:00", "10:00", "Hall", false);
+        for (Exam exam : Arrays.asList(late, early, first, outside)) {
+            examBook.addExam(exam);
+        }
+
+        assertEquals(Arrays.asList(first, early, late),
+                examBook.getExamsBetween(LocalDate.of(2018, 2, 1), LocalDate.of(2018, 2, 3)));
+        assertEquals(Arrays.asList(late, outside, early, first), examBook.getAllExam().immutableListView());
+        examBook.removeExam(early);
+        assertEquals(Collections.singletonList(late),
+                examBook.getExamsBetween(LocalDate.of(2018, 2, 2), LocalDate.of(2018, 2, 3)));
+    }
+
+    @Test
+    public void registeredPersons_examsRegisteredAndRemoved_onlyRegisteredPersonsFound() throws Exception {
+        TestDataHelper helper = new TestDataHelper();
+        Exam e1 = helper.generateExam(1, false);
+        Exam e2 = helper.generateExam(2, false);
+        Person p1 = helper.generatePerson(1, false);
+        Person p2 = helper.generatePerson(2, false);
+        Person p3 = helper.generatePerson(3, false);
+        helper.addToAddressBook(addressBook, helper.generatePersonList(p1, p2, p3));
+
+        p3.addExam(e1);
+        p1.addExam(e1);
+        p2.addExam(e2);
+        assertEquals(Arrays.asList(p1, p3), addressBook.getPersonsRegisteredFor(e1));
+        assertEquals(2, addressBook.countPersonsRegisteredFor(new Exam(e1)));
+
+        addressBook.removeExam(e1);
+        assertTrue(addressBook.getPersonsRegisteredFor(e1).isEmpty());
+        assertEquals(Collections.singleton(e2), p2.getExams());
+        addressBook.clearAllExam();
+        assertEquals(0, addressBook.countPersonsRegisteredFor(e2));
+        assertTrue(p2.getExams().isEmpty());
+    }
+
+    @Test
+    public void isExamPresent_takersChangedOrEqualCopy_stillRegistered() throws Exception {
+        TestDataHelper helper = new TestDataHelper();
+        Person person = helper.generatePerson(1, false);
+        Exam exam = helper.generateExam(1, false);
+        person.addExam(exam);
+
+        exam.setTakers(5);
+        assertTrue(person.isExamPresent(exam));
+        assertTrue(person.isExamPresent(helper.generateExam(1, false)));
+        assertEquals(exam.getKey(), new Exam(exam).getKey());
+        person.removeExam(new Exam(exam));
+        assertTrue(person.getExams().isEmpty());
+    }
+
+    @Test
+    public void hashCode_takersChangedOrCaseDiffers_sameAsEqualExam() throws Exception {
+        TestDataHelper helper = new TestDataHelper();
+        Exam exam = helper.generateExam(1, false);
+        Set<Exam> exams = new HashSet<>(Collections.singleton(exam));
+
+        exam.setTakers(5);
+        assertTrue(exams.contains(exam));
+        Exam otherCase = new Exam("EXAM 1", "subject 1", "01-02-2018", "10:00", "12:00", "held in 1", false);
+        assertEquals(exam, otherCase);
+        assertEquals(exam.hashCode(), otherCase.hashCode());
+    }
+
     private void setUpSingleExamPersonRegistered(boolean hasExamBookUpdated, boolean hasAddressBookUpdated)
             throws Exception {
         TestDataHelper helper = new TestDataHelper();
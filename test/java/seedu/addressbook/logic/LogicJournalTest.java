@@ -0,0 +1,108 @@
+package seedu.addressbook.logic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import seedu.addressbook.TestDataHelper;
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.privilege.Privilege;
+import seedu.addressbook.privilege.user.AdminUser;
+import seedu.addressbook.storage.CommandJournal;
+import seedu.addressbook.storage.StorageConfig;
+import seedu.addressbook.storage.StorageFile;
+
+/**
+ * Tests that journalled commands survive the program stopping without closing {@link Logic}.
+ */
+public class LogicJournalTest {
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    @Test
+    public void constructor_journalNotCheckpointed_commandsReplayedAndCheckpointed() throws Exception {
+        final Person person = new TestDataHelper().generatePerson(1, false);
+        startAsAdmin().execute(new TestDataHelper().generateAddCommand(person));
+        // the program stops without checkpointing the journal
+        assertEquals(1, getJournal().readAll().size());
+        assertTrue(getStorage().load().getAllPersons().immutableListView().isEmpty());
+
+        startAsAdmin();
+        assertEquals(0, getJournal().readAll().size());
+        assertPersonsSaved(person);
+    }
+
+    @Test
+    public void constructor_checkpointCommittedButJournalNotCleared_commandsNotReplayedAgain() throws Exception {
+        final Person person = new TestDataHelper().generatePerson(1, false);
+        startAsAdmin().execute(new TestDataHelper().generateAddCommand(person));
+        final Path journalPath = getJournal().path;
+        final Path journalCopy = testFolder.getRoot().toPath().resolve("journalCopy.txt");
+        Files.copy(journalPath, journalCopy);
+        startAsAdmin();
+
+        // the program stops after the checkpoint replaced the storage files but before it emptied the journal
+        Files.copy(journalCopy, journalPath, StandardCopyOption.REPLACE_EXISTING);
+        Files.createFile(Paths.get(journalPath + ".commit"));
+
+        startAsAdmin();
+        assertEquals(0, getJournal().readAll().size());
+        assertFalse(Files.exists(Paths.get(journalPath + ".commit")));
+        assertPersonsSaved(person);
+    }
+
+    @Test
+    public void close_journalledCommands_checkpointed() throws Exception {
+        final Person person = new TestDataHelper().generatePerson(1, false);
+        final Logic logic = startAsAdmin();
+        logic.execute(new TestDataHelper().generateAddCommand(person));
+        logic.close();
+
+        assertEquals(0, getJournal().readAll().size());
+        assertPersonsSaved(person);
+    }
+
+    /**
+     * Starts the program on the temporary storage files with the journal enabled, with admin privilege.
+     */
+    private Logic startAsAdmin() throws Exception {
+        final StorageConfig config = new StorageConfig(StorageConfig.StorageMode.JOURNAL,
+                StorageConfig.StorageFormat.XML, getJournalPath(), StorageConfig.DEFAULT_CHECKPOINT_INTERVAL,
+                StorageConfig.Durability.COMMAND, StorageConfig.DEFAULT_FLUSH_INTERVAL,
+                StorageConfig.XmlCodec.JAXB, false);
+        final Logic logic = new Logic(config, getStorage(), new StartupTimer());
+        logic.setPrivilege(new Privilege(new AdminUser()));
+        return logic;
+    }
+
+    private void assertPersonsSaved(Person... persons) throws Exception {
+        final AddressBook saved = getStorage().load();
+        final AddressBook expected = new AddressBook();
+        new TestDataHelper().addToAddressBook(expected, Arrays.asList(persons));
+        assertEquals(expected.getAllPersons().immutableListView(), saved.getAllPersons().immutableListView());
+    }
+
+    private StorageFile getStorage() throws Exception {
+        final String folder = testFolder.getRoot().getPath();
+        return new StorageFile(folder + "/addressbook.txt", folder + "/exams.txt", folder + "/statistics.txt");
+    }
+
+    private CommandJournal getJournal() throws Exception {
+        return new CommandJournal(getJournalPath());
+    }
+
+    private String getJournalPath() {
+        return testFolder.getRoot().getPath() + "/journal.txt";
+    }
+}
@@ -1,6 +1,7 @@
 package seedu.addressbook.logic;
 
 import static junit.framework.TestCase.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static seedu.addressbook.common.Messages.MESSAGE_COMMAND_NOT_FOUND;
 import static seedu.addressbook.common.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
 import static seedu.addressbook.common.Messages.MESSAGE_PERSON_NOT_IN_ADDRESSBOOK;
@@ -8,6 +9,9 @@ import static seedu.addressbook.common.Messages.MESSAGE_WRONG_NUMBER_ARGUMENTS;
 import static seedu.addressbook.logic.CommandAssertions.assertCommandBehavior;
 import static seedu.addressbook.logic.CommandAssertions.assertInvalidIndexBehaviorForCommand;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -21,7 +25,9 @@ import seedu.addressbook.TestDataHelper;
 import seedu.addressbook.commands.Command;
 import seedu.addressbook.commands.account.ListAccountCommand;
 import seedu.addressbook.commands.account.LogoutCommand;
+import seedu.addressbook.commands.commandresult.CommandResult;
 import seedu.addressbook.commands.commandresult.MessageType;
+import seedu.addressbook.commands.general.BackupCommand;
 import seedu.addressbook.commands.general.ExitCommand;
 import seedu.addressbook.commands.general.HelpCommand;
 import seedu.addressbook.commands.person.AddCommand;
@@ -48,6 +54,7 @@ import seedu.addressbook.data.person.details.Phone;
 import seedu.addressbook.data.tag.Tag;
 import seedu.addressbook.privilege.Privilege;
 import seedu.addressbook.privilege.user.AdminUser;
+import seedu.addressbook.storage.BackupArchive;
 import seedu.addressbook.stubs.StorageStub;
 
 public class LogicTest {
@@ -165,6 +172,19 @@ public class LogicTest {
         assertCommandBehavior("help", helpCommand.makeHelpManual(), MessageType.OUTPUT);
     }
 
+    @Test
+    public void execute_backup_archiveStarted() throws Exception {
+        final BackupArchive backupArchive = new BackupArchive(saveFolder.getRoot().getPath() + "/backups");
+        logic.setBackupArchive(backupArchive);
+        final CommandResult result = logic.execute("backup");
+        final Path archive = Paths.get(result.getStatusConsoleMessage().substring(
+                BackupCommand.MESSAGE_SUCCESS.indexOf("%1$s")));
+        assertEquals(String.format(BackupCommand.MESSAGE_SUCCESS, archive), result.getStatusConsoleMessage());
+
+        backupArchive.awaitCompletion();
+        assertTrue(Files.exists(archive));
+    }
+
     @Test
     public void executeExit() throws Exception {
         assertCommandBehavior("exit", ExitCommand.MESSAGE_EXIT_ACKNOWLEDGEMENT);
@@ -558,6 +578,67 @@ public class LogicTest {
                 false);
     }
 
+    @Test
+    public void executeFind_ignoreCase_matchesFullWordsInAnyCase() throws Exception {
+        TestDataHelper helper = new TestDataHelper();
+        Person pTarget1 = helper.generatePersonWithName("bla bla KEY bla");
+        Person pTarget2 = helper.generatePersonWithName("key key");
+        Person p1 = helper.generatePersonWithName("KE Y");
+        Person p2 = helper.generatePersonWithName("KEYKEYKEY sduauo");
+
+        List<Person> fourPersons = helper.generatePersonList(p1, pTarget1, p2, pTarget2);
+        AddressBook expected = helper.generateAddressBook(fourPersons);
+        List<Person> expectedList = helper.generatePersonList(pTarget1, pTarget2);
+        helper.addToAddressBook(addressBook, fourPersons);
+
+        assertCommandBehavior("find m/ignorecase kEy",
+                Command.getMessageForPersonListShownSummary(expectedList),
+                expected,
+                true,
+                expectedList,
+                false);
+    }
+
+    @Test
+    public void executeFind_prefix_matchesBeginningsOfWordsInAnyCase() throws Exception {
+        TestDataHelper helper = new TestDataHelper();
+        Person pTarget1 = helper.generatePersonWithName("bla bla KEY bla");
+        Person pTarget2 = helper.generatePersonWithName("keykeykey sduauo");
+        Person p1 = helper.generatePersonWithName("KE Y");
+        Person p2 = helper.generatePersonWithName("bla bkey bceofeia");
+
+        List<Person> fourPersons = helper.generatePersonList(p1, pTarget1, p2, pTarget2);
+        AddressBook expected = helper.generateAddressBook(fourPersons);
+        List<Person> expectedList = helper.generatePersonList(pTarget1, pTarget2);
+        helper.addToAddressBook(addressBook, fourPersons);
+
+        assertCommandBehavior("find m/prefix Key",
+                Command.getMessageForPersonListShownSummary(expectedList),
+                expected,
+                true,
+                expectedList,
+                false);
+    }
+
+    @Test
+    public void executeFind_matchingPersonRemoved_notFound() throws Exception {
+        TestDataHelper helper = new TestDataHelper();
+        Person pTarget = helper.generatePersonWithName("bla KEY bla");
+        Person pRemoved = helper.generatePersonWithName("KEY bceofeia");
+
+        List<Person> onePerson = helper.generatePersonList(pTarget);
+        AddressBook expected = helper.generateAddressBook(onePerson);
+        helper.addToAddressBook(addressBook, helper.generatePersonList(pRemoved, pTarget));
+        addressBook.removePerson(pRemoved);
+
+        assertCommandBehavior("find KEY",
+                Command.getMessageForPersonListShownSummary(onePerson),
+                expected,
+                true,
+                onePerson,
+                false);
+    }
+
     @Test
     public void executeViewSelf_notLoggedIn_errorMessage() throws Exception {
         assertCommandBehavior("viewself", Messages.MESSAGE_NOT_LOGGED_IN);
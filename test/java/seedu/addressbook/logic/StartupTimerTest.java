@@ -0,0 +1,30 @@
+package seedu.addressbook.logic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+public class StartupTimerTest {
+
+    @Test
+    public void toString_phasesRun_listedInOrderOfCompletion() throws Exception {
+        final StartupTimer timer = new StartupTimer();
+        assertEquals("loaded", timer.time("load", () -> "loaded"));
+        timer.run("check", () -> { });
+
+        final String summary = timer.toString();
+        assertTrue(summary.startsWith("Startup took "));
+        assertTrue(summary.indexOf(" load ") < summary.indexOf(" check "));
+        assertTrue(summary.endsWith(" ms"));
+    }
+
+    @Test(expected = IOException.class)
+    public void time_phaseFails_exceptionRethrown() throws Exception {
+        new StartupTimer().run("load", () -> {
+            throw new IOException();
+        });
+    }
+}
@@ -41,6 +41,7 @@ import seedu.addressbook.data.person.Assessment;
 import seedu.addressbook.data.person.Exam;
 import seedu.addressbook.data.person.Person;
 import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.data.person.UniquePersonList.NameMatch;
 import seedu.addressbook.data.person.details.Address;
 import seedu.addressbook.data.person.details.Email;
 import seedu.addressbook.data.person.details.Name;
@@ -239,7 +240,10 @@ public class ParserTest {
         // no keywords
         final String[] inputs = {
             "find",
-            "find "
+            "find ",
+            "find m/prefix",
+            "find m/unknown key1",
+            "find key1 m/prefix"
         };
         final String resultMessage =
                 String.format(MESSAGE_INVALID_COMMAND_FORMAT, FindCommand.MESSAGE_USAGE);
@@ -255,6 +259,22 @@ public class ParserTest {
         final FindCommand result =
                 parseAndAssertCommandType(input, FindCommand.class);
         assertEquals(keySet, result.getKeywords());
+        assertEquals(NameMatch.EXACT, result.getMatch());
+    }
+
+    @Test
+    public void findCommand_matchGiven_parsedCorrectly() {
+        final Set<String> keySet = new HashSet<>(Arrays.asList("key1", "key2"));
+
+        final FindCommand ignoreCase =
+                parseAndAssertCommandType("find m/ignorecase key1 key2", FindCommand.class);
+        assertEquals(keySet, ignoreCase.getKeywords());
+        assertEquals(NameMatch.IGNORE_CASE, ignoreCase.getMatch());
+
+        final FindCommand prefix =
+                parseAndAssertCommandType("find m/prefix key1 key2", FindCommand.class);
+        assertEquals(keySet, prefix.getKeywords());
+        assertEquals(NameMatch.PREFIX, prefix.getMatch());
     }
 
     @Test
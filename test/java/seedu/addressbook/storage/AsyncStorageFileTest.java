@@ -0,0 +1,56 @@
+package seedu.addressbook.storage;
+
+import static org.junit.Assert.assertFalse;
+import static seedu.addressbook.util.TestUtil.assertTextFilesEqual;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import seedu.addressbook.data.ExamBook;
+import seedu.addressbook.data.person.Exam;
+import seedu.addressbook.storage.StorageConfig.Durability;
+
+public class AsyncStorageFileTest {
+    private static final String TEST_DATA_FOLDER = "test/data/StorageFileTest";
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    @Test
+    public void flush_commandDurability_examBookWritten() throws Exception {
+        AsyncStorageFile storage = getTempStorage(Durability.COMMAND);
+        storage.saveExam(getTestExamBook());
+        storage.flush();
+        assertTextFilesEqual(storage.pathExam, Paths.get(TEST_DATA_FOLDER, "ValidExamData.txt"));
+    }
+
+    @Test
+    public void saveExam_exitDurability_writtenOnlyOnFlush() throws Exception {
+        AsyncStorageFile storage = getTempStorage(Durability.EXIT);
+        ExamBook eb = getTestExamBook();
+        storage.saveExam(eb);
+        storage.saveExam(eb);
+        assertFalse(Files.exists(storage.pathExam));
+
+        storage.flush();
+        assertTextFilesEqual(storage.pathExam, Paths.get(TEST_DATA_FOLDER, "ValidExamData.txt"));
+    }
+
+    private AsyncStorageFile getTempStorage(Durability durability) throws Exception {
+        String tempExam = testFolder.getRoot().getPath() + "/" + "tempExam.txt";
+        String tempStatistics = testFolder.getRoot().getPath() + "/" + "tempStatistics.txt";
+        return new AsyncStorageFile(testFolder.getRoot().getPath() + "/" + "temp.txt", tempExam, tempStatistics,
+                durability, StorageConfig.DEFAULT_FLUSH_INTERVAL);
+    }
+
+    private ExamBook getTestExamBook() throws Exception {
+        ExamBook eb = new ExamBook();
+        eb.addExam(new Exam("Math Midterms", "Mathematics", "01-12-2018", "09:00", "10:00", "Held in MPSH", false));
+        eb.addExam(new Exam("English Midterms", "English", "02-12-2018", "09:00", "10:00", "Held in MPSH", false));
+        return eb;
+    }
+}
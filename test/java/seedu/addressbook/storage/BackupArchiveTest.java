@@ -0,0 +1,89 @@
+package seedu.addressbook.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import seedu.addressbook.TestDataHelper;
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.ExamBook;
+import seedu.addressbook.data.StatisticsBook;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.storage.Storage.StorageOperationException;
+
+public class BackupArchiveTest {
+    private static final String SAMPLE_DATA_FOLDER = "sample_data";
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    @Test
+    public void start_booksModifiedAfterwards_archiveHoldsBooksAsStarted() throws Exception {
+        final StorageFile sample = new StorageFile(SAMPLE_DATA_FOLDER + "/" + "addressbook.txt",
+                SAMPLE_DATA_FOLDER + "/" + "exams.txt", SAMPLE_DATA_FOLDER + "/" + "statistics.txt");
+        final AddressBook addressBook = sample.load();
+        final ExamBook examBook = sample.loadExam();
+        final StatisticsBook statisticsBook = sample.loadStatistics();
+        final Person first = (Person) addressBook.getAllPersons().immutableListView().get(0);
+        first.updateAttendanceMethod("05-10-2018", true, false);
+        final AddressBook expectedAddressBook = sample.load();
+        final ExamBook expectedExamBook = sample.loadExam();
+
+        final BackupArchive backupArchive = new BackupArchive(testFolder.getRoot().getPath() + "/backups");
+        final Path archive = backupArchive.start(addressBook, examBook, statisticsBook);
+        addressBook.addPerson(new TestDataHelper().generatePerson(100, false));
+        first.updateAttendanceMethod("06-10-2018", true, false);
+        examBook.clear();
+        backupArchive.awaitCompletion();
+
+        final StorageFile restored = extract(archive);
+        final AddressBook restoredAddressBook = restored.load();
+        assertEquals(expectedAddressBook, restoredAddressBook);
+        assertEquals(expectedAddressBook.getMasterPassword(), restoredAddressBook.getMasterPassword());
+        assertEquals(expectedExamBook, restored.loadExam());
+        assertEquals(statisticsBook, restored.loadStatistics());
+        final Person restoredFirst = (Person) restoredAddressBook.getAllPersons().immutableListView().get(0);
+        assertTrue(restoredFirst.getAttendance().getAttendancePersonMap().containsKey("05-10-2018"));
+        assertFalse(restoredFirst.getAttendance().getAttendancePersonMap().containsKey("06-10-2018"));
+    }
+
+    @Test
+    public void awaitCompletion_directoryIsFile_exceptionThrown() throws Exception {
+        final BackupArchive backupArchive = new BackupArchive(testFolder.newFile("backups").getPath());
+        backupArchive.start(new AddressBook(), new ExamBook(), new StatisticsBook());
+        thrown.expect(StorageOperationException.class);
+        backupArchive.awaitCompletion();
+    }
+
+    /**
+     * Extracts the archive to a new folder and returns the storage files in it.
+     */
+    private StorageFile extract(Path archive) throws Exception {
+        final Path folder = testFolder.newFolder().toPath();
+        final List<String> names = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(Files.newInputStream(archive))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                names.add(entry.getName());
+                Files.copy(zip, folder.resolve(entry.getName()));
+            }
+        }
+        assertEquals(4, names.size());
+        return new StorageFile(folder.resolve("addressbook.txt").toString(), folder.resolve("exams.txt").toString(),
+                folder.resolve("statistics.txt").toString());
+    }
+}
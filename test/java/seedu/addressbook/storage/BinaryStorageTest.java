@@ -0,0 +1,263 @@
+package seedu.addressbook.storage;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import seedu.addressbook.TestDataHelper;
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.ExamBook;
+import seedu.addressbook.data.StatisticsBook;
+import seedu.addressbook.data.account.Account;
+import seedu.addressbook.data.person.Assessment;
+import seedu.addressbook.data.person.Exam;
+import seedu.addressbook.data.person.Grades;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.storage.Storage.StorageOperationException;
+import seedu.addressbook.storage.StorageFile.InvalidStorageFilePathException;
+
+public class BinaryStorageTest {
+    private static final String SAMPLE_DATA_FOLDER = "sample_data";
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    @Test
+    public void constructor_noBinExtension_exceptionThrown() throws Exception {
+        thrown.expect(InvalidStorageFilePathException.class);
+        new BinaryStorage(testFolder.getRoot().getPath() + "/addressbook.txt",
+                testFolder.getRoot().getPath() + "/exams.bin", testFolder.getRoot().getPath() + "/statistics.bin");
+    }
+
+    @Test
+    public void load_missingFiles_emptyBooksCreated() throws Exception {
+        BinaryStorage storage = getTempStorage();
+        assertEquals(AddressBook.empty(), storage.load());
+        assertEquals(ExamBook.empty(), storage.loadExam());
+        assertEquals(StatisticsBook.empty(), storage.loadStatistics());
+        assertTrue(Files.exists(storage.path));
+        assertTrue(Files.exists(storage.pathExam));
+        assertTrue(Files.exists(storage.pathStatistics));
+    }
+
+    @Test
+    public void load_notBinaryFormat_exceptionThrown() throws Exception {
+        BinaryStorage storage = getTempStorage();
+        Files.write(storage.path, "<AddressBook/>".getBytes(StandardCharsets.UTF_8));
+        thrown.expect(StorageOperationException.class);
+        storage.load();
+    }
+
+    @Test
+    public void load_truncatedFile_exceptionThrown() throws Exception {
+        BinaryStorage storage = getTempStorage();
+        storage.save(getTestAddressBook());
+        final byte[] content = Files.readAllBytes(storage.path);
+        final byte[] truncated = new byte[content.length - 3];
+        System.arraycopy(content, 0, truncated, 0, truncated.length);
+        Files.write(storage.path, truncated);
+
+        thrown.expect(StorageOperationException.class);
+        getTempStorage().load();
+    }
+
+    @Test
+    public void loadExam_addressBookFile_exceptionThrown() throws Exception {
+        BinaryStorage storage = getTempStorage();
+        storage.save(getTestAddressBook());
+        Files.copy(storage.path, storage.pathExam);
+        thrown.expect(StorageOperationException.class);
+        storage.loadExam();
+    }
+
+    @Test
+    public void save_validAddressBook_loadedBack() throws Exception {
+        AddressBook original = getTestAddressBook();
+        getTempStorage().save(original);
+        AddressBook loaded = getTempStorage().load();
+
+        assertEquals(original, loaded);
+        assertEquals(original.getMasterPassword(), loaded.getMasterPassword());
+        assertEquals(original.isPermAdmin(), loaded.isPermAdmin());
+        final List<ReadOnlyPerson> originalPersons = original.getAllPersons().immutableListView();
+        final List<ReadOnlyPerson> loadedPersons = loaded.getAllPersons().immutableListView();
+        for (int i = 0; i < originalPersons.size(); i++) {
+            final ReadOnlyPerson expected = originalPersons.get(i);
+            final ReadOnlyPerson actual = loadedPersons.get(i);
+            assertEquals(expected.getExams(), actual.getExams());
+            assertEquals(expected.getTags(), actual.getTags());
+            assertEquals(expected.getAttendance(), actual.getAttendance());
+            assertEquals(expected.getFees().value, actual.getFees().value);
+            assertEquals(expected.getAccount().isPresent(), actual.getAccount().isPresent());
+        }
+
+        final Assessment assessment = loaded.getAllAssessments().immutableListView().get(0);
+        final Person second = (Person) loadedPersons.get(1);
+        assertEquals(1, assessment.getAllGrades().size());
+        assertEquals(new Grades(75).getValue(), assessment.getGrade(second).getValue(), 0);
+        assertTrue(second.getAssessments().contains(assessment));
+    }
+
+    @Test
+    public void save_validExamAndStatisticsBooks_loadedBack() throws Exception {
+        final TestDataHelper helper = new TestDataHelper();
+        ExamBook examBook = helper.generateExamBook(true, false);
+        StatisticsBook statisticsBook = helper.generateStatisticsBook(Collections.singletonList(helper.stat()));
+        getTempStorage().saveExam(examBook);
+        getTempStorage().saveStatistics(statisticsBook);
+
+        assertEquals(examBook, getTempStorage().loadExam());
+        assertEquals(statisticsBook, getTempStorage().loadStatistics());
+    }
+
+    @Test
+    public void save_unchangedAddressBook_notWrittenAgain() throws Exception {
+        AddressBook addressBook = getTestAddressBook();
+        BinaryStorage storage = getTempStorage();
+        storage.save(addressBook);
+        Files.delete(storage.path);
+
+        storage.save(addressBook);
+        assertFalse(Files.exists(storage.path));
+    }
+
+    @Test
+    public void save_existingFile_replacedWithoutChangingPreviousFile() throws Exception {
+        BinaryStorage storage = getTempStorage();
+        storage.save(getTestAddressBook());
+        final byte[] previousContent = Files.readAllBytes(storage.path);
+        try (FileChannel channel = FileChannel.open(storage.path, StandardOpenOption.READ)) {
+            final MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            storage.save(AddressBook.empty());
+
+            final byte[] mappedContent = new byte[previousContent.length];
+            mapped.get(mappedContent);
+            assertArrayEquals(previousContent, mappedContent);
+        }
+        assertEquals(AddressBook.empty(), getTempStorage().load());
+        try (Stream<Path> files = Files.list(testFolder.getRoot().toPath())) {
+            assertEquals(Collections.singletonList(storage.path), files.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void save_slotOfRemovedPersonReused_gradesSavedInAddressBookOrder() throws Exception {
+        final BinaryStorage reusedStorage = getTempStorage();
+        reusedStorage.save(getGradedAddressBook(true));
+        final BinaryStorage freshStorage = new BinaryStorage(testFolder.getRoot().getPath() + "/fresh.bin",
+                testFolder.getRoot().getPath() + "/freshExam.bin",
+                testFolder.getRoot().getPath() + "/freshStatistics.bin");
+        freshStorage.save(getGradedAddressBook(false));
+
+        assertArrayEquals(Files.readAllBytes(freshStorage.path), Files.readAllBytes(reusedStorage.path));
+    }
+
+    @Test
+    public void importIfAbsent_sampleData_sameBooksAndSmallerFiles() throws Exception {
+        StorageFile xmlStorage = new StorageFile(SAMPLE_DATA_FOLDER + "/" + "addressbook.txt",
+                SAMPLE_DATA_FOLDER + "/" + "exams.txt", SAMPLE_DATA_FOLDER + "/" + "statistics.txt");
+        BinaryStorage storage = getTempStorage();
+        assertTrue(storage.importIfAbsent(xmlStorage));
+        assertFalse(storage.importIfAbsent(xmlStorage));
+
+        BinaryStorage loaded = getTempStorage();
+        assertEquals(xmlStorage.load(), loaded.load());
+        assertEquals(xmlStorage.loadExam(), loaded.loadExam());
+        assertEquals(xmlStorage.loadStatistics(), loaded.loadStatistics());
+        assertTrue(Files.size(storage.path) < Files.size(xmlStorage.path));
+    }
+
+    @Test
+    public void importIfAbsent_noXmlFile_nothingImported() throws Exception {
+        Path missing = Paths.get(testFolder.getRoot().getPath(), "missing.txt");
+        StorageFile xmlStorage = new StorageFile(missing.toString(),
+                testFolder.getRoot().getPath() + "/missingExams.txt",
+                testFolder.getRoot().getPath() + "/missingStatistics.txt");
+        BinaryStorage storage = getTempStorage();
+        assertFalse(storage.importIfAbsent(xmlStorage));
+        assertFalse(Files.exists(storage.path));
+        assertFalse(Files.exists(missing));
+    }
+
+    private BinaryStorage getTempStorage() throws Exception {
+        return new BinaryStorage(testFolder.getRoot().getPath() + "/temp.bin",
+                testFolder.getRoot().getPath() + "/tempExam.bin",
+                testFolder.getRoot().getPath() + "/tempStatistics.bin");
+    }
+
+    /**
+     * Returns an address book whose persons share an exam, have attendance, fees and accounts, and are graded.
+     */
+    private AddressBook getTestAddressBook() throws Exception {
+        final TestDataHelper helper = new TestDataHelper();
+        final Exam exam = helper.generateExam(1, false, 2);
+        final List<Person> persons = new ArrayList<>();
+        for (int seed = 1; seed <= 3; seed++) {
+            final Person person = helper.generatePerson(seed, seed % 2 == 0);
+            person.updateAttendanceMethod("0" + seed + "-10-2018", seed != 2, false);
+            person.setFees(helper.makeFees(seed));
+            persons.add(person);
+        }
+        persons.get(0).addExam(exam);
+        persons.get(1).addExam(new Exam(exam));
+        persons.get(2).setAccount(new Account("user", "pw", "Tutor"));
+
+        final AddressBook addressBook = helper.generateAddressBook(persons);
+        final Assessment assessment = helper.generateAssessment(1);
+        assessment.addGrade(persons.get(1), new Grades(75));
+        persons.get(1).addAssessment(assessment);
+        addressBook.addAssessment(assessment);
+        addressBook.setMasterPassword("newPassword");
+        addressBook.setPermAdmin(true);
+        return addressBook;
+    }
+
+    /**
+     * Returns an address book with two graded persons, where the second person is given the slot of a removed
+     * person coming before the first one if {@code isSlotReused}.
+     */
+    private AddressBook getGradedAddressBook(boolean isSlotReused) throws Exception {
+        final TestDataHelper helper = new TestDataHelper();
+        final AddressBook addressBook = new AddressBook();
+        final Person removed = helper.generatePerson(3, false);
+        if (isSlotReused) {
+            addressBook.addPerson(removed);
+        }
+        final Person first = helper.generatePerson(1, false);
+        addressBook.addPerson(first);
+        if (isSlotReused) {
+            addressBook.removePerson(removed);
+        }
+        final Person second = helper.generatePerson(2, false);
+        addressBook.addPerson(second);
+
+        final Assessment assessment = helper.generateAssessment(1);
+        addressBook.addAssessment(assessment);
+        assessment.addGrade(second, new Grades(20));
+        assessment.addGrade(first, new Grades(10));
+        return addressBook;
+    }
+}
@@ -0,0 +1,108 @@
+package seedu.addressbook.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import seedu.addressbook.commands.commandformat.indexformat.ObjectTargeted;
+import seedu.addressbook.storage.Storage.StorageOperationException;
+import seedu.addressbook.storage.StorageFile.InvalidStorageFilePathException;
+
+public class CommandJournalTest {
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    @Test
+    public void constructor_noTxtExtension_exceptionThrown() throws Exception {
+        thrown.expect(InvalidStorageFilePathException.class);
+        new CommandJournal(testFolder.getRoot().getPath() + "journal");
+    }
+
+    @Test
+    public void readAll_missingFile_returnsEmptyList() throws Exception {
+        final CommandJournal journal = getTempJournal();
+        assertTrue(journal.readAll().isEmpty());
+        assertEquals(0, journal.size());
+    }
+
+    @Test
+    public void append_validEntries_readBackInOrder() throws Exception {
+        final CommandJournal journal = getTempJournal();
+        final Map<ObjectTargeted, Integer> targets = new EnumMap<>(ObjectTargeted.class);
+        targets.put(ObjectTargeted.PERSON, 3);
+        targets.put(ObjectTargeted.EXAM, 0);
+        journal.append(new CommandJournal.Entry(1000L, -1, targets, "register 4 1"));
+        journal.append(new CommandJournal.Entry(2000L, 2, Collections.emptyMap(),
+                "add John Doe p/98765432 e/johnd@gmail.com a/John street, block 123, #01-01"));
+        assertEquals(2, journal.size());
+
+        final List<CommandJournal.Entry> entries = getTempJournal().readAll();
+        assertEquals(2, entries.size());
+        assertEquals(1000L, entries.get(0).getTimestamp());
+        assertEquals(-1, entries.get(0).getSelfIndex());
+        assertEquals(targets, entries.get(0).getTargetIndexes());
+        assertEquals("register 4 1", entries.get(0).getCommandText());
+        assertEquals(2, entries.get(1).getSelfIndex());
+        assertTrue(entries.get(1).getTargetIndexes().isEmpty());
+        assertEquals("add John Doe p/98765432 e/johnd@gmail.com a/John street, block 123, #01-01",
+                entries.get(1).getCommandText());
+    }
+
+    @Test
+    public void readAll_partialLastRecord_ignored() throws Exception {
+        final CommandJournal journal = getTempJournal();
+        journal.append(new CommandJournal.Entry(1000L, -1, Collections.emptyMap(), "clear"));
+        Files.write(journal.path, "2000\t-1\t-".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        final List<CommandJournal.Entry> entries = journal.readAll();
+        assertEquals(1, entries.size());
+        assertEquals("clear", entries.get(0).getCommandText());
+    }
+
+    @Test
+    public void readAll_malformedRecord_exceptionThrown() throws Exception {
+        final CommandJournal journal = getTempJournal();
+        Files.write(journal.path, "abc\t-1\t-\t-\t-\t-\tclear\n".getBytes(StandardCharsets.UTF_8));
+        thrown.expect(StorageOperationException.class);
+        journal.readAll();
+    }
+
+    @Test
+    public void clear_removesAllRecords() throws Exception {
+        final CommandJournal journal = getTempJournal();
+        journal.append(new CommandJournal.Entry(1000L, -1, Collections.emptyMap(), "clear"));
+        journal.clear();
+        assertEquals(0, journal.size());
+        assertTrue(journal.readAll().isEmpty());
+    }
+
+    @Test
+    public void checkpointCommitted_markedAndCleared() throws Exception {
+        final CommandJournal journal = getTempJournal();
+        assertFalse(journal.isCheckpointCommitted());
+        journal.markCheckpointCommitted();
+        assertTrue(journal.isCheckpointCommitted());
+        journal.clearCheckpointCommitted();
+        assertFalse(journal.isCheckpointCommitted());
+    }
+
+    private CommandJournal getTempJournal() throws Exception {
+        return new CommandJournal(testFolder.getRoot().getPath() + "/journal.txt");
+    }
+}
@@ -0,0 +1,165 @@
+package seedu.addressbook.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import seedu.addressbook.TestDataHelper;
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.ExamBook;
+import seedu.addressbook.data.person.Assessment;
+import seedu.addressbook.data.person.Exam;
+import seedu.addressbook.data.person.Grades;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.storage.Storage.StorageOperationException;
+
+public class DataFileWatcherTest {
+    /** Number of times to poll for a change before giving up, waiting between polls. */
+    private static final int MAX_POLLS = 100;
+    private static final int POLL_INTERVAL = 50;
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private DataFileWatcher watcher;
+
+    @After
+    public void tearDown() throws Exception {
+        if (watcher != null) {
+            watcher.close();
+        }
+    }
+
+    @Test
+    public void applyChanges_addressBookEdited_onlyDifferencesApplied() throws Exception {
+        final TestDataHelper helper = new TestDataHelper();
+        final List<Person> persons = new ArrayList<>();
+        for (int seed = 1; seed <= 3; seed++) {
+            persons.add(helper.generatePerson(seed, false));
+        }
+        final AddressBook addressBook = helper.generateAddressBook(persons);
+        final Assessment assessment = helper.generateAssessment(1);
+        assessment.addGrade(persons.get(1), new Grades(75));
+        persons.get(1).addAssessment(assessment);
+        addressBook.addAssessment(assessment);
+        final ExamBook examBook = new ExamBook();
+        final StorageFile storage = getTempStorage();
+        storage.save(addressBook);
+        storage.saveExam(examBook);
+        watcher = new DataFileWatcher(storage);
+
+        final StorageFile otherProgram = getTempStorage();
+        final AddressBook edited = otherProgram.load();
+        edited.removePerson(persons.get(0));
+        edited.findPerson(persons.get(1)).setTags(Collections.singleton(new Tag("edited")));
+        edited.addPerson(helper.generatePerson(4, false));
+        otherProgram.save(edited);
+
+        assertTrue(applyChangesWhenNoticed(addressBook, examBook));
+        final List<ReadOnlyPerson> shown = addressBook.getAllPersons().immutableListView();
+        assertEquals(Arrays.asList(persons.get(1), persons.get(2), helper.generatePerson(4, false)), shown);
+        assertSame(persons.get(1), shown.get(0));
+        assertSame(persons.get(2), shown.get(1));
+        assertEquals(Collections.singleton(new Tag("edited")), persons.get(1).getTags());
+        assertSame(assessment, addressBook.getAllAssessments().immutableListView().get(0));
+        assertEquals(75, assessment.getGrade(persons.get(1)).getValue(), 0);
+    }
+
+    @Test
+    public void applyChanges_examBookEdited_examAddedAndAddressBookUnchanged() throws Exception {
+        final TestDataHelper helper = new TestDataHelper();
+        final AddressBook addressBook = helper.generateAddressBook(false, true);
+        final Exam exam = helper.generateExam(1, false);
+        final ExamBook examBook = helper.generateExamBook(Collections.singletonList(exam));
+        final StorageFile storage = getTempStorage();
+        storage.save(addressBook);
+        storage.saveExam(examBook);
+        watcher = new DataFileWatcher(storage);
+
+        final StorageFile otherProgram = getTempStorage();
+        final ExamBook edited = otherProgram.loadExam();
+        edited.addExam(helper.generateExam(2, true));
+        otherProgram.saveExam(edited);
+
+        final long addressBookVersion = addressBook.getVersion();
+        assertTrue(applyChangesWhenNoticed(addressBook, examBook));
+        assertEquals(edited, examBook);
+        assertTrue(examBook.getAllExam().immutableListView().stream().anyMatch(shown -> shown == exam));
+        assertEquals(addressBookVersion, addressBook.getVersion());
+    }
+
+    @Test
+    public void applyChanges_onlyOwnSaves_nothingApplied() throws Exception {
+        final TestDataHelper helper = new TestDataHelper();
+        final AddressBook addressBook = helper.generateAddressBook(false, true);
+        final StorageFile storage = getTempStorage();
+        storage.save(addressBook);
+        storage.saveExam(new ExamBook());
+        watcher = new DataFileWatcher(storage);
+
+        addressBook.addPerson(helper.generatePerson(5, false));
+        storage.save(addressBook);
+        for (int poll = 0; poll < 10; poll++) {
+            assertFalse(watcher.applyChanges(addressBook, new ExamBook()));
+            Thread.sleep(POLL_INTERVAL);
+        }
+    }
+
+    @Test
+    public void applyChanges_invalidEdit_booksUnchanged() throws Exception {
+        final TestDataHelper helper = new TestDataHelper();
+        final AddressBook addressBook = helper.generateAddressBook(false, true);
+        final ExamBook examBook = new ExamBook();
+        final StorageFile storage = getTempStorage();
+        storage.save(addressBook);
+        storage.saveExam(examBook);
+        watcher = new DataFileWatcher(storage);
+
+        Files.write(storage.path, "not an address book".getBytes());
+        final long version = addressBook.getVersion();
+        boolean isRejected = false;
+        for (int poll = 0; poll < MAX_POLLS && !isRejected; poll++) {
+            try {
+                watcher.applyChanges(addressBook, examBook);
+                Thread.sleep(POLL_INTERVAL);
+            } catch (StorageOperationException soe) {
+                isRejected = true;
+            }
+        }
+        assertTrue(isRejected);
+        assertEquals(version, addressBook.getVersion());
+        assertEquals(helper.generateAddressBook(false, true), addressBook);
+    }
+
+    /**
+     * Polls the watcher until it applies a change, as file system events arrive some time after the change.
+     */
+    private boolean applyChangesWhenNoticed(AddressBook addressBook, ExamBook examBook) throws Exception {
+        for (int poll = 0; poll < MAX_POLLS; poll++) {
+            if (watcher.applyChanges(addressBook, examBook)) {
+                return true;
+            }
+            Thread.sleep(POLL_INTERVAL);
+        }
+        return false;
+    }
+
+    private StorageFile getTempStorage() throws Exception {
+        final String folder = testFolder.getRoot().getPath();
+        return new StorageFile(folder + "/addressbook.txt", folder + "/exams.txt", folder + "/statistics.txt");
+    }
+}
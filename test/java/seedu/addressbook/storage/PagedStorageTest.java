@@ -0,0 +1,167 @@
+package seedu.addressbook.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import seedu.addressbook.TestDataHelper;
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.ExamBook;
+import seedu.addressbook.data.StatisticsBook;
+import seedu.addressbook.data.person.Assessment;
+import seedu.addressbook.data.person.Exam;
+import seedu.addressbook.data.person.Grades;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.storage.StorageFile.InvalidStorageFilePathException;
+import seedu.addressbook.storage.paged.PageFile;
+
+public class PagedStorageTest {
+    private static final String SAMPLE_DATA_FOLDER = "sample_data";
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    @Test
+    public void constructor_notDbFile_exceptionThrown() throws Exception {
+        thrown.expect(InvalidStorageFilePathException.class);
+        new PagedStorage(testFolder.getRoot().getPath() + "/data.bin", "exams.bin", "statistics.bin");
+    }
+
+    @Test
+    public void load_missingFile_emptyBooksCreated() throws Exception {
+        PagedStorage storage = getTempStorage();
+        assertEquals(AddressBook.empty(), storage.load());
+        assertEquals(ExamBook.empty(), storage.loadExam());
+        assertEquals(StatisticsBook.empty(), storage.loadStatistics());
+        assertTrue(Files.exists(storage.path));
+        assertEquals(AddressBook.empty(), getTempStorage().load());
+    }
+
+    @Test
+    public void save_validAddressBook_loadedBack() throws Exception {
+        AddressBook original = getTestAddressBook();
+        getTempStorage().save(original);
+        AddressBook loaded = getTempStorage().load();
+
+        assertEquals(original, loaded);
+        assertEquals(original.getMasterPassword(), loaded.getMasterPassword());
+        final List<ReadOnlyPerson> loadedPersons = loaded.getAllPersons().immutableListView();
+        assertEquals(original.getAllPersons().immutableListView().get(0).getExams(), loadedPersons.get(0).getExams());
+        final Assessment assessment = loaded.getAllAssessments().immutableListView().get(0);
+        assertEquals(75, assessment.getGrade((Person) loadedPersons.get(1)).getValue(), 0);
+    }
+
+    @Test
+    public void save_onePersonModified_onePageWritten() throws Exception {
+        getTempStorage().save(getTestAddressBook());
+        PagedStorage storage = getTempStorage();
+        AddressBook addressBook = storage.load();
+        final byte[] before = Files.readAllBytes(storage.path);
+
+        final Person second = (Person) addressBook.getAllPersons().immutableListView().get(1);
+        second.updateAttendanceMethod("05-10-2018", true, false);
+        storage.save(addressBook);
+
+        final byte[] after = Files.readAllBytes(storage.path);
+        assertEquals(before.length, after.length);
+        int changedPages = 0;
+        for (int offset = 0; offset < before.length; offset += PageFile.PAGE_SIZE) {
+            if (!Arrays.equals(Arrays.copyOfRange(before, offset, offset + PageFile.PAGE_SIZE),
+                    Arrays.copyOfRange(after, offset, offset + PageFile.PAGE_SIZE))) {
+                changedPages++;
+            }
+        }
+        assertEquals(1, changedPages);
+        assertEquals(second.getAttendance().getAttendancePersonMap(), ((Person) getTempStorage().load()
+                .getAllPersons().immutableListView().get(1)).getAttendance().getAttendancePersonMap());
+    }
+
+    @Test
+    public void save_manyPersonsAddedAndRemoved_loadedBackAndFoundByName() throws Exception {
+        final TestDataHelper helper = new TestDataHelper();
+        PagedStorage storage = getTempStorage();
+        AddressBook addressBook = storage.load();
+        for (int seed = 1; seed <= 500; seed++) {
+            addressBook.addPerson(helper.generatePerson(seed, seed % 2 == 0));
+        }
+        storage.save(addressBook);
+        for (int seed = 2; seed <= 500; seed += 3) {
+            addressBook.removePerson(helper.generatePerson(seed, seed % 2 == 0));
+        }
+        storage.save(addressBook);
+
+        assertEquals(addressBook, getTempStorage().load());
+        assertEquals(Arrays.asList(helper.generatePerson(250, true)), getTempStorage().findPersonsByName("person 250"));
+        assertEquals(new ArrayList<Person>(), getTempStorage().findPersonsByName("Person 251"));
+        assertEquals(new ArrayList<Person>(), getTempStorage().findPersonsByName("Person 2"));
+    }
+
+    @Test
+    public void save_personTooLongForLeaf_loadedBack() throws Exception {
+        final TestDataHelper helper = new TestDataHelper();
+        final AddressBook addressBook = helper.generateAddressBook(false, true);
+        final Person first = (Person) addressBook.getAllPersons().immutableListView().get(0);
+        for (int day = 1; day <= 28; day++) {
+            for (int month = 1; month <= 12; month++) {
+                first.updateAttendanceMethod(String.format("%02d-%02d-2018", day, month), day % 2 == 0, false);
+            }
+        }
+        getTempStorage().save(addressBook);
+
+        final AddressBook loaded = getTempStorage().load();
+        assertEquals(addressBook, loaded);
+        assertEquals(first.getAttendance().getAttendancePersonMap(), ((Person) loaded.getAllPersons()
+                .immutableListView().get(0)).getAttendance().getAttendancePersonMap());
+    }
+
+    @Test
+    public void importIfAbsent_sampleData_sameBooks() throws Exception {
+        StorageFile xmlStorage = new StorageFile(SAMPLE_DATA_FOLDER + "/" + "addressbook.txt",
+                SAMPLE_DATA_FOLDER + "/" + "exams.txt", SAMPLE_DATA_FOLDER + "/" + "statistics.txt");
+        assertTrue(getTempStorage().importIfAbsent(xmlStorage));
+
+        PagedStorage loaded = getTempStorage();
+        assertEquals(xmlStorage.load(), loaded.load());
+        assertEquals(xmlStorage.loadExam(), loaded.loadExam());
+        assertEquals(xmlStorage.loadStatistics(), loaded.loadStatistics());
+    }
+
+    private PagedStorage getTempStorage() throws Exception {
+        final String folder = testFolder.getRoot().getPath();
+        return new PagedStorage(folder + "/addressbook.db", folder + "/exams.bin", folder + "/statistics.bin");
+    }
+
+    /**
+     * Returns an address book of three persons, the first taking an exam and the second graded.
+     */
+    private AddressBook getTestAddressBook() throws Exception {
+        final TestDataHelper helper = new TestDataHelper();
+        final List<Person> persons = new ArrayList<>();
+        for (int seed = 1; seed <= 3; seed++) {
+            persons.add(helper.generatePerson(seed, false));
+        }
+        final Exam exam = helper.generateExam(1, false, 1);
+        persons.get(0).addExam(exam);
+
+        final AddressBook addressBook = helper.generateAddressBook(persons);
+        final Assessment assessment = helper.generateAssessment(1);
+        assessment.addGrade(persons.get(1), new Grades(75));
+        persons.get(1).addAssessment(assessment);
+        addressBook.addAssessment(assessment);
+        addressBook.setMasterPassword("newPassword");
+        return addressBook;
+    }
+}
@@ -0,0 +1,188 @@
+package seedu.addressbook.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import seedu.addressbook.TestDataHelper;
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.ExamBook;
+import seedu.addressbook.data.StatisticsBook;
+import seedu.addressbook.data.person.Assessment;
+import seedu.addressbook.data.person.Exam;
+import seedu.addressbook.data.person.Grades;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.storage.StorageFile.InvalidStorageFilePathException;
+
+public class ShardedStorageTest {
+    private static final String SAMPLE_DATA_FOLDER = "sample_data";
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    @Test
+    public void constructor_fileAsDirectory_exceptionThrown() throws Exception {
+        thrown.expect(InvalidStorageFilePathException.class);
+        new ShardedStorage(testFolder.newFile("data.bin").getPath());
+    }
+
+    @Test
+    public void load_missingDirectory_emptyBooksCreated() throws Exception {
+        ShardedStorage storage = getTempStorage();
+        assertEquals(AddressBook.empty(), storage.load());
+        assertEquals(ExamBook.empty(), storage.loadExam());
+        assertEquals(StatisticsBook.empty(), storage.loadStatistics());
+        assertTrue(Files.exists(storage.path));
+        assertEquals(AddressBook.empty(), getTempStorage().load());
+    }
+
+    @Test
+    public void loadExam_missingDirectory_emptyBooksCreated() throws Exception {
+        ShardedStorage storage = getTempStorage();
+        assertEquals(ExamBook.empty(), storage.loadExam());
+        assertEquals(StatisticsBook.empty(), storage.loadStatistics());
+        assertEquals(ExamBook.empty(), getTempStorage().loadExam());
+    }
+
+    @Test
+    public void save_validAddressBook_loadedBack() throws Exception {
+        AddressBook original = getTestAddressBook();
+        getTempStorage().save(original);
+        AddressBook loaded = getTempStorage().load();
+
+        assertEquals(original, loaded);
+        assertEquals(original.getMasterPassword(), loaded.getMasterPassword());
+        final List<ReadOnlyPerson> loadedPersons = loaded.getAllPersons().immutableListView();
+        assertEquals(original.getAllPersons().immutableListView().get(0).getExams(), loadedPersons.get(0).getExams());
+        final Assessment assessment = loaded.getAllAssessments().immutableListView().get(0);
+        assertEquals(75, assessment.getGrade((Person) loadedPersons.get(1)).getValue(), 0);
+    }
+
+    @Test
+    public void save_onePersonModified_onlyItsFileWritten() throws Exception {
+        getTempStorage().save(getTestAddressBook());
+        ShardedStorage storage = getTempStorage();
+        AddressBook addressBook = storage.load();
+        deleteAllFiles(storage);
+
+        final Person second = (Person) addressBook.getAllPersons().immutableListView().get(1);
+        second.updateAttendanceMethod("05-10-2018", true, false);
+        storage.save(addressBook);
+
+        assertTrue(Files.exists(storage.getShardPath(1)));
+        assertFalse(Files.exists(storage.getShardPath(0)));
+        assertFalse(Files.exists(storage.getShardPath(2)));
+        assertFalse(Files.exists(storage.path));
+    }
+
+    @Test
+    public void save_filesReplaced_noPartialFilesLeft() throws Exception {
+        getTempStorage().save(getTestAddressBook());
+        ShardedStorage storage = getTempStorage();
+        AddressBook addressBook = storage.load();
+        addressBook.removePerson(addressBook.getAllPersons().immutableListView().get(0));
+        ((Person) addressBook.getAllPersons().immutableListView().get(0)).updateAttendanceMethod("05-10-2018", true,
+                false);
+        storage.save(addressBook);
+
+        try (Stream<Path> files = Files.walk(storage.directory)) {
+            assertFalse(files.anyMatch(file -> file.toString().endsWith(".partial")));
+        }
+        assertEquals(addressBook, getTempStorage().load());
+    }
+
+    @Test
+    public void save_personRemoved_manifestWrittenAndFileDeleted() throws Exception {
+        getTempStorage().save(getTestAddressBook());
+        ShardedStorage storage = getTempStorage();
+        AddressBook addressBook = storage.load();
+        Files.delete(storage.getShardPath(2));
+        Files.delete(storage.getShardPath(1));
+        Files.delete(storage.path);
+
+        final ReadOnlyPerson removed = addressBook.getAllPersons().immutableListView().get(0);
+        addressBook.removePerson(removed);
+        storage.save(addressBook);
+
+        assertFalse(Files.exists(storage.getShardPath(0)));
+        assertFalse(Files.exists(storage.getShardPath(1)));
+        assertTrue(Files.exists(storage.path));
+    }
+
+    @Test
+    public void save_personAdded_newFileNotReusingNumbers() throws Exception {
+        final TestDataHelper helper = new TestDataHelper();
+        getTempStorage().save(getTestAddressBook());
+        ShardedStorage storage = getTempStorage();
+        AddressBook addressBook = storage.load();
+        addressBook.removePerson(addressBook.getAllPersons().immutableListView().get(2));
+        storage.save(addressBook);
+
+        addressBook.addPerson(helper.generatePerson(4, false));
+        storage.save(addressBook);
+        assertTrue(Files.exists(storage.getShardPath(3)));
+        assertFalse(Files.exists(storage.getShardPath(2)));
+        assertEquals(addressBook, getTempStorage().load());
+    }
+
+    @Test
+    public void importIfAbsent_sampleData_sameBooks() throws Exception {
+        StorageFile xmlStorage = new StorageFile(SAMPLE_DATA_FOLDER + "/" + "addressbook.txt",
+                SAMPLE_DATA_FOLDER + "/" + "exams.txt", SAMPLE_DATA_FOLDER + "/" + "statistics.txt");
+        assertTrue(getTempStorage().importIfAbsent(xmlStorage));
+
+        ShardedStorage loaded = getTempStorage();
+        assertEquals(xmlStorage.load(), loaded.load());
+        assertEquals(xmlStorage.loadExam(), loaded.loadExam());
+        assertEquals(xmlStorage.loadStatistics(), loaded.loadStatistics());
+    }
+
+    private ShardedStorage getTempStorage() throws Exception {
+        return new ShardedStorage(testFolder.getRoot().getPath() + "/data");
+    }
+
+    /** Deletes the manifest, the book file and the file of each of the three test persons. */
+    private void deleteAllFiles(ShardedStorage storage) throws Exception {
+        Files.delete(storage.path);
+        Files.delete(storage.directory.resolve("book.bin"));
+        for (int id = 0; id < 3; id++) {
+            Files.delete(storage.getShardPath(id));
+        }
+    }
+
+    /**
+     * Returns an address book of three persons, the first taking an exam and the second graded.
+     */
+    private AddressBook getTestAddressBook() throws Exception {
+        final TestDataHelper helper = new TestDataHelper();
+        final List<Person> persons = new ArrayList<>();
+        for (int seed = 1; seed <= 3; seed++) {
+            persons.add(helper.generatePerson(seed, false));
+        }
+        final Exam exam = helper.generateExam(1, false, 1);
+        persons.get(0).addExam(exam);
+
+        final AddressBook addressBook = helper.generateAddressBook(persons);
+        final Assessment assessment = helper.generateAssessment(1);
+        assessment.addGrade(persons.get(1), new Grades(75));
+        persons.get(1).addAssessment(assessment);
+        addressBook.addAssessment(assessment);
+        addressBook.setMasterPassword("newPassword");
+        return addressBook;
+    }
+}
@@ -1,17 +1,23 @@
 package seedu.addressbook.storage;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static seedu.addressbook.util.TestUtil.assertTextFilesEqual;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -31,12 +37,14 @@ import seedu.addressbook.data.person.Attendance;
 import seedu.addressbook.data.person.Exam;
 import seedu.addressbook.data.person.Grades;
 import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.ReadOnlyPerson;
 import seedu.addressbook.data.person.details.Address;
 import seedu.addressbook.data.person.details.Email;
 import seedu.addressbook.data.person.details.Name;
 import seedu.addressbook.data.person.details.Phone;
 import seedu.addressbook.data.tag.Tag;
 import seedu.addressbook.storage.Storage.StorageOperationException;
+import seedu.addressbook.storage.jaxb.AdaptedAssessment;
 
 public class StorageFileTest {
     private static final String TEST_DATA_FOLDER = "test/data/StorageFileTest";
@@ -144,6 +152,29 @@ public class StorageFileTest {
         assertReturnsExceptionMessage(storage, errorMessage);
     }
 
+    @Test
+    public void load_manyPersons_loadedInOrder() throws Exception {
+        final AddressBook ab = getManyPersonsAddressBook();
+        getTempStorage().save(ab);
+        final AddressBook loaded = getTempStorage().load();
+        assertEquals(ab.getAllPersons().immutableListView(), loaded.getAllPersons().immutableListView());
+    }
+
+    @Test
+    public void load_manyPersonsSeveralInvalid_firstInvalidPersonReported() throws Exception {
+        getTempStorage().save(getManyPersonsAddressBook());
+        final Path path = Paths.get(testFolder.getRoot().getPath(), "temp.txt");
+        String content = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+        for (int seed : new int[] {1400, 700, 1900}) {
+            content = content.replace("<name>Person " + seed + "</name>", "<name>Person$" + seed + "</name>");
+        }
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+
+        thrown.expect(StorageOperationException.class);
+        assertReturnsExceptionMessage(getTempStorage(),
+                "Error processing Person$700: " + Name.MESSAGE_NAME_CONSTRAINTS);
+    }
+
     @Test
     public void load_invalidFormat_exceptionThrown() throws Exception {
         // The file contains valid xml data, but does not match the AddressBook class
@@ -197,6 +228,21 @@ public class StorageFileTest {
         }
     }
 
+    @Test
+    public void load_unformattedData_sameAsFormatted() throws Exception {
+        // the streaming loader must not depend on the whitespace that formatted output puts between elements
+        final String formatted = new String(Files.readAllBytes(Paths.get(TEST_DATA_FOLDER,
+                "ValidDataWithAccount.txt")), StandardCharsets.UTF_8);
+        StorageFile storage = getTempStorage();
+        Files.write(storage.path, formatted.replaceAll(">\\s+<", "><").getBytes(StandardCharsets.UTF_8));
+
+        final AddressBook actual = storage.load();
+        final AddressBook expected = getStorage("ValidDataWithAccount.txt").load();
+        assertEquals(expected, actual);
+        assertEquals(expected.getMasterPassword(), actual.getMasterPassword());
+        assertTrue(actual.containsPersonWithUsername("user"));
+    }
+
     @Test
     public void load_validFormatIsPerm() throws Exception {
         AddressBook actual = getStorage("ValidDataWithIsPerm.txt").load();
@@ -205,6 +251,7 @@ public class StorageFileTest {
         // ensure loaded AddressBook is properly constructed with test data
         assertEquals(actual, expected);
         assertEquals(actual.getAllPersons(), expected.getAllPersons());
+        assertAttendanceEqual(expected, actual);
         assertTrue(actual.isPermAdmin());
     }
 
@@ -253,6 +300,54 @@ public class StorageFileTest {
         assertEquals(actual, expected);
     }
 
+    @Test
+    public void loadAssessments_missingGradedPerson_exceptionThrown() throws Exception {
+        StorageFile storage = getStorage("InvalidAssessmentPersonData.txt");
+        thrown.expect(StorageOperationException.class);
+        assertReturnsExceptionMessage(storage, String.format(AdaptedAssessment.MESSAGE_MISSING_PERSON,
+                "Math Midterms", 3));
+    }
+
+    @Test
+    public void save_gradeOfLaterPerson_gradeLoadedForSamePerson() throws Exception {
+        final TestDataHelper helper = new TestDataHelper();
+        final Person first = helper.generatePerson(1, false);
+        final Person second = helper.generatePerson(2, false);
+        final AddressBook ab = helper.generateAddressBook(Arrays.asList(first, second));
+        final Assessment assessment = helper.generateAssessment(1);
+        assessment.addGrade(second, new Grades(80));
+        second.addAssessment(assessment);
+        ab.addAssessment(assessment);
+        getTempStorage().save(ab);
+
+        final AddressBook loaded = getTempStorage().load();
+        final Assessment loadedAssessment = loaded.getAllAssessments().immutableListView().get(0);
+        final Person loadedSecond = loaded.getAllPersons().find(second);
+        assertEquals(Collections.singleton(loadedSecond), loadedAssessment.getAllGrades().keySet());
+        assertEquals(80, loadedAssessment.getGrade(loadedSecond).getValue(), 0);
+    }
+
+    @Test
+    public void save_personRemovedAndAdded_idsKeptAndNotGivenAgain() throws Exception {
+        final TestDataHelper helper = new TestDataHelper();
+        final Person first = helper.generatePerson(1, false);
+        final Person second = helper.generatePerson(2, false);
+        final Person third = helper.generatePerson(3, false);
+        final AddressBook ab = helper.generateAddressBook(Arrays.asList(first, second));
+        ab.removePerson(first);
+        ab.addPerson(third);
+        assertEquals(1, second.getId());
+        assertEquals(2, third.getId());
+        getTempStorage().save(ab);
+
+        final AddressBook loaded = getTempStorage().load();
+        assertEquals(1, loaded.getAllPersons().find(second).getId());
+        assertEquals(2, loaded.getAllPersons().find(third).getId());
+        final Person fourth = helper.generatePerson(4, false);
+        loaded.addPerson(fourth);
+        assertEquals(3, fourth.getId());
+    }
+
     @Test
     public void save_nullAddressBook_exceptionThrown() throws Exception {
         StorageFile storage = getTempStorage();
@@ -274,6 +369,57 @@ public class StorageFileTest {
         storage.saveStatistics(null);
     }
 
+    @Test
+    public void save_unchangedAddressBook_notWrittenAgain() throws Exception {
+        AddressBook ab = getTestAddressBook();
+        StorageFile storage = getTempStorage();
+        storage.save(ab);
+        Files.delete(storage.path);
+
+        storage.save(ab);
+        assertFalse(Files.exists(storage.path));
+
+        // modifying a person in the address book counts as a change to the address book
+        for (Person person : ab.getAllPersons()) {
+            person.setTags(Collections.singleton(new Tag("modified")));
+        }
+        storage.save(ab);
+        assertTrue(Files.exists(storage.path));
+    }
+
+    @Test
+    public void saveExam_unchangedExamBook_notWrittenAgain() throws Exception {
+        ExamBook eb = getTestExamBook();
+        StorageFile storage = getTempStorage();
+        storage.saveExam(eb);
+        Files.delete(storage.pathExam);
+
+        storage.saveExam(eb);
+        assertFalse(Files.exists(storage.pathExam));
+
+        // modifying an exam in the exam book counts as a change to the exam book
+        for (Exam exam : eb.getAllExam()) {
+            exam.setTakers(1);
+        }
+        storage.saveExam(eb);
+        assertTrue(Files.exists(storage.pathExam));
+    }
+
+    @Test
+    public void saveStatistics_unchangedStatisticsBook_notWrittenAgain() throws Exception {
+        StatisticsBook sb = getTestStatisticsBook();
+        StorageFile storage = getTempStorage();
+        storage.saveStatistics(sb);
+        Files.delete(storage.pathStatistics);
+
+        storage.saveStatistics(sb);
+        assertFalse(Files.exists(storage.pathStatistics));
+
+        sb.clear();
+        storage.saveStatistics(sb);
+        assertTrue(Files.exists(storage.pathStatistics));
+    }
+
     @Test
     public void save_validAddressBook() throws Exception {
         AddressBook ab = getTestAddressBook(true, false);
@@ -338,6 +484,50 @@ public class StorageFileTest {
     }
 
 
+    @Test
+    public void save_personWithExam_examReferredToByKey() throws Exception {
+        StorageFile storage = getTempStorage();
+        storage.save(getTestAddressBook());
+        final String saved = new String(Files.readAllBytes(storage.path), StandardCharsets.UTF_8);
+        assertTrue(saved.contains("<examKey isPrivate=\"false\">"));
+        assertTrue(saved.contains("<examName>Math Midterms</examName>"));
+        assertFalse(saved.contains("<takers>"));
+    }
+
+    @Test
+    public void syncAddressBookExamBook_loadedExamKeys_personsRegisteredForExams() throws Exception {
+        ExamBook eb = new ExamBook();
+        Exam exam = new Exam("Math Midterms", "Mathematics", "01-12-2018", "09:00", "10:00", "Held in MPSH", false);
+        exam.setTakers(1);
+        eb.addExam(exam);
+        getTempStorage().save(getTestAddressBook());
+        getTempStorage().saveExam(eb);
+
+        StorageFile storage = getTempStorage();
+        AddressBook loaded = storage.load();
+        ExamBook loadedExamBook = storage.loadExam();
+        storage.syncAddressBookExamBook(loaded, loadedExamBook);
+
+        final Exam expected = getTestAddressBook().getAllPersons().immutableListView().get(0).getExams()
+                .iterator().next();
+        final Set<Exam> exams = loaded.getAllPersons().immutableListView().get(0).getExams();
+        assertEquals(1, exams.size());
+        assertTrue(expected.equalsFully(exams.iterator().next()));
+        assertSame(loadedExamBook.findExam(expected), exams.iterator().next());
+    }
+
+    @Test
+    public void syncAddressBookExamBook_loadedExamKeyNotInExamBook_exceptionThrown() throws Exception {
+        getTempStorage().save(getTestAddressBook());
+        StorageFile storage = getTempStorage();
+        AddressBook loaded = storage.load();
+
+        thrown.expect(StorageOperationException.class);
+        thrown.expectMessage(String.format(ExamRegistrationCheck.MESSAGE_EXAM_NOT_IN_EXAM_BOOK,
+                "Math Midterms (Mathematics) on 01-12-2018", "John Doe"));
+        storage.syncAddressBookExamBook(loaded, new ExamBook());
+    }
+
     @Test
     public void syncAddressBookExamBook_personHasMissingExamInExamBook_exceptionThrown() throws Exception {
         ExamBook eb = getTestExamBook();
@@ -394,6 +584,54 @@ public class StorageFileTest {
         storage.syncAddressBookExamBook(ab, eb);
     }
 
+    @Test
+    public void syncAddressBookExamBook_registeredExamDiffersInCaseAndTakers_noMismatch() throws Exception {
+        TestDataHelper helper = new TestDataHelper();
+        Exam e1 = helper.generateExam(1, false, 1);
+        ExamBook eb = helper.generateExamBook(helper.generateExamList(e1));
+
+        Person p1 = helper.generatePerson(1, true);
+        p1.addExam(new Exam("EXAM 1", "subject 1", "01-02-2018", "10:00", "12:00", "held IN 1", 7, false));
+        AddressBook ab = helper.generateAddressBook(helper.generatePersonList(p1));
+
+        getTempStorage().syncAddressBookExamBook(ab, eb);
+    }
+
+    @Test
+    public void syncAddressBookExamBook_registeredCopies_personsReferToExamBookExams() throws Exception {
+        TestDataHelper helper = new TestDataHelper();
+        Exam e1 = helper.generateExam(1, false, 2);
+        ExamBook eb = helper.generateExamBook(helper.generateExamList(e1));
+
+        Person p1 = helper.generatePerson(1, false, 1, false, 2);
+        Person p2 = helper.generatePerson(2, false, 1, false, 2);
+        AddressBook ab = helper.generateAddressBook(helper.generatePersonList(p1, p2));
+
+        getTempStorage().syncAddressBookExamBook(ab, eb);
+        assertSame(e1, p1.getExams().iterator().next());
+        assertSame(e1, p2.getExams().iterator().next());
+    }
+
+    @Test
+    public void syncAddressBookExamBook_inaccurateTakers_examsAndPersonsReported() throws Exception {
+        TestDataHelper helper = new TestDataHelper();
+        Exam e1 = helper.generateExam(1, false, 5);
+        Exam e2 = helper.generateExam(2, true, 3);
+        ExamBook eb = helper.generateExamBook(helper.generateExamList(e1, e2));
+
+        Person p1 = helper.generatePerson(1, true, 2, true, 3);
+        Person p2 = helper.generatePerson(2, true, 2, true, 3);
+        Person p3 = helper.generatePerson(3, true, 4, false, 1);
+        AddressBook ab = helper.generateAddressBook(helper.generatePersonList(p1, p2, p3));
+
+        thrown.expect(StorageOperationException.class);
+        thrown.expectMessage(ExamRegistrationCheck.MESSAGE_MISMATCH + "\n"
+                + "Exam 4 (Subject 4) on 01-02-2018 is not in the exam book but is taken by: Person 3\n"
+                + "Exam 1 (Subject 1) on 01-02-2018 records 5 takers but is taken by 0: nobody\n"
+                + "Exam 2 (Subject 2) on 01-02-2018 records 3 takers but is taken by 2: Person 1, Person 2");
+        getTempStorage().syncAddressBookExamBook(ab, eb);
+    }
+
     @Test
     public void load_validAttendance() throws Exception {
         AddressBook actual = getStorage("ValidDataWithAttendance.txt").load();
@@ -402,6 +640,7 @@ public class StorageFileTest {
         // ensure loaded AddressBook is properly constructed with test data
         assertEquals(actual, expected);
         assertEquals(actual.getAllPersons(), expected.getAllPersons());
+        assertAttendanceEqual(expected, actual);
     }
 
     /** Asserts that loading StorageFile will return an Exception with expectedMessage*/
@@ -421,6 +660,24 @@ public class StorageFileTest {
         assertTextFilesEqual(Paths.get(sf1.getPath()), Paths.get(sf2.getPath()));
     }
 
+    /**
+     * Asserts that the persons of two address books have the same attendance.
+     */
+    private void assertAttendanceEqual(AddressBook expected, AddressBook actual) {
+        final List<ReadOnlyPerson> expectedPersons = expected.getAllPersons().immutableListView();
+        final List<ReadOnlyPerson> actualPersons = actual.getAllPersons().immutableListView();
+        for (int i = 0; i < expectedPersons.size(); i++) {
+            assertEquals(expectedPersons.get(i).getAttendance(), actualPersons.get(i).getAttendance());
+        }
+    }
+
+    /**
+     * Asserts that the contents of two attendance files are the same.
+     */
+    private void assertAttendanceFilesEqual(StorageFile sf1, StorageFile sf2) throws Exception {
+        assertTextFilesEqual(sf1.pathAttendance, sf2.pathAttendance);
+    }
+
     /**
      * Asserts that the contents of two exams files are the same.
      */
@@ -449,6 +706,18 @@ public class StorageFileTest {
         return new StorageFile(testFolder.getRoot().getPath() + "/" + "temp.txt", tempExam, tempStatistics);
     }
 
+    /**
+     * Returns an address book of enough persons to be converted in several batches when loaded.
+     */
+    private AddressBook getManyPersonsAddressBook() throws Exception {
+        final TestDataHelper helper = new TestDataHelper();
+        final List<Person> persons = new ArrayList<>();
+        for (int seed = 1; seed <= 2000; seed++) {
+            persons.add(helper.generatePerson(seed, seed % 2 == 0));
+        }
+        return helper.generateAddressBook(persons);
+    }
+
     private AddressBook getTestAddressBook() throws Exception {
         return getTestAddressBook(false, false);
     }
@@ -568,19 +837,105 @@ public class StorageFileTest {
         storage.save(ab);
         storage.saveStatistics(sb);
         // Checks that the password and isPerm is saved as a new field
-        assertStorageFilesEqual(storage, getStorage("ValidDataWithAttendance.txt"));
+        assertStorageFilesEqual(storage, getStorage("ValidDataWithAttendanceFile.txt"));
+        assertAttendanceFilesEqual(storage, getStorage("ValidDataWithAttendanceFile.txt"));
 
         ab = getTestAddressBookWithAttendance();
         storage = getTempStorage();
         storage.save(ab);
 
-        assertStorageFilesEqual(storage, getStorage("ValidDataWithAttendance.txt"));
-        assertStorageFilesEqual(storage, getStorage("ValidDataWithAttendance.txt", "ValidExamData.txt",
+        assertStorageFilesEqual(storage, getStorage("ValidDataWithAttendanceFile.txt"));
+        assertStorageFilesEqual(storage, getStorage("ValidDataWithAttendanceFile.txt", "ValidExamData.txt",
                 "ValidStatisticsData.txt"));
 
         ab = getTestAddressBookWithAttendance(true, false);
         storage = getTempStorage();
         storage.save(ab);
-        assertStorageFilesEqual(storage, getStorage("ValidDataWithAttendance.txt"));
+        assertStorageFilesEqual(storage, getStorage("ValidDataWithAttendanceFile.txt"));
+    }
+
+    @Test
+    public void load_attendanceFile() throws Exception {
+        AddressBook actual = getStorage("ValidDataWithAttendanceFile.txt").load();
+        AddressBook expected = getTestAddressBookWithAttendance();
+
+        assertEquals(expected, actual);
+        assertEquals(expected.getAllPersons(), actual.getAllPersons());
+        assertAttendanceEqual(expected, actual);
+    }
+
+    @Test
+    public void load_attendanceFileOfOtherPersons_columnsIgnoredAndIdsNotGivenAgain() throws Exception {
+        StorageFile storage = getTempStorage();
+        storage.save(getTestAddressBookWithAttendance());
+        Files.write(storage.pathAttendance, Arrays.asList("persons 1 5", "07-11-2018 Aw== Ag=="));
+
+        AddressBook loaded = getTempStorage().load();
+        final List<ReadOnlyPerson> persons = loaded.getAllPersons().immutableListView();
+        assertTrue(persons.get(0).getAttendance().getAttendancePersonMap().isEmpty());
+        assertEquals(Collections.singletonMap("07-11-2018", false),
+                persons.get(1).getAttendance().getAttendancePersonMap());
+        final Person added = new TestDataHelper().generatePerson(1, false);
+        loaded.addPerson(added);
+        assertEquals(6, added.getId());
+    }
+
+    @Test
+    public void load_attendanceFileWithInvalidHeader_exceptionThrown() throws Exception {
+        StorageFile storage = getTempStorage();
+        storage.save(getTestAddressBookWithAttendance());
+        Files.write(storage.pathAttendance, Arrays.asList("persons 2 f9f72581", "07-11-2018 Aw== Ag=="));
+
+        thrown.expect(StorageOperationException.class);
+        thrown.expectMessage(String.format(AttendanceFile.MESSAGE_INVALID_HEADER, "persons 2 f9f72581"));
+        getTempStorage().load();
+    }
+
+    @Test
+    public void save_attendanceOfOneDateMarked_oneRowAppended() throws Exception {
+        getTempStorage().save(getTestAddressBookWithAttendance());
+        StorageFile storage = getTempStorage();
+        AddressBook ab = storage.load();
+        final List<String> rowsBefore = Files.readAllLines(storage.pathAttendance);
+        Files.delete(storage.path);
+
+        final Person john = (Person) ab.getAllPersons().immutableListView().get(0);
+        john.updateAttendanceMethod("08-11-2018", true, false);
+        storage.save(ab);
+        john.replaceAttendanceMethod("07-11-2018", true, true);
+        storage.save(ab);
+
+        // the address book file is only written when more than attendance changes
+        assertFalse(Files.exists(storage.path));
+        final List<String> rowsAfter = Files.readAllLines(storage.pathAttendance);
+        assertEquals(rowsBefore, rowsAfter.subList(0, rowsBefore.size()));
+        assertEquals(rowsBefore.size() + 2, rowsAfter.size());
+        assertTrue(rowsAfter.get(rowsAfter.size() - 1).startsWith("07-11-2018 "));
+
+        // removing a person leaves its column behind, so only the address book file is written
+        ab.removePerson(ab.getAllPersons().immutableListView().get(1));
+        storage.save(ab);
+        assertEquals(rowsAfter, Files.readAllLines(storage.pathAttendance));
+        assertFalse(Files.exists(StorageFile.getPartialPath(storage.path)));
+        AddressBook loaded = getTempStorage().load();
+        assertEquals(ab, loaded);
+        assertEquals(john.getAttendance(), loaded.getAllPersons().immutableListView().get(0).getAttendance());
+    }
+
+    @Test
+    public void checkpoint_attendanceMarked_rowAppendedAndJournalCleared() throws Exception {
+        getTempStorage().save(getTestAddressBookWithAttendance());
+        StorageFile storage = getTempStorage();
+        AddressBook ab = storage.load();
+        CommandJournal journal = new CommandJournal(testFolder.getRoot().getPath() + "/journal.txt");
+
+        ((Person) ab.getAllPersons().immutableListView().get(1)).updateAttendanceMethod("08-11-2018", false, false);
+        storage.checkpoint(ab, new ExamBook(), new StatisticsBook(), journal);
+
+        assertEquals(3, Files.readAllLines(storage.pathAttendance).size());
+        assertFalse(Files.exists(Paths.get(storage.pathAttendance + ".append")));
+        assertEquals(ab.getAllPersons(), getTempStorage().load().getAllPersons());
+        assertEquals(ab.getAllPersons().immutableListView().get(1).getAttendance(),
+                getTempStorage().load().getAllPersons().immutableListView().get(1).getAttendance());
     }
 }
@@ -0,0 +1,178 @@
+package seedu.addressbook.storage;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.ExamBook;
+import seedu.addressbook.data.StatisticsBook;
+import seedu.addressbook.data.person.AssignmentStatistics;
+import seedu.addressbook.data.person.Exam;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.details.Address;
+import seedu.addressbook.data.person.details.Email;
+import seedu.addressbook.data.person.details.Name;
+import seedu.addressbook.data.person.details.Phone;
+import seedu.addressbook.storage.Storage.StorageOperationException;
+import seedu.addressbook.storage.StorageConfig.XmlCodec;
+
+public class XmlCodecTest {
+    private static final String TEST_DATA_FOLDER = "test/data/StorageFileTest";
+
+    private static final List<String> ADDRESS_BOOK_FILES = Arrays.asList("InvalidAssessmentPersonData.txt",
+            "InvalidData.txt", "InvalidDuplicateUsernameData.txt", "InvalidMissingAccountFieldData.txt",
+            "InvalidMissingExamFieldData.txt", "InvalidNameFieldData.txt", "InvalidTagFieldData.txt",
+            "ValidDataWithAccount.txt", "ValidDataWithAssessments.txt", "ValidDataWithAttendance.txt",
+            "ValidDataWithAttendanceFile.txt", "ValidDataWithDefaultPassword.txt", "ValidDataWithExam.txt",
+            "ValidDataWithIsPerm.txt", "ValidDataWithNewPassword.txt", "ValidDataWithoutPassword.txt",
+            "ValidEmptyData.txt");
+    private static final List<String> EXAM_BOOK_FILES = Arrays.asList("ValidExamData.txt", "InvalidExamData.txt");
+    private static final List<String> STATISTICS_BOOK_FILES = Arrays.asList("ValidStatisticsData.txt",
+            "notValidStatisticsData.txt");
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    @Test
+    public void load_testDataFiles_sameResultAsJaxb() throws Exception {
+        for (String file : ADDRESS_BOOK_FILES) {
+            final Object expected = loadAddressBook(getStorage(file, XmlCodec.JAXB));
+            final Object actual = loadAddressBook(getStorage(file, XmlCodec.STREAMING));
+            assertEquals(file, expected, actual);
+        }
+        for (String file : EXAM_BOOK_FILES) {
+            assertEquals(file, loadExamBook(getStorage(file, XmlCodec.JAXB)),
+                    loadExamBook(getStorage(file, XmlCodec.STREAMING)));
+        }
+        for (String file : STATISTICS_BOOK_FILES) {
+            assertEquals(file, loadStatisticsBook(getStorage(file, XmlCodec.JAXB)),
+                    loadStatisticsBook(getStorage(file, XmlCodec.STREAMING)));
+        }
+    }
+
+    @Test
+    public void save_testDataBooks_sameBytesAsJaxb() throws Exception {
+        for (String file : ADDRESS_BOOK_FILES) {
+            final AddressBook addressBook;
+            try {
+                addressBook = getStorage(file, XmlCodec.JAXB).load();
+            } catch (StorageOperationException soe) {
+                continue;
+            }
+            final StorageFile jaxb = getTempStorage("jaxb", XmlCodec.JAXB);
+            final StorageFile streaming = getTempStorage("streaming", XmlCodec.STREAMING);
+            jaxb.save(addressBook);
+            streaming.save(addressBook);
+            assertSameBytes(file, jaxb.path, streaming.path);
+        }
+
+        final StorageFile jaxb = getTempStorage("jaxb", XmlCodec.JAXB);
+        final StorageFile streaming = getTempStorage("streaming", XmlCodec.STREAMING);
+        final ExamBook examBook = getStorage("ValidExamData.txt", XmlCodec.JAXB).loadExam();
+        jaxb.saveExam(examBook);
+        streaming.saveExam(examBook);
+        assertSameBytes("exam book", jaxb.pathExam, streaming.pathExam);
+
+        final StatisticsBook statisticsBook = getStorage("ValidStatisticsData.txt", XmlCodec.JAXB).loadStatistics();
+        jaxb.saveStatistics(statisticsBook);
+        streaming.saveStatistics(statisticsBook);
+        assertSameBytes("statistics book", jaxb.pathStatistics, streaming.pathStatistics);
+    }
+
+    @Test
+    public void save_emptyBooks_sameBytesAsJaxb() throws Exception {
+        final StorageFile jaxb = getTempStorage("jaxb", XmlCodec.JAXB);
+        final StorageFile streaming = getTempStorage("streaming", XmlCodec.STREAMING);
+        for (StorageFile storage : Arrays.asList(jaxb, streaming)) {
+            storage.save(new AddressBook());
+            storage.saveExam(new ExamBook());
+            storage.saveStatistics(new StatisticsBook());
+        }
+        assertSameBytes("address book", jaxb.path, streaming.path);
+        assertSameBytes("exam book", jaxb.pathExam, streaming.pathExam);
+        assertSameBytes("statistics book", jaxb.pathStatistics, streaming.pathStatistics);
+    }
+
+    @Test
+    public void save_markupCharacters_sameBytesAsJaxbAndLoadedBack() throws Exception {
+        final AddressBook addressBook = new AddressBook();
+        addressBook.addPerson(new Person(new Name("John Doe"), new Phone("98765432", false),
+                new Email("johnd@gmail.com", true), new Address("Blk 1 & 2, <Lobby> \"A\" 'B'", false),
+                Collections.emptySet()));
+        addressBook.setMasterPassword("p&w<\"rd\">");
+        final ExamBook examBook = new ExamBook();
+        examBook.addExam(new Exam("Math & <Stats>", "Maths \"A\"", "01-12-2018", "09:00", "10:00",
+                "Held in <MPSH> & LT7", true));
+        final StatisticsBook statisticsBook = new StatisticsBook();
+        statisticsBook.addStatistic(new AssignmentStatistics("Quiz <1> & 2", 72.5, 102, 98, 32.25));
+
+        final StorageFile jaxb = getTempStorage("jaxb", XmlCodec.JAXB);
+        final StorageFile streaming = getTempStorage("streaming", XmlCodec.STREAMING);
+        for (StorageFile storage : Arrays.asList(jaxb, streaming)) {
+            storage.save(addressBook);
+            storage.saveExam(examBook);
+            storage.saveStatistics(statisticsBook);
+        }
+        assertSameBytes("address book", jaxb.path, streaming.path);
+        assertSameBytes("exam book", jaxb.pathExam, streaming.pathExam);
+        assertSameBytes("statistics book", jaxb.pathStatistics, streaming.pathStatistics);
+
+        final StorageFile loaded = getTempStorage("streaming", XmlCodec.STREAMING);
+        final AddressBook loadedAddressBook = loaded.load();
+        assertEquals(addressBook, loadedAddressBook);
+        assertEquals(addressBook.getMasterPassword(), loadedAddressBook.getMasterPassword());
+        assertEquals(examBook, loaded.loadExam());
+        assertEquals(statisticsBook, loaded.loadStatistics());
+    }
+
+    private static Object loadAddressBook(StorageFile storage) {
+        try {
+            return storage.load();
+        } catch (StorageOperationException soe) {
+            return soe.getMessage();
+        }
+    }
+
+    private static Object loadExamBook(StorageFile storage) {
+        try {
+            return storage.loadExam();
+        } catch (StorageOperationException soe) {
+            return soe.getMessage();
+        }
+    }
+
+    private static Object loadStatisticsBook(StorageFile storage) {
+        try {
+            return storage.loadStatistics();
+        } catch (StorageOperationException soe) {
+            return soe.getMessage();
+        }
+    }
+
+    private static void assertSameBytes(String message, Path expected, Path actual) throws Exception {
+        assertArrayEquals(message, Files.readAllBytes(expected), Files.readAllBytes(actual));
+    }
+
+    /**
+     * Returns a storage whose address book, exam and statistics files are all the given test data file.
+     */
+    private StorageFile getStorage(String fileName, XmlCodec xmlCodec) throws Exception {
+        final String path = TEST_DATA_FOLDER + "/" + fileName;
+        return new StorageFile(path, path, path, xmlCodec);
+    }
+
+    private StorageFile getTempStorage(String prefix, XmlCodec xmlCodec) throws Exception {
+        final String folder = testFolder.getRoot().getPath() + "/" + prefix;
+        return new StorageFile(folder + ".txt", folder + "Exam.txt", folder + "Statistics.txt", xmlCodec);
+    }
+}
@@ -0,0 +1,113 @@
+package seedu.addressbook.storage.paged;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BPlusTreeTest {
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    @Test
+    public void putAndRemove_randomEntries_sameAsTreeMapAfterReopening() throws Exception {
+        final Path path = testFolder.getRoot().toPath().resolve("tree.db");
+        final TreeMap<Integer, byte[]> expected = new TreeMap<>();
+        final Random random = new Random(1);
+        try (PageFile file = PageFile.open(path, 8)) {
+            final BPlusTree tree = new BPlusTree(file, 0);
+            for (int i = 0; i < 3000; i++) {
+                final int key = random.nextInt(1000);
+                if (random.nextInt(4) == 0) {
+                    assertEquals(expected.remove(key) != null, tree.remove(toKey(key)));
+                } else {
+                    // values are mostly inline, but some need overflow pages
+                    final byte[] value = new byte[random.nextInt(10) == 0 ? 6000 : random.nextInt(300)];
+                    random.nextBytes(value);
+                    expected.put(key, value);
+                    tree.put(toKey(key), value);
+                }
+                if (i % 500 == 0) {
+                    file.commit();
+                }
+            }
+            file.commit();
+        }
+
+        try (PageFile file = PageFile.open(path, 8)) {
+            final BPlusTree tree = new BPlusTree(file, 0);
+            for (int key = 0; key < 1000; key++) {
+                if (expected.containsKey(key)) {
+                    assertArrayEquals(expected.get(key), tree.get(toKey(key)));
+                } else {
+                    assertNull(tree.get(toKey(key)));
+                }
+            }
+            final List<Integer> scanned = new ArrayList<>();
+            for (Map.Entry<byte[], byte[]> entry : tree.scan(toKey(100), toKey(200))) {
+                scanned.add(ByteBuffer.wrap(entry.getKey()).getInt());
+                assertArrayEquals(expected.get(scanned.get(scanned.size() - 1)), entry.getValue());
+            }
+            assertEquals(new ArrayList<>(expected.subMap(100, 200).keySet()), scanned);
+            assertEquals(expected.size(), tree.scan(null, null).size());
+        }
+    }
+
+    @Test
+    public void put_replacedOverflowValue_pagesReused() throws Exception {
+        try (PageFile file = PageFile.open(testFolder.getRoot().toPath().resolve("tree.db"), 8)) {
+            final BPlusTree tree = new BPlusTree(file, 0);
+            final byte[] value = new byte[10000];
+            Arrays.fill(value, (byte) 7);
+            tree.put(toKey(1), value);
+            file.commit();
+            final int pageCount = file.getPageCount();
+
+            value[9999] = 8;
+            tree.put(toKey(1), value);
+            file.commit();
+            assertEquals(pageCount + 3, file.getPageCount());
+            tree.put(toKey(1), new byte[1]);
+            tree.put(toKey(2), value);
+            file.commit();
+            assertEquals(pageCount + 3, file.getPageCount());
+            assertArrayEquals(value, tree.get(toKey(2)));
+        }
+    }
+
+    @Test
+    public void discard_uncommittedChanges_previousContentKept() throws Exception {
+        try (PageFile file = PageFile.open(testFolder.getRoot().toPath().resolve("tree.db"), 8)) {
+            final BPlusTree tree = new BPlusTree(file, 0);
+            tree.put(toKey(1), new byte[] {1});
+            file.commit();
+            tree.put(toKey(1), new byte[] {2});
+            tree.put(toKey(2), new byte[] {2});
+            file.discard();
+
+            assertArrayEquals(new byte[] {1}, tree.get(toKey(1)));
+            assertNull(tree.get(toKey(2)));
+            assertTrue(tree.remove(toKey(1)));
+            assertFalse(tree.remove(toKey(1)));
+        }
+    }
+
+    private static byte[] toKey(int key) {
+        return ByteBuffer.allocate(Integer.BYTES).putInt(key).array();
+    }
+}
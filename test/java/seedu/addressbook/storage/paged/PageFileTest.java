@@ -0,0 +1,78 @@
+package seedu.addressbook.storage.paged;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import seedu.addressbook.data.exception.IllegalValueException;
+
+public class PageFileTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    @Test
+    public void open_notPageFile_exceptionThrown() throws Exception {
+        final Path path = testFolder.newFile("data.db").toPath();
+        Files.write(path, "<addressbook/>".getBytes());
+        thrown.expect(IllegalValueException.class);
+        PageFile.open(path, 8);
+    }
+
+    @Test
+    public void open_interruptedCommit_pagesRestored() throws Exception {
+        final Path path = testFolder.getRoot().toPath().resolve("data.db");
+        try (PageFile file = PageFile.open(path, 8)) {
+            file.write(file.allocate()).putInt(0, 1);
+            file.commit();
+        }
+        final byte[] committed = Files.readAllBytes(path);
+        try (PageFile file = PageFile.open(path, 8)) {
+            file.write(1).putInt(0, 2);
+            file.write(file.allocate()).putInt(0, 3);
+            file.commit();
+        }
+        // as left by a commit interrupted after it wrote its pages: the former pages are in the rollback file
+        final ByteBuffer rollback = ByteBuffer.allocate(4 * Integer.BYTES + 2 * (Integer.BYTES + PageFile.PAGE_SIZE));
+        rollback.putInt(2).putInt(2);
+        rollback.putInt(0).put(committed, 0, PageFile.PAGE_SIZE);
+        rollback.putInt(1).put(committed, PageFile.PAGE_SIZE, PageFile.PAGE_SIZE);
+        rollback.putInt(0x454e4421);
+        Files.write(PageFile.getRollbackPath(path), Arrays.copyOf(rollback.array(), rollback.position()));
+
+        try (PageFile file = PageFile.open(path, 8)) {
+            assertEquals(2, file.getPageCount());
+            assertEquals(1, file.read(1).getInt(0));
+        }
+        assertFalse(Files.exists(PageFile.getRollbackPath(path)));
+    }
+
+    @Test
+    public void open_incompleteRollbackFile_ignored() throws Exception {
+        final Path path = testFolder.getRoot().toPath().resolve("data.db");
+        try (PageFile file = PageFile.open(path, 8)) {
+            file.write(file.allocate()).putInt(0, 1);
+            file.commit();
+        }
+        // as left by a commit interrupted while it copied the pages it overwrites, before it wrote any page
+        Files.write(PageFile.getRollbackPath(path), new byte[] {0, 0, 0, 1, 0, 0, 0, 2, 0, 0});
+
+        try (PageFile file = PageFile.open(path, 8)) {
+            assertEquals(2, file.getPageCount());
+            assertEquals(1, file.read(1).getInt(0));
+        }
+        assertFalse(Files.exists(PageFile.getRollbackPath(path)));
+    }
+}